@@ -6,6 +6,7 @@ import edu.illinois.library.cantaloupe.cache.CacheWorkerRunner;
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.logging.LoggerUtil;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
 import edu.illinois.library.cantaloupe.source.Source;
 import edu.illinois.library.cantaloupe.source.SourceFactory;
 import edu.illinois.library.cantaloupe.script.DelegateProxyService;
@@ -72,6 +73,9 @@ public class ApplicationContextListener implements ServletContextListener {
         if (config.getBoolean(Key.CACHE_WORKER_ENABLED, false)) {
             CacheWorkerRunner.getInstance().start();
         }
+
+        // Expose metrics via JMX.
+        MetricRegistry.getInstance().registerMBean();
     }
 
     @Override
@@ -93,6 +97,9 @@ public class ApplicationContextListener implements ServletContextListener {
         // Shut down all sources.
         SourceFactory.getAllSources().forEach(Source::shutdown);
 
+        // Stop exposing metrics via JMX.
+        MetricRegistry.getInstance().unregisterMBean();
+
         // Shut down the application thread pool.
         ThreadPool.getInstance().shutdown();
     }
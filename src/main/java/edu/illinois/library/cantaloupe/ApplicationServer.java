@@ -55,6 +55,7 @@ public class ApplicationServer {
     private boolean isInsecureHTTP2Enabled;
     private boolean isSecureHTTP2Enabled;
     private boolean isStarted;
+    private boolean isVirtualThreadsEnabled;
     private Server server;
 
     /**
@@ -91,6 +92,8 @@ public class ApplicationServer {
 
         setAcceptQueueLimit(config.getInt(Key.HTTP_ACCEPT_QUEUE_LIMIT,
                 DEFAULT_ACCEPT_QUEUE_LIMIT));
+        setVirtualThreadsEnabled(
+                config.getBoolean(Key.HTTP_VIRTUAL_THREADS_ENABLED, false));
     }
 
     private void createServer() {
@@ -119,7 +122,22 @@ public class ApplicationServer {
             context.setWar("src/main/webapp");
         }
 
-        server = new Server();
+        // With virtual threads, requests that are blocked on I/O don't tie
+        // up a thread from Jetty's (bounded) default pool.
+        server = null;
+        if (isVirtualThreadsEnabled()) {
+            if (VirtualThreadPool.isSupported()) {
+                server = new Server(new VirtualThreadPool());
+            } else {
+                System.err.println(getClass().getSimpleName() +
+                        ".createServer(): virtual threads require Java " +
+                        VirtualThreadPool.MIN_JAVA_VERSION + "+; " +
+                        "falling back to the default thread pool");
+            }
+        }
+        if (server == null) {
+            server = new Server();
+        }
         context.setServer(server);
         server.setHandler(context);
     }
@@ -184,6 +202,10 @@ public class ApplicationServer {
         return (server == null || server.isStopped());
     }
 
+    public boolean isVirtualThreadsEnabled() {
+        return isVirtualThreadsEnabled;
+    }
+
     public void setAcceptQueueLimit(int size) {
         this.acceptQueueLimit = size;
     }
@@ -236,6 +258,14 @@ public class ApplicationServer {
         this.isSecureHTTP2Enabled = enabled;
     }
 
+    /**
+     * @param enabled Whether to handle requests on virtual threads. Ignored
+     *                if the JVM doesn't support them.
+     */
+    public void setVirtualThreadsEnabled(boolean enabled) {
+        this.isVirtualThreadsEnabled = enabled;
+    }
+
     /**
      * Starts the HTTP and/or HTTPS servers.
      */
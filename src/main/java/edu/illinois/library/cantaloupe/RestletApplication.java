@@ -9,6 +9,7 @@ import edu.illinois.library.cantaloupe.resource.IllegalClientArgumentException;
 import edu.illinois.library.cantaloupe.resource.LandingResource;
 import edu.illinois.library.cantaloupe.resource.TrailingSlashRemovingResource;
 import edu.illinois.library.cantaloupe.resource.admin.AdminResource;
+import edu.illinois.library.cantaloupe.resource.admin.MetricsResource;
 import edu.illinois.library.cantaloupe.resource.admin.StatusResource;
 import edu.illinois.library.cantaloupe.resource.api.TaskResource;
 import edu.illinois.library.cantaloupe.resource.api.TasksResource;
@@ -205,6 +206,7 @@ public class RestletApplication extends Application {
 
     public static final String ADMIN_PATH = "/admin";
     public static final String ADMIN_CONFIG_PATH = "/admin/configuration";
+    public static final String ADMIN_METRICS_PATH = "/metrics";
     public static final String ADMIN_STATUS_PATH = "/status";
     public static final String CONFIGURATION_PATH = "/configuration";
     public static final String IIIF_PATH = "/iiif";
@@ -354,6 +356,10 @@ public class RestletApplication extends Application {
         adminAuth.setNext(StatusResource.class);
         router.attach(ADMIN_STATUS_PATH, adminAuth);
 
+        adminAuth = newAdminAuthenticator();
+        adminAuth.setNext(MetricsResource.class);
+        router.attach(ADMIN_METRICS_PATH, adminAuth);
+
         /////////////////////////// API routes ////////////////////////////
 
         Authenticator apiAuth = newAPIAuthenticator();
@@ -0,0 +1,114 @@
+package edu.illinois.library.cantaloupe;
+
+import edu.illinois.library.cantaloupe.util.SystemUtils;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Jetty thread pool that runs each task in a new virtual thread, rather
+ * than in one of a bounded number of pooled platform threads.</p>
+ *
+ * <p>A request that is waiting on a source, a cache, or a child process then
+ * occupies only a virtual thread, which costs little more than its stack, so
+ * the number of requests that can wait at once is no longer limited by the
+ * size of a platform thread pool. CPU-bound work can instead be limited by
+ * {@link edu.illinois.library.cantaloupe.processor.ProcessingLimiter}.</p>
+ *
+ * <p>Virtual threads are available in Java 21 and later. As the application
+ * targets Java 8, they are created reflectively. {@link #isSupported()} must
+ * be checked before instantiation.</p>
+ *
+ * <p>This class is not used when running in an external Servlet
+ * container.</p>
+ */
+class VirtualThreadPool extends AbstractLifeCycle implements ThreadPool {
+
+    static final int MIN_JAVA_VERSION = 21;
+
+    private static final String THREAD_NAME_PREFIX = "cl-vt-";
+
+    private final AtomicInteger numThreads = new AtomicInteger();
+    private volatile CountDownLatch stopLatch = new CountDownLatch(0);
+    private volatile ThreadFactory threadFactory;
+
+    /**
+     * @return Whether virtual threads are available in the current JVM.
+     */
+    static boolean isSupported() {
+        return SystemUtils.getJavaMajorVersion() >= MIN_JAVA_VERSION;
+    }
+
+    /**
+     * Equivalent to {@literal Thread.ofVirtual().name(prefix, 0).factory()}.
+     */
+    private static ThreadFactory newThreadFactory() throws Exception {
+        final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+        final Method ofVirtual = Thread.class.getMethod("ofVirtual");
+        final Method name = builderClass.getMethod(
+                "name", String.class, long.class);
+        final Method factory = builderClass.getMethod("factory");
+
+        Object builder = ofVirtual.invoke(null);
+        builder = name.invoke(builder, THREAD_NAME_PREFIX, 0L);
+        return (ThreadFactory) factory.invoke(builder);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        threadFactory = newThreadFactory();
+        stopLatch = new CountDownLatch(1);
+        super.doStart();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        stopLatch.countDown();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (threadFactory == null || isStopped()) {
+            throw new RejectedExecutionException(
+                    getClass().getSimpleName() + " is not running");
+        }
+        threadFactory.newThread(() -> {
+            numThreads.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                numThreads.decrementAndGet();
+            }
+        }).start();
+    }
+
+    /**
+     * Virtual threads are never idle; they end when their task does.
+     */
+    @Override
+    public int getIdleThreads() {
+        return 0;
+    }
+
+    @Override
+    public int getThreads() {
+        return numThreads.get();
+    }
+
+    @Override
+    public boolean isLowOnThreads() {
+        return false;
+    }
+
+    @Override
+    public void join() throws InterruptedException {
+        stopLatch.await();
+    }
+
+}
@@ -0,0 +1,85 @@
+package edu.illinois.library.cantaloupe.async;
+
+import com.fasterxml.jackson.annotation.JsonGetter;
+
+/**
+ * Immutable snapshot of the state of a {@link TaskQueue.Lane}.
+ */
+public final class LaneMetrics {
+
+    private final TaskQueue.Lane lane;
+    private final int concurrency;
+    private final int queuedCount;
+    private final int runningCount;
+    private final long completedCount;
+    private final long failedCount;
+
+    LaneMetrics(TaskQueue.Lane lane,
+                int concurrency,
+                int queuedCount,
+                int runningCount,
+                long completedCount,
+                long failedCount) {
+        this.lane = lane;
+        this.concurrency = concurrency;
+        this.queuedCount = queuedCount;
+        this.runningCount = runningCount;
+        this.completedCount = completedCount;
+        this.failedCount = failedCount;
+    }
+
+    /**
+     * @return Number of tasks that have completed successfully since the
+     *         application started.
+     */
+    @JsonGetter("completed")
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    /**
+     * @return Maximum number of tasks that the lane runs at once.
+     */
+    @JsonGetter("concurrency")
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * @return Number of tasks that have failed since the application
+     *         started.
+     */
+    @JsonGetter("failed")
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    @JsonGetter("lane")
+    public TaskQueue.Lane getLane() {
+        return lane;
+    }
+
+    /**
+     * @return Number of tasks waiting to run.
+     */
+    @JsonGetter("queued")
+    public int getQueuedCount() {
+        return queuedCount;
+    }
+
+    /**
+     * @return Number of tasks currently running.
+     */
+    @JsonGetter("running")
+    public int getRunningCount() {
+        return runningCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d queued, %d/%d running, %d completed, %d failed",
+                lane, queuedCount, runningCount, concurrency,
+                completedCount, failedCount);
+    }
+
+}
@@ -1,17 +1,69 @@
 package edu.illinois.library.cantaloupe.async;
 
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 
 /**
- * Queue of serial tasks, backed internally by {@link ThreadPool}. Should be
- * preferred over {@link ThreadPool} for tasks that are not time-sensitive.
+ * <p>Queues of tasks, backed internally by {@link ThreadPool}. Should be
+ * preferred over {@link ThreadPool} for tasks that are not time-sensitive.</p>
+ *
+ * <p>Tasks are submitted to one of several {@link Lane lanes}, each of which
+ * has its own queue and runs up to a configurable number of tasks at once,
+ * so that e.g. a long purge doesn't hold up cache writes. Within a lane,
+ * tasks are started in the order in which they were submitted. Lanes with a
+ * concurrency of 1 (the default for {@link Lane#ADMIN}) run their tasks
+ * serially.</p>
  */
 public final class TaskQueue {
 
+    public enum Lane {
+
+        /**
+         * Asynchronous writes to caches.
+         */
+        WRITE_BEHIND(Key.TASK_QUEUE_WRITE_BEHIND_CONCURRENCY, 2),
+
+        /**
+         * Deletion of individual cached items and temporary files.
+         */
+        PURGE(Key.TASK_QUEUE_PURGE_CONCURRENCY, 2),
+
+        /**
+         * Potentially long-running administrative tasks, such as those
+         * invoked via the API.
+         */
+        ADMIN(Key.TASK_QUEUE_ADMIN_CONCURRENCY, 1);
+
+        private final Key concurrencyKey;
+        private final int defaultConcurrency;
+
+        Lane(Key concurrencyKey, int defaultConcurrency) {
+            this.concurrencyKey = concurrencyKey;
+            this.defaultConcurrency = defaultConcurrency;
+        }
+
+        /**
+         * @return Configured concurrency of the lane.
+         */
+        int getConcurrency() {
+            int value = Configuration.getInstance().getInt(
+                    concurrencyKey, defaultConcurrency);
+            return (value > 0) ? value : defaultConcurrency;
+        }
+
+    }
+
     private static TaskQueue instance = new TaskQueue();
 
-    private final TaskRunner runner;
+    private final Map<Lane, TaskRunner> runners = new EnumMap<>(Lane.class);
+    private final Map<Lane, Integer> concurrencies = new EnumMap<>(Lane.class);
 
     /**
      * For testing only.
@@ -28,32 +80,88 @@ public final class TaskQueue {
     }
 
     private TaskQueue() {
-        runner = new TaskRunner();
-        ThreadPool.getInstance().submit(runner);
+        for (Lane lane : Lane.values()) {
+            final TaskRunner runner = new TaskRunner();
+            final int concurrency = lane.getConcurrency();
+            for (int i = 0; i < concurrency; i++) {
+                ThreadPool.getInstance().submit(runner);
+            }
+            runners.put(lane, runner);
+            concurrencies.put(lane, concurrency);
+        }
+    }
+
+    /**
+     * @return Metrics of all lanes.
+     */
+    public List<LaneMetrics> getMetrics() {
+        final List<LaneMetrics> metrics = new ArrayList<>(runners.size());
+        for (Lane lane : Lane.values()) {
+            metrics.add(getMetrics(lane));
+        }
+        return Collections.unmodifiableList(metrics);
+    }
+
+    /**
+     * @return Metrics of the given lane.
+     */
+    public LaneMetrics getMetrics(Lane lane) {
+        final TaskRunner runner = runners.get(lane);
+        return new LaneMetrics(lane,
+                concurrencies.get(lane),
+                runner.queueSize(),
+                runner.runningCount(),
+                runner.completedCount(),
+                runner.failedCount());
     }
 
     /**
-     * @return Unmodifiable list of all queued tasks, including the one
-     *         currently running, if any. Completed tasks are not included.
-     *         Tasks may change from moment to moment, but the returned list
-     *         is fixed and immutable.
+     * @return Unmodifiable list of all tasks queued in all lanes. Running and
+     *         completed tasks are not included. Tasks may change from moment
+     *         to moment, but the returned list is fixed and immutable.
      */
     List<Object> queuedTasks() {
-        return runner.queuedTasks();
+        final List<Object> tasks = new ArrayList<>();
+        for (TaskRunner runner : runners.values()) {
+            tasks.addAll(runner.queuedTasks());
+        }
+        return Collections.unmodifiableList(tasks);
+    }
+
+    /**
+     * @return Unmodifiable list of all tasks queued in the given lane.
+     * @see #queuedTasks()
+     */
+    List<Object> queuedTasks(Lane lane) {
+        return runners.get(lane).queuedTasks();
     }
 
     /**
-     * Adds a task to the queue.
+     * Adds a task to the {@link Lane#ADMIN} lane.
      */
     public void submit(Callable<?> callable) {
-        runner.submit(callable);
+        submit(callable, Lane.ADMIN);
     }
 
     /**
-     * Adds a task to the queue.
+     * Adds a task to the given lane.
+     */
+    public void submit(Callable<?> callable, Lane lane) {
+        runners.get(lane).submit(callable);
+    }
+
+    /**
+     * Adds a task to the {@link Lane#ADMIN} lane.
      */
     public void submit(Runnable runnable) {
-        runner.submit(runnable);
+        submit(runnable, Lane.ADMIN);
+    }
+
+    /**
+     * Adds a task to the given lane.
+     */
+    public void submit(Runnable runnable, Lane lane) {
+        runners.get(lane).submit(runnable);
     }
 
 }
@@ -10,7 +10,15 @@ import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Runs the tasks in a FIFO queue. An instance may be {@link #run() run} by
+ * any number of threads at once, in which case tasks are still started in
+ * the order in which they were submitted, but may not complete in that
+ * order.
+ */
 final class TaskRunner implements Runnable {
 
     private static final Logger LOGGER = LoggerFactory.
@@ -19,36 +27,83 @@ final class TaskRunner implements Runnable {
     private final BlockingQueue<Object> queue =
             new LinkedBlockingQueue<>();
 
+    private final AtomicInteger runningCount = new AtomicInteger();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    /**
+     * @return Number of tasks that have completed successfully.
+     */
+    long completedCount() {
+        return completedCount.get();
+    }
+
     /**
-     * @return Unmodifiable list of all queued tasks, including the one
-     *         currently running, if any. Completed tasks are not included.
-     *         Tasks may change from moment to moment, but the returned list
-     *         is fixed.
+     * @return Number of tasks that have failed.
+     */
+    long failedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * @return Unmodifiable list of all queued tasks, not including those that
+     *         are running or complete. Tasks may change from moment to
+     *         moment, but the returned list is fixed.
      */
     List<Object> queuedTasks() {
         Object[] tasks = new Object[] {};
         return Collections.unmodifiableList(Arrays.asList(queue.toArray(tasks)));
     }
 
+    /**
+     * @return Number of queued tasks.
+     */
+    int queueSize() {
+        return queue.size();
+    }
+
     @Override
     public void run() {
         while (true) {
             Object object;
             try {
                 object = queue.take();
+            } catch (InterruptedException e) {
+                LOGGER.debug("run(): interrupted; stopping");
+                return;
+            }
 
+            runningCount.incrementAndGet();
+            try {
                 LOGGER.trace("run(): running {}", object);
                 if (object instanceof Runnable) {
                     ((Runnable) object).run();
                 } else if (object instanceof Callable) {
                     ((Callable<?>) object).call();
                 }
+                if (object instanceof AuditableFutureTask &&
+                        TaskStatus.FAILED.equals(
+                                ((AuditableFutureTask<?>) object).getStatus())) {
+                    failedCount.incrementAndGet();
+                } else {
+                    completedCount.incrementAndGet();
+                }
             } catch (Exception e) {
+                failedCount.incrementAndGet();
                 LOGGER.error("run(): {}", e.getMessage(), e);
+            } finally {
+                runningCount.decrementAndGet();
             }
         }
     }
 
+    /**
+     * @return Number of tasks that are currently running.
+     */
+    int runningCount() {
+        return runningCount.get();
+    }
+
     /**
      * @param callable Object to submit to the queue.
      * @throws IllegalStateException If the queue is full.
@@ -64,14 +119,13 @@ final class TaskRunner implements Runnable {
      */
     boolean submit(Runnable runnable) {
         LOGGER.trace("submit(): {} (queue size: {})", runnable, queue.size());
-        final boolean result = queue.add(runnable);
 
         if (runnable instanceof AuditableFutureTask) {
             AuditableFutureTask<?> aTask = (AuditableFutureTask<?>) runnable;
             aTask.setStatus(TaskStatus.QUEUED);
             aTask.setInstantQueued(Instant.now());
         }
-        return result;
+        return queue.add(runnable);
     }
 
 }
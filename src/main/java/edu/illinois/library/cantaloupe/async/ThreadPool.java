@@ -2,10 +2,10 @@ package edu.illinois.library.cantaloupe.async;
 
 import java.util.Random;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Global application thread pool Singleton.
@@ -65,11 +65,11 @@ public final class ThreadPool {
     private static ThreadPool instance;
 
     private boolean isShutdown = false;
-    private final ExecutorService lowPriorityPool =
+    private final ThreadPoolExecutor lowPriorityPool = (ThreadPoolExecutor)
             Executors.newCachedThreadPool(new LowPriorityThreadFactory());
-    private final ExecutorService normalPriorityPool =
+    private final ThreadPoolExecutor normalPriorityPool = (ThreadPoolExecutor)
             Executors.newCachedThreadPool(new NormalPriorityThreadFactory());
-    private final ExecutorService highPriorityPool =
+    private final ThreadPoolExecutor highPriorityPool = (ThreadPoolExecutor)
             Executors.newCachedThreadPool(new HighPriorityThreadFactory());
 
     /**
@@ -93,6 +93,33 @@ public final class ThreadPool {
     private ThreadPool() {
     }
 
+    /**
+     * @return Approximate number of threads actively running tasks at the
+     *         given priority.
+     */
+    public int getActiveCount(Priority priority) {
+        return getPool(priority).getActiveCount();
+    }
+
+    /**
+     * @return Number of threads, whether active or idle, at the given
+     *         priority.
+     */
+    public int getPoolSize(Priority priority) {
+        return getPool(priority).getPoolSize();
+    }
+
+    private ThreadPoolExecutor getPool(Priority priority) {
+        switch (priority) {
+            case LOW:
+                return lowPriorityPool;
+            case HIGH:
+                return highPriorityPool;
+            default:
+                return normalPriorityPool;
+        }
+    }
+
     public boolean isShutdown() {
         return isShutdown;
     }
@@ -30,6 +30,8 @@ import java.net.URLEncoder;
 import java.security.InvalidKeyException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentSkipListSet;
 
@@ -91,6 +93,11 @@ class AzureStorageCache implements DerivativeCache {
     private static final Logger LOGGER =
             LoggerFactory.getLogger(AzureStorageCache.class);
 
+    /**
+     * Number of blobs deleted by each purge task.
+     */
+    private static final int DELETE_BATCH_SIZE = 100;
+
     private static CloudBlobClient client;
 
     /**
@@ -327,7 +334,7 @@ class AzureStorageCache implements DerivativeCache {
                 LOGGER.warn("purgeAsync(): failed to delete {}: {}",
                         blob, e.getMessage());
             }
-        });
+        }, TaskQueue.Lane.PURGE);
     }
 
     @Override
@@ -359,19 +366,70 @@ class AzureStorageCache implements DerivativeCache {
 
     @Override
     public void purge(Identifier identifier) throws IOException {
-        final String containerName = getContainerName();
+        purge(identifier, new PurgeProgress());
+    }
 
+    /**
+     * Deletes the info and derivative images corresponding to the given
+     * identifier. The storage SDK has no batch delete operation, so blobs are
+     * deleted in groups of {@link #DELETE_BATCH_SIZE}, with up to {@link
+     * PurgeExecutor#getMaxConcurrency()} groups in progress at once.
+     */
+    @Override
+    public void purge(Identifier identifier,
+                      PurgeProgress progress) throws IOException {
+        final String containerName = getContainerName();
         final CloudBlobClient client = getClientInstance();
-        final String objectKey = getObjectKey(identifier);
+        final PurgeExecutor executor = new PurgeExecutor();
 
         try {
             final CloudBlobContainer container =
                     client.getContainerReference(containerName);
-            final CloudBlockBlob blob = container.getBlockBlobReference(objectKey);
-            blob.deleteIfExists();
+
+            // Purge the info.
+            List<CloudBlob> blobs = new ArrayList<>(DELETE_BATCH_SIZE);
+            blobs.add(container.getBlockBlobReference(getObjectKey(identifier)));
+
+            // Purge derivative images.
+            final String imagePrefix = getObjectKeyPrefix() + "image/" +
+                    URLEncoder.encode(identifier.toString(), "UTF-8");
+            for (ListBlobItem item : container.listBlobs(imagePrefix, true)) {
+                if (item instanceof CloudBlob) {
+                    blobs.add((CloudBlob) item);
+                    if (blobs.size() >= DELETE_BATCH_SIZE) {
+                        deleteAsync(executor, blobs, progress);
+                        blobs = new ArrayList<>(DELETE_BATCH_SIZE);
+                    }
+                }
+            }
+            if (!blobs.isEmpty()) {
+                deleteAsync(executor, blobs, progress);
+            }
         } catch (URISyntaxException | StorageException e) {
             throw new IOException(e.getMessage(), e);
         }
+
+        executor.await();
+        LOGGER.info("purge(Identifier): {}", progress);
+    }
+
+    private static void deleteAsync(PurgeExecutor executor,
+                                    List<CloudBlob> blobs,
+                                    PurgeProgress progress) throws IOException {
+        executor.submit(() -> {
+            for (CloudBlob blob : blobs) {
+                try {
+                    if (blob.deleteIfExists()) {
+                        progress.addDeleted(1);
+                    }
+                } catch (StorageException e) {
+                    progress.addFailed(1);
+                    LOGGER.warn("purge(Identifier): failed to delete {}: {}",
+                            blob.getName(), e.getMessage());
+                }
+            }
+            return null;
+        });
     }
 
     @Override
@@ -62,6 +62,23 @@ public interface Cache {
      */
     void purge(Identifier identifier) throws IOException;
 
+    /**
+     * <p>Variant of {@link #purge(Identifier)} that reports the number of
+     * deleted items to the given instance as it goes.</p>
+     *
+     * <p>The default implementation invokes {@link #purge(Identifier)}
+     * without reporting anything. Implementations that have to enumerate and
+     * delete a potentially large number of items should override it.</p>
+     *
+     * @param identifier
+     * @param progress   Instance to report progress to.
+     * @throws IOException Upon fatal error.
+     */
+    default void purge(Identifier identifier,
+                       PurgeProgress progress) throws IOException {
+        purge(identifier);
+    }
+
     /**
      * Deletes invalid images and dimensions from the cache.
      *
@@ -3,8 +3,10 @@ package edu.illinois.library.cantaloupe.cache;
 import edu.illinois.library.cantaloupe.async.TaskQueue;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
 import edu.illinois.library.cantaloupe.operation.OperationList;
 import edu.illinois.library.cantaloupe.processor.Processor;
+import edu.illinois.library.cantaloupe.source.SourceInfoCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -104,7 +106,11 @@ public final class CacheFacade {
             throws IOException {
         DerivativeCache derivativeCache = getDerivativeCache();
         if (derivativeCache != null) {
-            return derivativeCache.newDerivativeImageInputStream(opList);
+            InputStream inputStream =
+                    derivativeCache.newDerivativeImageInputStream(opList);
+            MetricRegistry.getInstance().recordCacheAccess(
+                    "derivative_image", inputStream != null);
+            return inputStream;
         }
         return null;
     }
@@ -128,6 +134,9 @@ public final class CacheFacade {
         // Purge the info service.
         InfoService.getInstance().purgeObjectCache();
 
+        // Purge the source info cache.
+        SourceInfoCache.getInstance().purge();
+
         // Purge the derivative cache.
         DerivativeCache derivativeCache = getDerivativeCache();
         if (derivativeCache != null) {
@@ -145,20 +154,54 @@ public final class CacheFacade {
      * @see Cache#purge(Identifier)
      */
     public void purge(Identifier identifier) throws IOException {
+        purge(identifier, new PurgeProgress());
+    }
+
+    /**
+     * Purges all content relating to the given identifier from all caches,
+     * with the derivative and source caches being purged in parallel.
+     *
+     * @param identifier Image identifier.
+     * @param progress   Instance to report progress to.
+     * @see Cache#purge(Identifier, PurgeProgress)
+     */
+    public void purge(Identifier identifier,
+                      PurgeProgress progress) throws IOException {
         // Purge it from the info service.
         InfoService.getInstance().purgeObjectCache(identifier);
 
+        // Purge it from the source info cache.
+        SourceInfoCache.getInstance().purge(identifier);
+
+        final PurgeExecutor executor = new PurgeExecutor();
+
         // Purge it from the derivative cache.
         DerivativeCache derivativeCache = getDerivativeCache();
         if (derivativeCache != null) {
-            derivativeCache.purge(identifier);
+            purgeAsync(executor, derivativeCache, identifier, progress);
         }
 
-        // Purge it from the source cache.
+        // Purge it from the source cache (unless it's the same instance).
         SourceCache sourceCache = getSourceCache();
-        if (sourceCache != null) {
-            sourceCache.purge(identifier);
+        if (sourceCache != null && sourceCache != derivativeCache) {
+            purgeAsync(executor, sourceCache, identifier, progress);
         }
+
+        executor.await();
+        LOGGER.debug("purge(Identifier): purged {}: {}", identifier, progress);
+    }
+
+    private static void purgeAsync(PurgeExecutor executor,
+                                   Cache cache,
+                                   Identifier identifier,
+                                   PurgeProgress progress) throws IOException {
+        final String name = cache.getClass().getSimpleName();
+        progress.cacheStarted(name);
+        executor.submit(() -> {
+            cache.purge(identifier, progress);
+            progress.cacheCompleted(name);
+            return null;
+        });
     }
 
     /**
@@ -172,7 +215,7 @@ public final class CacheFacade {
                 LOGGER.error("purgeAsync(): {}", e.getMessage());
             }
             return null;
-        });
+        }, TaskQueue.Lane.PURGE);
     }
 
     /**
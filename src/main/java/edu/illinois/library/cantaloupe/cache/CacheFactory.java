@@ -198,6 +198,15 @@ public final class CacheFactory {
         sourceCache.initialize();
     }
 
+    /**
+     * Notifies caches that cache settings read from the configuration need
+     * to be re-read. Should be invoked after the configuration has been
+     * reloaded.
+     */
+    public static void reloadConfiguration() {
+        FilesystemCache.reloadLimits();
+    }
+
     public static synchronized void shutdownCaches() {
         shutdownDerivativeCache();
         shutdownSourceCache();
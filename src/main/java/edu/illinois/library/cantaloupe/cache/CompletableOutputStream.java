@@ -0,0 +1,35 @@
+package edu.illinois.library.cantaloupe.cache;
+
+import java.io.OutputStream;
+
+/**
+ * <p>Output stream to a cache whose content is committed to the cache when
+ * it is closed only if it has been {@link #setCompletelyWritten(boolean)
+ * marked as completely written}. Otherwise, it is discarded.</p>
+ *
+ * <p>This enables writers to close the stream in a {@literal finally} block
+ * or try-with-resources statement without the risk of committing a
+ * truncated image when writing fails or is cancelled.</p>
+ *
+ * @since 4.0
+ */
+public abstract class CompletableOutputStream extends OutputStream {
+
+    private volatile boolean isCompletelyWritten;
+
+    /**
+     * @return Whether the content has been marked as completely written.
+     */
+    public boolean isCompletelyWritten() {
+        return isCompletelyWritten;
+    }
+
+    /**
+     * To be invoked with {@literal true} before {@link #close()} after all of
+     * the content has been successfully written.
+     */
+    public void setCompletelyWritten(boolean isCompletelyWritten) {
+        this.isCompletelyWritten = isCompletelyWritten;
+    }
+
+}
@@ -7,14 +7,18 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Used by {@link Files#walkFileTree} to delete all stale temporary and
- * zero-byte files within a directory.
+ * zero-byte files within a directory. Individual files can also be checked
+ * with {@link #test(Path)}.
  */
 class DetritalFileVisitor extends SimpleFileVisitor<Path> {
 
@@ -25,6 +29,7 @@ class DetritalFileVisitor extends SimpleFileVisitor<Path> {
     private long deletedFileSize = 0;
     private final PathMatcher matcher;
     private final long minCleanableAge;
+    private final List<Path> retainedFiles = new ArrayList<>();
 
     DetritalFileVisitor(long minCleanableAge, String tempExtension) {
         this.minCleanableAge = minCleanableAge;
@@ -51,23 +56,36 @@ class DetritalFileVisitor extends SimpleFileVisitor<Path> {
         return deletedFileSize;
     }
 
-    private void test(Path path) {
+    /**
+     * @return Temporary and zero-byte files that were not deleted because
+     *         they are too new.
+     */
+    List<Path> getRetainedFiles() {
+        return retainedFiles;
+    }
+
+    /**
+     * Deletes the given file if it is a stale temporary or zero-byte file.
+     */
+    void test(Path path) {
         try {
+            final boolean isDetrital = matcher.matches(path.getFileName()) ||
+                    Files.size(path) == 0;
+            if (!isDetrital) {
+                return;
+            }
             // Try to avoid matching temp files that may still be open for
             // writing by assuming that files last modified long enough ago
             // are closed.
             if (System.currentTimeMillis()
                     - Files.getLastModifiedTime(path).toMillis() > minCleanableAge) {
-                // Delete temp files.
-                if (matcher.matches(path.getFileName())) {
-                    delete(path);
-                } else {
-                    // Delete zero-byte files.
-                    if (Files.size(path) == 0) {
-                        delete(path);
-                    }
-                }
+                delete(path);
+            } else {
+                retainedFiles.add(path);
             }
+        } catch (NoSuchFileException e) {
+            // It was moved or deleted in the meantime.
+            LOGGER.debug("test(): {}", e.getMessage());
         } catch (IOException e) {
             LOGGER.error(e.getMessage(), e);
         }
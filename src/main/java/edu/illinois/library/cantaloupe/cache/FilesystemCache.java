@@ -10,7 +10,6 @@ import edu.illinois.library.cantaloupe.operation.OperationList;
 import edu.illinois.library.cantaloupe.util.DeletingFileVisitor;
 import edu.illinois.library.cantaloupe.util.StringUtil;
 import org.apache.commons.codec.binary.Hex;
-import org.apache.commons.io.output.NullOutputStream;
 import org.apache.commons.lang3.SystemUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,9 +32,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -105,45 +104,75 @@ import java.util.stream.Collectors;
  *     <li>Symbolic links are followed.</li>
  *     <li>This implementation is both thread- and process-safe.</li>
  * </ul>
+ *
+ * <h1>Size-bounded mode</h1>
+ *
+ * <p>If {@link Key#FILESYSTEMCACHE_MAX_SIZE} and/or {@link
+ * Key#FILESYSTEMCACHE_MAX_FILES} are set, the sizes and last-accessed times
+ * of cache files are tracked in a shared in-memory {@link
+ * FilesystemCacheIndex}, and the least recently accessed files are evicted
+ * as new ones are written. In this mode, {@link #purgeInvalid()} consults the
+ * index instead of crawling the tree, and {@link #cleanUp()} checks only the
+ * temporary and zero-byte files that the index knows of and additionally
+ * {@link FilesystemCacheIndex#writeJournal() writes the journal} (if {@link
+ * Key#FILESYSTEMCACHE_JOURNAL enabled}).</p>
  */
 class FilesystemCache implements SourceCache, DerivativeCache {
 
     /**
      * <p>Writes images to a temp file that will be moved into place when
-     * closed.</p>
+     * closed, if it has been {@link #setCompletelyWritten(boolean) completely
+     * written}, and deleted otherwise.</p>
      *
      * <p>{@link T} may be either an {@link Identifier} corresponding to a
      * source image, or an {@link OperationList} corresponding to a derivative
      * image.</p>
      */
-    private static class ConcurrentFileOutputStream<T> extends OutputStream {
+    private static class ConcurrentFileOutputStream<T>
+            extends CompletableOutputStream {
 
         private static final Logger CFOS_LOGGER = LoggerFactory.
                 getLogger(ConcurrentFileOutputStream.class);
 
+        /**
+         * Number of written bytes after which they are published to the
+         * {@link GrowingFile}, in order to avoid contending for its lock on
+         * every write.
+         */
+        private static final int PUBLISH_INTERVAL = 64 * 1024;
+
         private final Path destinationFile;
         private boolean isClosed = false;
-        private final Object lock;
         private final Path tempFile;
         private T toRemove;
+        private final GrowingFile growingFile;
         private OutputStream wrappedOutputStream;
 
+        /**
+         * Number of bytes written but not yet published to {@link
+         * #growingFile}.
+         */
+        private long numUnpublishedBytes;
+
         /**
          * @param tempFile Pathname of the temp file to write to.
          * @param destinationFile Pathname to move tempFile to when it is done
          *                        being written.
-         * @param toRemove Object to remove from the set when done.
-         * @param lock Object to perform notification upon closure.
+         * @param toRemove Key to remove from {@link
+         *                 FilesystemCache#imagesBeingWritten} when done.
+         * @param growingFile Instance to update as the file is written,
+         *                    which must already have been added to {@link
+         *                    FilesystemCache#imagesBeingWritten}.
          */
         ConcurrentFileOutputStream(Path tempFile,
                                    Path destinationFile,
                                    T toRemove,
-                                   Object lock) throws IOException {
-            imagesBeingWritten.add(toRemove);
+                                   GrowingFile growingFile)
+                throws IOException {
             this.tempFile = tempFile;
             this.destinationFile = destinationFile;
             this.toRemove = toRemove;
-            this.lock = lock;
+            this.growingFile = growingFile;
             this.wrappedOutputStream = Files.newOutputStream(tempFile);
         }
 
@@ -166,6 +195,8 @@ class FilesystemCache implements SourceCache, DerivativeCache {
                                 e.getMessage());
                     }
 
+                    publishProgress();
+
                     // Close the wrapped stream in order to release its handle
                     // on tempFile.
                     try {
@@ -177,29 +208,40 @@ class FilesystemCache implements SourceCache, DerivativeCache {
                             "wrapped output stream: {}", e.getMessage());
                     }
 
-                    // If the written file isn't empty, move it into place.
-                    // Otherwise, delete it.
-                    if (Files.size(tempFile) > 0) {
+                    // If the written file is complete and isn't empty, move
+                    // it into place. Otherwise, delete it.
+                    final long size = Files.size(tempFile);
+                    if (!isCompletelyWritten()) {
+                        CFOS_LOGGER.debug("close(): deleting incompletely " +
+                                "written file: {}", tempFile);
+                        Files.delete(tempFile);
+                        onTempFileRemoved(tempFile);
+                        // Readers that are already reading the temp file
+                        // must not take it to be complete.
+                        growingFile.fail(new IOException(
+                                "Writing was aborted: " + destinationFile));
+                    } else if (size > 0) {
                         CFOS_LOGGER.debug("close(): moving {} to {}",
                                 tempFile, destinationFile);
                         Files.move(tempFile, destinationFile);
+                        onTempFileRemoved(tempFile);
+                        onWritten(destinationFile, size);
                     } else {
                         CFOS_LOGGER.debug("close(): deleting zero-byte file: {}",
                                 tempFile);
                         Files.delete(tempFile);
+                        onTempFileRemoved(tempFile);
                     }
                 } catch (FileAlreadyExistsException e) {
                     CFOS_LOGGER.debug("close(): {}", e.getMessage(), e);
                 } catch (IOException e) {
                     CFOS_LOGGER.warn("close(): {}", e.getMessage(), e);
+                    growingFile.fail(e);
                 } finally {
-                    imagesBeingWritten.remove(toRemove);
-
                     // Release other threads waiting on this image to be
                     // written.
-                    synchronized(lock) {
-                        lock.notifyAll();
-                    }
+                    imagesBeingWritten.remove(toRemove, growingFile);
+                    growingFile.complete();
                 }
             }
         }
@@ -207,25 +249,84 @@ class FilesystemCache implements SourceCache, DerivativeCache {
         @Override
         public void flush() throws IOException {
             wrappedOutputStream.flush();
+            publishProgress();
+        }
+
+        /**
+         * Publishes all written bytes to {@link #growingFile}.
+         */
+        private void publishProgress() {
+            if (numUnpublishedBytes > 0) {
+                growingFile.advance(numUnpublishedBytes);
+                numUnpublishedBytes = 0;
+            }
+        }
+
+        /**
+         * Publishes the written bytes to {@link #growingFile} if enough of
+         * them have accumulated.
+         */
+        private void wrote(int numBytes) {
+            numUnpublishedBytes += numBytes;
+            if (numUnpublishedBytes >= PUBLISH_INTERVAL) {
+                publishProgress();
+            }
         }
 
         @Override
         public void write(int b) throws IOException {
             wrappedOutputStream.write(b);
+            wrote(1);
         }
 
         @Override
         public void write(byte[] b) throws IOException {
             wrappedOutputStream.write(b);
+            wrote(b.length);
         }
 
         @Override
         public void write(byte[] b, int off, int len) throws IOException {
             wrappedOutputStream.write(b, off, len);
+            wrote(len);
         }
 
     }
 
+    /**
+     * Parsed values of {@link Key#FILESYSTEMCACHE_MAX_SIZE} and {@link
+     * Key#FILESYSTEMCACHE_MAX_FILES}.
+     */
+    private static final class Limits {
+
+        final long maxSize, maxFiles;
+
+        Limits(long maxSize, long maxFiles) {
+            this.maxSize = maxSize;
+            this.maxFiles = maxFiles;
+        }
+
+        boolean isBounded() {
+            return maxSize > 0 || maxFiles > 0;
+        }
+
+    }
+
+    /**
+     * Returned by {@link #newOutputStream} when the image is being written by
+     * another thread.
+     */
+    private static class NullCompletableOutputStream
+            extends CompletableOutputStream {
+
+        @Override
+        public void write(int b) {}
+
+        @Override
+        public void write(byte[] b, int off, int len) {}
+
+    }
+
     private static final Logger LOGGER =
             LoggerFactory.getLogger(FilesystemCache.class);
 
@@ -238,53 +339,195 @@ class FilesystemCache implements SourceCache, DerivativeCache {
     private static final String SOURCE_IMAGE_FOLDER = "source";
 
     private static final String INFO_EXTENSION = ".json";
+    private static final String JOURNAL_FILENAME = "index.journal";
     private static final String TEMP_EXTENSION = ".tmp";
 
     /**
-     * Set of {@link Identifier}s or {@link OperationList}s) for which image
-     * files are currently being written from any thread.
+     * Shared by all instances. May be {@literal null}. Access via {@link
+     * #getIndex()}.
      */
-    private static final Set<Object> imagesBeingWritten =
-            ConcurrentHashMap.newKeySet();
+    private static volatile FilesystemCacheIndex index;
 
     /**
-     * Set of {@link OperationList}s for which image files are currently being
-     * purged by {@link #purge(OperationList)} from any thread.
+     * Read from the configuration on demand and cached until {@link
+     * #reloadLimits()}. Access via {@link #getLimits()}.
      */
-    private final Set<OperationList> imagesBeingPurged =
-            ConcurrentHashMap.newKeySet();
+    private static volatile Limits limits;
 
     /**
-     * Set of identifiers for which info files are currently being purged by
-     * {@link #purge(Identifier)} from any thread.
+     * {@link Identifier}s or {@link OperationList}s for which image files are
+     * currently being written from any thread, mapped to instances that track
+     * their progress. Entries are removed as soon as writing is complete.
      */
-    private final Set<Identifier> infosBeingPurged =
-            ConcurrentHashMap.newKeySet();
+    private static final ConcurrentMap<Object, GrowingFile>
+            imagesBeingWritten = new ConcurrentHashMap<>();
+
+    /**
+     * Per-identifier locks that allow for simultaneous reads and writes of
+     * different infos.
+     */
+    private static final KeyedLocks<Identifier> infoLocks =
+            new KeyedLocks<>();
+
+    /**
+     * Per-{@link Identifier} and per-{@link OperationList} locks that
+     * serialize {@link #purge(Identifier)} and {@link #purge(OperationList)}
+     * invocations for the same key without blocking others.
+     */
+    private static final KeyedLocks<Object> purgeLocks = new KeyedLocks<>();
+
+    /**
+     * Held shared by {@link #purge(Identifier)} and {@link
+     * #purge(OperationList)}, and exclusively by {@link #purge()} and {@link
+     * #purgeInvalid()}, so that global purges wait for targeted ones to
+     * finish.
+     */
+    private static final ReadWriteLock globalPurgeLock =
+            new ReentrantReadWriteLock();
 
     /**
      * Toggled by {@link #purge()} and {@link #purgeInvalid()}.
      */
-    private final AtomicBoolean isGlobalPurgeInProgress =
+    private static final AtomicBoolean isGlobalPurgeInProgress =
             new AtomicBoolean(false);
 
     private long minCleanableAge = 1000 * 60 * 10;
 
     /**
-     * Several different lock objects for context-dependent synchronization.
-     * Reduces contention for the instance.
+     * <p>Returns the shared index, creating it (and starting to {@link
+     * FilesystemCacheIndex#rebuild() rebuild} it in the background) if
+     * necessary.</p>
+     *
+     * <p>As this is invoked on every cache hit, the size limits are not
+     * read from the configuration every time, but only after {@link
+     * #reloadLimits()}. Changes to the cache root take effect
+     * immediately.</p>
+     *
+     * @return Shared index, or {@literal null} if neither {@link
+     *         Key#FILESYSTEMCACHE_MAX_SIZE} nor {@link
+     *         Key#FILESYSTEMCACHE_MAX_FILES} is set.
+     */
+    static FilesystemCacheIndex getIndex() {
+        final Limits limits = getLimits();
+        if (!limits.isBounded()) {
+            return null;
+        }
+        final Configuration config = Configuration.getInstance();
+
+        final Path rootPath = rootPath();
+        FilesystemCacheIndex idx = index;
+        if (idx == null || !idx.getRootPath().equals(rootPath)) {
+            synchronized (FilesystemCache.class) {
+                idx = index;
+                if (idx == null || !idx.getRootPath().equals(rootPath)) {
+                    final Path journalFile =
+                            config.getBoolean(Key.FILESYSTEMCACHE_JOURNAL, false) ?
+                                    rootPath.resolve(JOURNAL_FILENAME) : null;
+                    idx = new FilesystemCacheIndex(rootPath, journalFile);
+                    idx.setLimits(limits.maxSize, limits.maxFiles);
+                    index = idx;
+
+                    final FilesystemCacheIndex newIndex = idx;
+                    ThreadPool.getInstance().submit(() -> {
+                        newIndex.rebuild();
+                        return null;
+                    }, ThreadPool.Priority.LOW);
+                }
+            }
+        }
+        idx.setLimits(limits.maxSize, limits.maxFiles);
+        return idx;
+    }
+
+    private static Limits getLimits() {
+        Limits l = limits;
+        if (l == null) {
+            final Configuration config = Configuration.getInstance();
+            final String maxSizeStr =
+                    config.getString(Key.FILESYSTEMCACHE_MAX_SIZE, "");
+            final long maxSize = maxSizeStr.isEmpty() ?
+                    0 : StringUtil.toByteSize(maxSizeStr);
+            final long maxFiles =
+                    config.getLong(Key.FILESYSTEMCACHE_MAX_FILES, 0);
+            l = new Limits(maxSize, maxFiles);
+            limits = l;
+        }
+        return l;
+    }
+
+    /**
+     * Causes {@link Key#FILESYSTEMCACHE_MAX_SIZE} and {@link
+     * Key#FILESYSTEMCACHE_MAX_FILES} to be re-read from the configuration the
+     * next time they are needed. Should be invoked when the configuration is
+     * reloaded.
+     */
+    static void reloadLimits() {
+        limits = null;
+    }
+
+    /**
+     * Updates the index, if in use, to reflect an access of the given file.
+     */
+    private static void onAccessed(Path file) {
+        final FilesystemCacheIndex idx = getIndex();
+        if (idx != null) {
+            idx.touch(file);
+        }
+    }
+
+    /**
+     * Updates the index, if in use, to reflect the deletion of the given
+     * file.
+     */
+    private static void onDeleted(Path file) {
+        final FilesystemCacheIndex idx = getIndex();
+        if (idx != null) {
+            idx.remove(file);
+        }
+    }
+
+    /**
+     * Updates the index, if in use, to reflect the creation of the given
+     * temporary file, so that {@link #cleanUp()} can find it if it is never
+     * moved into place.
      */
-    private final Object derivativeImageWriteLock = new Object();
-    private final Object imagePurgeLock = new Object();
-    private final Object infoPurgeLock = new Object();
-    private final Object sourceImageWriteLock = new Object();
+    private static void onTempFileCreated(Path tempFile) {
+        final FilesystemCacheIndex idx = getIndex();
+        if (idx != null) {
+            idx.addDetritus(tempFile);
+        }
+    }
 
     /**
-     * Rather than using a global lock, per-identifier locks allow for
-     * simultaneous writes to different infos. Map entries are added on demand
-     * and never removed.
+     * Updates the index, if in use, to reflect the moving or deletion of the
+     * given temporary file.
      */
-    private final Map<Identifier,ReadWriteLock> infoLocks =
-            new ConcurrentHashMap<>();
+    private static void onTempFileRemoved(Path tempFile) {
+        final FilesystemCacheIndex idx = getIndex();
+        if (idx != null) {
+            idx.removeDetritus(tempFile);
+        }
+    }
+
+    /**
+     * Updates the index, if in use, to reflect the writing of the given file,
+     * and evicts other files as necessary.
+     */
+    private static void onWritten(Path file, long size) {
+        final FilesystemCacheIndex idx = getIndex();
+        if (idx != null) {
+            idx.add(file, size);
+            idx.evict();
+        }
+    }
+
+    /**
+     * For testing only!
+     */
+    static synchronized void resetIndex() {
+        index = null;
+        limits = null;
+    }
 
     /**
      * Returns the last-accessed time of the given file. On some OS/filesystem
@@ -474,35 +717,61 @@ class FilesystemCache implements SourceCache, DerivativeCache {
         return "_" + Thread.currentThread().getName() + TEMP_EXTENSION;
     }
 
-    private ReadWriteLock acquireInfoLock(final Identifier identifier) {
-        ReadWriteLock lock = infoLocks.get(identifier);
-        if (lock == null) {
-            infoLocks.putIfAbsent(identifier, new ReentrantReadWriteLock());
-            lock = infoLocks.get(identifier);
-        }
-        return lock;
+    /**
+     * For testing only!
+     *
+     * @return Number of keys with locks currently allocated.
+     */
+    static int getNumLockedKeys() {
+        return infoLocks.size() + purgeLocks.size() +
+                imagesBeingWritten.size();
     }
 
     /**
-     * Deletes temporary and zero-byte files.
+     * <p>Deletes temporary and zero-byte files, and writes the index journal,
+     * if in use.</p>
+     *
+     * <p>If the index is in use and {@link
+     * FilesystemCacheIndex#isDetritusComplete() knows of all such files},
+     * only those are checked. Otherwise, the whole tree is walked.</p>
      *
      * @see DetritalFileVisitor
      */
     @Override
     public void cleanUp() throws IOException {
         final Path path = rootPath();
-
-        LOGGER.info("cleanUp(): cleaning directory: {}", path);
-        DetritalFileVisitor visitor =
+        final FilesystemCacheIndex idx = getIndex();
+        final DetritalFileVisitor visitor =
                 new DetritalFileVisitor(minCleanableAge, TEMP_EXTENSION);
 
-        Files.walkFileTree(path,
-                EnumSet.of(FileVisitOption.FOLLOW_LINKS),
-                Integer.MAX_VALUE,
-                visitor);
+        if (idx != null && idx.isDetritusComplete()) {
+            LOGGER.info("cleanUp(): cleaning indexed files in: {}", path);
+            for (Path file : idx.getDetritus()) {
+                visitor.test(file);
+                if (!Files.exists(file)) {
+                    idx.removeDetritus(file);
+                }
+            }
+        } else {
+            LOGGER.info("cleanUp(): cleaning directory: {}", path);
+            Files.walkFileTree(path,
+                    EnumSet.of(FileVisitOption.FOLLOW_LINKS),
+                    Integer.MAX_VALUE,
+                    visitor);
+            // Files created since the index was acquired are already in it,
+            // so after one walk, it knows of all of them.
+            if (idx != null) {
+                visitor.getRetainedFiles().forEach(idx::addDetritus);
+                idx.setDetritusComplete();
+            }
+        }
         LOGGER.info("cleanUp(): cleaned {} item(s) totaling {} bytes",
                 visitor.getDeletedFileCount(),
                 visitor.getDeletedFileSize());
+
+        if (idx != null) {
+            idx.writeJournal();
+        }
     }
 
     /**
@@ -528,36 +797,33 @@ class FilesystemCache implements SourceCache, DerivativeCache {
 
     @Override
     public Info getImageInfo(Identifier identifier) throws IOException {
-        final ReadWriteLock lock = acquireInfoLock(identifier);
-        lock.readLock().lock();
-
-        try {
+        try (KeyedLocks.Handle lock = infoLocks.readLock(identifier)) {
             final Path cacheFile = infoFile(identifier);
             if (!isExpired(cacheFile)) {
                 LOGGER.info("getImageInfo(): hit: {}", cacheFile);
-                return Info.fromJSON(cacheFile);
+                final Info info = Info.fromJSON(cacheFile);
+                onAccessed(cacheFile);
+                return info;
             } else {
                 purgeAsync(cacheFile);
             }
         } catch (NoSuchFileException | FileNotFoundException e) {
             LOGGER.info("getImageInfo(): not found: {}", e.getMessage());
-        } finally {
-            lock.readLock().unlock();
         }
         return null;
     }
 
     @Override
     public Path getSourceImageFile(Identifier identifier) throws IOException {
-        synchronized (sourceImageWriteLock) {
-            while (imagesBeingWritten.contains(identifier)) {
-                try {
-                    LOGGER.debug("getSourceImageFile(): waiting on {}...",
-                            identifier);
-                    sourceImageWriteLock.wait();
-                } catch (InterruptedException e) {
-                    break;
-                }
+        // If the image is being written in another thread, wait for it.
+        // Threads requesting other images are not affected.
+        final GrowingFile growingFile = imagesBeingWritten.get(identifier);
+        if (growingFile != null) {
+            LOGGER.debug("getSourceImageFile(): waiting on {}...", identifier);
+            try {
+                growingFile.awaitCompletion();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
         }
 
@@ -569,6 +835,7 @@ class FilesystemCache implements SourceCache, DerivativeCache {
                 LOGGER.info("getSourceImageFile(): hit: {} ({})",
                         identifier, cacheFile);
                 file = cacheFile;
+                onAccessed(cacheFile);
             } else {
                 purgeAsync(cacheFile);
             }
@@ -576,6 +843,16 @@ class FilesystemCache implements SourceCache, DerivativeCache {
         return file;
     }
 
+    /**
+     * @return Instance representing the source image with the given identifier
+     *         being written in another thread, or {@literal null} if it is not
+     *         currently being written.
+     */
+    @Override
+    public GrowingFile getGrowingSourceImageFile(Identifier identifier) {
+        return imagesBeingWritten.get(identifier);
+    }
+
     @Override
     public InputStream newDerivativeImageInputStream(OperationList ops)
             throws IOException {
@@ -588,6 +865,7 @@ class FilesystemCache implements SourceCache, DerivativeCache {
                     LOGGER.info("newDerivativeImageInputStream(): " +
                                     "hit: {} ({})", ops, cacheFile);
                     inputStream = Files.newInputStream(cacheFile);
+                    onAccessed(cacheFile);
                 } catch (NoSuchFileException e) {
                     LOGGER.error(e.getMessage(), e);
                 }
@@ -609,23 +887,28 @@ class FilesystemCache implements SourceCache, DerivativeCache {
     @Override
     public OutputStream newDerivativeImageOutputStream(OperationList ops)
             throws IOException {
-        return newOutputStream(ops, derivativeImageTempFile(ops),
-                derivativeImageFile(ops), derivativeImageWriteLock);
+        final CompletableOutputStream os = newOutputStream(ops,
+                derivativeImageTempFile(ops), derivativeImageFile(ops));
+        // DerivativeCache clients purge incompletely written images
+        // themselves, so the content is committed whenever it is closed.
+        os.setCompletelyWritten(true);
+        return os;
     }
 
     /**
      * @param identifier Identifier representing the image to write to.
      * @return An output stream to write to. The stream will generally write to
-     *         a temp file and then move it into place when closed. It may also
-     *         write to nothing if an output stream for the same operation list
-     *         has been returned to another thread but not yet closed.
+     *         a temp file and then move it into place when closed, if it has
+     *         been marked as completely written. It may also write to nothing
+     *         if an output stream for the same operation list has been
+     *         returned to another thread but not yet closed.
      * @throws IOException If anything goes wrong.
      */
     @Override
-    public OutputStream newSourceImageOutputStream(Identifier identifier)
+    public CompletableOutputStream newSourceImageOutputStream(Identifier identifier)
             throws IOException {
         return newOutputStream(identifier, sourceImageTempFile(identifier),
-                sourceImageFile(identifier), sourceImageWriteLock);
+                sourceImageFile(identifier));
     }
 
     /**
@@ -633,22 +916,21 @@ class FilesystemCache implements SourceCache, DerivativeCache {
      * @param tempFile Temporary file to write to.
      * @param destFile Destination file that tempFile will be moved to when
      *                 writing is complete.
-     * @param notifyObj Object to perform notification upon stream closure.
      * @return Output stream for writing.
      * @throws IOException IF anything goes wrong.
      */
-    private OutputStream newOutputStream(Object imageIdentifier,
-                                         Path tempFile,
-                                         Path destFile,
-                                         Object notifyObj) throws IOException {
-        // If the image is being written in another thread, it may (or may not)
-        // be present in the imagesBeingWritten set. If so, return a null
+    private CompletableOutputStream newOutputStream(Object imageIdentifier,
+                                                    Path tempFile,
+                                                    Path destFile)
+            throws IOException {
+        // If the image is being written in another thread, return a null
         // output stream to avoid interfering.
-        if (imagesBeingWritten.contains(imageIdentifier)) {
+        final GrowingFile growingFile = new GrowingFile(tempFile, destFile);
+        if (imagesBeingWritten.putIfAbsent(imageIdentifier, growingFile) != null) {
             LOGGER.info("newOutputStream(): miss, but cache file for {} is " +
                     "being written in another thread, so returning a {}",
-                    imageIdentifier, NullOutputStream.class.getSimpleName());
-            return new NullOutputStream();
+                    imageIdentifier, NullCompletableOutputStream.class.getSimpleName());
+            return new NullCompletableOutputStream();
         }
 
         LOGGER.info("newOutputStream(): miss; caching {}", imageIdentifier);
@@ -659,16 +941,23 @@ class FilesystemCache implements SourceCache, DerivativeCache {
             // same argument.
             Files.createDirectories(tempFile.getParent());
 
+            onTempFileCreated(tempFile);
             return new ConcurrentFileOutputStream<>(tempFile, destFile,
-                    imageIdentifier, notifyObj);
+                    imageIdentifier, growingFile);
         } catch (FileAlreadyExistsException e) {
             // The image either already exists in its complete form, or is
             // being written by another thread/process. Either way, there is no
             // need to write over it.
             LOGGER.debug("newOutputStream(): {} already exists; returning a {}",
                     tempFile.getParent(),
-                    NullOutputStream.class.getSimpleName());
-            return new NullOutputStream();
+                    NullCompletableOutputStream.class.getSimpleName());
+            imagesBeingWritten.remove(imageIdentifier, growingFile);
+            growingFile.complete();
+            return new NullCompletableOutputStream();
+        } catch (IOException e) {
+            imagesBeingWritten.remove(imageIdentifier, growingFile);
+            growingFile.fail(e);
+            throw e;
         }
     }
 
@@ -681,24 +970,14 @@ class FilesystemCache implements SourceCache, DerivativeCache {
      */
     @Override
     public void purge() throws IOException {
-        if (isGlobalPurgeInProgress.get()) {
+        if (!isGlobalPurgeInProgress.compareAndSet(false, true)) {
             LOGGER.info("purge() called with a purge already in progress. " +
                     "Aborting.");
             return;
         }
-        synchronized (imagePurgeLock) {
-            while (!imagesBeingPurged.isEmpty()) {
-                try {
-                    LOGGER.debug("purge(): waiting...");
-                    imagePurgeLock.wait();
-                } catch (InterruptedException e) {
-                    break;
-                }
-            }
-        }
+        LOGGER.debug("purge(): waiting for other purges to finish...");
+        globalPurgeLock.writeLock().lock();
         try {
-            isGlobalPurgeInProgress.set(true);
-
             final Path path = rootPath();
 
             DeletingFileVisitor visitor = new DeletingFileVisitor();
@@ -713,11 +992,14 @@ class FilesystemCache implements SourceCache, DerivativeCache {
             LOGGER.info("purge(): purged {} item(s) totaling {} bytes",
                     visitor.getDeletedFileCount(),
                     visitor.getDeletedFileSize());
+
+            final FilesystemCacheIndex idx = getIndex();
+            if (idx != null) {
+                idx.clear();
+            }
         } finally {
+            globalPurgeLock.writeLock().unlock();
             isGlobalPurgeInProgress.set(false);
-            synchronized (imagePurgeLock) {
-                imagePurgeLock.notifyAll();
-            }
         }
     }
 
@@ -729,24 +1011,13 @@ class FilesystemCache implements SourceCache, DerivativeCache {
      */
     @Override
     public void purge(Identifier identifier) throws IOException {
-        if (isGlobalPurgeInProgress.get()) {
+        if (isGlobalPurgeInProgress.get() ||
+                !globalPurgeLock.readLock().tryLock()) {
             LOGGER.info("purge(Identifier) called with a global purge in " +
                     "progress. Aborting.");
             return;
         }
-        synchronized (infoPurgeLock) {
-            while (infosBeingPurged.contains(identifier)) {
-                try {
-                    LOGGER.debug("purge(Identifier): waiting on {}...",
-                            identifier);
-                    infoPurgeLock.wait();
-                } catch (InterruptedException e) {
-                    break;
-                }
-            }
-        }
-        try {
-            infosBeingPurged.add(identifier);
+        try (KeyedLocks.Handle lock = purgeLocks.writeLock(identifier)) {
             LOGGER.info("purge(Identifier): purging {}...", identifier);
 
             // Delete the source image.
@@ -754,6 +1025,7 @@ class FilesystemCache implements SourceCache, DerivativeCache {
             try {
                 LOGGER.info("purge(Identifier): deleting {}", sourceFile);
                 Files.deleteIfExists(sourceFile);
+                onDeleted(sourceFile);
             } catch (IOException e) {
                 LOGGER.warn(e.getMessage());
             }
@@ -762,6 +1034,7 @@ class FilesystemCache implements SourceCache, DerivativeCache {
             try {
                 LOGGER.info("purge(Identifier): deleting {}", infoFile);
                 Files.deleteIfExists(infoFile);
+                onDeleted(infoFile);
             } catch (IOException e) {
                 LOGGER.warn(e.getMessage());
             }
@@ -770,12 +1043,13 @@ class FilesystemCache implements SourceCache, DerivativeCache {
                 try {
                     LOGGER.info("purge(Identifier): deleting {}", imageFile);
                     Files.deleteIfExists(imageFile);
+                    onDeleted(imageFile);
                 } catch (IOException e) {
                     LOGGER.warn(e.getMessage());
                 }
             }
         } finally {
-            infosBeingPurged.remove(identifier);
+            globalPurgeLock.readLock().unlock();
         }
     }
 
@@ -791,38 +1065,25 @@ class FilesystemCache implements SourceCache, DerivativeCache {
      */
     @Override
     public void purge(OperationList opList) {
-        if (isGlobalPurgeInProgress.get()) {
+        if (isGlobalPurgeInProgress.get() ||
+                !globalPurgeLock.readLock().tryLock()) {
             LOGGER.info("purge(OperationList) called with a global purge in " +
                     "progress. Aborting.");
             return;
         }
-        synchronized (imagePurgeLock) {
-            while (imagesBeingPurged.contains(opList)) {
-                try {
-                    LOGGER.debug("purge(OperationList): waiting on {}...",
-                            opList);
-                    imagePurgeLock.wait();
-                } catch (InterruptedException e) {
-                    break;
-                }
-            }
-        }
-        try {
-            imagesBeingPurged.add(opList);
+        try (KeyedLocks.Handle lock = purgeLocks.writeLock(opList)) {
             LOGGER.info("purge(OperationList): purging {}...", opList);
 
             Path file = derivativeImageFile(opList);
             try {
                 Files.deleteIfExists(file);
+                onDeleted(file);
             } catch (IOException e) {
                 LOGGER.warn("purge(OperationList(): unable to delete {}",
                         file);
             }
         } finally {
-            imagesBeingPurged.remove(opList);
-            synchronized (imagePurgeLock) {
-                imagePurgeLock.notifyAll();
-            }
+            globalPurgeLock.readLock().unlock();
         }
     }
 
@@ -831,40 +1092,39 @@ class FilesystemCache implements SourceCache, DerivativeCache {
             LOGGER.debug("purgeAsync(): deleting stale file: {}", path);
             try {
                 Files.deleteIfExists(path);
+                onDeleted(path);
             } catch (IOException e) {
                 LOGGER.warn("purgeAsync(): unable to delete {}", path);
             }
-        });
+        }, TaskQueue.Lane.PURGE);
     }
 
     /**
      * <p>Crawls the image directory, deleting all expired files within it
      * (temporary or not), and then does the same in the info directory.</p>
      *
+     * <p>In size-bounded mode, once the index is ready, expired files are
+     * instead looked up in the index, which doesn't require crawling or
+     * blocking other purges.</p>
+     *
      * <p>Will do nothing and return immediately if a global purge is in
      * progress in another thread.</p>
      */
     @Override
     public void purgeInvalid() throws IOException {
-        if (isGlobalPurgeInProgress.get()) {
+        final FilesystemCacheIndex idx = getIndex();
+        if (idx != null && idx.isReady()) {
+            purgeInvalid(idx);
+            return;
+        }
+        if (!isGlobalPurgeInProgress.compareAndSet(false, true)) {
             LOGGER.info("purgeInvalid() called with a purge in progress. " +
                     "Aborting.");
             return;
         }
-        synchronized (imagePurgeLock) {
-            while (!imagesBeingPurged.isEmpty()) {
-                try {
-                    LOGGER.debug("purgeInvalid(): waiting...");
-                    imagePurgeLock.wait();
-                } catch (InterruptedException e) {
-                    break;
-                }
-            }
-        }
-
+        LOGGER.debug("purgeInvalid(): waiting for other purges to finish...");
+        globalPurgeLock.writeLock().lock();
         try {
-            isGlobalPurgeInProgress.set(true);
-
             final ExpiredFileVisitor visitor = new ExpiredFileVisitor();
 
             LOGGER.info("purgeInvalid(): starting...");
@@ -876,23 +1136,47 @@ class FilesystemCache implements SourceCache, DerivativeCache {
                     visitor.getDeletedFileCount(),
                     visitor.getDeletedFileSize());
         } finally {
+            globalPurgeLock.writeLock().unlock();
             isGlobalPurgeInProgress.set(false);
-            synchronized (imagePurgeLock) {
-                imagePurgeLock.notifyAll();
+        }
+    }
+
+    private void purgeInvalid(FilesystemCacheIndex idx) throws IOException {
+        final Configuration config = Configuration.getInstance();
+        final long sourceTtlMsec =
+                1000 * config.getLong(Key.SOURCE_CACHE_TTL, 0);
+        final long derivativeTtlMsec =
+                1000 * config.getLong(Key.DERIVATIVE_CACHE_TTL, 0);
+        final Path sourceRootPath = rootSourceImagePath();
+
+        LOGGER.info("purgeInvalid(): starting (using index)...");
+        final List<Path> files = idx.selectExpired(file ->
+                file.startsWith(sourceRootPath) ?
+                        sourceTtlMsec : derivativeTtlMsec);
+        long deletedSize = 0;
+        for (Path file : files) {
+            try {
+                final long size = Files.size(file);
+                Files.deleteIfExists(file);
+                deletedSize += size;
+            } catch (NoSuchFileException e) {
+                LOGGER.debug("purgeInvalid(): {}", e.getMessage());
+            } catch (IOException e) {
+                LOGGER.warn("purgeInvalid(): {}", e.getMessage());
             }
         }
+        LOGGER.info("purgeInvalid(): purged {} item(s) totaling {} bytes",
+                files.size(), deletedSize);
+
+        idx.writeJournal();
     }
 
     @Override
     public void put(Identifier identifier, Info info) throws IOException {
-        final ReadWriteLock lock = acquireInfoLock(identifier);
-
-        lock.writeLock().lock();
-
         final Path destFile = infoFile(identifier);
         final Path tempFile = infoTempFile(identifier);
 
-        try {
+        try (KeyedLocks.Handle lock = infoLocks.writeLock(identifier)) {
             LOGGER.info("put(): writing {} to {}", identifier, tempFile);
 
             try {
@@ -906,12 +1190,16 @@ class FilesystemCache implements SourceCache, DerivativeCache {
                         e.getMessage());
             }
 
+            onTempFileCreated(tempFile);
             try (OutputStream os = Files.newOutputStream(tempFile)) {
                 info.writeAsJSON(os);
             }
 
             LOGGER.debug("put(): moving {} to {}", tempFile, destFile);
+            final long size = Files.size(tempFile);
             Files.move(tempFile, destFile);
+            onTempFileRemoved(tempFile);
+            onWritten(destFile, size);
         } catch (FileAlreadyExistsException e) {
             // When this method runs concurrently with an equal Identifier
             // argument, all of the other invocations of Files.move() will
@@ -920,14 +1208,36 @@ class FilesystemCache implements SourceCache, DerivativeCache {
         } catch (IOException e) {
             try {
                 Files.deleteIfExists(tempFile);
+                onTempFileRemoved(tempFile);
             } catch (IOException e2) {
                 // Swallow this because the outer exception is more important.
                 LOGGER.error("put(): failed to delete file: {}",
                         e2.getMessage());
             }
             throw e;
-        } finally {
-            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts building the index, if in use.
+     */
+    @Override
+    public void initialize() {
+        getIndex();
+    }
+
+    /**
+     * Writes the index journal, if in use.
+     */
+    @Override
+    public void shutdown() {
+        final FilesystemCacheIndex idx = getIndex();
+        if (idx != null) {
+            try {
+                idx.writeJournal();
+            } catch (IOException e) {
+                LOGGER.error("shutdown(): {}", e.getMessage());
+            }
         }
     }
 
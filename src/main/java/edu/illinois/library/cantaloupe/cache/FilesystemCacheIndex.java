@@ -0,0 +1,492 @@
+package edu.illinois.library.cantaloupe.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>In-memory index of the files in a {@link FilesystemCache}, tracking
+ * their sizes and last-accessed times in least-recently-accessed order, so
+ * that the cache can be bounded by size and/or file count, and expired files
+ * found, without crawling the cache tree. Temporary and zero-byte files are
+ * not indexed, but are tracked separately, so that they can be cleaned up
+ * without crawling the tree either.</p>
+ *
+ * <p>The index starts out empty and is {@link #rebuild() rebuilt} (typically
+ * in the background) from the {@link #getJournalFile() journal}, if one is
+ * in use and present, or otherwise by a single walk of the tree. Until then,
+ * it tracks only files that have been written or accessed in the meantime,
+ * and doesn't evict anything.</p>
+ *
+ * <p>The journal, if enabled, is a snapshot of the index that is written by
+ * {@link #writeJournal()} and read back in at startup. Files that were
+ * changed by other processes in the meantime will be missing from it, but
+ * the consequences are mild: they won't be evicted until accessed.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ */
+final class FilesystemCacheIndex {
+
+    private static final class Entry {
+
+        final long size;
+        long lastAccessed;
+
+        Entry(long size, long lastAccessed) {
+            this.size = size;
+            this.lastAccessed = lastAccessed;
+        }
+
+    }
+
+    /**
+     * Collects regular, non-temporary files, and temporary and zero-byte
+     * files separately.
+     */
+    private final class IndexingFileVisitor extends SimpleFileVisitor<Path> {
+
+        private final Map<Path, Entry> entries = new LinkedHashMap<>();
+        private final List<Path> detritus = new ArrayList<>();
+
+        @Override
+        public FileVisitResult visitFile(Path file,
+                                         BasicFileAttributes attrs) {
+            if (!attrs.isRegularFile() || file.equals(journalFile)) {
+                return FileVisitResult.CONTINUE;
+            }
+            if (attrs.size() == 0 ||
+                    file.toString().endsWith(TEMP_EXTENSION)) {
+                detritus.add(file);
+            } else {
+                try {
+                    entries.put(file, new Entry(attrs.size(),
+                            FilesystemCache.getLastAccessedTime(file).toMillis()));
+                } catch (IOException e) {
+                    LOGGER.warn("visitFile(): {}", e.getMessage());
+                }
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException e) {
+            LOGGER.warn("visitFileFailed(): {}", e.getMessage());
+            return FileVisitResult.CONTINUE;
+        }
+
+    }
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(FilesystemCacheIndex.class);
+
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    private final Path rootPath;
+
+    /**
+     * May be {@literal null}.
+     */
+    private final Path journalFile;
+
+    /**
+     * Access-ordered, i.e. iteration begins with the least recently accessed
+     * entry. Guarded by the instance.
+     */
+    private LinkedHashMap<Path, Entry> entries =
+            new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Guarded by the instance.
+     */
+    private long totalSize;
+
+    private volatile long maxSize, maxFiles;
+
+    /**
+     * Temporary and zero-byte files, which are not indexed, but are tracked
+     * so that {@link FilesystemCache#cleanUp()} can find them without
+     * walking the tree.
+     */
+    private final Set<Path> detritus = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean isDetritusComplete = new AtomicBoolean(false);
+    private final AtomicBoolean isDirty = new AtomicBoolean(false);
+    private final AtomicBoolean isReady = new AtomicBoolean(false);
+
+    /**
+     * @param rootPath    Root of the cache tree.
+     * @param journalFile Journal file. May be {@literal null}.
+     */
+    FilesystemCacheIndex(Path rootPath, Path journalFile) {
+        this.rootPath = rootPath;
+        this.journalFile = journalFile;
+    }
+
+    /**
+     * Adds a file to the index, or replaces it if it is already present, and
+     * marks it as most recently accessed.
+     *
+     * @param file File to add.
+     * @param size Size of the file in bytes.
+     */
+    synchronized void add(Path file, long size) {
+        final Entry previous = entries.put(file,
+                new Entry(size, System.currentTimeMillis()));
+        if (previous != null) {
+            totalSize -= previous.size;
+        }
+        totalSize += size;
+        isDirty.set(true);
+    }
+
+    /**
+     * Adds a temporary or zero-byte file to be checked by {@link
+     * FilesystemCache#cleanUp()}.
+     */
+    void addDetritus(Path file) {
+        detritus.add(file);
+    }
+
+    /**
+     * Removes all entries.
+     */
+    synchronized void clear() {
+        entries.clear();
+        totalSize = 0;
+        isDirty.set(true);
+    }
+
+    /**
+     * Deletes the least recently accessed files until the index is within
+     * its limits. Does nothing if the index is not {@link #isReady() ready}.
+     *
+     * @return Number of deleted files.
+     */
+    int evict() {
+        final List<Path> files = selectEvictions();
+        long deletedSize = 0;
+        for (Path file : files) {
+            try {
+                final long size = Files.size(file);
+                Files.deleteIfExists(file);
+                deletedSize += size;
+            } catch (IOException e) {
+                LOGGER.debug("evict(): {}", e.getMessage());
+            }
+        }
+        if (!files.isEmpty()) {
+            LOGGER.debug("evict(): evicted {} file(s) totaling {} bytes",
+                    files.size(), deletedSize);
+        }
+        return files.size();
+    }
+
+    /**
+     * @return Snapshot of all known temporary and zero-byte files.
+     */
+    Set<Path> getDetritus() {
+        return new HashSet<>(detritus);
+    }
+
+    /**
+     * @return Journal file. May be {@literal null}.
+     */
+    Path getJournalFile() {
+        return journalFile;
+    }
+
+    long getMaxFiles() {
+        return maxFiles;
+    }
+
+    long getMaxSize() {
+        return maxSize;
+    }
+
+    synchronized int getNumFiles() {
+        return entries.size();
+    }
+
+    Path getRootPath() {
+        return rootPath;
+    }
+
+    /**
+     * @return Total size of all indexed files in bytes.
+     */
+    synchronized long getTotalSize() {
+        return totalSize;
+    }
+
+    /**
+     * @return Whether all of the temporary and zero-byte files in the tree,
+     *         including ones that predate the index, are known, either
+     *         because the index was rebuilt by walking the tree, or because
+     *         {@link #setDetritusComplete()} has been invoked.
+     */
+    boolean isDetritusComplete() {
+        return isDetritusComplete.get();
+    }
+
+    /**
+     * @return Whether the index has been {@link #rebuild() rebuilt}.
+     */
+    boolean isReady() {
+        return isReady.get();
+    }
+
+    /**
+     * @return Entries from the journal, or {@literal null} if it does not
+     *         exist or can't be read.
+     */
+    private Map<Path, Entry> readJournal() {
+        if (journalFile == null || !Files.exists(journalFile)) {
+            return null;
+        }
+        final Map<Path, Entry> journaled = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(
+                journalFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String[] parts = line.split("\t", 3);
+                if (parts.length == 3) {
+                    journaled.put(rootPath.resolve(parts[2]), new Entry(
+                            Long.parseLong(parts[1]),
+                            Long.parseLong(parts[0])));
+                }
+            }
+            LOGGER.info("readJournal(): read {} entries from {}",
+                    journaled.size(), journalFile);
+            return journaled;
+        } catch (IOException | NumberFormatException e) {
+            LOGGER.warn("readJournal(): failed to read {}: {}",
+                    journalFile, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * <p>Populates the index from the journal, if available, or otherwise by
+     * walking the cache tree, and marks it as {@link #isReady() ready}.
+     * Entries that were added or accessed in the meantime are retained as the
+     * most recently accessed. Finally, {@link #evict() evicts} files as
+     * necessary.</p>
+     *
+     * <p>This may take a long time on a large cache without a journal, so it
+     * should generally be invoked in a background thread.</p>
+     */
+    void rebuild() throws IOException {
+        Map<Path, Entry> found = readJournal();
+        if (found == null) {
+            LOGGER.info("rebuild(): indexing {}...", rootPath);
+            final IndexingFileVisitor visitor = new IndexingFileVisitor();
+            if (Files.exists(rootPath)) {
+                Files.walkFileTree(rootPath,
+                        EnumSet.of(FileVisitOption.FOLLOW_LINKS),
+                        Integer.MAX_VALUE,
+                        visitor);
+            }
+            found = visitor.entries;
+            detritus.addAll(visitor.detritus);
+            isDetritusComplete.set(true);
+        }
+
+        final List<Map.Entry<Path, Entry>> sorted =
+                new ArrayList<>(found.entrySet());
+        sorted.sort(Comparator.comparingLong(e -> e.getValue().lastAccessed));
+
+        synchronized (this) {
+            final LinkedHashMap<Path, Entry> rebuilt =
+                    new LinkedHashMap<>(sorted.size() + entries.size(),
+                            0.75f, true);
+            for (Map.Entry<Path, Entry> e : sorted) {
+                if (!entries.containsKey(e.getKey())) {
+                    rebuilt.put(e.getKey(), e.getValue());
+                }
+            }
+            rebuilt.putAll(entries);
+
+            entries = rebuilt;
+            totalSize = rebuilt.values().stream().mapToLong(e -> e.size).sum();
+            isReady.set(true);
+            isDirty.set(true);
+
+            LOGGER.info("rebuild(): indexed {} files totaling {} bytes",
+                    entries.size(), totalSize);
+        }
+        evict();
+    }
+
+    /**
+     * Removes a file from the index. Does not delete it.
+     *
+     * @param file File to remove.
+     */
+    synchronized void remove(Path file) {
+        final Entry entry = entries.remove(file);
+        if (entry != null) {
+            totalSize -= entry.size;
+            isDirty.set(true);
+        }
+    }
+
+    /**
+     * Removes a temporary or zero-byte file that has been moved or deleted.
+     */
+    void removeDetritus(Path file) {
+        detritus.remove(file);
+    }
+
+    /**
+     * Removes and returns least recently accessed entries until the index is
+     * within its limits.
+     */
+    private synchronized List<Path> selectEvictions() {
+        final List<Path> files = new ArrayList<>();
+        if (!isReady()) {
+            return files;
+        }
+        final long maxSize = this.maxSize;
+        final long maxFiles = this.maxFiles;
+        final Iterator<Map.Entry<Path, Entry>> it =
+                entries.entrySet().iterator();
+        while (it.hasNext() &&
+                ((maxSize > 0 && totalSize > maxSize) ||
+                        (maxFiles > 0 && entries.size() > maxFiles))) {
+            final Map.Entry<Path, Entry> e = it.next();
+            files.add(e.getKey());
+            totalSize -= e.getValue().size;
+            it.remove();
+        }
+        if (!files.isEmpty()) {
+            isDirty.set(true);
+        }
+        return files;
+    }
+
+    /**
+     * Removes and returns all entries that have not been accessed within
+     * their time-to-live.
+     *
+     * @param ttlFunction Function returning the time-to-live, in
+     *                    milliseconds, of a given file, or {@literal 0} for
+     *                    forever.
+     * @return            Expired files, which the caller should delete.
+     */
+    synchronized List<Path> selectExpired(ToLongFunction<Path> ttlFunction) {
+        final long now = System.currentTimeMillis();
+        final List<Path> files = new ArrayList<>();
+        final Iterator<Map.Entry<Path, Entry>> it =
+                entries.entrySet().iterator();
+        while (it.hasNext()) {
+            final Map.Entry<Path, Entry> e = it.next();
+            final long ttl = ttlFunction.applyAsLong(e.getKey());
+            if (ttl > 0 && now - e.getValue().lastAccessed > ttl) {
+                files.add(e.getKey());
+                totalSize -= e.getValue().size;
+                it.remove();
+            }
+        }
+        if (!files.isEmpty()) {
+            isDirty.set(true);
+        }
+        return files;
+    }
+
+    /**
+     * Marks the known temporary and zero-byte files as including all of the
+     * ones in the tree.
+     */
+    void setDetritusComplete() {
+        isDetritusComplete.set(true);
+    }
+
+    /**
+     * @param maxSize  Maximum total size in bytes, or {@literal 0} for no
+     *                 limit.
+     * @param maxFiles Maximum number of files, or {@literal 0} for no limit.
+     */
+    void setLimits(long maxSize, long maxFiles) {
+        this.maxSize = maxSize;
+        this.maxFiles = maxFiles;
+    }
+
+    /**
+     * Marks a file as most recently accessed, if it is present in the
+     * index.
+     *
+     * @param file Accessed file.
+     */
+    synchronized void touch(Path file) {
+        final Entry entry = entries.get(file); // moves it to the end
+        if (entry != null) {
+            entry.lastAccessed = System.currentTimeMillis();
+            isDirty.set(true);
+        }
+    }
+
+    /**
+     * Writes a snapshot of the index to the journal file, if the index is
+     * using one, is {@link #isReady() ready}, and has changed since it was
+     * last written. The file is written to a temporary file first and then
+     * moved into place.
+     */
+    void writeJournal() throws IOException {
+        if (journalFile == null || !isReady() ||
+                !isDirty.getAndSet(false)) {
+            return;
+        }
+        final List<String> lines;
+        synchronized (this) {
+            lines = new ArrayList<>(entries.size());
+            for (Map.Entry<Path, Entry> e : entries.entrySet()) {
+                lines.add(e.getValue().lastAccessed + "\t" +
+                        e.getValue().size + "\t" +
+                        rootPath.relativize(e.getKey()));
+            }
+        }
+        final Path tempFile = journalFile.resolveSibling(
+                journalFile.getFileName() + TEMP_EXTENSION);
+        try {
+            Files.createDirectories(journalFile.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(
+                    tempFile, StandardCharsets.UTF_8)) {
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+            Files.move(tempFile, journalFile,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            isDirty.set(true);
+            throw e;
+        }
+        LOGGER.info("writeJournal(): wrote {} entries to {}",
+                lines.size(), journalFile);
+    }
+
+}
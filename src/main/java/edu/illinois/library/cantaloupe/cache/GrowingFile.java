@@ -0,0 +1,159 @@
+package edu.illinois.library.cantaloupe.cache;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+
+/**
+ * <p>File that is in the process of being written to a cache, which can be
+ * read concurrently while it is growing.</p>
+ *
+ * <p>The content is written to a {@link #getTempFile() temporary file}, which
+ * is moved to its {@link #getFile() final location} when complete. A reader
+ * that opens the temporary file before it has been moved can keep reading it
+ * afterwards (on platforms like Linux and macOS that allow open files to be
+ * moved), using {@link #awaitLength(long)} to find out how much of it is safe
+ * to read.</p>
+ *
+ * <p>Writers may publish their progress in batches rather than after every
+ * write, in which case readers see the length grow in steps.</p>
+ */
+public final class GrowingFile {
+
+    private final Path tempFile, file;
+
+    /**
+     * Guarded by the instance.
+     */
+    private long length;
+
+    /**
+     * Guarded by the instance.
+     */
+    private boolean isComplete;
+
+    /**
+     * Guarded by the instance.
+     */
+    private IOException failure;
+
+    /**
+     * Number of threads waiting in {@link #awaitLength(long)} or {@link
+     * #awaitCompletion()}, so that {@link #advance(long)} needn't wake
+     * anyone when there are none. Guarded by the instance.
+     */
+    private int numWaiters;
+
+    /**
+     * @param tempFile File being written to.
+     * @param file     File that {@literal tempFile} will be moved to when
+     *                 complete.
+     */
+    GrowingFile(Path tempFile, Path file) {
+        this.tempFile = tempFile;
+        this.file = file;
+    }
+
+    /**
+     * To be called after bytes have been written to the temporary file.
+     *
+     * @param numBytes Number of bytes written.
+     */
+    synchronized void advance(long numBytes) {
+        length += numBytes;
+        if (numWaiters > 0) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Blocks until writing is complete (successfully or not).
+     */
+    public synchronized void awaitCompletion() throws InterruptedException {
+        while (!isComplete) {
+            numWaiters++;
+            try {
+                wait();
+            } finally {
+                numWaiters--;
+            }
+        }
+    }
+
+    /**
+     * Blocks until at least the given number of bytes have been written, or
+     * writing is complete.
+     *
+     * @param minLength Minimum number of bytes to wait for.
+     * @return          Number of bytes written so far, which will be less than
+     *                  {@literal minLength} only if writing is complete.
+     * @throws InterruptedIOException if the thread is interrupted while
+     *                                waiting.
+     * @throws IOException if writing failed.
+     */
+    public synchronized long awaitLength(long minLength) throws IOException {
+        while (length < minLength && !isComplete) {
+            numWaiters++;
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(e.getMessage());
+            } finally {
+                numWaiters--;
+            }
+        }
+        if (failure != null) {
+            throw new IOException("Failed to write " + file, failure);
+        }
+        return length;
+    }
+
+    /**
+     * To be called when writing is complete, after the temporary file has
+     * been moved into place.
+     */
+    synchronized void complete() {
+        isComplete = true;
+        notifyAll();
+    }
+
+    /**
+     * To be called when writing has failed.
+     *
+     * @param e Cause of the failure.
+     */
+    synchronized void fail(IOException e) {
+        failure = e;
+        complete();
+    }
+
+    /**
+     * @return Location of the file once it is complete.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return Number of bytes written so far.
+     */
+    public synchronized long getLength() {
+        return length;
+    }
+
+    /**
+     * @return Location of the file while it is being written.
+     */
+    public Path getTempFile() {
+        return tempFile;
+    }
+
+    /**
+     * @return Whether writing is complete (successfully or not).
+     */
+    public synchronized boolean isComplete() {
+        return isComplete;
+    }
+
+}
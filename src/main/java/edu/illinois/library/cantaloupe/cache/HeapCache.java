@@ -7,6 +7,7 @@ import edu.illinois.library.cantaloupe.config.ConfigurationException;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.image.Info;
 import edu.illinois.library.cantaloupe.operation.OperationList;
+import edu.illinois.library.cantaloupe.util.StringUtil;
 import org.apache.commons.io.output.NullOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -304,7 +305,9 @@ class HeapCache implements DerivativeCache {
                                 HeapCacheProtos.Info.newBuilder()
                                         .setLastAccessed(key.getLastAccessedTime())
                                         .setIdentifier(key.getIdentifier())
-                                        .setJson(new String(item.getData(), "UTF-8"))
+                                        // N.B.: this may be either JSON or
+                                        // binary; see InfoCodec.
+                                        .setJsonBytes(ByteString.copyFrom(item.getData()))
                                         .build();
                         cacheBuilder.addInfo(info);
                     }
@@ -355,7 +358,7 @@ class HeapCache implements DerivativeCache {
         if (item != null) {
             LOGGER.info("getImageInfo(): hit for {}", identifier);
 
-            info = Info.fromJSON(new String(item.getData(), "UTF-8"));
+            info = InfoCodec.decode(item.getData());
         }
         return info;
     }
@@ -395,23 +398,7 @@ class HeapCache implements DerivativeCache {
         final Configuration config = Configuration.getInstance();
         String humanSize = config.getString(HEAPCACHE_TARGET_SIZE);
         if (humanSize != null && humanSize.length() > 0) {
-            final String numberStr = humanSize.replaceAll("[^\\d.]", "");
-            final double number = Double.parseDouble(numberStr);
-            long size;
-            short exponent;
-
-            if (humanSize.endsWith("M") || humanSize.endsWith("MB")) {
-                exponent = 2;
-            } else if (humanSize.endsWith("G") || humanSize.endsWith("GB")) {
-                exponent = 3;
-            } else if (humanSize.endsWith("T") || humanSize.endsWith("TB")) {
-                exponent = 4;
-            } else if (humanSize.endsWith("P") || humanSize.endsWith("PB")) { // you never know
-                exponent = 5;
-            } else {
-                exponent = 0;
-            }
-            size = Math.round(number * Math.pow(1024, exponent));
+            final long size = StringUtil.toByteSize(humanSize);
             if (size <= 0) {
                 throw new ConfigurationException(HEAPCACHE_TARGET_SIZE +
                         " must be greater than zero.");
@@ -603,9 +590,9 @@ class HeapCache implements DerivativeCache {
         isDirty.lazySet(true);
         Key key = itemKey(identifier);
 
-        // Rather than storing the info instance itself, we store its JSON
+        // Rather than storing the info instance itself, we store its
         // serialization, mainly in order to be able to easily get its size.
-        Item item = new Item(imageInfo.toJSON().getBytes("UTF-8"));
+        Item item = new Item(InfoCodec.encode(imageInfo));
         cache.putIfAbsent(key, item);
     }
 
@@ -0,0 +1,238 @@
+package edu.illinois.library.cantaloupe.cache;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.image.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>Encodes {@link Info}s for storage in caches that store them as opaque
+ * byte arrays. They are encoded as JSON by default, or, if {@link
+ * Key#DERIVATIVE_CACHE_BINARY_INFO} is enabled, in a more compact binary
+ * format that is cheaper to parse.</p>
+ *
+ * <p>The binary format consists of the {@link #MAGIC} bytes, a version
+ * byte, and a body in protocol buffers wire format, corresponding to:</p>
+ *
+ * <pre>
+ * message Info {
+ *     optional string identifier = 1;
+ *     optional string media_type = 2;
+ *     optional sint32 num_resolutions = 3;
+ *     repeated Image images = 4;
+ * }
+ * message Image {
+ *     optional uint32 width = 1;
+ *     optional uint32 height = 2;
+ *     optional string orientation = 3;
+ *     optional uint32 tile_width = 4;
+ *     optional uint32 tile_height = 5;
+ * }</pre>
+ *
+ * <p>Unknown fields are skipped when decoding, so fields may be added in a
+ * backward-compatible way without changing the version. Decoding tells the
+ * two formats apart by the header, so entries in either format&mdash;
+ * including JSON entries written before the binary format existed&mdash;
+ * remain readable no matter how the key is set.</p>
+ *
+ * @since 4.0
+ */
+final class InfoCodec {
+
+    /**
+     * Starts every binary-encoded instance. A JSON object can't start with
+     * a null byte.
+     */
+    static final byte[] MAGIC = { 0, 'I', 'N', 'F' };
+
+    /**
+     * Current version of the binary format, which follows {@link #MAGIC}.
+     */
+    static final byte VERSION = 1;
+
+    private static final int INFO_IDENTIFIER_FIELD      = 1;
+    private static final int INFO_MEDIA_TYPE_FIELD      = 2;
+    private static final int INFO_NUM_RESOLUTIONS_FIELD = 3;
+    private static final int INFO_IMAGES_FIELD          = 4;
+
+    private static final int IMAGE_WIDTH_FIELD          = 1;
+    private static final int IMAGE_HEIGHT_FIELD         = 2;
+    private static final int IMAGE_ORIENTATION_FIELD    = 3;
+    private static final int IMAGE_TILE_WIDTH_FIELD     = 4;
+    private static final int IMAGE_TILE_HEIGHT_FIELD    = 5;
+
+    /**
+     * @param bytes Encoded instance, in either format.
+     * @return      Decoded instance.
+     * @throws IOException if the argument can't be decoded, including if it
+     *         is of an unsupported version of the binary format.
+     */
+    static Info decode(byte[] bytes) throws IOException {
+        if (isBinary(bytes)) {
+            final byte version = bytes[MAGIC.length];
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary info version: " +
+                        version);
+            }
+            final int offset = MAGIC.length + 1;
+            return decodeInfo(CodedInputStream.newInstance(
+                    bytes, offset, bytes.length - offset));
+        }
+        return Info.fromJSON(new ByteArrayInputStream(bytes));
+    }
+
+    private static Info decodeInfo(CodedInputStream input) throws IOException {
+        final Info info = new Info();
+        info.getImages().clear();
+        while (true) {
+            final int tag = input.readTag();
+            if (tag == 0) {
+                break;
+            }
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case INFO_IDENTIFIER_FIELD:
+                    info.setIdentifier(new Identifier(input.readString()));
+                    break;
+                case INFO_MEDIA_TYPE_FIELD:
+                    info.setMediaType(new MediaType(input.readString()));
+                    break;
+                case INFO_NUM_RESOLUTIONS_FIELD:
+                    info.setNumResolutions(input.readSInt32());
+                    break;
+                case INFO_IMAGES_FIELD:
+                    info.getImages().add(decodeImage(
+                            CodedInputStream.newInstance(input.readByteArray())));
+                    break;
+                default:
+                    input.skipField(tag);
+                    break;
+            }
+        }
+        if (info.getImages().isEmpty()) {
+            info.getImages().add(new Info.Image());
+        }
+        return info;
+    }
+
+    private static Info.Image decodeImage(CodedInputStream input)
+            throws IOException {
+        final Info.Image image = new Info.Image();
+        while (true) {
+            final int tag = input.readTag();
+            if (tag == 0) {
+                break;
+            }
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case IMAGE_WIDTH_FIELD:
+                    image.width = input.readUInt32();
+                    break;
+                case IMAGE_HEIGHT_FIELD:
+                    image.height = input.readUInt32();
+                    break;
+                case IMAGE_ORIENTATION_FIELD:
+                    image.orientation = input.readString();
+                    break;
+                case IMAGE_TILE_WIDTH_FIELD:
+                    image.tileWidth = input.readUInt32();
+                    break;
+                case IMAGE_TILE_HEIGHT_FIELD:
+                    image.tileHeight = input.readUInt32();
+                    break;
+                default:
+                    input.skipField(tag);
+                    break;
+            }
+        }
+        return image;
+    }
+
+    /**
+     * @param info Instance to encode.
+     * @return     Instance encoded in the format determined by {@link
+     *             Key#DERIVATIVE_CACHE_BINARY_INFO}.
+     */
+    static byte[] encode(Info info) throws IOException {
+        return isBinaryEnabled() ?
+                encodeBinary(info) :
+                info.toJSON().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param info Instance to encode.
+     * @return     Instance encoded in the binary format.
+     */
+    static byte[] encodeBinary(Info info) throws IOException {
+        final ByteArrayOutputStream os = new ByteArrayOutputStream(64);
+        os.write(MAGIC);
+        os.write(VERSION);
+
+        final CodedOutputStream output = CodedOutputStream.newInstance(os);
+        if (info.getIdentifier() != null) {
+            output.writeString(INFO_IDENTIFIER_FIELD,
+                    info.getIdentifier().toString());
+        }
+        if (info.getMediaType() != null) {
+            output.writeString(INFO_MEDIA_TYPE_FIELD,
+                    info.getMediaType().toString());
+        }
+        output.writeSInt32(INFO_NUM_RESOLUTIONS_FIELD,
+                info.getNumResolutions());
+        for (Info.Image image : info.getImages()) {
+            output.writeByteArray(INFO_IMAGES_FIELD, encodeImage(image));
+        }
+        output.flush();
+        return os.toByteArray();
+    }
+
+    private static byte[] encodeImage(Info.Image image) throws IOException {
+        final ByteArrayOutputStream os = new ByteArrayOutputStream(32);
+        final CodedOutputStream output = CodedOutputStream.newInstance(os);
+        output.writeUInt32(IMAGE_WIDTH_FIELD, image.width);
+        output.writeUInt32(IMAGE_HEIGHT_FIELD, image.height);
+        if (image.orientation != null) {
+            output.writeString(IMAGE_ORIENTATION_FIELD, image.orientation);
+        }
+        if (image.tileWidth != null) {
+            output.writeUInt32(IMAGE_TILE_WIDTH_FIELD, image.tileWidth);
+        }
+        if (image.tileHeight != null) {
+            output.writeUInt32(IMAGE_TILE_HEIGHT_FIELD, image.tileHeight);
+        }
+        output.flush();
+        return os.toByteArray();
+    }
+
+    /**
+     * @param bytes Encoded instance.
+     * @return      Whether the argument is in the binary format (of any
+     *              version).
+     */
+    static boolean isBinary(byte[] bytes) {
+        if (bytes.length <= MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (bytes[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBinaryEnabled() {
+        return Configuration.getInstance().
+                getBoolean(Key.DERIVATIVE_CACHE_BINARY_INFO, false);
+    }
+
+    private InfoCodec() {}
+
+}
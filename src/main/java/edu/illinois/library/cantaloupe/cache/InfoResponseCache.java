@@ -0,0 +1,221 @@
+package edu.illinois.library.cantaloupe.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+import edu.illinois.library.cantaloupe.util.StringUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>Bounded heap cache of fully serialized information (e.g. IIIF
+ * {@literal info.json}) response bodies, enabling information requests to
+ * be served without instantiating a processor, assembling a response object,
+ * or serializing it.</p>
+ *
+ * <p>Entries are keyed by identifier plus a list of "variant" components
+ * supplied by the caller, which must include everything else that the
+ * response depends on&mdash;for example, the public image URI, page index,
+ * and, when the delegate script is involved in building the response, what
+ * it contributes to it.</p>
+ *
+ * <p>The cache is bounded by the combined size of the cached responses
+ * ({@link Key#INFO_RESPONSE_CACHE_MAX_SIZE}), as responses vary in size
+ * with the number of sizes, tiles, and delegate-supplied keys that they
+ * list.</p>
+ *
+ * <p>Entries are purged along with the {@link InfoService info cache} and
+ * when the configuration is reloaded. When the cache is disabled via {@link
+ * Key#INFO_RESPONSE_CACHE_ENABLED}, {@link #get} always returns {@literal
+ * null} and {@link #put} does nothing.</p>
+ *
+ * @since 4.0
+ */
+public final class InfoResponseCache {
+
+    /**
+     * Cached response body with any accompanying response headers.
+     * Immutable.
+     */
+    public static final class Response {
+
+        private final byte[] body;
+        private final Map<String,String> headers;
+
+        /**
+         * @param body    Serialized response body. It is not copied, so the
+         *                caller must not modify it afterwards.
+         * @param headers Response headers that must accompany the body. May
+         *                be empty.
+         */
+        public Response(byte[] body, Map<String,String> headers) {
+            this.body = body;
+            this.headers = Collections.unmodifiableMap(
+                    new LinkedHashMap<>(headers));
+        }
+
+        /**
+         * @return Serialized response body, which must not be modified.
+         */
+        public byte[] getBody() {
+            return body;
+        }
+
+        public Map<String,String> getHeaders() {
+            return headers;
+        }
+
+        /**
+         * @return Approximate size of the instance in bytes.
+         */
+        int size() {
+            int size = body.length;
+            for (Map.Entry<String,String> header : headers.entrySet()) {
+                size += 2 * (header.getKey().length() +
+                        header.getValue().length());
+            }
+            return size;
+        }
+
+    }
+
+    private static final class CacheKey {
+
+        private final Identifier identifier;
+        private final List<Object> variant;
+        private final int hashCode;
+
+        CacheKey(Identifier identifier, List<?> variant) {
+            this.identifier = identifier;
+            this.variant = new ArrayList<>(variant);
+            this.hashCode = Objects.hash(identifier, this.variant);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            } else if (obj instanceof CacheKey) {
+                CacheKey other = (CacheKey) obj;
+                return hashCode == other.hashCode &&
+                        identifier.equals(other.identifier) &&
+                        variant.equals(other.variant);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+    }
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(InfoResponseCache.class);
+
+    private static final String DEFAULT_MAX_SIZE = "32M";
+
+    private static InfoResponseCache instance;
+
+    private final com.github.benmanes.caffeine.cache.Cache<CacheKey, Response>
+            store;
+
+    /**
+     * For testing only!
+     */
+    static synchronized void clearInstance() {
+        instance = null;
+    }
+
+    /**
+     * @return Shared instance.
+     */
+    public static synchronized InfoResponseCache getInstance() {
+        if (instance == null) {
+            instance = new InfoResponseCache();
+        }
+        return instance;
+    }
+
+    private InfoResponseCache() {
+        final long maxSize = StringUtil.toByteSize(
+                Configuration.getInstance().getString(
+                        Key.INFO_RESPONSE_CACHE_MAX_SIZE, DEFAULT_MAX_SIZE));
+        store = Caffeine.newBuilder()
+                .maximumWeight(Math.max(0, maxSize))
+                .weigher((CacheKey key, Response response) -> response.size())
+                .build();
+    }
+
+    /**
+     * @param identifier Image identifier.
+     * @param variant    Everything other than the identifier that the
+     *                   response depends on. Elements must implement {@link
+     *                   Object#equals} and {@link Object#hashCode}.
+     * @return           Cached response, or {@literal null} if there is none
+     *                   or the cache is disabled.
+     */
+    public Response get(Identifier identifier, List<?> variant) {
+        if (!isEnabled()) {
+            return null;
+        }
+        final Response response =
+                store.getIfPresent(new CacheKey(identifier, variant));
+        if (response != null) {
+            LOGGER.debug("get(): hit for {}", identifier);
+        }
+        MetricRegistry.getInstance().recordCacheAccess(
+                "info_response", response != null);
+        return response;
+    }
+
+    public boolean isEnabled() {
+        return Configuration.getInstance().
+                getBoolean(Key.INFO_RESPONSE_CACHE_ENABLED, false);
+    }
+
+    public void purge() {
+        LOGGER.debug("purge()");
+        store.invalidateAll();
+    }
+
+    /**
+     * Purges all variants of the response for the given identifier.
+     */
+    public void purge(Identifier identifier) {
+        LOGGER.debug("purge(Identifier): purging {}", identifier);
+        store.asMap().keySet().removeIf(k -> k.identifier.equals(identifier));
+    }
+
+    /**
+     * Caches a response. Does nothing if the cache is disabled.
+     *
+     * @see #get(Identifier, List)
+     */
+    public void put(Identifier identifier,
+                    List<?> variant,
+                    Response response) {
+        if (isEnabled()) {
+            store.put(new CacheKey(identifier, variant), response);
+        }
+    }
+
+    /**
+     * @return Approximate number of entries.
+     */
+    public long size() {
+        store.cleanUp();
+        return store.estimatedSize();
+    }
+
+}
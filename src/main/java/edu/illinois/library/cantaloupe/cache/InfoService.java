@@ -6,6 +6,8 @@ import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+import edu.illinois.library.cantaloupe.metrics.Stage;
 import edu.illinois.library.cantaloupe.processor.Processor;
 import edu.illinois.library.cantaloupe.util.ObjectCache;
 import edu.illinois.library.cantaloupe.util.Stopwatch;
@@ -18,6 +20,15 @@ import java.io.IOException;
  * <p>Used to obtain {@link Info} instances in an efficient way, utilizing
  * (optionally) several tiers of caching.</p>
  *
+ * <p>Infos read from a processor are added to the caches asynchronously, in
+ * the {@link TaskQueue.Lane#WRITE_BEHIND write-behind lane}, whereas purges
+ * happen in other lanes or synchronously. So that a put can't reinstate an
+ * info that has been purged in the meantime, each purge advances a "purge
+ * generation" of the identifiers it affects, and puts of infos that were
+ * obtained in an earlier generation are dropped. (Generations are tracked
+ * per stripe of identifiers, so an unrelated purge may occasionally cause a
+ * put to be dropped too, which costs only a cache miss.)</p>
+ *
  * @since 3.4
  */
 public final class InfoService {
@@ -25,10 +36,21 @@ public final class InfoService {
     private static final Logger LOGGER = LoggerFactory.
             getLogger(InfoService.class);
 
+    private static final int NUM_GENERATION_STRIPES = 64;
+
     private static InfoService instance;
 
     private final InfoCache infoCache = new InfoCache();
 
+    /**
+     * Purge generations by stripe. Each element is guarded by the
+     * corresponding element of {@link #generationLocks}.
+     */
+    private final long[] purgeGenerations = new long[NUM_GENERATION_STRIPES];
+
+    private final Object[] generationLocks =
+            new Object[NUM_GENERATION_STRIPES];
+
     /**
      * For testing only!
      */
@@ -46,6 +68,36 @@ public final class InfoService {
         return instance;
     }
 
+    private static int generationStripe(Identifier identifier) {
+        return Math.floorMod(identifier.hashCode(), NUM_GENERATION_STRIPES);
+    }
+
+    private InfoService() {
+        for (int i = 0; i < generationLocks.length; i++) {
+            generationLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * Advances the purge generation of the given stripe, waiting for any put
+     * that is in progress in it to complete.
+     */
+    private void advancePurgeGeneration(int stripe) {
+        synchronized (generationLocks[stripe]) {
+            purgeGenerations[stripe]++;
+        }
+    }
+
+    /**
+     * @return Current purge generation of the given identifier.
+     */
+    long getPurgeGeneration(Identifier identifier) {
+        final int stripe = generationStripe(identifier);
+        synchronized (generationLocks[stripe]) {
+            return purgeGenerations[stripe];
+        }
+    }
+
     /**
      * <p>Returns an {@link Info} for the source image corresponding to the
      * given identifier.</p>
@@ -67,8 +119,14 @@ public final class InfoService {
      * @see #getOrReadInfo(Identifier, Processor)
      */
     Info getInfo(final Identifier identifier) throws IOException {
+        final MetricRegistry metrics = MetricRegistry.getInstance();
+        final long generation = getPurgeGeneration(identifier);
+
         // Check the info cache.
         Info info = infoCache.get(identifier);
+        if (isObjectCacheEnabled()) {
+            metrics.recordCacheAccess("info", info != null);
+        }
 
         if (info != null) {
             LOGGER.debug("getInfo(): retrieved info of {} from {}",
@@ -79,6 +137,8 @@ public final class InfoService {
             if (derivCache != null) {
                 Stopwatch watch = new Stopwatch();
                 info = derivCache.getImageInfo(identifier);
+                metrics.recordStage(Stage.CACHE_READ, watch);
+                metrics.recordCacheAccess("derivative_info", info != null);
                 if (info != null) {
                     LOGGER.debug("getInfo(): retrieved info of {} from {} in {}",
                             identifier,
@@ -87,7 +147,7 @@ public final class InfoService {
 
                     // Add it to the object cache (which it may already exist
                     // in, but it doesn't matter).
-                    putInObjectCache(identifier, info);
+                    putInObjectCache(identifier, info, generation);
                 }
             }
         }
@@ -127,6 +187,10 @@ public final class InfoService {
      */
     Info getOrReadInfo(final Identifier identifier, final Processor proc)
             throws IOException {
+        // Noted before the info is read, as the image may be purged while
+        // it is being read.
+        final long generation = getPurgeGeneration(identifier);
+
         // Try to retrieve it from an object or derivative cache.
         Info info = getInfo(identifier);
         if (info == null) {
@@ -136,7 +200,7 @@ public final class InfoService {
 
             // Add it to the derivative and object caches.
             final DerivativeCache derivCache = CacheFactory.getDerivativeCache();
-            putInCachesAsync(identifier, info, derivCache);
+            putInCachesAsync(identifier, info, derivCache, generation);
         }
         return info;
     }
@@ -146,14 +210,27 @@ public final class InfoService {
                 getBoolean(Key.INFO_CACHE_ENABLED, false);
     }
 
+    /**
+     * Purges the object cache along with the {@link InfoResponseCache},
+     * whose content is derived from it.
+     */
     public void purgeObjectCache() {
         LOGGER.debug("purgeObjectCache()");
+        for (int i = 0; i < NUM_GENERATION_STRIPES; i++) {
+            advancePurgeGeneration(i);
+        }
         infoCache.purge();
+        InfoResponseCache.getInstance().purge();
     }
 
+    /**
+     * @see #purgeObjectCache()
+     */
     void purgeObjectCache(Identifier identifier) {
         LOGGER.debug("purgeObjectCache(): purging {}", identifier);
+        advancePurgeGeneration(generationStripe(identifier));
         infoCache.purge(identifier);
+        InfoResponseCache.getInstance().purge(identifier);
     }
 
     /**
@@ -172,22 +249,56 @@ public final class InfoService {
     }
 
     /**
-     * Adds an info to the object and derivative caches asynchronously.
+     * Adds an info to the object cache synchronously, unless the identifier
+     * has been purged since the given generation.
      */
-    private void putInCachesAsync(Identifier identifier,
+    private void putInObjectCache(Identifier identifier,
                                   Info info,
-                                  DerivativeCache derivCache) {
+                                  long generation) {
+        final int stripe = generationStripe(identifier);
+        synchronized (generationLocks[stripe]) {
+            if (purgeGenerations[stripe] == generation) {
+                putInObjectCache(identifier, info);
+            }
+        }
+    }
+
+    /**
+     * Adds an info to the object and derivative caches asynchronously,
+     * unless the identifier has been purged since the given generation by
+     * the time the task runs.
+     *
+     * @param generation Purge generation in which the info was obtained.
+     */
+    void putInCachesAsync(Identifier identifier,
+                          Info info,
+                          DerivativeCache derivCache,
+                          long generation) {
         TaskQueue.getInstance().submit(() -> {
-            putInObjectCache(identifier, info);
-            if (derivCache != null) {
-                try {
-                    derivCache.put(identifier, info);
-                } catch (IOException e) {
-                    LOGGER.error("putInCachesAsync(): {}", e.getMessage());
+            final int stripe = generationStripe(identifier);
+            // Held throughout, so that a purge can't run between the check
+            // and the puts.
+            synchronized (generationLocks[stripe]) {
+                if (purgeGenerations[stripe] != generation) {
+                    LOGGER.debug("putInCachesAsync(): {} was purged since " +
+                            "its info was read; dropping it", identifier);
+                    return null;
+                }
+                putInObjectCache(identifier, info);
+                if (derivCache != null) {
+                    try {
+                        final Stopwatch watch = new Stopwatch();
+                        derivCache.put(identifier, info);
+                        MetricRegistry.getInstance().recordStage(
+                                Stage.CACHE_WRITE, watch);
+                    } catch (IOException e) {
+                        LOGGER.error("putInCachesAsync(): {}",
+                                e.getMessage());
+                    }
                 }
             }
             return null;
-        });
+        }, TaskQueue.Lane.WRITE_BEHIND);
     }
 
     /**
@@ -197,6 +308,7 @@ public final class InfoService {
                           final Processor proc) throws IOException {
         final Stopwatch watch = new Stopwatch();
         final Info info = proc.readImageInfo();
+        MetricRegistry.getInstance().recordStage(Stage.INFO_READ, watch);
 
         LOGGER.debug("readInfo(): read {} from {} in {}",
                 identifier,
@@ -259,7 +259,7 @@ class JdbcCache implements DerivativeCache {
             } catch (SQLException e) {
                 LOGGER.error("accessDerivativeImageAsync(): {}", e.getMessage());
             }
-        });
+        }, TaskQueue.Lane.WRITE_BEHIND);
     }
 
     /**
@@ -294,7 +294,7 @@ class JdbcCache implements DerivativeCache {
             } catch (SQLException e) {
                 LOGGER.error("accessInfoAsync(): {}", e.getMessage());
             }
-        });
+        }, TaskQueue.Lane.WRITE_BEHIND);
     }
 
     Timestamp earliestValidDate() {
@@ -493,7 +493,7 @@ class JdbcCache implements DerivativeCache {
             } catch (SQLException e) {
                 LOGGER.error("purgeDerivativeImageAsync(): {}", e.getMessage());
             }
-        });
+        }, TaskQueue.Lane.PURGE);
     }
 
     /**
@@ -571,7 +571,7 @@ class JdbcCache implements DerivativeCache {
             } catch (SQLException e) {
                 LOGGER.error("purgeImageInfosAsync(): {}", e.getMessage());
             }
-        });
+        }, TaskQueue.Lane.PURGE);
     }
 
     /**
@@ -0,0 +1,97 @@
+package edu.illinois.library.cantaloupe.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * <p>Per-key read/write locks, so that threads working on different keys
+ * never contend with each other.</p>
+ *
+ * <p>Unlike a plain map of locks, entries are reference-counted and removed
+ * as soon as no thread holds or is waiting on them, so the number of entries
+ * is bounded by the number of threads rather than growing with the number of
+ * keys ever locked.</p>
+ *
+ * @param <K> Key type. Must have sensible {@link Object#equals} and {@link
+ *            Object#hashCode} implementations.
+ */
+final class KeyedLocks<K> {
+
+    /**
+     * Held lock. Must be closed (released) by the thread that acquired it.
+     */
+    interface Handle extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class Entry extends ReentrantReadWriteLock {
+
+        /**
+         * Number of threads holding or waiting on the lock. Only accessed
+         * within the {@link ConcurrentMap#compute} family of methods, which
+         * are atomic per key.
+         */
+        private int refCount;
+
+    }
+
+    private final ConcurrentMap<K, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @param key Key to lock.
+     * @return    Handle on the acquired shared lock.
+     */
+    Handle readLock(K key) {
+        return acquire(key, retain(key).readLock());
+    }
+
+    /**
+     * @param key Key to lock.
+     * @return    Handle on the acquired exclusive lock.
+     */
+    Handle writeLock(K key) {
+        return acquire(key, retain(key).writeLock());
+    }
+
+    /**
+     * @return Number of keys currently locked or being waited on.
+     */
+    int size() {
+        return entries.size();
+    }
+
+    private Handle acquire(K key, Lock lock) {
+        lock.lock();
+        return new Handle() {
+            private boolean isClosed;
+
+            @Override
+            public void close() {
+                if (!isClosed) {
+                    isClosed = true;
+                    lock.unlock();
+                    release(key);
+                }
+            }
+        };
+    }
+
+    private Entry retain(K key) {
+        return entries.compute(key, (k, entry) -> {
+            if (entry == null) {
+                entry = new Entry();
+            }
+            entry.refCount++;
+            return entry;
+        });
+    }
+
+    private void release(K key) {
+        entries.computeIfPresent(key,
+                (k, entry) -> (--entry.refCount > 0) ? entry : null);
+    }
+
+}
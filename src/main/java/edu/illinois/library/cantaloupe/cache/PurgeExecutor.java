@@ -0,0 +1,113 @@
+package edu.illinois.library.cantaloupe.cache;
+
+import edu.illinois.library.cantaloupe.async.ThreadPool;
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * <p>Runs purge tasks in the {@link ThreadPool} with bounded parallelism.</p>
+ *
+ * <p>{@link #submit(Callable)} blocks while the maximum number of tasks are
+ * running, so that a caller enumerating keys to delete can't get
+ * arbitrarily far ahead of the deletions. {@link #await()} must be invoked
+ * once all tasks have been submitted.</p>
+ *
+ * <p>Instances are not thread-safe and should be used for only one purge.</p>
+ */
+final class PurgeExecutor {
+
+    private static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+    private final List<Future<?>> futures = new ArrayList<>();
+    private final Semaphore permits;
+
+    /**
+     * @return Value of {@link Key#CACHE_SERVER_PURGE_CONCURRENCY}, or a
+     *         default value if it is not set to a positive integer.
+     */
+    static int getMaxConcurrency() {
+        int value = Configuration.getInstance().getInt(
+                Key.CACHE_SERVER_PURGE_CONCURRENCY, DEFAULT_MAX_CONCURRENCY);
+        return (value > 0) ? value : DEFAULT_MAX_CONCURRENCY;
+    }
+
+    /**
+     * Creates an instance whose parallelism is limited by {@link
+     * #getMaxConcurrency()}.
+     */
+    PurgeExecutor() {
+        this(getMaxConcurrency());
+    }
+
+    /**
+     * @param maxConcurrency Maximum number of tasks to run at once.
+     */
+    PurgeExecutor(int maxConcurrency) {
+        permits = new Semaphore(maxConcurrency);
+    }
+
+    /**
+     * Waits for all submitted tasks to complete.
+     *
+     * @throws IOException if any of the tasks failed. If more than one
+     *         failed, the others are attached as suppressed exceptions.
+     */
+    void await() throws IOException {
+        IOException exception = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e.getMessage(), e);
+            } catch (ExecutionException e) {
+                Throwable cause = (e.getCause() != null) ? e.getCause() : e;
+                if (exception == null) {
+                    exception = (cause instanceof IOException) ?
+                            (IOException) cause :
+                            new IOException(cause.getMessage(), cause);
+                } else {
+                    exception.addSuppressed(cause);
+                }
+            }
+        }
+        futures.clear();
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * Submits a task for execution as soon as fewer than the maximum number
+     * of tasks are running, blocking until then.
+     */
+    void submit(Callable<?> task) throws IOException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e.getMessage(), e);
+        }
+        try {
+            futures.add(ThreadPool.getInstance().submit(() -> {
+                try {
+                    return task.call();
+                } finally {
+                    permits.release();
+                }
+            }));
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+}
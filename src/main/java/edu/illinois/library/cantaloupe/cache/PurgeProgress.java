@@ -0,0 +1,91 @@
+package edu.illinois.library.cantaloupe.cache;
+
+import com.fasterxml.jackson.annotation.JsonGetter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Thread-safe progress report of a purge of all content relating to an
+ * identifier, which may be read (e.g. serialized to JSON) while the purge is
+ * in progress.</p>
+ *
+ * <p>Not all caches report the number of items they have deleted; those
+ * that don't appear only in the lists of pending and completed caches.</p>
+ *
+ * @see CacheFacade#purge(edu.illinois.library.cantaloupe.image.Identifier,
+ *      PurgeProgress)
+ */
+public final class PurgeProgress {
+
+    private final List<String> pendingCaches = new CopyOnWriteArrayList<>();
+    private final List<String> completedCaches = new CopyOnWriteArrayList<>();
+    private final AtomicLong deletedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    /**
+     * @param count Number of items that have been deleted.
+     */
+    public void addDeleted(long count) {
+        deletedCount.addAndGet(count);
+    }
+
+    /**
+     * @param count Number of items that could not be deleted.
+     */
+    public void addFailed(long count) {
+        failedCount.addAndGet(count);
+    }
+
+    void cacheCompleted(String name) {
+        pendingCaches.remove(name);
+        completedCaches.add(name);
+    }
+
+    void cacheStarted(String name) {
+        pendingCaches.add(name);
+    }
+
+    /**
+     * @return Names of the caches that have been purged.
+     */
+    @JsonGetter("completed_caches")
+    public List<String> getCompletedCaches() {
+        return Collections.unmodifiableList(new ArrayList<>(completedCaches));
+    }
+
+    /**
+     * @return Number of items that have been deleted so far.
+     */
+    @JsonGetter("deleted")
+    public long getDeletedCount() {
+        return deletedCount.get();
+    }
+
+    /**
+     * @return Number of items that could not be deleted so far.
+     */
+    @JsonGetter("failed")
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * @return Names of the caches that are being purged.
+     */
+    @JsonGetter("pending_caches")
+    public List<String> getPendingCaches() {
+        return Collections.unmodifiableList(new ArrayList<>(pendingCaches));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d deleted, %d failed; pending: %s; completed: %s",
+                getDeletedCount(), getFailedCount(),
+                getPendingCaches(), getCompletedCaches());
+    }
+
+}
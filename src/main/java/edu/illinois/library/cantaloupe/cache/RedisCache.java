@@ -1,11 +1,11 @@
 package edu.illinois.library.cantaloupe.cache;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.lambdaworks.redis.MapScanCursor;
 import com.lambdaworks.redis.RedisClient;
 import com.lambdaworks.redis.RedisURI;
 import com.lambdaworks.redis.ScanArgs;
 import com.lambdaworks.redis.api.StatefulRedisConnection;
+import com.lambdaworks.redis.api.sync.RedisCommands;
 import com.lambdaworks.redis.codec.ByteArrayCodec;
 import com.lambdaworks.redis.codec.RedisCodec;
 import com.lambdaworks.redis.codec.Utf8StringCodec;
@@ -14,6 +14,7 @@ import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.image.Info;
 import edu.illinois.library.cantaloupe.operation.OperationList;
+import edu.illinois.library.cantaloupe.operation.OperationListDigest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,8 +23,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
+import java.util.Set;
 
 /**
  * <p>Cache using Redis via the <a href="http://redis.paluch.biz">Lettuce</a>
@@ -33,12 +34,16 @@ import java.nio.ByteBuffer;
  *
  * <pre>{
  *     #{@link #IMAGE_HASH_KEY}: {
- *         "operation list string representation": image byte array
+ *         "hex-encoded operation list digest": image byte array
  *     },
  *     #{@link #INFO_HASH_KEY}: {
  *         "identifier": "UTF-8 JSON string"
  *     }
  * }</pre>
+ *
+ * <p>Image keys are {@link OperationListDigest digests}, all of which
+ * corresponding to the same identifier share the same prefix, enabling them
+ * to be purged with a fixed-length prefix match.</p>
  */
 class RedisCache implements DerivativeCache {
 
@@ -212,12 +217,17 @@ class RedisCache implements DerivativeCache {
     static final String INFO_HASH_KEY =
             "edu.illinois.library.cantaloupe.info";
 
+    /**
+     * Number of fields to request per {@literal HSCAN} page.
+     */
+    private static final int SCAN_PAGE_SIZE = 1000;
+
     private static StatefulRedisConnection<String, byte[]> getConnection() {
         return LazyConnectionHolder.connection;
     }
 
     private static String imageKey(OperationList opList) {
-        return opList.toString();
+        return opList.getDigest().toString();
     }
 
     private static String infoKey(Identifier identifier) {
@@ -226,11 +236,10 @@ class RedisCache implements DerivativeCache {
 
     @Override
     public Info getImageInfo(Identifier identifier) throws IOException {
-        byte[] json = getConnection().sync().hget(INFO_HASH_KEY,
+        byte[] bytes = getConnection().sync().hget(INFO_HASH_KEY,
                 infoKey(identifier));
-        if (json != null) {
-            String jsonStr = new String(json, "UTF-8");
-            return Info.fromJSON(jsonStr);
+        if (bytes != null) {
+            return InfoCodec.decode(bytes);
         }
         return null;
     }
@@ -264,20 +273,44 @@ class RedisCache implements DerivativeCache {
 
     @Override
     public void purge(Identifier identifier) {
+        purge(identifier, new PurgeProgress());
+    }
+
+    /**
+     * Scans the image hash in pages of {@link #SCAN_PAGE_SIZE} fields, and
+     * deletes each page's matching fields with a single {@literal HDEL}
+     * command. (Redis executes commands serially, so there would be nothing
+     * to gain from issuing them in parallel.)
+     */
+    @Override
+    public void purge(Identifier identifier, PurgeProgress progress) {
+        final RedisCommands<String, byte[]> commands = getConnection().sync();
+
         // Purge info
         String infoKey = infoKey(identifier);
         LOGGER.info("purge(Identifier): purging {}...", infoKey);
-        getConnection().sync().hdel(INFO_HASH_KEY, infoKey);
+        progress.addDeleted(commands.hdel(INFO_HASH_KEY, infoKey));
 
         // Purge images
-        ScanArgs imagePattern = ScanArgs.Builder.matches(identifier + "*");
+        ScanArgs imagePattern = ScanArgs.Builder.
+                matches(OperationListDigest.identifierPrefixHex(identifier) + "*").
+                limit(SCAN_PAGE_SIZE);
         LOGGER.info("purge(Identifier): purging {}...", imagePattern);
 
-        MapScanCursor<String, byte[]> cursor = getConnection().sync().
-                hscan(IMAGE_HASH_KEY, imagePattern);
-        for (Object key : cursor.getMap().keySet()) {
-            getConnection().sync().hdel(IMAGE_HASH_KEY, (String) key);
+        MapScanCursor<String, byte[]> cursor =
+                commands.hscan(IMAGE_HASH_KEY, imagePattern);
+        while (true) {
+            Set<String> keys = cursor.getMap().keySet();
+            if (!keys.isEmpty()) {
+                progress.addDeleted(commands.hdel(IMAGE_HASH_KEY,
+                        keys.toArray(new String[0])));
+            }
+            if (cursor.isFinished()) {
+                break;
+            }
+            cursor = commands.hscan(IMAGE_HASH_KEY, cursor, imagePattern);
         }
+        LOGGER.info("purge(Identifier): {}", progress);
     }
 
     /**
@@ -301,8 +334,8 @@ class RedisCache implements DerivativeCache {
         LOGGER.info("put(): caching info for {}", identifier);
         try {
             getConnection().async().hset(INFO_HASH_KEY, infoKey(identifier),
-                    imageInfo.toJSON().getBytes("UTF-8"));
-        } catch (JsonProcessingException | UnsupportedEncodingException e) {
+                    InfoCodec.encode(imageInfo));
+        } catch (IOException e) {
             LOGGER.error("put(): {}", e.getMessage());
             throw new IOException(e.getMessage(), e);
         }
@@ -2,7 +2,9 @@ package edu.illinois.library.cantaloupe.cache;
 
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
 import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
 import com.amazonaws.services.s3.model.ObjectListing;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
@@ -31,7 +33,9 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 /**
  * <p>Cache using an S3 bucket.</p>
@@ -200,6 +204,12 @@ class S3Cache implements DerivativeCache {
     private static final Logger LOGGER =
             LoggerFactory.getLogger(S3Cache.class);
 
+    /**
+     * Maximum number of keys that S3 will accept in a multi-object delete
+     * request.
+     */
+    private static final int MAX_DELETE_BATCH_SIZE = 1000;
+
     /**
      * Lazy-initialized by {@link #getClientInstance}.
      */
@@ -412,7 +422,7 @@ class S3Cache implements DerivativeCache {
                     key, bucketName);
             s3.deleteObject(bucketName, key);
             return null;
-        });
+        }, TaskQueue.Lane.PURGE);
     }
 
     @Override
@@ -447,23 +457,39 @@ class S3Cache implements DerivativeCache {
     }
 
     @Override
-    public void purge(final Identifier identifier) {
-        // purge the info
-        purge(getObjectKey(identifier));
+    public void purge(final Identifier identifier) throws IOException {
+        purge(identifier, new PurgeProgress());
+    }
 
-        // purge images
+    /**
+     * Deletes the info and derivative images corresponding to the given
+     * identifier using multi-object delete requests, each covering one
+     * page of the object listing, with up to {@link
+     * PurgeExecutor#getMaxConcurrency()} requests in flight.
+     */
+    @Override
+    public void purge(final Identifier identifier,
+                      final PurgeProgress progress) throws IOException {
         final AmazonS3 s3 = getClientInstance();
         final String bucketName = getBucketName();
+        final PurgeExecutor executor = new PurgeExecutor();
 
+        // purge the info
+        List<String> keys = new ArrayList<>(MAX_DELETE_BATCH_SIZE);
+        keys.add(getObjectKey(identifier));
+
+        // purge images
         ObjectListing listing = s3.listObjects(
-                getBucketName(),
+                bucketName,
                 getObjectKeyPrefix() + "image/" + identifier.toString());
-        int count = 0;
 
         while (true) {
             for (S3ObjectSummary summary : listing.getObjectSummaries()) {
-                s3.deleteObject(bucketName, summary.getKey());
-                count++;
+                keys.add(summary.getKey());
+                if (keys.size() >= MAX_DELETE_BATCH_SIZE) {
+                    deleteAsync(executor, s3, bucketName, keys, progress);
+                    keys = new ArrayList<>(MAX_DELETE_BATCH_SIZE);
+                }
             }
 
             if (listing.isTruncated()) {
@@ -473,7 +499,43 @@ class S3Cache implements DerivativeCache {
                 break;
             }
         }
-        LOGGER.info("purge(Identifier): deleted {} items", count);
+        if (!keys.isEmpty()) {
+            deleteAsync(executor, s3, bucketName, keys, progress);
+        }
+
+        executor.await();
+        LOGGER.info("purge(Identifier): {}", progress);
+    }
+
+    /**
+     * Deletes the given objects in a single multi-object delete request.
+     * Keys that fail to delete are counted and logged rather than causing
+     * the whole purge to fail.
+     */
+    private static void deleteAsync(PurgeExecutor executor,
+                                    AmazonS3 s3,
+                                    String bucketName,
+                                    List<String> keys,
+                                    PurgeProgress progress) throws IOException {
+        executor.submit(() -> {
+            final DeleteObjectsRequest request =
+                    new DeleteObjectsRequest(bucketName)
+                            .withKeys(keys.toArray(new String[0]))
+                            .withQuiet(true);
+            try {
+                s3.deleteObjects(request);
+                progress.addDeleted(keys.size());
+            } catch (MultiObjectDeleteException e) {
+                final int failedCount = e.getErrors().size();
+                progress.addDeleted(keys.size() - failedCount);
+                progress.addFailed(failedCount);
+                for (MultiObjectDeleteException.DeleteError error : e.getErrors()) {
+                    LOGGER.warn("purge(Identifier): failed to delete {}: {}",
+                            error.getKey(), error.getMessage());
+                }
+            }
+            return null;
+        });
     }
 
     /**
@@ -3,7 +3,6 @@ package edu.illinois.library.cantaloupe.cache;
 import edu.illinois.library.cantaloupe.image.Identifier;
 
 import java.io.IOException;
-import java.io.OutputStream;
 import java.nio.file.Path;
 
 /**
@@ -21,6 +20,24 @@ import java.nio.file.Path;
  */
 public interface SourceCache extends Cache {
 
+    /**
+     * <p>Returns an instance representing the source image corresponding to
+     * the given identifier while it is being written in another thread, so
+     * that clients can start reading it before it is complete.</p>
+     *
+     * <p>This default implementation returns {@literal null}, which means
+     * that clients will have to wait for {@link
+     * #getSourceImageFile(Identifier)} instead.</p>
+     *
+     * @param identifier Identifier of an image being written to the cache.
+     * @return Instance representing the image being written, or {@literal
+     *         null} if it is not currently being written or the
+     *         implementation doesn't support reading while writing.
+     */
+    default GrowingFile getGrowingSourceImageFile(Identifier identifier) {
+        return null;
+    }
+
     /**
      * <p>Returns a source image corresponding to the given identifier, or
      * {@literal null} if a valid source image corresponding to the given
@@ -48,10 +65,13 @@ public interface SourceCache extends Cache {
     /**
      * @param identifier Identifier of an image to write to the cache.
      * @return Output stream to which an image corresponding to the given
-     *         identifier can be written.
+     *         identifier can be written. Its content is committed to the
+     *         cache when it is closed only if it has been {@link
+     *         CompletableOutputStream#setCompletelyWritten(boolean) marked
+     *         as completely written}.
      * @throws IOException
      */
-    OutputStream newSourceImageOutputStream(Identifier identifier)
+    CompletableOutputStream newSourceImageOutputStream(Identifier identifier)
             throws IOException;
 
 }
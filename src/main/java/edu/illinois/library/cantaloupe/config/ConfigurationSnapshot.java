@@ -0,0 +1,144 @@
+package edu.illinois.library.cantaloupe.config;
+
+import org.apache.commons.configuration.ConversionException;
+import org.apache.commons.configuration.PropertiesConfiguration;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * <p>Immutable snapshot of the effective key-value pairs of a chain of
+ * {@link PropertiesConfiguration}s, in which every value has already been
+ * resolved through the chain, interpolated, and converted to every type that
+ * it can be read as.</p>
+ *
+ * <p>This enables lookups to be served without any locking, inheritance
+ * chain walking, or parsing. Instances are rebuilt whenever the underlying
+ * configuration changes and published through a volatile reference.</p>
+ *
+ * <p>Accessors behave like the corresponding ones of {@link
+ * PropertiesConfiguration}: they return {@literal null} if there is no
+ * value, and throw a {@link ConversionException} if there is one that can't
+ * be converted to the requested type.</p>
+ *
+ * @see HeritablePropertiesConfiguration
+ */
+final class ConfigurationSnapshot {
+
+    /**
+     * Stands in for values that could not be converted.
+     */
+    private static final Object INVALID = new Object();
+
+    private static final class Entry {
+
+        private final Object property;
+        private final String string;
+        private final Object bool;
+        private final Object dub;
+        private final Object flo;
+        private final Object integer;
+        private final Object lon;
+
+        Entry(PropertiesConfiguration config, String key) {
+            property = config.getProperty(key);
+            string = config.getString(key, null);
+            bool = convert(k -> config.getBoolean(k, null), key);
+            dub = convert(k -> config.getDouble(k, null), key);
+            flo = convert(k -> config.getFloat(k, null), key);
+            integer = convert(k -> config.getInteger(k, null), key);
+            lon = convert(k -> config.getLong(k, null), key);
+        }
+
+        private static Object convert(Function<String,Object> converter,
+                                      String key) {
+            try {
+                return converter.apply(key);
+            } catch (ConversionException e) {
+                return INVALID;
+            }
+        }
+
+    }
+
+    static final ConfigurationSnapshot EMPTY =
+            new ConfigurationSnapshot(Collections.emptyMap());
+
+    private final Map<String,Entry> entries;
+
+    /**
+     * @param configs Configurations in order of precedence, i.e. from leaf
+     *                to trunk.
+     */
+    static ConfigurationSnapshot of(Iterable<PropertiesConfiguration> configs) {
+        final Map<String,Entry> entries = new HashMap<>();
+        for (PropertiesConfiguration config : configs) {
+            final Iterator<String> it = config.getKeys();
+            while (it.hasNext()) {
+                final String key = it.next();
+                if (!entries.containsKey(key)) {
+                    entries.put(key, new Entry(config, key));
+                }
+            }
+        }
+        return new ConfigurationSnapshot(entries);
+    }
+
+    private ConfigurationSnapshot(Map<String,Entry> entries) {
+        this.entries = entries;
+    }
+
+    private static Object checkValid(Object value, String key) {
+        if (value == INVALID) {
+            throw new ConversionException("Invalid value for key: " + key);
+        }
+        return value;
+    }
+
+    Boolean getBoolean(String key) {
+        final Entry entry = entries.get(key);
+        return (entry != null) ? (Boolean) checkValid(entry.bool, key) : null;
+    }
+
+    Double getDouble(String key) {
+        final Entry entry = entries.get(key);
+        return (entry != null) ? (Double) checkValid(entry.dub, key) : null;
+    }
+
+    Float getFloat(String key) {
+        final Entry entry = entries.get(key);
+        return (entry != null) ? (Float) checkValid(entry.flo, key) : null;
+    }
+
+    Integer getInteger(String key) {
+        final Entry entry = entries.get(key);
+        return (entry != null) ?
+                (Integer) checkValid(entry.integer, key) : null;
+    }
+
+    Long getLong(String key) {
+        final Entry entry = entries.get(key);
+        return (entry != null) ? (Long) checkValid(entry.lon, key) : null;
+    }
+
+    Object getProperty(String key) {
+        final Entry entry = entries.get(key);
+        return (entry != null) ? entry.property : null;
+    }
+
+    String getString(String key) {
+        final Entry entry = entries.get(key);
+        return (entry != null) ? entry.string : null;
+    }
+
+    /**
+     * @return Number of keys.
+     */
+    int size() {
+        return entries.size();
+    }
+
+}
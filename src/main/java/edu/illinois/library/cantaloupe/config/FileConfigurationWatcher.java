@@ -1,5 +1,7 @@
 package edu.illinois.library.cantaloupe.config;
 
+import edu.illinois.library.cantaloupe.cache.CacheFactory;
+import edu.illinois.library.cantaloupe.cache.InfoResponseCache;
 import edu.illinois.library.cantaloupe.logging.LoggerUtil;
 import edu.illinois.library.cantaloupe.util.FilesystemWatcher;
 
@@ -48,6 +50,9 @@ class FileConfigurationWatcher implements Runnable {
             try {
                 config.reload();
                 LoggerUtil.reloadConfiguration();
+                CacheFactory.reloadConfiguration();
+                // Cached responses may reflect the old configuration.
+                InfoResponseCache.getInstance().purge();
             } catch (FileNotFoundException e) {
                 System.err.println("FileConfigurationWatcher$CallbackImpl: " +
                         "file not found: " + e.getMessage());
@@ -22,8 +22,10 @@ import java.util.concurrent.locks.StampedLock;
  * linked to a parent file using {@link #EXTENDS_KEY}. Keys in child files
  * override ones in ancestor files.</p>
  *
- * <p>This implementation uses optimistic reads via a {@link StampedLock} for
- * good performance with thread-safety.</p>
+ * <p>Reads are served from an immutable {@link ConfigurationSnapshot} of the
+ * effective, already-converted values, published through a volatile
+ * reference, so they require no locking or parsing. Writes are serialized
+ * by a {@link StampedLock} and each one publishes a new snapshot.</p>
  */
 class HeritablePropertiesConfiguration extends HeritableFileConfiguration
         implements Configuration {
@@ -46,6 +48,13 @@ class HeritablePropertiesConfiguration extends HeritableFileConfiguration
      */
     private byte[] mainContentsChecksum = new byte[] {};
 
+    /**
+     * Effective values of {@link #commonsConfigs}. Must be rebuilt via {@link
+     * #updateSnapshot()} whenever they change.
+     */
+    private volatile ConfigurationSnapshot snapshot =
+            ConfigurationSnapshot.EMPTY;
+
     /**
      * @return Wrapped configurations in order from main to most distant
      *         ancestor.
@@ -75,6 +84,7 @@ class HeritablePropertiesConfiguration extends HeritableFileConfiguration
             commonsConfigs.values().parallelStream()
                     .forEach(PropertiesConfiguration::clear);
             mainContentsChecksum = new byte[]{};
+            updateSnapshot();
         } finally {
             lock.unlock(stamp);
         }
@@ -86,14 +96,15 @@ class HeritablePropertiesConfiguration extends HeritableFileConfiguration
         try {
             commonsConfigs.values().parallelStream()
                     .forEach(c -> c.clearProperty(key));
+            updateSnapshot();
         } finally {
             lock.unlock(stamp);
         }
     }
 
     @Override
-    public boolean getBoolean(final String key) {
-        Boolean bool = readBooleanOptimistically(key);
+    public boolean getBoolean(String key) {
+        Boolean bool = snapshot.getBoolean(key);
         if (bool != null) {
             return bool;
         }
@@ -103,43 +114,16 @@ class HeritablePropertiesConfiguration extends HeritableFileConfiguration
     @Override
     public boolean getBoolean(String key, boolean defaultValue) {
         try {
-            Boolean bool = readBooleanOptimistically(key);
+            Boolean bool = snapshot.getBoolean(key);
             return (bool != null) ? bool : defaultValue;
         } catch (ConversionException e) {
             return defaultValue;
         }
     }
 
-    private Boolean readBooleanOptimistically(String key) {
-        long stamp = lock.tryOptimisticRead();
-
-        Boolean bool = readBoolean(key);
-
-        if (!lock.validate(stamp)) {
-            stamp = lock.readLock();
-            try {
-                bool = readBoolean(key);
-            } finally {
-                lock.unlock(stamp);
-            }
-        }
-        return bool;
-    }
-
-    private Boolean readBoolean(String key) {
-        Boolean bool = null;
-        for (PropertiesConfiguration commonsConfig : commonsConfigs.values()) {
-            if (commonsConfig.containsKey(key)) {
-                bool = commonsConfig.getBoolean(key, null);
-                break;
-            }
-        }
-        return bool;
-    }
-
     @Override
     public double getDouble(String key) {
-        Double dub = readDoubleOptimistically(key);
+        Double dub = snapshot.getDouble(key);
         if (dub != null) {
             return dub;
         }
@@ -149,43 +133,16 @@ class HeritablePropertiesConfiguration extends HeritableFileConfiguration
     @Override
     public double getDouble(String key, double defaultValue) {
         try {
-            Double dub = readDoubleOptimistically(key);
+            Double dub = snapshot.getDouble(key);
             return (dub != null) ? dub : defaultValue;
         } catch (ConversionException e) {
             return defaultValue;
         }
     }
 
-    private Double readDoubleOptimistically(String key) {
-        long stamp = lock.tryOptimisticRead();
-
-        Double dub = readDouble(key);
-
-        if (!lock.validate(stamp)) {
-            stamp = lock.readLock();
-            try {
-                dub = readDouble(key);
-            } finally {
-                lock.unlock(stamp);
-            }
-        }
-        return dub;
-    }
-
-    private Double readDouble(String key) {
-        Double dub = null;
-        for (PropertiesConfiguration commonsConfig : commonsConfigs.values()) {
-            if (commonsConfig.containsKey(key)) {
-                dub = commonsConfig.getDouble(key, null);
-                break;
-            }
-        }
-        return dub;
-    }
-
     @Override
     public float getFloat(String key) {
-        Float flo = readFloatOptimistically(key);
+        Float flo = snapshot.getFloat(key);
         if (flo != null) {
             return flo;
         }
@@ -195,43 +152,16 @@ class HeritablePropertiesConfiguration extends HeritableFileConfiguration
     @Override
     public float getFloat(String key, float defaultValue) {
         try {
-            Float flo = readFloatOptimistically(key);
+            Float flo = snapshot.getFloat(key);
             return (flo != null) ? flo : defaultValue;
         } catch (ConversionException e) {
             return defaultValue;
         }
     }
 
-    private Float readFloatOptimistically(String key) {
-        long stamp = lock.tryOptimisticRead();
-
-        Float flo = readFloat(key);
-
-        if (!lock.validate(stamp)) {
-            stamp = lock.readLock();
-            try {
-                flo = readFloat(key);
-            } finally {
-                lock.unlock(stamp);
-            }
-        }
-        return flo;
-    }
-
-    private Float readFloat(String key) {
-        Float flo = null;
-        for (PropertiesConfiguration commonsConfig : commonsConfigs.values()) {
-            if (commonsConfig.containsKey(key)) {
-                flo = commonsConfig.getFloat(key, null);
-                break;
-            }
-        }
-        return flo;
-    }
-
     @Override
     public int getInt(String key) {
-        Integer integer = readIntegerOptimistically(key);
+        Integer integer = snapshot.getInteger(key);
         if (integer != null) {
             return integer;
         }
@@ -241,40 +171,13 @@ class HeritablePropertiesConfiguration extends HeritableFileConfiguration
     @Override
     public int getInt(String key, int defaultValue) {
         try {
-            Integer integer = readIntegerOptimistically(key);
+            Integer integer = snapshot.getInteger(key);
             return (integer != null) ? integer : defaultValue;
         } catch (ConversionException e) {
             return defaultValue;
         }
     }
 
-    private Integer readIntegerOptimistically(String key) {
-        long stamp = lock.tryOptimisticRead();
-
-        Integer integer = readInteger(key);
-
-        if (!lock.validate(stamp)) {
-            stamp = lock.readLock();
-            try {
-                integer = readInteger(key);
-            } finally {
-                lock.unlock(stamp);
-            }
-        }
-        return integer;
-    }
-
-    private Integer readInteger(String key) {
-        Integer integer = null;
-        for (PropertiesConfiguration commonsConfig : commonsConfigs.values()) {
-            if (commonsConfig.containsKey(key)) {
-                integer = commonsConfig.getInteger(key, null);
-                break;
-            }
-        }
-        return integer;
-    }
-
     /**
      * @return Iterator of all keys grouped by the file in which they reside,
      *         from the main file up through ancestor files.
@@ -305,7 +208,7 @@ class HeritablePropertiesConfiguration extends HeritableFileConfiguration
 
     @Override
     public long getLong(String key) {
-        Long lon = readLongOptimistically(key);
+        Long lon = snapshot.getLong(key);
         if (lon != null) {
             return lon;
         }
@@ -315,110 +218,29 @@ class HeritablePropertiesConfiguration extends HeritableFileConfiguration
     @Override
     public long getLong(String key, long defaultValue) {
         try {
-            Long lon = readLongOptimistically(key);
+            Long lon = snapshot.getLong(key);
             return (lon != null) ? lon : defaultValue;
         } catch (ConversionException e) {
             return defaultValue;
         }
     }
 
-    private Long readLongOptimistically(String key) {
-        long stamp = lock.tryOptimisticRead();
-
-        Long lon = readLong(key);
-
-        if (!lock.validate(stamp)) {
-            stamp = lock.readLock();
-            try {
-                lon = readLong(key);
-            } finally {
-                lock.unlock(stamp);
-            }
-        }
-        return lon;
-    }
-
-    private Long readLong(String key) {
-        Long lon = null;
-        for (PropertiesConfiguration commonsConfig : commonsConfigs.values()) {
-            if (commonsConfig.containsKey(key)) {
-                lon = commonsConfig.getLong(key, null);
-                break;
-            }
-        }
-        return lon;
-    }
-
     @Override
     public Object getProperty(String key) {
-        return readPropertyOptimistically(key);
-    }
-
-    private Object readPropertyOptimistically(String key) {
-        long stamp = lock.tryOptimisticRead();
-
-        Object prop = readProperty(key);
-
-        if (!lock.validate(stamp)) {
-            stamp = lock.readLock();
-            try {
-                prop = readProperty(key);
-            } finally {
-                lock.unlock(stamp);
-            }
-        }
-        return prop;
-    }
-
-    private Object readProperty(String key) {
-        Object prop = null;
-        for (PropertiesConfiguration commonsConfig : commonsConfigs.values()) {
-            if (commonsConfig.containsKey(key)) {
-                prop = commonsConfig.getProperty(key);
-                break;
-            }
-        }
-        return prop;
+        return snapshot.getProperty(key);
     }
 
     @Override
     public String getString(String key) {
-        return readStringOptimistically(key);
+        return snapshot.getString(key);
     }
 
     @Override
     public String getString(String key, String defaultValue) {
-        String str = readStringOptimistically(key);
+        String str = snapshot.getString(key);
         return (str != null) ? str : defaultValue;
     }
 
-    private String readStringOptimistically(String key) {
-        long stamp = lock.tryOptimisticRead();
-
-        String str = readString(key);
-
-        if (!lock.validate(stamp)) {
-            stamp = lock.readLock();
-            try {
-                str = readString(key);
-            } finally {
-                lock.unlock(stamp);
-            }
-        }
-        return str;
-    }
-
-    private String readString(String key) {
-        String str = null;
-        for (PropertiesConfiguration commonsConfig : commonsConfigs.values()) {
-            if (commonsConfig.containsKey(key)) {
-                str = commonsConfig.getString(key, null);
-                break;
-            }
-        }
-        return str;
-    }
-
     @Override
     public void reload() throws ConfigurationException {
         final long stamp = lock.writeLock();
@@ -445,6 +267,7 @@ class HeritablePropertiesConfiguration extends HeritableFileConfiguration
 
                 commonsConfigs.clear();
                 loadFileAndAncestors(mainConfigFile);
+                updateSnapshot();
             }
         } finally {
             lock.unlock(stamp);
@@ -498,6 +321,7 @@ class HeritablePropertiesConfiguration extends HeritableFileConfiguration
                     commonsConfig.setProperty(key, value);
                 }
             }
+            updateSnapshot();
         } finally {
             lock.unlock(stamp);
         }
@@ -545,4 +369,11 @@ class HeritablePropertiesConfiguration extends HeritableFileConfiguration
         }
     }
 
+    /**
+     * N.B.: Not thread-safe! Must be invoked within the write lock.
+     */
+    private void updateSnapshot() {
+        snapshot = ConfigurationSnapshot.of(commonsConfigs.values());
+    }
+
 }
@@ -56,6 +56,7 @@ public enum Key {
     BASIC_AUTH_ENABLED("endpoint.public.auth.basic.enabled"),
     BASIC_AUTH_SECRET("endpoint.public.auth.basic.secret"),
     BASIC_AUTH_USERNAME("endpoint.public.auth.basic.username"),
+    CACHE_SERVER_PURGE_CONCURRENCY("cache.server.purge_concurrency"),
     CACHE_SERVER_PURGE_MISSING("cache.server.purge_missing"),
     CACHE_SERVER_RESOLVE_FIRST("cache.server.resolve_first"),
     CACHE_WORKER_ENABLED("cache.server.worker.enabled"),
@@ -74,6 +75,7 @@ public enum Key {
     DELEGATE_SCRIPT_ENABLED("delegate_script.enabled"),
     DELEGATE_SCRIPT_PATHNAME("delegate_script.pathname"),
     DERIVATIVE_CACHE("cache.server.derivative"),
+    DERIVATIVE_CACHE_BINARY_INFO("cache.server.derivative.binary_info"),
     DERIVATIVE_CACHE_ENABLED("cache.server.derivative.enabled"),
     DERIVATIVE_CACHE_TTL("cache.server.derivative.ttl_seconds"),
     ERROR_LOG_FILEAPPENDER_ENABLED("log.error.FileAppender.enabled"),
@@ -83,9 +85,14 @@ public enum Key {
     ERROR_LOG_ROLLINGFILEAPPENDER_POLICY("log.error.RollingFileAppender.policy"),
     ERROR_LOG_ROLLINGFILEAPPENDER_FILENAME_PATTERN("log.error.RollingFileAppender.TimeBasedRollingPolicy.filename_pattern"),
     ERROR_LOG_ROLLINGFILEAPPENDER_MAX_HISTORY("log.error.RollingFileAppender.TimeBasedRollingPolicy.max_history"),
+    FFMPEGPROCESSOR_FRAME_CACHE_MAX_SIZE("FfmpegProcessor.frame_cache_max_size"),
+    FFMPEGPROCESSOR_KEYFRAME_SEEK("FfmpegProcessor.keyframe_seek"),
     FFMPEGPROCESSOR_PATH_TO_BINARIES("FfmpegProcessor.path_to_binaries"),
     FILESYSTEMCACHE_DIRECTORY_DEPTH("FilesystemCache.dir.depth"),
     FILESYSTEMCACHE_DIRECTORY_NAME_LENGTH("FilesystemCache.dir.name_length"),
+    FILESYSTEMCACHE_JOURNAL("FilesystemCache.journal"),
+    FILESYSTEMCACHE_MAX_FILES("FilesystemCache.max_files"),
+    FILESYSTEMCACHE_MAX_SIZE("FilesystemCache.max_size"),
     FILESYSTEMCACHE_PATHNAME("FilesystemCache.pathname"),
     FILESYSTEMSOURCE_LOOKUP_STRATEGY("FilesystemSource.lookup_strategy"),
     FILESYSTEMSOURCE_PATH_PREFIX("FilesystemSource.BasicLookupStrategy.path_prefix"),
@@ -99,9 +106,13 @@ public enum Key {
     HTTP_HTTP2_ENABLED("http.http2.enabled"),
     HTTP_HOST("http.host"),
     HTTP_PORT("http.port"),
+    HTTP_VIRTUAL_THREADS_ENABLED("http.virtual_threads.enabled"),
     HTTPSOURCE_BASIC_AUTH_SECRET("HttpSource.BasicLookupStrategy.auth.basic.secret"),
     HTTPSOURCE_BASIC_AUTH_USERNAME("HttpSource.BasicLookupStrategy.auth.basic.username"),
+    HTTPSOURCE_HTTP2_ENABLED("HttpSource.http2.enabled"),
+    HTTPSOURCE_IDLE_TIMEOUT("HttpSource.idle_timeout"),
     HTTPSOURCE_LOOKUP_STRATEGY("HttpSource.lookup_strategy"),
+    HTTPSOURCE_MAX_CONNECTIONS_PER_DESTINATION("HttpSource.max_connections_per_destination"),
     HTTPSOURCE_REQUEST_TIMEOUT("HttpSource.request_timeout"),
     HTTPSOURCE_TRUST_ALL_CERTS("HttpSource.trust_all_certs"),
     HTTPSOURCE_URL_PREFIX("HttpSource.BasicLookupStrategy.url_prefix"),
@@ -122,6 +133,8 @@ public enum Key {
     IIIF_MIN_TILE_SIZE("endpoint.iiif.min_tile_size"),
     IMAGEMAGICKPROCESSOR_PATH_TO_BINARIES("ImageMagickProcessor.path_to_binaries"),
     INFO_CACHE_ENABLED("cache.server.info.enabled"),
+    INFO_RESPONSE_CACHE_ENABLED("cache.server.info_response.enabled"),
+    INFO_RESPONSE_CACHE_MAX_SIZE("cache.server.info_response.max_size"),
     JDBCCACHE_CONNECTION_TIMEOUT("JdbcCache.connection_timeout"),
     JDBCCACHE_DERIVATIVE_IMAGE_TABLE("JdbcCache.derivative_image_table"),
     JDBCCACHE_INFO_TABLE("JdbcCache.info_table"),
@@ -134,9 +147,14 @@ public enum Key {
     JDBCSOURCE_USER("JdbcSource.user"),
     KAKADUDEMOPROCESSOR_PATH_TO_BINARIES("KakaduDemoProcessor.path_to_binaries"),
     MAX_PIXELS("max_pixels"),
+    METRICS_ENABLED("metrics.enabled"),
+    METRICS_SERVER_TIMING_ENABLED("metrics.server_timing.enabled"),
     OPENJPEGPROCESSOR_PATH_TO_BINARIES("OpenJpegProcessor.path_to_binaries"),
+    OVERLAY_CACHE_MAX_SIZE("overlays.cache.max_size"),
     OVERLAY_ENABLED("overlays.enabled"),
     OVERLAY_IMAGE("overlays.BasicStrategy.image"),
+    OVERLAY_IMAGE_CACHE_MAX_SIZE("overlays.image_cache.max_size"),
+    OVERLAY_IMAGE_CACHE_TTL("overlays.image_cache.ttl_seconds"),
     OVERLAY_INSET("overlays.BasicStrategy.inset"),
     OVERLAY_OUTPUT_HEIGHT_THRESHOLD("overlays.BasicStrategy.output_height_threshold"),
     OVERLAY_OUTPUT_WIDTH_THRESHOLD("overlays.BasicStrategy.output_width_threshold"),
@@ -153,6 +171,9 @@ public enum Key {
     OVERLAY_STRING_STROKE_COLOR("overlays.BasicStrategy.string.stroke.color"),
     OVERLAY_STRING_STROKE_WIDTH("overlays.BasicStrategy.string.stroke.width"),
     OVERLAY_TYPE("overlays.BasicStrategy.type"),
+    PDFBOXPROCESSOR_CACHE_DOCUMENT_MAX_SIZE("PdfBoxProcessor.cache.document_max_size"),
+    PDFBOXPROCESSOR_CACHE_ENABLED("PdfBoxProcessor.cache.enabled"),
+    PDFBOXPROCESSOR_CACHE_PAGE_MAX_SIZE("PdfBoxProcessor.cache.page_max_size"),
     PRINT_STACK_TRACE_ON_ERROR_PAGES("print_stack_trace_on_error_pages"),
     PROCESSOR_BACKGROUND_COLOR("processor.background_color"),
     PROCESSOR_DOWNSCALE_FILTER("processor.downscale_filter"),
@@ -162,10 +183,12 @@ public enum Key {
     PROCESSOR_JPG_PROGRESSIVE("processor.jpg.progressive"),
     PROCESSOR_JPG_QUALITY("processor.jpg.quality"),
     PROCESSOR_LIMIT_TO_8_BITS("processor.limit_to_8_bits"),
+    PROCESSOR_MAX_CONCURRENT("processor.max_concurrent"),
     PROCESSOR_NORMALIZE("processor.normalize"),
     PROCESSOR_PRESERVE_METADATA("processor.metadata.preserve"),
     PROCESSOR_RESPECT_ORIENTATION("processor.metadata.respect_orientation"),
     PROCESSOR_SHARPEN("processor.sharpen"),
+    PROCESSOR_STRIPED_ENCODING("processor.striped_encoding"),
     PROCESSOR_STREAM_RETRIEVAL_STRATEGY("processor.stream_retrieval_strategy"),
     PROCESSOR_TIF_COMPRESSION("processor.tif.compression"),
     PROCESSOR_UPSCALE_FILTER("processor.upscale_filter"),
@@ -194,6 +217,12 @@ public enum Key {
     SLASH_SUBSTITUTE("slash_substitute"),
     SOURCE_CACHE("cache.server.source"),
     SOURCE_CACHE_TTL("cache.server.source.ttl_seconds"),
+    SOURCE_INFO_CACHE_ENABLED("cache.server.source_info.enabled"),
+    SOURCE_INFO_CACHE_MAX_SIZE("cache.server.source_info.max_size"),
+    SOURCE_INFO_CACHE_TTL("cache.server.source_info.ttl_seconds"),
+    TASK_QUEUE_ADMIN_CONCURRENCY("task_queue.admin.concurrency"),
+    TASK_QUEUE_PURGE_CONCURRENCY("task_queue.purge.concurrency"),
+    TASK_QUEUE_WRITE_BEHIND_CONCURRENCY("task_queue.write_behind.concurrency"),
     TEMP_PATHNAME("temp_pathname");
 
     private String key;
@@ -0,0 +1,181 @@
+package edu.illinois.library.cantaloupe.image;
+
+/**
+ * <p>Infers the {@link Format} of some data from its magic bytes.</p>
+ *
+ * <p>This is a much faster (and allocation-free) alternative to Tika for the
+ * formats that the application supports, but it makes no attempt to
+ * recognize anything else.</p>
+ *
+ * @see MediaType#detectMediaTypes
+ */
+final class FormatSniffer {
+
+    /**
+     * Number of bytes from the beginning of the data that {@link
+     * #sniff(byte[], int)} would like to see. Fewer will work for most
+     * formats.
+     */
+    static final int HEADER_LENGTH = 256;
+
+    private static final int[] JPEG = { 0xff, 0xd8, 0xff };
+    private static final int[] PNG = { 0x89, 'P', 'N', 'G', 0x0d, 0x0a, 0x1a, 0x0a };
+    private static final int[] TIFF_LE = { 'I', 'I', 0x2a, 0x00 };
+    private static final int[] TIFF_BE = { 'M', 'M', 0x00, 0x2a };
+    private static final int[] BIGTIFF_LE = { 'I', 'I', 0x2b, 0x00 };
+    private static final int[] BIGTIFF_BE = { 'M', 'M', 0x00, 0x2b };
+    private static final int[] JP2 = {
+            0x00, 0x00, 0x00, 0x0c, 'j', 'P', ' ', ' ', 0x0d, 0x0a, 0x87, 0x0a };
+    private static final int[] J2K = { 0xff, 0x4f, 0xff, 0x51 };
+    private static final int[] GIF87A = { 'G', 'I', 'F', '8', '7', 'a' };
+    private static final int[] GIF89A = { 'G', 'I', 'F', '8', '9', 'a' };
+    private static final int[] PDF = { '%', 'P', 'D', 'F', '-' };
+    private static final int[] RIFF = { 'R', 'I', 'F', 'F' };
+    private static final int[] WEBP = { 'W', 'E', 'B', 'P' };
+    private static final int[] AVI = { 'A', 'V', 'I', ' ' };
+    private static final int[] BMP = { 'B', 'M' };
+    private static final int[] DICOM = { 'D', 'I', 'C', 'M' };
+    private static final int[] FLV = { 'F', 'L', 'V', 0x01 };
+    private static final int[] FTYP = { 'f', 't', 'y', 'p' };
+    private static final int[] MOOV = { 'm', 'o', 'o', 'v' };
+    private static final int[] MDAT = { 'm', 'd', 'a', 't' };
+    private static final int[] WIDE = { 'w', 'i', 'd', 'e' };
+    private static final int[] MPEG_PS = { 0x00, 0x00, 0x01, 0xba };
+    private static final int[] MPEG_ES = { 0x00, 0x00, 0x01, 0xb3 };
+    private static final int[] EBML = { 0x1a, 0x45, 0xdf, 0xa3 };
+    private static final int[] WEBM_DOCTYPE = { 'w', 'e', 'b', 'm' };
+    private static final int[] BRAND_QT = { 'q', 't', ' ', ' ' };
+    private static final int[] BRAND_ISO = { 'i', 's', 'o' };
+    private static final int[] BRAND_MP4 = { 'm', 'p', '4' };
+    private static final int[] BRAND_M4V = { 'M', '4', 'V' };
+    private static final int[] BRAND_AVC1 = { 'a', 'v', 'c', '1' };
+    private static final int[] BRAND_DASH = { 'd', 'a', 's', 'h' };
+    private static final int[] BRAND_F4V = { 'f', '4', 'v' };
+
+    /**
+     * @param bytes  Bytes from the beginning of the data.
+     * @param length Number of valid bytes in {@literal bytes}.
+     * @return       Format corresponding to the data, or {@link
+     *               Format#UNKNOWN} if unknown.
+     */
+    static Format sniff(byte[] bytes, int length) {
+        if (startsWith(bytes, length, 0, JPEG)) {
+            return Format.JPG;
+        } else if (startsWith(bytes, length, 0, PNG)) {
+            return Format.PNG;
+        } else if (startsWith(bytes, length, 0, TIFF_LE) ||
+                startsWith(bytes, length, 0, TIFF_BE) ||
+                startsWith(bytes, length, 0, BIGTIFF_LE) ||
+                startsWith(bytes, length, 0, BIGTIFF_BE)) {
+            return Format.TIF;
+        } else if (startsWith(bytes, length, 0, JP2) ||
+                startsWith(bytes, length, 0, J2K)) {
+            return Format.JP2;
+        } else if (startsWith(bytes, length, 0, GIF87A) ||
+                startsWith(bytes, length, 0, GIF89A)) {
+            return Format.GIF;
+        } else if (startsWith(bytes, length, 0, PDF)) {
+            return Format.PDF;
+        } else if (startsWith(bytes, length, 0, RIFF)) {
+            if (startsWith(bytes, length, 8, WEBP)) {
+                return Format.WEBP;
+            } else if (startsWith(bytes, length, 8, AVI)) {
+                return Format.AVI;
+            }
+        } else if (isBMP(bytes, length)) {
+            return Format.BMP;
+        } else if (startsWith(bytes, length, 128, DICOM)) {
+            return Format.DCM;
+        } else if (startsWith(bytes, length, 0, FLV)) {
+            return Format.FLV;
+        } else if (startsWith(bytes, length, 4, FTYP)) {
+            return sniffISOBMFF(bytes, length);
+        } else if (startsWith(bytes, length, 4, MOOV) ||
+                startsWith(bytes, length, 4, MDAT) ||
+                startsWith(bytes, length, 4, WIDE)) {
+            // QuickTime predating the ftyp box
+            return Format.MOV;
+        } else if (startsWith(bytes, length, 0, MPEG_PS) ||
+                startsWith(bytes, length, 0, MPEG_ES)) {
+            return Format.MPG;
+        } else if (startsWith(bytes, length, 0, EBML)) {
+            // Matroska is also EBML; the DocType element tells them apart.
+            if (contains(bytes, length, WEBM_DOCTYPE)) {
+                return Format.WEBM;
+            }
+        }
+        return Format.UNKNOWN;
+    }
+
+    /**
+     * The {@literal BM} signature is too short to be reliable on its own, so
+     * the DIB header size is checked too.
+     */
+    private static boolean isBMP(byte[] bytes, int length) {
+        if (startsWith(bytes, length, 0, BMP) && length >= 18) {
+            final int dibHeaderSize = (bytes[14] & 0xff) |
+                    ((bytes[15] & 0xff) << 8) |
+                    ((bytes[16] & 0xff) << 16) |
+                    ((bytes[17] & 0xff) << 24);
+            switch (dibHeaderSize) {
+                case 12:
+                case 40:
+                case 52:
+                case 56:
+                case 64:
+                case 108:
+                case 124:
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Distinguishes QuickTime from MPEG-4 by the major brand of the
+     * {@literal ftyp} box. Other ISO base media formats (HEIF, AVIF, etc.)
+     * are not supported.
+     */
+    private static Format sniffISOBMFF(byte[] bytes, int length) {
+        if (startsWith(bytes, length, 8, BRAND_QT)) {
+            return Format.MOV;
+        } else if (startsWith(bytes, length, 8, BRAND_ISO) ||
+                startsWith(bytes, length, 8, BRAND_MP4) ||
+                startsWith(bytes, length, 8, BRAND_M4V) ||
+                startsWith(bytes, length, 8, BRAND_AVC1) ||
+                startsWith(bytes, length, 8, BRAND_DASH) ||
+                startsWith(bytes, length, 8, BRAND_F4V)) {
+            return Format.MP4;
+        }
+        return Format.UNKNOWN;
+    }
+
+    private static boolean startsWith(byte[] bytes,
+                                      int length,
+                                      int offset,
+                                      int[] signature) {
+        if (length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((bytes[offset + i] & 0xff) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contains(byte[] bytes,
+                                    int length,
+                                    int[] sequence) {
+        for (int i = 0; i <= length - sequence.length; i++) {
+            if (startsWith(bytes, length, i, sequence)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private FormatSniffer() {}
+
+}
@@ -8,6 +8,8 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonSetter;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import edu.illinois.library.cantaloupe.cache.DerivativeCache;
 import edu.illinois.library.cantaloupe.processor.Processor;
 
@@ -229,6 +231,17 @@ public final class Info {
 
     }
 
+    /**
+     * Shared among all instances, as creating an {@link ObjectMapper} and
+     * introspecting the class are relatively expensive. Readers and writers
+     * are immutable and thread-safe.
+     */
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final ObjectReader JSON_READER =
+            JSON_MAPPER.readerFor(Info.class);
+    private static final ObjectWriter JSON_WRITER =
+            JSON_MAPPER.writerFor(Info.class);
+
     private Identifier identifier;
 
     /**
@@ -250,15 +263,15 @@ public final class Info {
     }
 
     public static Info fromJSON(Path jsonFile) throws IOException {
-        return new ObjectMapper().readValue(jsonFile.toFile(), Info.class);
+        return JSON_READER.readValue(jsonFile.toFile());
     }
 
     public static Info fromJSON(InputStream jsonStream) throws IOException {
-        return new ObjectMapper().readValue(jsonStream, Info.class);
+        return JSON_READER.readValue(jsonStream);
     }
 
     public static Info fromJSON(String json) throws IOException {
-        return new ObjectMapper().readValue(json, Info.class);
+        return JSON_READER.readValue(json);
     }
 
     public Info() {
@@ -437,7 +450,7 @@ public final class Info {
      */
     @JsonIgnore
     public String toJSON() throws JsonProcessingException {
-        return new ObjectMapper().writer().writeValueAsString(this);
+        return JSON_WRITER.writeValueAsString(this);
     }
 
     @Override
@@ -454,7 +467,7 @@ public final class Info {
      */
     @JsonIgnore
     public void writeAsJSON(OutputStream os) throws IOException {
-        new ObjectMapper().writer().writeValue(os, this);
+        JSON_WRITER.writeValue(os, this);
     }
 
 }
@@ -8,6 +8,7 @@ import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.tika.detect.Detector;
 import org.apache.tika.io.TikaInputStream;
@@ -16,6 +17,7 @@ import org.apache.tika.parser.AutoDetectParser;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -59,8 +61,11 @@ public final class MediaType {
     private String subtype, type;
 
     /**
-     * Attempts to detect the media type(s) of the given file by reading its
-     * magic bytes. The detection is fast but imperfect.
+     * <p>Attempts to detect the media type(s) of the given file by reading its
+     * magic bytes. The detection is fast but imperfect.</p>
+     *
+     * <p>The formats in {@link Format} are recognized by {@link
+     * FormatSniffer}. Tika is used only for anything else.</p>
      *
      * @param path File to probe.
      * @return     Media types associated with the data in the given file, or
@@ -70,6 +75,17 @@ public final class MediaType {
             throws IOException {
         final List<MediaType> types = new ArrayList<>();
 
+        final byte[] header = new byte[FormatSniffer.HEADER_LENGTH];
+        final int length;
+        try (InputStream is = Files.newInputStream(path)) {
+            length = IOUtils.read(is, header);
+        }
+        final Format format = FormatSniffer.sniff(header, length);
+        if (!Format.UNKNOWN.equals(format)) {
+            types.add(format.getPreferredMediaType());
+            return types;
+        }
+
         // https://tika.apache.org/1.1/detection.html
         try (TikaInputStream is = TikaInputStream.get(path)) {
             AutoDetectParser parser = new AutoDetectParser();
@@ -83,8 +99,11 @@ public final class MediaType {
     }
 
     /**
-     * Attempts to detect the media type(s) of the data read from a stream.
-     * The detection is fast but imperfect.
+     * <p>Attempts to detect the media type(s) of the data read from a stream.
+     * The detection is fast but imperfect.</p>
+     *
+     * <p>The formats in {@link Format} are recognized by {@link
+     * FormatSniffer}. Tika is used only for anything else.</p>
      *
      * @param inputStream Stream to read from. Must {@link
      *                    InputStream#markSupported() support marking}.
@@ -95,6 +114,20 @@ public final class MediaType {
             throws IOException {
         final List<MediaType> types = new ArrayList<>();
 
+        final byte[] header = new byte[FormatSniffer.HEADER_LENGTH];
+        inputStream.mark(header.length);
+        final int length;
+        try {
+            length = IOUtils.read(inputStream, header);
+        } finally {
+            inputStream.reset();
+        }
+        final Format format = FormatSniffer.sniff(header, length);
+        if (!Format.UNKNOWN.equals(format)) {
+            types.add(format.getPreferredMediaType());
+            return types;
+        }
+
         // https://tika.apache.org/1.1/detection.html
         AutoDetectParser parser = new AutoDetectParser();
         Detector detector = parser.getDetector();
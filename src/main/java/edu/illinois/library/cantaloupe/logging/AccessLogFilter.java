@@ -3,6 +3,7 @@ package edu.illinois.library.cantaloupe.logging;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.filter.Filter;
 import ch.qos.logback.core.spi.FilterReply;
+import edu.illinois.library.cantaloupe.metrics.ServerTiming;
 
 /**
  * Used in logback.xml.
@@ -10,8 +11,11 @@ import ch.qos.logback.core.spi.FilterReply;
 public class AccessLogFilter extends Filter<ILoggingEvent> {
 
     public FilterReply decide(ILoggingEvent event) {
-        // Accept Jetty access log messages; deny everything else.
-        return event.getLoggerName().equals("LogService") ?
+        // Accept Jetty access log messages and request timing lines; deny
+        // everything else.
+        final String name = event.getLoggerName();
+        return (name.equals("LogService") ||
+                name.equals(ServerTiming.ACCESS_LOGGER_NAME)) ?
                 FilterReply.ACCEPT : FilterReply.DENY;
     }
 
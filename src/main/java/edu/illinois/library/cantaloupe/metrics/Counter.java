@@ -0,0 +1,28 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonically increasing count. Thread-safe.
+ *
+ * @since 4.0
+ */
+public final class Counter {
+
+    private final LongAdder count = new LongAdder();
+
+    Counter() {}
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void increment(long amount) {
+        count.add(amount);
+    }
+
+}
@@ -0,0 +1,113 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Name plus label key-value pairs uniquely identifying a metric. Immutable.
+ */
+final class MetricId implements Comparable<MetricId> {
+
+    private final String name;
+    private final String[] labels;
+    private final int hashCode;
+
+    /**
+     * @param name   Metric name.
+     * @param labels Alternating label names and values.
+     * @throws IllegalArgumentException if the labels are not paired.
+     */
+    MetricId(String name, String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException(
+                    "Labels must be name-value pairs");
+        }
+        this.name = name;
+        this.labels = labels.clone();
+        this.hashCode = 31 * name.hashCode() + Arrays.hashCode(this.labels);
+    }
+
+    @Override
+    public int compareTo(MetricId other) {
+        int result = name.compareTo(other.name);
+        if (result == 0) {
+            result = formatLabels(null).compareTo(other.formatLabels(null));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        } else if (obj instanceof MetricId) {
+            MetricId other = (MetricId) obj;
+            return hashCode == other.hashCode &&
+                    name.equals(other.name) &&
+                    Arrays.equals(labels, other.labels);
+        }
+        return false;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    /**
+     * @param extraLabel Additional label name-value pair to append, such as
+     *                   the {@literal le} label of histogram buckets. May be
+     *                   {@literal null}.
+     * @return           Labels in Prometheus text format, e.g.
+     *                   <code>{cache="info",result="hit"}</code>, or an empty
+     *                   string if there are none.
+     */
+    String formatLabels(String[] extraLabel) {
+        final int numPairs = labels.length / 2 +
+                ((extraLabel != null) ? 1 : 0);
+        if (numPairs == 0) {
+            return "";
+        }
+        final StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < labels.length; i += 2) {
+            appendLabel(builder, labels[i], labels[i + 1]);
+        }
+        if (extraLabel != null) {
+            appendLabel(builder, extraLabel[0], extraLabel[1]);
+        }
+        builder.setLength(builder.length() - 1);
+        return builder.append("}").toString();
+    }
+
+    private static void appendLabel(StringBuilder builder,
+                                    String name,
+                                    String value) {
+        builder.append(name).append("=\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                default:
+                    builder.append(c);
+                    break;
+            }
+        }
+        builder.append("\",");
+    }
+
+    @Override
+    public String toString() {
+        return name + formatLabels(null);
+    }
+
+}
@@ -0,0 +1,345 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import edu.illinois.library.cantaloupe.async.LaneMetrics;
+import edu.illinois.library.cantaloupe.async.TaskQueue;
+import edu.illinois.library.cantaloupe.async.ThreadPool;
+import edu.illinois.library.cantaloupe.cache.InfoResponseCache;
+import edu.illinois.library.cantaloupe.cache.InfoService;
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.processor.ProcessingLimiter;
+import edu.illinois.library.cantaloupe.source.SourceInfoCache;
+import edu.illinois.library.cantaloupe.util.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * <p>Registry of all of the application's metrics, which are:</p>
+ *
+ * <dl>
+ *     <dt>{@link #STAGE_DURATION}</dt>
+ *     <dd>Latency histograms of each {@link Stage} of the request
+ *     pipeline.</dd>
+ *     <dt>{@link #OPERATION_DURATION}</dt>
+ *     <dd>Latency histograms of each kind of {@link
+ *     edu.illinois.library.cantaloupe.operation.Operation}.</dd>
+ *     <dt>{@link #CACHE_REQUESTS}</dt>
+ *     <dd>Hit and miss counts of each cache tier.</dd>
+ *     <dt>{@link #PROCESSOR_USES} and {@link #SOURCE_USES}</dt>
+ *     <dd>Counts of processor and source instantiations, by class.</dd>
+ *     <dt>Gauges</dt>
+ *     <dd>Thread pool, task queue, and heap cache sizes, which are read when
+ *     the metrics are collected.</dd>
+ * </dl>
+ *
+ * <p>Metrics are recorded only when {@link Key#METRICS_ENABLED} is set. They
+ * are exposed via JMX under {@link #OBJECT_NAME}, and in Prometheus text
+ * exposition format via {@link #writePrometheusText(Writer)}.</p>
+ *
+ * @since 4.0
+ */
+public final class MetricRegistry implements MetricsMXBean {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(MetricRegistry.class);
+
+    public static final String CACHE_REQUESTS =
+            "cantaloupe_cache_requests_total";
+    public static final String OPERATION_DURATION =
+            "cantaloupe_operation_duration_seconds";
+    public static final String PROCESSOR_USES =
+            "cantaloupe_processor_uses_total";
+    public static final String SOURCE_USES = "cantaloupe_source_uses_total";
+    public static final String STAGE_DURATION =
+            "cantaloupe_stage_duration_seconds";
+
+    /**
+     * JMX object name under which the instance is registered by {@link
+     * #registerMBean()}.
+     */
+    public static final String OBJECT_NAME =
+            "edu.illinois.library.cantaloupe:type=Metrics";
+
+    private static volatile MetricRegistry instance;
+
+    private final ConcurrentMap<MetricId, Counter> counters =
+            new ConcurrentHashMap<>();
+    private final ConcurrentMap<MetricId, Supplier<Number>> gauges =
+            new ConcurrentHashMap<>();
+    private final ConcurrentMap<MetricId, Timer> timers =
+            new ConcurrentHashMap<>();
+
+    /**
+     * For testing only!
+     */
+    static synchronized void clearInstance() {
+        instance = null;
+    }
+
+    /**
+     * @return Shared instance.
+     */
+    public static MetricRegistry getInstance() {
+        MetricRegistry registry = instance;
+        if (registry == null) {
+            synchronized (MetricRegistry.class) {
+                registry = instance;
+                if (registry == null) {
+                    registry = new MetricRegistry();
+                    instance = registry;
+                }
+            }
+        }
+        return registry;
+    }
+
+    private MetricRegistry() {
+        registerDefaultGauges();
+    }
+
+    private void registerDefaultGauges() {
+        for (ThreadPool.Priority priority : ThreadPool.Priority.values()) {
+            final String label = priority.name().toLowerCase();
+            gauge("cantaloupe_thread_pool_active_threads",
+                    () -> ThreadPool.getInstance().getActiveCount(priority),
+                    "priority", label);
+            gauge("cantaloupe_thread_pool_threads",
+                    () -> ThreadPool.getInstance().getPoolSize(priority),
+                    "priority", label);
+        }
+        for (TaskQueue.Lane lane : TaskQueue.Lane.values()) {
+            final String label = lane.name().toLowerCase();
+            gauge("cantaloupe_task_queue_queued_tasks",
+                    () -> laneMetrics(lane).getQueuedCount(),
+                    "lane", label);
+            gauge("cantaloupe_task_queue_running_tasks",
+                    () -> laneMetrics(lane).getRunningCount(),
+                    "lane", label);
+            gauge("cantaloupe_task_queue_completed_tasks",
+                    () -> laneMetrics(lane).getCompletedCount(),
+                    "lane", label);
+            gauge("cantaloupe_task_queue_failed_tasks",
+                    () -> laneMetrics(lane).getFailedCount(),
+                    "lane", label);
+        }
+        gauge("cantaloupe_cache_entries",
+                () -> InfoService.getInstance().getInfoCache().size(),
+                "cache", "info");
+        gauge("cantaloupe_cache_entries",
+                () -> InfoResponseCache.getInstance().size(),
+                "cache", "info_response");
+        gauge("cantaloupe_cache_entries",
+                () -> SourceInfoCache.getInstance().size(),
+                "cache", "source_info");
+        gauge("cantaloupe_processing_waiting_requests",
+                () -> ProcessingLimiter.getInstance().getWaitingCount());
+    }
+
+    private static LaneMetrics laneMetrics(TaskQueue.Lane lane) {
+        return TaskQueue.getInstance().getMetrics(lane);
+    }
+
+    /**
+     * @param name   Metric name.
+     * @param labels Alternating label names and values.
+     * @return       Counter with the given name and labels, which is created
+     *               if it does not already exist.
+     */
+    public Counter counter(String name, String... labels) {
+        return counters.computeIfAbsent(new MetricId(name, labels),
+                id -> new Counter());
+    }
+
+    /**
+     * Registers a gauge, replacing any existing one with the same name and
+     * labels.
+     *
+     * @param name     Metric name.
+     * @param supplier Supplies the current value whenever the metrics are
+     *                 collected. Must be thread-safe.
+     * @param labels   Alternating label names and values.
+     */
+    public void gauge(String name,
+                      Supplier<Number> supplier,
+                      String... labels) {
+        gauges.put(new MetricId(name, labels), supplier);
+    }
+
+    /**
+     * @param name   Metric name.
+     * @param labels Alternating label names and values.
+     * @return       Timer with the given name and labels, which is created if
+     *               it does not already exist.
+     */
+    public Timer timer(String name, String... labels) {
+        return timers.computeIfAbsent(new MetricId(name, labels),
+                id -> new Timer());
+    }
+
+    Map<MetricId, Counter> getCounters() {
+        return new TreeMap<>(counters);
+    }
+
+    Map<MetricId, Supplier<Number>> getGauges() {
+        return new TreeMap<>(gauges);
+    }
+
+    Map<MetricId, Timer> getTimers() {
+        return new TreeMap<>(timers);
+    }
+
+    public boolean isEnabled() {
+        return Configuration.getInstance().
+                getBoolean(Key.METRICS_ENABLED, false);
+    }
+
+    /**
+     * Records a hit or miss of a cache tier, if metrics are enabled.
+     *
+     * @param cache Name of the cache tier, e.g. {@literal info} or
+     *              {@literal derivative_image}.
+     * @param hit   Whether the access was a hit.
+     */
+    public void recordCacheAccess(String cache, boolean hit) {
+        if (isEnabled()) {
+            counter(CACHE_REQUESTS,
+                    "cache", cache, "result", hit ? "hit" : "miss").increment();
+        }
+    }
+
+    /**
+     * Records the time elapsed on the given stopwatch as the latency of an
+     * operation, if metrics are enabled.
+     *
+     * @param operation Name of the operation, e.g. {@literal Scale}.
+     */
+    public void recordOperation(String operation, Stopwatch watch) {
+        if (isEnabled()) {
+            timer(OPERATION_DURATION, "operation", operation).record(watch);
+        }
+    }
+
+    /**
+     * Records the use of a processor, if metrics are enabled.
+     *
+     * @param processor Name of the processor.
+     */
+    public void recordProcessorUse(String processor) {
+        if (isEnabled()) {
+            counter(PROCESSOR_USES, "processor", processor).increment();
+        }
+    }
+
+    /**
+     * Records the use of a source, if metrics are enabled.
+     *
+     * @param source Name of the source.
+     */
+    public void recordSourceUse(String source) {
+        if (isEnabled()) {
+            counter(SOURCE_USES, "source", source).increment();
+        }
+    }
+
+    /**
+     * Records the time elapsed on the given stopwatch as the latency of the
+     * given stage, if metrics are enabled. It is also recorded to the
+     * {@link ServerTiming} of the current request, if there is one,
+     * regardless.
+     */
+    public void recordStage(Stage stage, Stopwatch watch) {
+        ServerTiming.record(stage.getLabel(), watch);
+        if (isEnabled()) {
+            timer(STAGE_DURATION, "stage", stage.getLabel()).record(watch);
+        }
+    }
+
+    /**
+     * Registers the instance with the platform MBean server. Failure is
+     * logged but not thrown.
+     */
+    public void registerMBean() {
+        try {
+            final MBeanServer server =
+                    ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+            LOGGER.info("Registered metrics with JMX as {}", OBJECT_NAME);
+        } catch (JMException e) {
+            LOGGER.error("registerMBean(): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Unregisters the instance from the platform MBean server, if it is
+     * registered.
+     */
+    public void unregisterMBean() {
+        try {
+            final MBeanServer server =
+                    ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            LOGGER.error("unregisterMBean(): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes all metrics to the given writer in Prometheus text exposition
+     * format (version 0.0.4).
+     */
+    public void writePrometheusText(Writer writer) throws IOException {
+        new PrometheusTextWriter(writer).write(this);
+    }
+
+    ///////////////////////// MetricsMXBean methods /////////////////////////
+
+    @Override
+    public String getPrometheusText() {
+        final StringWriter writer = new StringWriter();
+        try {
+            writePrometheusText(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    @Override
+    public SortedMap<String,Double> getValues() {
+        final SortedMap<String,Double> values = new TreeMap<>();
+        counters.forEach((id, counter) ->
+                values.put(id.toString(), (double) counter.getCount()));
+        gauges.forEach((id, gauge) ->
+                values.put(id.toString(), PrometheusTextWriter.value(gauge)));
+        timers.forEach((id, timer) -> {
+            final String labels = id.formatLabels(null);
+            values.put(id.getName() + "_count" + labels,
+                    (double) timer.getCount());
+            values.put(id.getName() + "_sum" + labels, timer.getSum());
+        });
+        return values;
+    }
+
+}
@@ -0,0 +1,24 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX management interface of {@link MetricRegistry}.
+ *
+ * @since 4.0
+ */
+public interface MetricsMXBean {
+
+    /**
+     * @return Map of metric names (including labels) in Prometheus format to
+     *         their current values. Timers contribute {@literal _count} and
+     *         {@literal _sum} entries.
+     */
+    Map<String,Double> getValues();
+
+    /**
+     * @return All metrics in Prometheus text exposition format.
+     */
+    String getPrometheusText();
+
+}
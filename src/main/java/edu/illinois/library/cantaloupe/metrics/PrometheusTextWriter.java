@@ -0,0 +1,113 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Writes the contents of a {@link MetricRegistry} in Prometheus text
+ * exposition format (version 0.0.4).
+ *
+ * @see <a href="https://prometheus.io/docs/instrumenting/exposition_formats/">
+ *     Exposition formats</a>
+ */
+final class PrometheusTextWriter {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(PrometheusTextWriter.class);
+
+    static final String CONTENT_TYPE = "text/plain; version=0.0.4";
+
+    private final Writer writer;
+
+    /**
+     * Name of the family of the last-written metric, used to write a TYPE
+     * line only once per family.
+     */
+    private String lastFamily;
+
+    /**
+     * @return Current value of the given gauge, or {@link Double#NaN} if it
+     *         could not be obtained.
+     */
+    static double value(Supplier<Number> gauge) {
+        try {
+            final Number value = gauge.get();
+            return (value != null) ? value.doubleValue() : Double.NaN;
+        } catch (RuntimeException e) {
+            LOGGER.debug("value(): {}", e.getMessage());
+            return Double.NaN;
+        }
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        } else if (Double.isInfinite(value)) {
+            return (value > 0) ? "+Inf" : "-Inf";
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    PrometheusTextWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    void write(MetricRegistry registry) throws IOException {
+        for (Map.Entry<MetricId, Counter> entry :
+                registry.getCounters().entrySet()) {
+            writeType(entry.getKey(), "counter");
+            writeSample(entry.getKey().getName(),
+                    entry.getKey().formatLabels(null),
+                    entry.getValue().getCount());
+        }
+        for (Map.Entry<MetricId, Supplier<Number>> entry :
+                registry.getGauges().entrySet()) {
+            writeType(entry.getKey(), "gauge");
+            writeSample(entry.getKey().getName(),
+                    entry.getKey().formatLabels(null),
+                    value(entry.getValue()));
+        }
+        for (Map.Entry<MetricId, Timer> entry :
+                registry.getTimers().entrySet()) {
+            writeTimer(entry.getKey(), entry.getValue());
+        }
+        writer.flush();
+    }
+
+    private void writeTimer(MetricId id, Timer timer) throws IOException {
+        writeType(id, "histogram");
+        final long[] counts = timer.getCumulativeBucketCounts();
+        for (int i = 0; i < counts.length; i++) {
+            final String bound = (i < Timer.BUCKET_BOUNDS.length) ?
+                    Double.toString(Timer.BUCKET_BOUNDS[i]) : "+Inf";
+            writeSample(id.getName() + "_bucket",
+                    id.formatLabels(new String[] { "le", bound }),
+                    counts[i]);
+        }
+        final String labels = id.formatLabels(null);
+        writeSample(id.getName() + "_sum", labels, timer.getSum());
+        writeSample(id.getName() + "_count", labels,
+                counts[counts.length - 1]);
+    }
+
+    private void writeType(MetricId id, String type) throws IOException {
+        if (!id.getName().equals(lastFamily)) {
+            writer.write("# TYPE " + id.getName() + " " + type + "\n");
+            lastFamily = id.getName();
+        }
+    }
+
+    private void writeSample(String name,
+                             String labels,
+                             double value) throws IOException {
+        writer.write(name + labels + " " + format(value) + "\n");
+    }
+
+}
@@ -0,0 +1,188 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.util.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * <p>Accumulates the durations of the stages of a single request, for
+ * reporting in a <a href="https://www.w3.org/TR/server-timing/">Server-Timing
+ * </a> response header and in a structured access log line.</p>
+ *
+ * <p>An instance is {@link #attach() attached} to the thread that is
+ * handling its request, so that code deep in the pipeline can {@link
+ * #record(String, Stopwatch) record} a stage without a reference to the
+ * request. When no instance is attached, which is always the case when
+ * {@link Key#METRICS_SERVER_TIMING_ENABLED} is not set, recording costs a
+ * single thread-local lookup.</p>
+ *
+ * <p>Instances are thread-safe.</p>
+ *
+ * @since 4.0
+ */
+public final class ServerTiming {
+
+    /**
+     * Name of the logger to which {@link #log()} writes. It is routed to the
+     * access log appenders in {@literal logback.xml}.
+     */
+    public static final String ACCESS_LOGGER_NAME =
+            "edu.illinois.library.cantaloupe.logging.AccessLogService";
+
+    /**
+     * Name of the HTTP response header.
+     */
+    public static final String HEADER_NAME = "Server-Timing";
+
+    private static final Logger ACCESS_LOGGER =
+            LoggerFactory.getLogger(ACCESS_LOGGER_NAME);
+
+    private static final ThreadLocal<ServerTiming> CURRENT =
+            new ThreadLocal<>();
+
+    private final Stopwatch totalWatch = new Stopwatch();
+    private final String method;
+    private final String uri;
+    private final Map<String,Long> stages = new LinkedHashMap<>();
+    private int status;
+
+    /**
+     * @return Instance attached to the current thread, or {@literal null} if
+     *         none is attached.
+     */
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Detaches any instance attached to the current thread.
+     */
+    public static void detach() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return Whether {@link Key#METRICS_SERVER_TIMING_ENABLED} is set.
+     */
+    public static boolean isEnabled() {
+        return Configuration.getInstance().
+                getBoolean(Key.METRICS_SERVER_TIMING_ENABLED, false);
+    }
+
+    /**
+     * Records the time elapsed on the given stopwatch to the instance
+     * attached to the current thread, if any, and otherwise does nothing.
+     *
+     * @param stage Stage name. Must be a valid HTTP token.
+     * @param watch Stopwatch that was started at the beginning of the stage.
+     */
+    public static void record(String stage, Stopwatch watch) {
+        final ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.add(stage, watch.timeElapsedNanos());
+        }
+    }
+
+    /**
+     * @param method HTTP method of the request.
+     * @param uri    URI of the request.
+     */
+    public ServerTiming(String method, String uri) {
+        this.method = method;
+        this.uri = uri;
+    }
+
+    /**
+     * Adds a duration to the given stage. Stages recorded more than once,
+     * e.g. a source that is accessed twice, are summed.
+     *
+     * @param stage Stage name.
+     * @param nanos Duration in nanoseconds.
+     */
+    public synchronized void add(String stage, long nanos) {
+        stages.merge(stage, nanos, Long::sum);
+    }
+
+    /**
+     * Attaches the instance to the current thread, replacing any other.
+     */
+    public void attach() {
+        CURRENT.set(this);
+    }
+
+    /**
+     * @return Copy of the stage durations in nanoseconds, in the order in
+     *         which they were first recorded.
+     */
+    public synchronized Map<String,Long> getStages() {
+        return new LinkedHashMap<>(stages);
+    }
+
+    /**
+     * Writes a line to the {@link #ACCESS_LOGGER_NAME access logger}.
+     */
+    public void log() {
+        if (ACCESS_LOGGER.isInfoEnabled()) {
+            ACCESS_LOGGER.info(toLogString());
+        }
+    }
+
+    /**
+     * @param status HTTP status code of the response, for inclusion in
+     *               {@link #toLogString()}.
+     */
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    /**
+     * @return Value of a {@link #HEADER_NAME} header, e.g. {@literal
+     *         source;dur=1.250, info_read;dur=20.500, total;dur=23.000},
+     *         where {@literal total} is the time elapsed since
+     *         instantiation.
+     */
+    public synchronized String toHeaderValue() {
+        final StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String,Long> entry : stages.entrySet()) {
+            builder.append(entry.getKey());
+            builder.append(";dur=");
+            builder.append(formatMillis(entry.getValue()));
+            builder.append(", ");
+        }
+        builder.append("total;dur=");
+        builder.append(formatMillis(totalWatch.timeElapsedNanos()));
+        return builder.toString();
+    }
+
+    /**
+     * @return Line in {@literal key=value} format containing the request
+     *         method, URI, response status, total elapsed time, and the
+     *         duration of each stage, all in milliseconds.
+     */
+    public synchronized String toLogString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("method=").append(method);
+        builder.append(" uri=\"").append(uri.replace("\"", "%22"));
+        builder.append("\" status=").append(status);
+        builder.append(" total=");
+        builder.append(formatMillis(totalWatch.timeElapsedNanos()));
+        for (Map.Entry<String,Long> entry : stages.entrySet()) {
+            builder.append(" ");
+            builder.append(entry.getKey());
+            builder.append("=");
+            builder.append(formatMillis(entry.getValue()));
+        }
+        return builder.toString();
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.US, "%.3f", nanos / 1000000.0);
+    }
+
+}
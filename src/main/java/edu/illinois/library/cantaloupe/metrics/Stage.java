@@ -0,0 +1,49 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+/**
+ * Stage of the request pipeline whose latency is recorded by {@link
+ * MetricRegistry#recordStage}. The latencies of individual operations are
+ * recorded separately by {@link MetricRegistry#recordOperation}.
+ *
+ * @since 4.0
+ */
+public enum Stage {
+
+    /**
+     * Checking the accessibility of a source image.
+     */
+    SOURCE_ACCESS,
+
+    /**
+     * Reading the info of a source image via a processor.
+     */
+    INFO_READ,
+
+    /**
+     * Decoding a source image.
+     */
+    DECODE,
+
+    /**
+     * Encoding a derivative image.
+     */
+    ENCODE,
+
+    /**
+     * Reading an info or derivative image from the derivative cache.
+     */
+    CACHE_READ,
+
+    /**
+     * Writing an info to the derivative cache.
+     */
+    CACHE_WRITE;
+
+    /**
+     * @return Value of the {@literal stage} label.
+     */
+    String getLabel() {
+        return name().toLowerCase();
+    }
+
+}
@@ -0,0 +1,90 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import edu.illinois.library.cantaloupe.util.Stopwatch;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of durations, with fixed bucket boundaries suited to the range
+ * of latencies (roughly a millisecond to tens of seconds) of the request
+ * pipeline. Thread-safe.
+ *
+ * @since 4.0
+ */
+public final class Timer {
+
+    /**
+     * Upper bounds of the buckets, in seconds. There is also an implicit
+     * {@literal +Inf} bucket.
+     */
+    static final double[] BUCKET_BOUNDS = { 0.001, 0.0025, 0.005, 0.01,
+            0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30 };
+
+    private static final double NANOS_PER_SECOND = 1000000000.0;
+
+    /**
+     * Non-cumulative counts, with the last element corresponding to the
+     * {@literal +Inf} bucket.
+     */
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+
+    Timer() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @return Cumulative counts of the buckets, i.e. each element is the
+     *         number of durations less than or equal to the corresponding
+     *         element of {@link #BUCKET_BOUNDS}, and the last element is
+     *         the total count.
+     */
+    long[] getCumulativeBucketCounts() {
+        final long[] counts = new long[buckets.length];
+        long sum = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            sum += buckets[i].sum();
+            counts[i] = sum;
+        }
+        return counts;
+    }
+
+    /**
+     * @return Number of recorded durations.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return Sum of all recorded durations in seconds.
+     */
+    public double getSum() {
+        return sumNanos.sum() / NANOS_PER_SECOND;
+    }
+
+    /**
+     * @param nanos Duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        final double seconds = nanos / NANOS_PER_SECOND;
+        int i = 0;
+        while (i < BUCKET_BOUNDS.length && seconds > BUCKET_BOUNDS[i]) {
+            i++;
+        }
+        buckets[i].increment();
+        count.increment();
+        sumNanos.add(nanos);
+    }
+
+    /**
+     * Records the time elapsed on the given stopwatch.
+     */
+    public void record(Stopwatch watch) {
+        record(watch.timeElapsedNanos());
+    }
+
+}
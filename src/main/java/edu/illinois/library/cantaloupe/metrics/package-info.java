@@ -0,0 +1,15 @@
+/**
+ * <p>Provides runtime metrics of the request pipeline:</p>
+ *
+ * <ul>
+ *     <li>{@link edu.illinois.library.cantaloupe.metrics.MetricRegistry}
+ *     holds all metrics and exposes them via JMX and in Prometheus text
+ *     format.</li>
+ *     <li>{@link edu.illinois.library.cantaloupe.metrics.Counter}s count
+ *     events, such as cache hits and misses.</li>
+ *     <li>{@link edu.illinois.library.cantaloupe.metrics.Timer}s record
+ *     latency histograms, such as those of the {@link
+ *     edu.illinois.library.cantaloupe.metrics.Stage}s of the pipeline.</li>
+ * </ul>
+ */
+package edu.illinois.library.cantaloupe.metrics;
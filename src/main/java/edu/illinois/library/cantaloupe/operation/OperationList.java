@@ -13,14 +13,10 @@ import edu.illinois.library.cantaloupe.operation.redaction.Redaction;
 import edu.illinois.library.cantaloupe.operation.redaction.RedactionService;
 import edu.illinois.library.cantaloupe.script.DelegateProxy;
 import edu.illinois.library.cantaloupe.util.StringUtil;
-import org.apache.commons.codec.binary.Hex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.awt.Dimension;
-import java.nio.charset.Charset;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -40,8 +36,8 @@ import java.util.stream.Stream;
  *     <li>To assemble and store a list of image transform operations;</li>
  *     <li>To uniquely identify a post-processed ("derivative") image that has
  *     undergone processing using the instance. For example, the return values
- *     of {@link #toString()} and {@link #toFilename()} may be used in cache
- *     keys.</li>
+ *     of {@link #toString()}, {@link #toFilename()}, and {@link #getDigest()}
+ *     may be used in cache keys.</li>
  * </ol>
  *
  * <p>Endpoints translate request parameters into instances of this class, in
@@ -51,6 +47,9 @@ import java.util.stream.Stream;
  *
  * <p>Processors should iterate the operations in the list and apply them
  * (generally in order) as best they can.</p>
+ *
+ * <p>Once an instance has been {@link #freeze() frozen}, its cache keys are
+ * computed only once.</p>
  */
 public final class OperationList implements Comparable<OperationList>,
         Iterable<Operation> {
@@ -63,6 +62,13 @@ public final class OperationList implements Comparable<OperationList>,
     private final List<Operation> operations = new ArrayList<>();
     private final Map<String,Object> options = new HashMap<>();
 
+    // These are memoized once the instance is frozen. Races to compute them
+    // are benign, as they are either immutable or primitive.
+    private OperationListDigest digest;
+    private String filename;
+    private int hashCode;
+    private String stringRep;
+
     /**
      * Constructs a minimal valid instance.
      */
@@ -223,12 +229,21 @@ public final class OperationList implements Comparable<OperationList>,
         }
 
         // Redactions
+        // Only those that intersect the crop region are added, so that they
+        // don't needlessly vary the derivative cache key of e.g. tiles that
+        // are unaffected by them.
         try {
             final RedactionService service = new RedactionService();
             if (service.isEnabled()) {
                 List<Redaction> redactions = service.redactionsFor(delegateProxy);
                 for (Redaction redaction : redactions) {
-                    addBefore(redaction, Encode.class);
+                    if (redaction.hasEffect(sourceImageSize, this)) {
+                        addBefore(redaction, Encode.class);
+                    } else {
+                        LOGGER.debug("applyNonEndpointMutations(): {} is " +
+                                "outside the crop region; skipping.",
+                                redaction);
+                    }
                 }
             } else {
                 LOGGER.debug("applyNonEndpointMutations(): redactions are " +
@@ -350,7 +365,12 @@ public final class OperationList implements Comparable<OperationList>,
         if (obj == this) {
             return true;
         } else if (obj instanceof OperationList) {
-            return obj.toString().equals(this.toString());
+            final OperationList other = (OperationList) obj;
+            if (isFrozen && other.isFrozen &&
+                    hashCode() != other.hashCode()) {
+                return false;
+            }
+            return other.toString().equals(this.toString());
         }
         return super.equals(obj);
     }
@@ -384,6 +404,23 @@ public final class OperationList implements Comparable<OperationList>,
         }
     }
 
+    /**
+     * @return Digest uniquely representing the instance, which is
+     *         computed only once if the instance is frozen.
+     * @see OperationListDigest
+     */
+    public OperationListDigest getDigest() {
+        if (isFrozen) {
+            OperationListDigest result = digest;
+            if (result == null) {
+                result = newDigest();
+                digest = result;
+            }
+            return result;
+        }
+        return newDigest();
+    }
+
     /**
      * @param opClass Class to get the first instance of.
      * @return The first instance of {@literal opClass} in the list, or
@@ -478,6 +515,14 @@ public final class OperationList implements Comparable<OperationList>,
 
     @Override
     public int hashCode() {
+        if (isFrozen) {
+            int result = hashCode;
+            if (result == 0) {
+                result = toString().hashCode();
+                hashCode = result;
+            }
+            return result;
+        }
         return toString().hashCode();
     }
 
@@ -508,6 +553,59 @@ public final class OperationList implements Comparable<OperationList>,
         return -1;
     }
 
+    private OperationListDigest newDigest() {
+        return new OperationListDigest(getIdentifier(), operationsString());
+    }
+
+    private String newFilename() {
+        String idStr = "";
+        Identifier identifier = getIdentifier();
+        if (identifier != null) {
+            idStr = identifier.toString();
+        }
+
+        String extension = "";
+        Encode encode = (Encode) getFirst(Encode.class);
+        if (encode != null) {
+            extension = "." + encode.getFormat().getPreferredExtension();
+        }
+
+        return StringUtil.filesystemSafe(idStr) + "_" +
+                getDigest().toOperationsHexString() + extension;
+    }
+
+    private String newString() {
+        final List<String> parts = new ArrayList<>();
+        if (getIdentifier() != null) {
+            parts.add(getIdentifier().toString());
+        }
+        for (Operation op : this) {
+            if (op.hasEffect()) {
+                final String opName = op.getClass().getSimpleName().toLowerCase();
+                parts.add(opName + ":" + op.toString());
+            }
+        }
+        for (String key : getOptions().keySet()) {
+            parts.add(key + ":" + getOptions().get(key));
+        }
+        return String.join("_", parts);
+    }
+
+    /**
+     * @return String uniquely representing the operations and options, but
+     *         not the identifier.
+     */
+    private String operationsString() {
+        final List<String> opStrings = stream().
+                filter(Operation::hasEffect).
+                map(Operation::toString).
+                collect(Collectors.toList());
+        for (String key : getOptions().keySet()) {
+            opStrings.add(key + ":" + getOptions().get(key));
+        }
+        return String.join("_", opStrings);
+    }
+
     /**
      * @param identifier
      * @throws IllegalStateException If the instance is frozen.
@@ -531,39 +629,15 @@ public final class OperationList implements Comparable<OperationList>,
      *         instance.
      */
     public String toFilename() {
-        // Compile operations
-        final List<String> opStrings = stream().
-                filter(Operation::hasEffect).
-                map(Operation::toString).
-                collect(Collectors.toList());
-        // Add options
-        for (String key : this.getOptions().keySet()) {
-            opStrings.add(key + ":" + this.getOptions().get(key));
-        }
-
-        String opsString = String.join("_", opStrings);
-
-        try {
-            final MessageDigest digest = MessageDigest.getInstance("MD5");
-            digest.update(opsString.getBytes(Charset.forName("UTF8")));
-            opsString = Hex.encodeHexString(digest.digest());
-        } catch (NoSuchAlgorithmException e) {
-            LOGGER.error("toFilename(): {}", e.getMessage());
-        }
-
-        String idStr = "";
-        Identifier identifier = getIdentifier();
-        if (identifier != null) {
-            idStr = identifier.toString();
-        }
-
-        String extension = "";
-        Encode encode = (Encode) getFirst(Encode.class);
-        if (encode != null) {
-            extension = "." + encode.getFormat().getPreferredExtension();
+        if (isFrozen) {
+            String result = filename;
+            if (result == null) {
+                result = newFilename();
+                filename = result;
+            }
+            return result;
         }
-
-        return StringUtil.filesystemSafe(idStr) + "_" + opsString + extension;
+        return newFilename();
     }
 
     /**
@@ -605,20 +679,15 @@ public final class OperationList implements Comparable<OperationList>,
      */
     @Override
     public String toString() {
-        final List<String> parts = new ArrayList<>();
-        if (getIdentifier() != null) {
-            parts.add(getIdentifier().toString());
-        }
-        for (Operation op : this) {
-            if (op.hasEffect()) {
-                final String opName = op.getClass().getSimpleName().toLowerCase();
-                parts.add(opName + ":" + op.toString());
+        if (isFrozen) {
+            String result = stringRep;
+            if (result == null) {
+                result = newString();
+                stringRep = result;
             }
+            return result;
         }
-        for (String key : getOptions().keySet()) {
-            parts.add(key + ":" + getOptions().get(key));
-        }
-        return String.join("_", parts);
+        return newString();
     }
 
     /**
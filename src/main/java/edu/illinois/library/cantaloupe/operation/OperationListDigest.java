@@ -0,0 +1,146 @@
+package edu.illinois.library.cantaloupe.operation;
+
+import edu.illinois.library.cantaloupe.image.Identifier;
+import org.apache.commons.codec.binary.Hex;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * <p>Compact, stable binary digest of an {@link OperationList}, suitable for
+ * use as a cache key.</p>
+ *
+ * <p>The digest consists of a {@link #IDENTIFIER_PREFIX_LENGTH}-byte hash of
+ * the identifier followed by a {@link #OPERATIONS_LENGTH}-byte hash of the
+ * operations and options. All derivatives of the same image therefore share
+ * the same prefix, which may be obtained via {@link
+ * #identifierPrefix(Identifier)} in order to find them without knowing their
+ * operation lists.</p>
+ *
+ * <p>Instances are immutable.</p>
+ *
+ * @see OperationList#getDigest()
+ */
+public final class OperationListDigest {
+
+    /**
+     * Length of the identifier portion of the digest in bytes.
+     */
+    public static final int IDENTIFIER_PREFIX_LENGTH = 8;
+
+    /**
+     * Length of the operations portion of the digest in bytes.
+     */
+    public static final int OPERATIONS_LENGTH = 16;
+
+    /**
+     * Total length of the digest in bytes.
+     */
+    public static final int LENGTH =
+            IDENTIFIER_PREFIX_LENGTH + OPERATIONS_LENGTH;
+
+    private final byte[] bytes;
+    private final int hashCode;
+
+    /**
+     * @param identifier Identifier. May be {@literal null}.
+     * @return           Digest prefix shared by all operation lists with the
+     *                   given identifier.
+     */
+    public static byte[] identifierPrefix(Identifier identifier) {
+        final String str = (identifier != null) ? identifier.toString() : "";
+        return Arrays.copyOf(md5(str), IDENTIFIER_PREFIX_LENGTH);
+    }
+
+    /**
+     * @param identifier Identifier. May be {@literal null}.
+     * @return           Hex-encoded {@link #identifierPrefix(Identifier)}.
+     */
+    public static String identifierPrefixHex(Identifier identifier) {
+        return Hex.encodeHexString(identifierPrefix(identifier));
+    }
+
+    static byte[] md5(String str) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("MD5");
+            return digest.digest(str.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support MD5.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param identifier       Identifier. May be {@literal null}.
+     * @param operationsString String uniquely representing the operations
+     *                         and options.
+     */
+    OperationListDigest(Identifier identifier, String operationsString) {
+        bytes = new byte[LENGTH];
+        System.arraycopy(identifierPrefix(identifier), 0,
+                bytes, 0, IDENTIFIER_PREFIX_LENGTH);
+        System.arraycopy(md5(operationsString), 0,
+                bytes, IDENTIFIER_PREFIX_LENGTH, OPERATIONS_LENGTH);
+        hashCode = Arrays.hashCode(bytes);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        } else if (obj instanceof OperationListDigest) {
+            OperationListDigest other = (OperationListDigest) obj;
+            return hashCode == other.hashCode &&
+                    Arrays.equals(bytes, other.bytes);
+        }
+        return false;
+    }
+
+    /**
+     * @param prefix Value returned from {@link #identifierPrefix(Identifier)}.
+     * @return       Whether the digest starts with the given prefix.
+     */
+    public boolean hasIdentifierPrefix(byte[] prefix) {
+        if (prefix.length != IDENTIFIER_PREFIX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < IDENTIFIER_PREFIX_LENGTH; i++) {
+            if (bytes[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    /**
+     * @return Copy of the digest bytes.
+     */
+    public byte[] toByteArray() {
+        return bytes.clone();
+    }
+
+    /**
+     * @return Hex-encoded operations portion of the digest.
+     */
+    String toOperationsHexString() {
+        return Hex.encodeHexString(Arrays.copyOfRange(
+                bytes, IDENTIFIER_PREFIX_LENGTH, LENGTH));
+    }
+
+    /**
+     * @return Hex-encoded digest, which starts with {@link
+     *         #identifierPrefixHex(Identifier)}.
+     */
+    @Override
+    public String toString() {
+        return Hex.encodeHexString(bytes);
+    }
+
+}
@@ -3,6 +3,7 @@ package edu.illinois.library.cantaloupe.operation.overlay;
 import edu.illinois.library.cantaloupe.operation.Operation;
 
 import java.awt.Dimension;
+import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -24,8 +25,6 @@ public class ImageOverlay extends Overlay implements Operation {
     static final Set<String> SUPPORTED_URI_SCHEMES = Collections.unmodifiableSet(
             new HashSet<>(Arrays.asList("file", "http", "https")));
 
-    private static ImageOverlayCache overlayCache = new ImageOverlayCache();
-
     private URI uri;
 
     /**
@@ -41,7 +40,8 @@ public class ImageOverlay extends Overlay implements Operation {
     }
 
     /**
-     * For reading the image, clients should use {@link #openStream()} instead.
+     * For reading the image, clients should use {@link #getImage()} or
+     * {@link #openStream()} instead.
      *
      * @return URI of the image.
      */
@@ -49,11 +49,18 @@ public class ImageOverlay extends Overlay implements Operation {
         return uri;
     }
 
+    /**
+     * @return Decoded image, which is shared and must not be modified.
+     */
+    public BufferedImage getImage() throws IOException {
+        return ImageOverlayCache.getInstance().get(getURI()).getImage();
+    }
+
     /**
      * @return Stream from which the image can be read.
      */
     public InputStream openStream() throws IOException {
-        byte[] bytes = overlayCache.putAndGet(getURI());
+        byte[] bytes = ImageOverlayCache.getInstance().putAndGet(getURI());
         return new ByteArrayInputStream(bytes);
     }
 
@@ -1,71 +1,235 @@
 package edu.illinois.library.cantaloupe.operation.overlay;
 
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.illinois.library.cantaloupe.async.ThreadPool;
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+import edu.illinois.library.cantaloupe.processor.codec.ImageReader;
+import edu.illinois.library.cantaloupe.processor.codec.ImageReaderFactory;
+import edu.illinois.library.cantaloupe.util.StringUtil;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Thread-safe, in-memory image overlay cache.
+ * <p>Thread-safe, size-bounded, in-memory image overlay cache.</p>
+ *
+ * <p>Each URI is downloaded at most once at a time, and threads that need an
+ * overlay that is being downloaded wait only on that download. When {@link
+ * Key#OVERLAY_IMAGE_CACHE_TTL} is set, entries older than it are refreshed in
+ * the background the next time they are requested, and the stale entry
+ * continues to be served until the refresh completes (or indefinitely, if it
+ * fails).</p>
+ *
+ * <p>Each entry holds both the encoded data and the decoded image, which is
+ * decoded once, when the entry is loaded. Entries are weighed by the sum of
+ * the two sizes, as the decoded image (at 4 bytes per pixel) is usually by
+ * far the larger.</p>
  */
 final class ImageOverlayCache {
 
+    /**
+     * Downloaded overlay image.
+     */
+    static final class Entry {
+
+        private final byte[] bytes;
+        private final BufferedImage image;
+        private final IOException decodeException;
+
+        /**
+         * @param bytes Encoded image data, which is decoded immediately.
+         */
+        Entry(byte[] bytes) {
+            this.bytes = bytes;
+            BufferedImage image = null;
+            IOException decodeException = null;
+            try {
+                image = decode(bytes);
+            } catch (IOException e) {
+                decodeException = e;
+            }
+            this.image = image;
+            this.decodeException = decodeException;
+        }
+
+        byte[] getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return Image decoded from {@link #getBytes()}, of type {@link
+         *         BufferedImage#TYPE_INT_ARGB}. It is shared and must not be
+         *         modified.
+         * @throws IOException if the data could not be decoded.
+         */
+        BufferedImage getImage() throws IOException {
+            if (decodeException != null) {
+                throw decodeException;
+            }
+            return image;
+        }
+
+        /**
+         * @return Approximate combined size of the encoded data and decoded
+         *         image, in bytes.
+         */
+        long size() {
+            long size = bytes.length;
+            if (image != null) {
+                final DataBuffer buffer = image.getRaster().getDataBuffer();
+                size += (long) buffer.getSize() * buffer.getNumBanks() *
+                        DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+            }
+            return size;
+        }
+
+    }
+
     private static final Logger LOGGER = LoggerFactory.
             getLogger(ImageOverlayCache.class);
 
-    private final Set<URI> downloadingOverlays =
-            new ConcurrentSkipListSet<>();
-    private final Map<URI, byte[]> overlays = new ConcurrentHashMap<>();
+    private static final String DEFAULT_MAX_SIZE = "16M";
+
+    private static final String METRIC_NAME = "overlay_image";
+
+    private static ImageOverlayCache instance;
+
+    private final AsyncLoadingCache<URI, Entry> overlays;
 
     /**
-     * @param uri Overlay image URI.
-     * @return Overlay image.
-     * @throws IOException If the image cannot be accessed.
+     * For testing only!
      */
-    byte[] putAndGet(URI uri) throws IOException {
-        // If the overlay is currently being downloaded in another thread,
-        // wait for it to download.
-        synchronized (this) {
-            while (downloadingOverlays.contains(uri)) {
-                try {
-                    LOGGER.debug("putAndGet(): waiting on {}", uri);
-                    wait();
-                } catch (InterruptedException e) {
-                    break;
-                }
-            }
-        }
+    static synchronized void clearInstance() {
+        instance = null;
+    }
 
-        // Try to pluck it out of the cache.
-        byte[] cachedValue = overlays.get(uri);
-        if (cachedValue != null) {
-            LOGGER.debug("putAndGet(): hit for {}", uri);
-            return cachedValue;
+    /**
+     * @return Shared instance.
+     */
+    static synchronized ImageOverlayCache getInstance() {
+        if (instance == null) {
+            final Configuration config = Configuration.getInstance();
+            final long maxSize = StringUtil.toByteSize(config.getString(
+                    Key.OVERLAY_IMAGE_CACHE_MAX_SIZE, DEFAULT_MAX_SIZE));
+            final long ttlSec = config.getLong(
+                    Key.OVERLAY_IMAGE_CACHE_TTL, 0);
+            instance = new ImageOverlayCache(maxSize, ttlSec);
         }
+        return instance;
+    }
 
-        LOGGER.debug("putAndGet(): miss for {}", uri);
+    private static BufferedImage decode(byte[] bytes) throws IOException {
+        ImageReader reader = null;
+        try (InputStream is = new ByteArrayInputStream(bytes)) {
+            reader = new ImageReaderFactory().newImageReader(is, Format.PNG);
+            BufferedImage image = reader.read();
+            if (image.getType() != BufferedImage.TYPE_INT_ARGB) {
+                final BufferedImage argbImage = new BufferedImage(
+                        image.getWidth(), image.getHeight(),
+                        BufferedImage.TYPE_INT_ARGB);
+                final Graphics2D g2d = argbImage.createGraphics();
+                g2d.drawImage(image, 0, 0, null);
+                g2d.dispose();
+                image = argbImage;
+            }
+            return image;
+        } finally {
+            if (reader != null) {
+                reader.dispose();
+            }
+        }
+    }
 
-        // It's not being downloaded and isn't cached, so download and cache it.
-        downloadingOverlays.add(uri);
+    private static Entry download(URI uri) throws IOException {
+        LOGGER.debug("Downloading {}", uri);
         try (InputStream is = uri.toURL().openStream();
              ByteArrayOutputStream os = new ByteArrayOutputStream()) {
             IOUtils.copy(is, os);
-            overlays.put(uri, os.toByteArray());
-        } finally {
-            downloadingOverlays.remove(uri);
-            synchronized (this) {
-                notifyAll();
+            return new Entry(os.toByteArray());
+        }
+    }
+
+    private static int toKilobytes(long bytes) {
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, bytes / 1024));
+    }
+
+    /**
+     * @param maxSize Maximum combined size of the cached overlays' encoded
+     *                data and decoded images, in bytes.
+     * @param ttlSec  Age in seconds after which entries are refreshed. If
+     *                {@literal 0}, they never are.
+     */
+    ImageOverlayCache(long maxSize, long ttlSec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .executor(task -> ThreadPool.getInstance().submit(task));
+        if (ttlSec > 0) {
+            builder = builder.refreshAfterWrite(ttlSec, TimeUnit.SECONDS);
+        }
+        overlays = builder
+                .maximumWeight(Math.max(1, maxSize / 1024))
+                .<URI, Entry>weigher((uri, entry) ->
+                        toKilobytes(entry.size()))
+                .buildAsync(ImageOverlayCache::download);
+    }
+
+    /**
+     * @param uri Overlay image URI.
+     * @return    Cached or newly downloaded overlay.
+     * @throws IOException if the image cannot be accessed.
+     */
+    Entry get(URI uri) throws IOException {
+        final CompletableFuture<Entry> present = overlays.getIfPresent(uri);
+        MetricRegistry.getInstance().recordCacheAccess(
+                METRIC_NAME, present != null);
+        LOGGER.debug("get(): {} for {}", (present != null) ? "hit" : "miss",
+                uri);
+        final CompletableFuture<Entry> future =
+                (present != null) ? present : overlays.get(uri);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
             }
+            throw new IOException(cause);
         }
-        return overlays.get(uri);
+    }
+
+    /**
+     * @param uri Overlay image URI.
+     * @return    Overlay image data.
+     * @throws IOException if the image cannot be accessed.
+     */
+    byte[] putAndGet(URI uri) throws IOException {
+        return get(uri).getBytes();
+    }
+
+    /**
+     * @return Number of cached overlays.
+     */
+    long size() {
+        overlays.synchronous().cleanUp();
+        return overlays.synchronous().estimatedSize();
     }
 
 }
@@ -70,15 +70,23 @@ public class Redaction implements Operation {
                 region.getHeight() > 0);
     }
 
+    /**
+     * @param fullSize Full size of the source image.
+     * @param opList   Operation list containing the instance.
+     * @return         Whether the instance intersects the region of the
+     *                 source image selected by the {@link Crop} in the given
+     *                 operation list, or the whole image if there is none.
+     */
     @Override
     public boolean hasEffect(Dimension fullSize, OperationList opList) {
         if (!hasEffect()) {
             return false;
         }
-        final Dimension resultingSize = opList.getResultingSize(fullSize);
-        final Rectangle resultingImage = new Rectangle(0, 0,
-                resultingSize.width, resultingSize.height);
-        return getRegion().intersects(resultingImage);
+        final Crop crop = (Crop) opList.getFirst(Crop.class);
+        final Rectangle cropRegion = (crop != null) ?
+                crop.getRectangle(fullSize) :
+                new Rectangle(0, 0, fullSize.width, fullSize.height);
+        return getRegion().intersects(cropRegion);
     }
 
     /**
@@ -1,11 +1,15 @@
 package edu.illinois.library.cantaloupe.processor;
 
-import edu.illinois.library.cantaloupe.async.ThreadPool;
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+import edu.illinois.library.cantaloupe.metrics.Stage;
 import edu.illinois.library.cantaloupe.operation.ColorTransform;
 import edu.illinois.library.cantaloupe.operation.Crop;
 import edu.illinois.library.cantaloupe.operation.Encode;
+import edu.illinois.library.cantaloupe.operation.MetadataCopy;
 import edu.illinois.library.cantaloupe.operation.Normalize;
 import edu.illinois.library.cantaloupe.operation.Operation;
 import edu.illinois.library.cantaloupe.operation.OperationList;
@@ -16,26 +20,47 @@ import edu.illinois.library.cantaloupe.operation.Sharpen;
 import edu.illinois.library.cantaloupe.operation.Transpose;
 import edu.illinois.library.cantaloupe.operation.redaction.Redaction;
 import edu.illinois.library.cantaloupe.operation.overlay.Overlay;
-import edu.illinois.library.cantaloupe.processor.codec.BufferedImageSequence;
+import edu.illinois.library.cantaloupe.processor.codec.ImageReader;
 import edu.illinois.library.cantaloupe.processor.codec.ImageWriterFactory;
 import edu.illinois.library.cantaloupe.processor.codec.Metadata;
 import edu.illinois.library.cantaloupe.processor.codec.ReaderHint;
 import edu.illinois.library.cantaloupe.resource.iiif.ProcessorFeature;
+import edu.illinois.library.cantaloupe.util.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.awt.Dimension;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
 
 abstract class AbstractJava2DProcessor extends AbstractImageIOProcessor {
 
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(AbstractJava2DProcessor.class);
+
+    /**
+     * Output formats whose writers are able to consume a {@link StripedImage}
+     * in {@link #postProcessInStrips}.
+     */
+    private static final Set<Format> STRIPED_OUTPUT_FORMATS =
+            Collections.unmodifiableSet(EnumSet.of(
+                    Format.JPG, Format.PNG, Format.TIF));
+
+    /**
+     * Approximate height of the strips used by {@link #postProcessInStrips}.
+     * The actual height is this value rounded up to a multiple of the source
+     * image's tile or strip height.
+     */
+    private static final int TARGET_STRIP_HEIGHT = 256;
+
     private static final Set<ProcessorFeature> SUPPORTED_FEATURES =
             Collections.unmodifiableSet(EnumSet.of(
                     ProcessorFeature.MIRRORING,
@@ -100,9 +125,8 @@ abstract class AbstractJava2DProcessor extends AbstractImageIOProcessor {
 
     /**
      * Convenience method for processors that use a Java 2D pipeline. Can be
-     * used for all images but not {@link BufferedImageSequence image
-     * sequences}; for those, use {@link #postProcess(BufferedImageSequence,
-     * OperationList, Info, OutputStream)}.
+     * used for all images but not image sequences; for those, use {@link
+     * #postProcessSequence(ImageReader, OperationList, Info, OutputStream)}.
      *
      * @param image           Image to process.
      * @param readerHints     Hints from the image reader. May be
@@ -120,73 +144,180 @@ abstract class AbstractJava2DProcessor extends AbstractImageIOProcessor {
                      final OutputStream outputStream) throws IOException {
         image = doPostProcess(image, readerHints, opList, imageInfo,
                 reductionFactor);
+        final Stopwatch watch = new Stopwatch();
         new ImageWriterFactory().newImageWriter(opList).
                 write(image, outputStream);
+        MetricRegistry.getInstance().recordStage(Stage.ENCODE, watch);
+    }
+
+    /**
+     * <p>Checks whether a request can be fulfilled by {@link
+     * #postProcessInStrips}. That is the case when:</p>
+     *
+     * <ul>
+     *     <li>{@link Key#PROCESSOR_STRIPED_ENCODING} is enabled;</li>
+     *     <li>the output format is one of {@link #STRIPED_OUTPUT_FORMATS};</li>
+     *     <li>the source image is tiled or striped, so that a strip of it
+     *     can be read without decoding the rest of it; and</li>
+     *     <li>none of the operations in the list need to see the whole image
+     *     at once, i.e. the only ones that have any effect are {@link Crop},
+     *     {@link ColorTransform}, {@link Encode}, and {@link
+     *     MetadataCopy}.</li>
+     * </ul>
+     *
+     * @param reader Reader with its source set.
+     * @param opList Operations to apply to the image.
+     * @return       Whether the request can be fulfilled one strip at a time.
+     */
+    boolean canPostProcessInStrips(final ImageReader reader,
+                                   final OperationList opList)
+            throws IOException {
+        final Configuration config = Configuration.getInstance();
+        if (!config.getBoolean(Key.PROCESSOR_STRIPED_ENCODING, false) ||
+                !STRIPED_OUTPUT_FORMATS.contains(opList.getOutputFormat())) {
+            return false;
+        }
+
+        final Dimension fullSize = reader.getSize(0);
+        if (reader.getTileSize(0).height >= fullSize.height) {
+            return false;
+        }
+
+        for (Operation op : opList) {
+            if (op.hasEffect(fullSize, opList) &&
+                    !(op instanceof Crop) &&
+                    !(op instanceof ColorTransform) &&
+                    !(op instanceof Encode) &&
+                    !(op instanceof MetadataCopy)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * <p>Alternative to {@link #postProcess(BufferedImage, Set, OperationList,
+     * Info, ReductionFactor, OutputStream)} that reads, processes, and hands
+     * off the image to the writer one strip at a time, so that the whole
+     * image is never materialized before encoding starts. This is only
+     * possible for requests for which {@link #canPostProcessInStrips} returns
+     * {@literal true}.</p>
+     *
+     * <p>N.B.: The PNG and TIFF writers consume the image one strip (or row)
+     * at a time, so memory use is bounded by the strip size. The JDK's JPEG
+     * encoder, on the other hand, copies its input into a single raster, so
+     * JPEG output only avoids the intermediate copies made by the normal
+     * pipeline.</p>
+     *
+     * @param reader       Reader with its source set.
+     * @param opList       Operations to apply to the image.
+     * @param outputStream Output stream to write the resulting image to.
+     */
+    void postProcessInStrips(final ImageReader reader,
+                             final OperationList opList,
+                             final OutputStream outputStream)
+            throws IOException {
+        final Dimension fullSize = reader.getSize(0);
+        final Crop crop = (Crop) opList.getFirst(Crop.class);
+        final Rectangle region = (crop != null) ?
+                crop.getRectangle(fullSize).intersection(
+                        new Rectangle(fullSize)) :
+                new Rectangle(fullSize);
+
+        final int sourceStripHeight = reader.getTileSize(0).height;
+        final int stripHeight = sourceStripHeight *
+                (int) Math.ceil(TARGET_STRIP_HEIGHT / (double) sourceStripHeight);
+
+        final boolean reduceTo8Bits = mustReduceTo8Bits(opList);
+        final ColorTransform colorTransform =
+                (ColorTransform) opList.getFirst(ColorTransform.class);
+        final Encode encode = (Encode) opList.getFirst(Encode.class);
+        // The JPEG writer can only flatten BufferedImages, so flatten each
+        // strip here instead.
+        final boolean removeAlpha =
+                Format.JPG.equals(opList.getOutputFormat());
+
+        final StripedImage image = new StripedImage(
+                region.width, region.height, stripHeight, stripRegion -> {
+            final Rectangle sourceRegion = new Rectangle(
+                    region.x, region.y + stripRegion.y,
+                    stripRegion.width, stripRegion.height);
+            BufferedImage strip = reader.read(0, sourceRegion);
+            if (reduceTo8Bits) {
+                strip = Java2DUtil.reduceTo8Bits(strip);
+            }
+            if (colorTransform != null) {
+                strip = Java2DUtil.transformColor(strip, colorTransform);
+            }
+            if (removeAlpha) {
+                strip = (encode != null && encode.getBackgroundColor() != null) ?
+                        Java2DUtil.removeAlpha(strip, encode.getBackgroundColor()) :
+                        Java2DUtil.removeAlpha(strip);
+            }
+            return strip;
+        });
+
+        LOGGER.debug("postProcessInStrips(): writing {}x{} region in " +
+                        "{} strips of {} rows",
+                region.width, region.height, image.getNumStrips(),
+                stripHeight);
+        try {
+            new ImageWriterFactory().newImageWriter(opList).
+                    write(image, outputStream);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
     }
 
     /**
      * Variation of {@link #postProcess(BufferedImage, Set, OperationList,
-     * Info, ReductionFactor, OutputStream)} for processing {@link
-     * BufferedImageSequence image sequences}, such as to support animated
-     * GIFs.
+     * Info, ReductionFactor, OutputStream)} for processing image sequences,
+     * such as to support animated GIFs.
+     *
+     * Frames are streamed through a {@link FramePipeline}: each one is
+     * decoded, post-processed concurrently with up to a CPU's worth of other
+     * frames, and written in order, so that no more than a small window of
+     * frames is ever in memory at once.
      *
-     * @param sequence     Sequence containing one or more images, which will
-     *                     be replaced with the post-processed versions.
+     * @param reader       Reader from which to read the frames.
      * @param opList       Operations to apply to each image in the sequence.
      * @param info         Information about the source image.
      * @param outputStream Stream to write the resulting image to.
      * @throws IllegalArgumentException if the sequence is empty.
      */
-    void postProcess(final BufferedImageSequence sequence,
-                     final OperationList opList,
-                     final Info info,
-                     final OutputStream outputStream) throws IOException {
-        final int numFrames = sequence.length();
-
-        // 1. If the sequence contains no frames, throw an exception.
-        // 2. If it contains only one frame, process the frame in the current
-        //    thread.
-        // 3. If it contains more than one frame, spread the work across as
-        //    many threads as there are CPUs.
+    void postProcessSequence(final ImageReader reader,
+                             final OperationList opList,
+                             final Info info,
+                             final OutputStream outputStream) throws IOException {
+        final int numFrames = reader.getNumImages();
         if (numFrames < 1) {
             throw new IllegalArgumentException("Empty sequence");
-        } else if (numFrames == 1) {
-            BufferedImage image = sequence.get(0);
-            image = doPostProcess(image, opList, info);
-            sequence.set(0, image);
-        } else {
-            final int numThreads =
-                    Math.min(numFrames, Runtime.getRuntime().availableProcessors());
-            final int framesPerThread =
-                    (int) Math.ceil(numFrames / (float) numThreads);
-            final CountDownLatch latch = new CountDownLatch(numFrames);
-
-            for (short thread = 0; thread < numThreads; thread++) {
-                final int startFrame = thread * framesPerThread;
-                final int endFrame = startFrame + framesPerThread;
-
-                ThreadPool.getInstance().submit(() -> {
-                    for (int frameNum = startFrame; frameNum < endFrame; frameNum++) {
-                        BufferedImage image = sequence.get(frameNum);
-                        image = doPostProcess(image, opList, info);
-                        sequence.set(frameNum, image);
-                        latch.countDown();
-                    }
-                    return null;
-                });
-            }
+        }
+        final int windowSize =
+                Math.min(numFrames, Runtime.getRuntime().availableProcessors());
 
-            // Wait for all threads to finish.
-            try {
-                latch.await(5, TimeUnit.MINUTES); // hopefully not this long...
-            } catch (InterruptedException e) {
-                // Done.
-            }
+        final Metadata metadata = reader.getMetadata(0);
+        try (FramePipeline frames = new FramePipeline(numFrames, windowSize,
+                reader::read, frame -> doPostProcess(frame, opList, info))) {
+            new ImageWriterFactory().newImageWriter(opList, metadata).
+                    write(frames, outputStream);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
+    }
 
-        Metadata metadata = getReader().getMetadata(0);
-        new ImageWriterFactory().newImageWriter(opList, metadata).
-                write(sequence, outputStream);
+    /**
+     * If the {@link Encode} operation specifies a max sample size of 8 bits,
+     * or if the output format's max sample size is 8 bits, images will need
+     * to be clamped to 8 bits. HOWEVER, if the output format's max sample
+     * size is LESS THAN 8 bits (e.g. GIF), the writer is left to handle it.
+     */
+    private static boolean mustReduceTo8Bits(OperationList opList) {
+        final Format outputFormat = opList.getOutputFormat();
+        final Encode encode = (Encode) opList.getFirst(Encode.class);
+        return ((encode != null && encode.getMaxComponentSize() <= 8)
+                || outputFormat.getMaxSampleSize() <= 8)
+                && !Format.GIF.equals(outputFormat);
     }
 
     private BufferedImage doPostProcess(BufferedImage image,
@@ -200,31 +331,24 @@ abstract class AbstractJava2DProcessor extends AbstractImageIOProcessor {
                                         final OperationList opList,
                                         final Info imageInfo,
                                         ReductionFactor reductionFactor) throws IOException {
-        final Format outputFormat = opList.getOutputFormat();
-
         if (reductionFactor == null) {
             reductionFactor = new ReductionFactor();
         }
         if (readerHints == null) {
             readerHints = EnumSet.noneOf(ReaderHint.class);
         }
+        final MetricRegistry metrics = MetricRegistry.getInstance();
         if (opList.getFirst(Normalize.class) != null) {
+            final Stopwatch watch = new Stopwatch();
             Java2DUtil.stretchContrast(image);
+            metrics.recordOperation(Normalize.class.getSimpleName(), watch);
         }
 
-        // If the Encode operation specifies a max sample size of 8 bits, or if
-        // the output format's max sample size is 8 bits, we will need to
-        // clamp the image's sample size to 8 bits. HOWEVER, if the output
-        // format's max sample size is LESS THAN 8 bits (e.g. GIF), don't do
-        // anything and let the writer handle it.
-        //
-        // The writer could actually do this itself regardless, but doing it
-        // here could make subsequent processing steps more efficient as they
-        // will have less data to deal with.
-        Encode encode = (Encode) opList.getFirst(Encode.class);
-        if (((encode != null && encode.getMaxComponentSize() <= 8)
-                || outputFormat.getMaxSampleSize() <= 8)
-                && !Format.GIF.equals(outputFormat)) {
+        // Clamp the sample size to 8 bits if necessary. The writer could
+        // actually do this itself regardless, but doing it here could make
+        // subsequent processing steps more efficient as they will have less
+        // data to deal with.
+        if (mustReduceTo8Bits(opList)) {
             image = Java2DUtil.reduceTo8Bits(image);
         }
 
@@ -239,7 +363,10 @@ abstract class AbstractJava2DProcessor extends AbstractImageIOProcessor {
                 crop = (Crop) op;
                 if (crop.hasEffect(fullSize, opList) &&
                         !readerHints.contains(ReaderHint.ALREADY_CROPPED)) {
+                    final Stopwatch watch = new Stopwatch();
                     image = Java2DUtil.crop(image, crop, reductionFactor);
+                    metrics.recordOperation(
+                            Crop.class.getSimpleName(), watch);
                 }
             }
         }
@@ -253,11 +380,17 @@ abstract class AbstractJava2DProcessor extends AbstractImageIOProcessor {
                 }
             }
         }
-        Java2DUtil.applyRedactions(image, crop, reductionFactor, redactions);
+        if (!redactions.isEmpty()) {
+            final Stopwatch watch = new Stopwatch();
+            Java2DUtil.applyRedactions(image, crop, reductionFactor,
+                    redactions);
+            metrics.recordOperation(Redaction.class.getSimpleName(), watch);
+        }
 
         // Apply remaining operations.
         for (Operation op : opList) {
             if (op.hasEffect(fullSize, opList)) {
+                final Stopwatch watch = new Stopwatch();
                 if (op instanceof Scale &&
                         !readerHints.contains(ReaderHint.IGNORE_SCALE)) {
                     image = Java2DUtil.scale(image, (Scale) op,
@@ -272,7 +405,10 @@ abstract class AbstractJava2DProcessor extends AbstractImageIOProcessor {
                     image = Java2DUtil.sharpen(image, (Sharpen) op);
                 } else if (op instanceof Overlay) {
                     Java2DUtil.applyOverlay(image, (Overlay) op);
+                } else {
+                    continue;
                 }
+                metrics.recordOperation(op.getClass().getSimpleName(), watch);
             }
         }
 
@@ -1,20 +1,28 @@
 package edu.illinois.library.cantaloupe.processor;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import edu.illinois.library.cantaloupe.async.ThreadPool;
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.operation.Crop;
 import edu.illinois.library.cantaloupe.operation.OperationList;
+import edu.illinois.library.cantaloupe.operation.ReductionFactor;
 import edu.illinois.library.cantaloupe.processor.codec.ImageReader;
 import edu.illinois.library.cantaloupe.processor.codec.ImageReaderFactory;
 import edu.illinois.library.cantaloupe.processor.codec.ImageWriterFactory;
+import edu.illinois.library.cantaloupe.util.ObjectCache;
+import edu.illinois.library.cantaloupe.util.StringUtil;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.awt.Dimension;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -23,9 +31,11 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -33,9 +43,23 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
- * Processor that uses the ffmpeg command-line tool to extract video frames,
+ * <p>Processor that uses the ffmpeg command-line tool to extract video frames,
  * and the ffprobe tool to get video information. Works with ffmpeg 2.8 (other
- * versions untested).
+ * versions untested).</p>
+ *
+ * <p>Frames are located by seeking on the input side, which jumps to the
+ * nearest preceding keyframe instead of decoding the video from the start.
+ * By default, ffmpeg then decodes up to the exact requested time; if {@link
+ * Key#FFMPEGPROCESSOR_KEYFRAME_SEEK} is enabled, the keyframe itself is
+ * returned, which is even faster but less precise. If an input-side seek
+ * doesn't yield a frame, the (slow but reliable) output-side seek is used
+ * instead.</p>
+ *
+ * <p>ffprobe results are cached, and so, optionally, are extracted frames
+ * (see {@link Key#FFMPEGPROCESSOR_FRAME_CACHE_MAX_SIZE}), so that e.g.
+ * multiple tiles of the same frame can be cut from one extraction. Both
+ * caches are keyed on source file and last-modified time. Frames are weighed
+ * by their raster size.</p>
  */
 class FfmpegProcessor extends AbstractJava2DProcessor implements FileProcessor {
 
@@ -45,13 +69,78 @@ class FfmpegProcessor extends AbstractJava2DProcessor implements FileProcessor {
     private static final Pattern TIME_PATTERN =
             Pattern.compile("[0-9][0-9]:[0-5][0-9]:[0-5][0-9]");
 
+    /**
+     * Maximum number of ffprobe results to cache.
+     */
+    private static final int PROBE_CACHE_SIZE = 1024;
+
     private static final AtomicBoolean initializationAttempted =
             new AtomicBoolean(false);
     private static InitializationException initializationException;
 
+    /**
+     * Cached extracted frames keyed on {@link #getFrameKey(String)}, weighed
+     * in kilobytes. May be {@literal null} if frame caching is disabled.
+     */
+    private static Cache<String, BufferedImage> frameCache;
+
+    /**
+     * Maximum size of {@link #frameCache} in bytes.
+     */
+    private static long frameCacheMaxSize;
+
+    /**
+     * Cached ffprobe results (width, height, and duration) keyed on {@link
+     * #getFileKey()}.
+     */
+    private static final ObjectCache<String, double[]> probeCache =
+            new ObjectCache<>(PROBE_CACHE_SIZE);
+
     private double durationSec = 0;
     private Info imageInfo;
 
+    /**
+     * For testing only!
+     */
+    static synchronized void clearCaches() {
+        frameCache = null;
+        probeCache.purge();
+    }
+
+    /**
+     * @return Shared frame cache, or {@literal null} if frame caching is
+     *         disabled via {@link Key#FFMPEGPROCESSOR_FRAME_CACHE_MAX_SIZE}.
+     */
+    static synchronized Cache<String, BufferedImage> getFrameCache() {
+        final long maxSize = StringUtil.toByteSize(
+                Configuration.getInstance().getString(
+                        Key.FFMPEGPROCESSOR_FRAME_CACHE_MAX_SIZE, "0"));
+        if (maxSize < 1) {
+            frameCache = null;
+        } else if (frameCache == null || frameCacheMaxSize != maxSize) {
+            frameCache = Caffeine.newBuilder()
+                    .maximumWeight(maxSize / 1024)
+                    .<String, BufferedImage>weigher((key, image) ->
+                            toKilobytes(sizeOf(image)))
+                    .build();
+            frameCacheMaxSize = maxSize;
+        }
+        return frameCache;
+    }
+
+    /**
+     * @return Approximate size of the given image's raster data in bytes.
+     */
+    private static long sizeOf(BufferedImage image) {
+        final DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() *
+                DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+
+    private static int toKilobytes(long bytes) {
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, bytes / 1024));
+    }
+
     /**
      * @param binaryName Name of one of the ffmpeg binaries
      */
@@ -128,45 +217,86 @@ class FfmpegProcessor extends AbstractJava2DProcessor implements FileProcessor {
     @Override
     public Info readImageInfo() throws IOException {
         if (imageInfo == null) {
-            final List<String> command = new ArrayList<>();
-            command.add(getPath("ffprobe"));
-            command.add("-v");
-            command.add("quiet");
-            command.add("-select_streams");
-            command.add("v:0");
-            command.add("-show_entries");
-            command.add("stream=width,height,duration");
-            command.add("-of");
-            command.add("default=noprint_wrappers=1:nokey=1");
-            command.add(sourceFile.toString());
-
-            ProcessBuilder pb = new ProcessBuilder(command);
-            pb.redirectErrorStream(true);
-
-            LOGGER.info("Invoking {}", StringUtils.join(pb.command(), " "));
-            Process process = pb.start();
-
-            try (InputStream processInputStream = process.getInputStream();
-                 BufferedReader reader = new BufferedReader(
-                         new InputStreamReader(processInputStream, "UTF-8"))) {
-                int width = Integer.parseInt(reader.readLine());
-                int height = Integer.parseInt(reader.readLine());
-                try {
-                    durationSec = Double.parseDouble(reader.readLine());
-                } catch (NumberFormatException e) {
-                    LOGGER.debug("readImageInfo(): {}", e.getMessage());
-                }
-                imageInfo = Info.builder()
-                        .withSize(width, height)
-                        .withTileSize(width, height)
-                        .withFormat(sourceFormat)
-                        .build();
-                imageInfo.setNumResolutions(1);
+            final String fileKey = getFileKey();
+            double[] probe = probeCache.get(fileKey);
+            if (probe == null) {
+                probe = probe();
+                probeCache.put(fileKey, probe);
+            } else {
+                LOGGER.debug("readImageInfo(): hit probe cache for {}",
+                        fileKey);
             }
+            final int width = (int) probe[0];
+            final int height = (int) probe[1];
+            durationSec = probe[2];
+            imageInfo = Info.builder()
+                    .withSize(width, height)
+                    .withTileSize(width, height)
+                    .withFormat(sourceFormat)
+                    .build();
+            imageInfo.setNumResolutions(1);
         }
         return imageInfo;
     }
 
+    /**
+     * Invokes ffprobe and parses its output.
+     *
+     * @return Three-element array containing the width, height, and duration
+     *         in seconds (or {@literal 0} if not available) of the video.
+     */
+    double[] probe() throws IOException {
+        final List<String> command = new ArrayList<>();
+        command.add(getPath("ffprobe"));
+        command.add("-v");
+        command.add("quiet");
+        command.add("-select_streams");
+        command.add("v:0");
+        command.add("-show_entries");
+        command.add("stream=width,height,duration");
+        command.add("-of");
+        command.add("default=noprint_wrappers=1:nokey=1");
+        command.add(sourceFile.toString());
+
+        ProcessBuilder pb = new ProcessBuilder(command);
+        pb.redirectErrorStream(true);
+
+        LOGGER.info("Invoking {}", StringUtils.join(pb.command(), " "));
+        Process process = pb.start();
+
+        try (InputStream processInputStream = process.getInputStream();
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(processInputStream, "UTF-8"))) {
+            final double[] probe = new double[3];
+            probe[0] = Integer.parseInt(reader.readLine());
+            probe[1] = Integer.parseInt(reader.readLine());
+            try {
+                probe[2] = Double.parseDouble(reader.readLine());
+            } catch (NumberFormatException e) {
+                LOGGER.debug("probe(): {}", e.getMessage());
+            }
+            return probe;
+        }
+    }
+
+    /**
+     * @return Key identifying the current version of the source file.
+     */
+    private String getFileKey() throws IOException {
+        return sourceFile + "@" +
+                Files.getLastModifiedTime(sourceFile).toMillis();
+    }
+
+    /**
+     * @param time Value of the {@literal time} option. May be {@literal
+     *             null}.
+     * @return     Key identifying the frame at the given time in the current
+     *             version of the source file.
+     */
+    private String getFrameKey(String time) throws IOException {
+        return getFileKey() + "#" + ((time != null) ? time : "");
+    }
+
     @Override
     public void process(final OperationList opList,
                         final Info imageInfo,
@@ -174,23 +304,95 @@ class FfmpegProcessor extends AbstractJava2DProcessor implements FileProcessor {
             throws ProcessorException {
         super.process(opList, imageInfo, outputStream);
 
+        final String time = (String) opList.getOptions().get("time");
+        try {
+            BufferedImage image;
+            Set<ReaderHint> hints = null;
+
+            final Cache<String, BufferedImage> cache = getFrameCache();
+            if (cache != null) {
+                final String frameKey = getFrameKey(time);
+                BufferedImage frame = cache.getIfPresent(frameKey);
+                if (frame == null) {
+                    frame = readFrame(time);
+                    cache.put(frameKey, frame);
+                } else {
+                    LOGGER.debug("process(): hit frame cache for {}",
+                            frameKey);
+                }
+                // The cached frame must not be modified, so work on a copy
+                // of the requested region of it.
+                image = Java2DUtil.cropCopy(frame,
+                        (Crop) opList.getFirst(Crop.class),
+                        new ReductionFactor());
+                hints = EnumSet.of(ReaderHint.ALREADY_CROPPED);
+            } else {
+                image = readFrame(time);
+            }
+            postProcess(image, hints, opList, imageInfo, null, outputStream);
+        } catch (ProcessorException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ProcessorException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Extracts a frame, seeking on the input side and falling back to
+     * seeking on the output side if that doesn't yield a frame.
+     *
+     * @param time Value of the {@literal time} option. May be {@literal
+     *             null}.
+     * @return     Frame at the given time.
+     */
+    private BufferedImage readFrame(String time) throws Exception {
+        BufferedImage frame = readFrame(time, true);
+        if (frame == null && time != null) {
+            LOGGER.debug("readFrame(): input-side seek to {} yielded no " +
+                    "frame; retrying with output-side seek", time);
+            frame = readFrame(time, false);
+        }
+        if (frame == null) {
+            throw new ProcessorException("ffmpeg did not return a frame");
+        }
+        return frame;
+    }
+
+    /**
+     * @param time        Value of the {@literal time} option. May be
+     *                    {@literal null}.
+     * @param isInputSeek Whether to seek on the input side.
+     * @return            Frame at the given time, or {@literal null} if
+     *                    ffmpeg returned nothing.
+     */
+    private BufferedImage readFrame(String time,
+                                    boolean isInputSeek) throws Exception {
         final ByteArrayOutputStream errorBucket = new ByteArrayOutputStream();
         try {
-            final ProcessBuilder pb = getProcessBuilder(opList);
+            final ProcessBuilder pb = getProcessBuilder(time, isInputSeek);
             LOGGER.info("Invoking {}", String.join(" ", pb.command()));
             final Process process = pb.start();
 
-            try (final InputStream processInputStream = process.getInputStream();
+            try (final InputStream processInputStream =
+                         new BufferedInputStream(process.getInputStream());
                  final InputStream processErrorStream = process.getErrorStream()) {
                 ThreadPool.getInstance().submit(
                         new StreamCopier(processErrorStream, errorBucket));
 
+                // Check whether ffmpeg returned anything at all, which it
+                // may not if e.g. an input-side seek overshot the last
+                // keyframe.
+                processInputStream.mark(1);
+                if (processInputStream.read() == -1) {
+                    process.waitFor();
+                    return null;
+                }
+                processInputStream.reset();
+
                 final ImageReader reader = new ImageReaderFactory().newImageReader(
                         processInputStream, Format.BMP);
                 try {
-                    BufferedImage image = reader.read();
-                    postProcess(image, null, opList, imageInfo, null,
-                            outputStream);
+                    final BufferedImage image = reader.read();
                     final int code = process.waitFor();
                     if (code != 0) {
                         LOGGER.error("ffmpeg returned with code {}", code);
@@ -199,12 +401,15 @@ class FfmpegProcessor extends AbstractJava2DProcessor implements FileProcessor {
                             throw new ProcessorException(errorStr);
                         }
                     }
+                    return image;
                 } finally {
                     reader.dispose();
                 }
             } finally {
                 process.destroy();
             }
+        } catch (ProcessorException e) {
+            throw e;
         } catch (Exception e) {
             String msg = e.getMessage();
             try {
@@ -213,28 +418,45 @@ class FfmpegProcessor extends AbstractJava2DProcessor implements FileProcessor {
                     msg += " (command output: " + msg + ")";
                 }
             } catch (UnsupportedEncodingException e2) {
-                LOGGER.error("process(): {}", e2.getMessage());
+                LOGGER.error("readFrame(): {}", e2.getMessage());
             }
             throw new ProcessorException(msg, e);
         }
     }
 
     /**
-     * @param opList
-     * @return Command string corresponding to the given operation list.
+     * @param time        Value of the {@literal time} option. May be
+     *                    {@literal null}.
+     * @param isInputSeek Whether to seek on the input side, which is fast.
+     *                    Otherwise, ffmpeg will decode the video from the
+     *                    beginning up to the given time.
+     * @return            Command corresponding to the given arguments.
      */
-    private ProcessBuilder getProcessBuilder(OperationList opList) {
+    private ProcessBuilder getProcessBuilder(String time,
+                                             boolean isInputSeek) {
         final List<String> command = new ArrayList<>(20);
         command.add(getPath("ffmpeg"));
-        command.add("-i");
-        command.add(sourceFile.toString());
 
         // Seeking to a particular time is supported via a "time" URL query
         // parameter which gets injected into an -ss flag. FFmpeg supports
-        // additional syntax, but this will do for now.
+        // additional syntax, but this will do for now. When -ss precedes -i,
+        // ffmpeg seeks in the input to the keyframe preceding the given time,
+        // and then (unless -noaccurate_seek is supplied) decodes up to the
+        // exact time.
         // https://trac.ffmpeg.org/wiki/Seeking
-        String time = (String) opList.getOptions().get("time");
-        if (time != null) { // we assume it's already been validated.
+        if (time != null && isInputSeek) { // we assume it's already been validated.
+            if (Configuration.getInstance().
+                    getBoolean(Key.FFMPEGPROCESSOR_KEYFRAME_SEEK, false)) {
+                command.add("-noaccurate_seek");
+            }
+            command.add("-ss");
+            command.add(time);
+        }
+
+        command.add("-i");
+        command.add(sourceFile.toString());
+
+        if (time != null && !isInputSeek) {
             command.add("-ss");
             command.add(time);
         }
@@ -0,0 +1,147 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.async.ThreadPool;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * <p>Iterator over the frames of an image sequence (such as an animated GIF)
+ * that are decoded, processed, and returned one at a time, in order.</p>
+ *
+ * <p>Frames are decoded sequentially in the consuming thread (as readers are
+ * generally not thread-safe) and processed concurrently in the {@link
+ * ThreadPool}. At most {@link #getWindowSize() window size} frames are in
+ * flight at once, counting the one most recently returned by {@link
+ * #next()}, which the consumer is presumably still using; so memory use is
+ * proportional to the window size rather than the number of frames, and so
+ * is the number of threads used. The window is refilled only once the
+ * consumer asks for the next frame.</p>
+ *
+ * <p>Because {@link Iterator} methods can't throw checked exceptions, {@link
+ * IOException}s thrown while decoding or processing are rethrown wrapped in
+ * {@link UncheckedIOException}s.</p>
+ */
+final class FramePipeline implements Iterator<BufferedImage>, AutoCloseable {
+
+    /**
+     * Decodes frames.
+     */
+    @FunctionalInterface
+    interface FrameSource {
+        BufferedImage read(int frameIndex) throws IOException;
+    }
+
+    /**
+     * Processes decoded frames. Must be thread-safe.
+     */
+    @FunctionalInterface
+    interface FrameProcessor {
+        BufferedImage process(BufferedImage frame) throws IOException;
+    }
+
+    private final int numFrames, windowSize;
+    private final FrameSource source;
+    private final FrameProcessor processor;
+
+    /**
+     * Frames that have been decoded and submitted for processing, in order.
+     */
+    private final Deque<Future<?>> window = new ArrayDeque<>();
+
+    private int nextFrameToRead, nextFrameToReturn;
+
+    /**
+     * @param numFrames  Number of frames in the sequence.
+     * @param windowSize Maximum number of frames in flight.
+     * @param source     Decodes frames.
+     * @param processor  Processes decoded frames.
+     */
+    FramePipeline(int numFrames,
+                  int windowSize,
+                  FrameSource source,
+                  FrameProcessor processor) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Invalid window size");
+        }
+        this.numFrames = numFrames;
+        this.windowSize = windowSize;
+        this.source = source;
+        this.processor = processor;
+    }
+
+    /**
+     * Cancels the processing of any frames still in flight.
+     */
+    @Override
+    public void close() {
+        window.forEach(f -> f.cancel(true));
+        window.clear();
+        nextFrameToReturn = nextFrameToRead = numFrames;
+    }
+
+    /**
+     * Decodes frames and submits them for processing until the window is
+     * full or there are no frames left.
+     */
+    private void fill() throws IOException {
+        while (window.size() < windowSize && nextFrameToRead < numFrames) {
+            final BufferedImage frame = source.read(nextFrameToRead++);
+            window.add(ThreadPool.getInstance().submit(() -> {
+                return processor.process(frame);
+            }));
+        }
+    }
+
+    int getWindowSize() {
+        return windowSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextFrameToReturn < numFrames;
+    }
+
+    @Override
+    public BufferedImage next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            // The consumer is done with the previous frame, so its slot in
+            // the window can be reused.
+            fill();
+            final Future<?> future = window.remove();
+            nextFrameToReturn++;
+            return (BufferedImage) future.get();
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            close();
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(
+                    new InterruptedIOException(e.getMessage()));
+        } catch (ExecutionException e) {
+            close();
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw new UncheckedIOException((IOException) cause);
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new UncheckedIOException(new IOException(cause));
+        }
+    }
+
+}
@@ -142,6 +142,7 @@ class JaiProcessor extends AbstractImageIOProcessor
         ImageReader reader = null;
         try {
             reader = getReader();
+            reader.setImageInfo(imageInfo);
             final Format outputFormat = opList.getOutputFormat();
             final Orientation orientation = getEffectiveOrientation();
             final Dimension fullSize = imageInfo.getSize();
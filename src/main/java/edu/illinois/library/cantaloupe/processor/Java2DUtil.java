@@ -3,7 +3,6 @@ package edu.illinois.library.cantaloupe.processor;
 import edu.illinois.library.cantaloupe.operation.Color;
 import edu.illinois.library.cantaloupe.operation.ColorTransform;
 import edu.illinois.library.cantaloupe.operation.Crop;
-import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.operation.Operation;
 import edu.illinois.library.cantaloupe.operation.OperationList;
 import edu.illinois.library.cantaloupe.operation.ReductionFactor;
@@ -16,8 +15,6 @@ import edu.illinois.library.cantaloupe.operation.Scale;
 import edu.illinois.library.cantaloupe.operation.Transpose;
 import edu.illinois.library.cantaloupe.operation.overlay.StringOverlay;
 import edu.illinois.library.cantaloupe.operation.overlay.Overlay;
-import edu.illinois.library.cantaloupe.processor.codec.ImageReader;
-import edu.illinois.library.cantaloupe.processor.codec.ImageReaderFactory;
 import edu.illinois.library.cantaloupe.processor.resample.ResampleFilter;
 import edu.illinois.library.cantaloupe.processor.resample.ResampleOp;
 import edu.illinois.library.cantaloupe.util.Stopwatch;
@@ -44,7 +41,6 @@ import java.awt.image.ColorModel;
 import java.awt.image.ComponentColorModel;
 import java.awt.image.WritableRaster;
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.Collection;
 
 /**
@@ -283,21 +279,45 @@ public final class Java2DUtil {
         return outImage;
     }
 
+    /**
+     * Variant of {@link #crop(BufferedImage, Crop, ReductionFactor)} that
+     * copies the cropped region into a new image rather than returning a view
+     * of the input image's raster. This is useful when the input image is
+     * shared (e.g. cached) and must not be modified by subsequent processing
+     * steps.
+     *
+     * @param inImage Image to crop.
+     * @param crop    Crop operation. May be {@literal null}, in which case the
+     *                whole image is copied.
+     * @param rf      Number of times the dimensions of {@literal inImage} have
+     *                already been halved relative to the full-sized version.
+     * @return        New cropped image.
+     */
+    static BufferedImage cropCopy(final BufferedImage inImage,
+                                  final Crop crop,
+                                  final ReductionFactor rf) {
+        final Dimension size =
+                new Dimension(inImage.getWidth(), inImage.getHeight());
+        Rectangle region = new Rectangle(size);
+        if (crop != null) {
+            region = crop.getRectangle(size, rf).intersection(region);
+        }
+        final ColorModel colorModel = inImage.getColorModel();
+        final WritableRaster raster = inImage.getSubimage(
+                region.x, region.y, region.width, region.height).
+                copyData(null);
+        return new BufferedImage(colorModel, raster,
+                colorModel.isAlphaPremultiplied(), null);
+    }
+
     /**
      * @param overlay
-     * @return Overlay image.
+     * @return Overlay image, decoded once and cached by the overlay's
+     *         URI. It is shared and must not be modified.
      */
     static BufferedImage getOverlayImage(ImageOverlay overlay)
             throws IOException {
-        ImageReader reader = null;
-        try (InputStream is = overlay.openStream()) {
-            reader = new ImageReaderFactory().newImageReader(is, Format.PNG);
-            return reader.read();
-        } finally {
-            if (reader != null) {
-                reader.dispose();
-            }
-        }
+        return overlay.getImage();
     }
 
     /**
@@ -365,12 +385,21 @@ public final class Java2DUtil {
                     break;
             }
 
+            // If the inset pushes the overlay entirely off of the image,
+            // there is nothing to draw.
+            final Rectangle overlayBounds = new Rectangle(overlayX, overlayY,
+                    overlayImage.getWidth(), overlayImage.getHeight());
+            if (!overlayBounds.intersects(baseImage.getRaster().getBounds())) {
+                LOGGER.debug("overlayImage(): overlay is outside of the " +
+                        "image; skipping");
+                return;
+            }
+
             final Graphics2D g2d = baseImage.createGraphics();
             g2d.setRenderingHint(RenderingHints.KEY_RENDERING,
                     RenderingHints.VALUE_RENDER_QUALITY);
             g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
                     RenderingHints.VALUE_ANTIALIAS_ON);
-            g2d.drawImage(baseImage, 0, 0, null);
             g2d.drawImage(overlayImage, overlayX, overlayY, null);
             g2d.dispose();
             LOGGER.debug("overlayImage() executed in {}", watch);
@@ -378,7 +407,8 @@ public final class Java2DUtil {
     }
 
     /**
-     * Overlays a string onto an image.
+     * Overlays a string onto an image, using the largest font size between
+     * the overlay's size and minimum size at which it will fit.
      *
      * @param baseImage Image to overlay the string onto.
      * @param overlay   String to overlay onto the image.
@@ -387,62 +417,32 @@ public final class Java2DUtil {
                                       final StringOverlay overlay) {
         if (overlay.hasEffect()) {
             final Stopwatch watch = new Stopwatch();
-
-            final Graphics2D g2d = baseImage.createGraphics();
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
-                    RenderingHints.VALUE_ANTIALIAS_ON);
-            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
-                    RenderingHints.VALUE_TEXT_ANTIALIAS_GASP);
-            g2d.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS,
-                    RenderingHints.VALUE_FRACTIONALMETRICS_ON);
-            g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL,
-                    RenderingHints.VALUE_STROKE_PURE);
-            g2d.setRenderingHint(RenderingHints.KEY_RENDERING,
-                    RenderingHints.VALUE_RENDER_QUALITY);
-
-            // Graphics2D.drawString() does not understand newlines. Each line
-            // has to be drawn separately.
-            Font font = overlay.getFont();
-            float fontSize = font.getSize();
+            final OverlaySpriteCache cache = OverlaySpriteCache.getInstance();
             final int inset = overlay.getInset();
-            final String[] lines = StringUtils.split(overlay.getString(), "\n");
             final int padding = getBoxPadding(overlay);
-            int lineHeight;
-            int totalHeight;
-            int[] lineWidths;
-            int maxLineWidth;
+            float fontSize = overlay.getFont().getSize();
+            OverlaySpriteCache.StringLayout layout;
             boolean fits = false;
 
             // Starting at the initial font size, loop through smaller sizes
             // down to the minimum in order to find the largest that will fit
             // entirely within the image.
             while (true) {
-                maxLineWidth = 0;
-                g2d.setFont(font);
-                final FontMetrics fm = g2d.getFontMetrics();
-                lineHeight = fm.getHeight();
-                totalHeight = lineHeight * lines.length;
-                // Find the max line width.
-                lineWidths = new int[lines.length];
-                for (int i = 0; i < lines.length; i++) {
-                    lineWidths[i] = fm.stringWidth(lines[i]);
-                    if (lineWidths[i] > maxLineWidth) {
-                        maxLineWidth = lineWidths[i];
-                    }
-                }
+                layout = (cache != null) ?
+                        cache.getStringLayout(overlay, fontSize) :
+                        newStringLayout(overlay, fontSize);
+                final int totalHeight =
+                        layout.lineHeight * layout.lineWidths.length;
 
                 // Will the overlay fit inside the image?
-                if (maxLineWidth + (inset * 2) + (padding * 2) <= baseImage.getWidth() &&
+                if (layout.maxLineWidth + (inset * 2) + (padding * 2) <= baseImage.getWidth() &&
                         totalHeight + (inset * 2) + (padding * 2) <= baseImage.getHeight()) {
                     fits = true;
                     break;
+                } else if (fontSize - 1 >= overlay.getMinSize()) {
+                    fontSize -= 1;
                 } else {
-                    if (fontSize - 1 >= overlay.getMinSize()) {
-                        fontSize -= 1;
-                        font = font.deriveFont(fontSize);
-                    } else {
-                        break;
-                    }
+                    break;
                 }
             }
 
@@ -451,89 +451,27 @@ public final class Java2DUtil {
                         fontSize, overlay.getMinSize(),
                         overlay.getFont().getSize());
 
-                g2d.drawImage(baseImage, 0, 0, null);
-
+                final OverlaySpriteCache.Sprite sprite = (cache != null) ?
+                        cache.getStringSprite(overlay, layout) :
+                        newStringOverlaySprite(overlay, layout);
                 final Rectangle bgBox = getBoundingBox(overlay, inset,
-                        lineWidths, lineHeight,
+                        layout.lineWidths, layout.lineHeight,
                         new Dimension(baseImage.getWidth(), baseImage.getHeight()));
 
-                // Draw the background, if it is not transparent.
-                if (overlay.getBackgroundColor().getAlpha() > 0) {
-                    g2d.setPaint(overlay.getBackgroundColor().toColor());
-                    g2d.fillRect(bgBox.x, bgBox.y, bgBox.width,
-                            bgBox.height);
-                }
-
-                // Draw each line individually.
-                for (int i = 0; i < lines.length; i++) {
-                    int x, y;
-                    switch (overlay.getPosition()) {
-                        case TOP_LEFT:
-                            x = bgBox.x + padding;
-                            y = bgBox.y + lineHeight * i + padding;
-                            break;
-                        case TOP_RIGHT:
-                            x = bgBox.x + maxLineWidth - lineWidths[i] + padding;
-                            y = bgBox.y + lineHeight * i + padding;
-                            break;
-                        case BOTTOM_LEFT:
-                            x = bgBox.x + padding;
-                            y = bgBox.y + lineHeight * i + padding;
-                            break;
-                        // case BOTTOM_RIGHT: will be handled in default:
-                        case TOP_CENTER:
-                            x = bgBox.x + Math.round((bgBox.width - lineWidths[i]) / 2f);
-                            y = bgBox.y + lineHeight * i + padding;
-                            break;
-                        case BOTTOM_CENTER:
-                            x = bgBox.x + Math.round((bgBox.width - lineWidths[i]) / 2f);
-                            y = bgBox.y + lineHeight * i + padding;
-                            break;
-                        case LEFT_CENTER:
-                            x = bgBox.x + padding;
-                            y = bgBox.y + lineHeight * i + padding;
-                            break;
-                        case RIGHT_CENTER:
-                            x = bgBox.x + maxLineWidth - lineWidths[i] + padding;
-                            y = bgBox.y + lineHeight * i + padding;
-                            break;
-                        case CENTER:
-                            x = bgBox.x + Math.round((bgBox.width - lineWidths[i]) / 2f);
-                            y = bgBox.y + lineHeight * i + padding;
-                            break;
-                        default: // bottom right
-                            x = bgBox.x + maxLineWidth - lineWidths[i] + padding;
-                            y = bgBox.y + lineHeight * i + padding;
-                            break;
-                    }
-
-                    // This is arbitrary fudge, but it seems to work OK.
-                    y += lineHeight * 0.73;
-
-                    // Draw the text outline.
-                    if (overlay.getStrokeWidth() > 0.001f) {
-                        final FontRenderContext frc = g2d.getFontRenderContext();
-                        final GlyphVector gv = font.createGlyphVector(frc, lines[i]);
-                        final Shape shape = gv.getOutline(x, y);
-                        g2d.setStroke(new BasicStroke(overlay.getStrokeWidth()));
-                        g2d.setPaint(overlay.getStrokeColor().toColor());
-                        g2d.draw(shape);
-                    }
-
-                    // Draw the string.
-                    g2d.setPaint(overlay.getColor().toColor());
-                    g2d.drawString(lines[i], x, y);
-                }
+                final Graphics2D g2d = baseImage.createGraphics();
+                g2d.drawImage(sprite.image,
+                        bgBox.x - sprite.margin, bgBox.y - sprite.margin,
+                        null);
+                g2d.dispose();
                 LOGGER.debug("overlayString() executed in {}", watch);
             } else {
                 LOGGER.debug("overlayString(): {}-point ({}x{}) text won't fit in {}x{} image",
                         fontSize,
-                        maxLineWidth + inset,
-                        totalHeight + inset,
+                        layout.maxLineWidth + inset,
+                        layout.lineHeight * layout.lineWidths.length + inset,
                         baseImage.getWidth(),
                         baseImage.getHeight());
             }
-            g2d.dispose();
         }
     }
 
@@ -594,6 +532,35 @@ public final class Java2DUtil {
         return (overlay.getBackgroundColor().getAlpha() > 0) ? 5 : 0;
     }
 
+    /**
+     * @return The overlay's font at the given size.
+     */
+    private static Font getFont(StringOverlay overlay, float fontSize) {
+        final Font font = overlay.getFont();
+        return (fontSize == font.getSize()) ? font : font.deriveFont(fontSize);
+    }
+
+    /**
+     * Graphics2D.drawString() does not understand newlines. Each line has to
+     * be drawn separately.
+     */
+    private static String[] getLines(StringOverlay overlay) {
+        return StringUtils.split(overlay.getString(), "\n");
+    }
+
+    private static void setStringRenderingHints(Graphics2D g2d) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                RenderingHints.VALUE_TEXT_ANTIALIAS_GASP);
+        g2d.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS,
+                RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL,
+                RenderingHints.VALUE_STROKE_PURE);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING,
+                RenderingHints.VALUE_RENDER_QUALITY);
+    }
+
     /**
      * @param colorModel Color model of the new image.
      * @param width      Width of the new image.
@@ -629,6 +596,105 @@ public final class Java2DUtil {
         return new BufferedImage(colorModel, raster, isAlphaPremultiplied, null);
     }
 
+    /**
+     * @param overlay  String overlay.
+     * @param fontSize Font size at which to measure the overlay.
+     * @return         Line height and width of each line of the overlay.
+     */
+    static OverlaySpriteCache.StringLayout newStringLayout(
+            StringOverlay overlay, float fontSize) {
+        final BufferedImage scratch =
+                new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D g2d = scratch.createGraphics();
+        try {
+            setStringRenderingHints(g2d);
+            g2d.setFont(getFont(overlay, fontSize));
+            final FontMetrics fm = g2d.getFontMetrics();
+            final String[] lines = getLines(overlay);
+            final int[] lineWidths = new int[lines.length];
+            for (int i = 0; i < lines.length; i++) {
+                lineWidths[i] = fm.stringWidth(lines[i]);
+            }
+            return new OverlaySpriteCache.StringLayout(
+                    fontSize, fm.getHeight(), lineWidths);
+        } finally {
+            g2d.dispose();
+        }
+    }
+
+    /**
+     * Renders the background and text of a string overlay into a
+     * transparent image the size of its box, plus a margin for the stroke.
+     *
+     * @param overlay String overlay.
+     * @param layout  Layout of the overlay at the font size to render it at.
+     * @return        Sprite of the overlay.
+     */
+    static OverlaySpriteCache.Sprite newStringOverlaySprite(
+            StringOverlay overlay,
+            OverlaySpriteCache.StringLayout layout) {
+        final String[] lines = getLines(overlay);
+        final int padding = getBoxPadding(overlay);
+        final int margin = (int) Math.ceil(overlay.getStrokeWidth());
+        final int boxWidth = layout.maxLineWidth + padding * 2;
+        final int boxHeight = layout.lineHeight * lines.length + padding * 2;
+        final Font font = getFont(overlay, layout.fontSize);
+
+        final BufferedImage image = new BufferedImage(
+                Math.max(1, boxWidth + margin * 2),
+                Math.max(1, boxHeight + margin * 2),
+                BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D g2d = image.createGraphics();
+        setStringRenderingHints(g2d);
+        g2d.setFont(font);
+
+        // Draw the background, if it is not transparent.
+        if (overlay.getBackgroundColor().getAlpha() > 0) {
+            g2d.setPaint(overlay.getBackgroundColor().toColor());
+            g2d.fillRect(margin, margin, boxWidth, boxHeight);
+        }
+
+        // Draw each line individually.
+        for (int i = 0; i < lines.length; i++) {
+            int x = margin;
+            switch (overlay.getPosition()) {
+                case TOP_LEFT:
+                case BOTTOM_LEFT:
+                case LEFT_CENTER:
+                    x += padding;
+                    break;
+                case TOP_CENTER:
+                case BOTTOM_CENTER:
+                case CENTER:
+                    x += Math.round((boxWidth - layout.lineWidths[i]) / 2f);
+                    break;
+                default: // right
+                    x += layout.maxLineWidth - layout.lineWidths[i] + padding;
+                    break;
+            }
+            int y = margin + layout.lineHeight * i + padding;
+
+            // This is arbitrary fudge, but it seems to work OK.
+            y += layout.lineHeight * 0.73;
+
+            // Draw the text outline.
+            if (overlay.getStrokeWidth() > 0.001f) {
+                final FontRenderContext frc = g2d.getFontRenderContext();
+                final GlyphVector gv = font.createGlyphVector(frc, lines[i]);
+                final Shape shape = gv.getOutline(x, y);
+                g2d.setStroke(new BasicStroke(overlay.getStrokeWidth()));
+                g2d.setPaint(overlay.getStrokeColor().toColor());
+                g2d.draw(shape);
+            }
+
+            // Draw the string.
+            g2d.setPaint(overlay.getColor().toColor());
+            g2d.drawString(lines[i], x, y);
+        }
+        g2d.dispose();
+        return new OverlaySpriteCache.Sprite(image, margin);
+    }
+
     /**
      * Reduces an image's sample/component size to 8 bits if greater. This
      * involves copying it into a new {@link BufferedImage}, which is expensive.
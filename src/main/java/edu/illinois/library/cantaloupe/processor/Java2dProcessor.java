@@ -2,12 +2,14 @@ package edu.illinois.library.cantaloupe.processor;
 
 import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+import edu.illinois.library.cantaloupe.metrics.Stage;
 import edu.illinois.library.cantaloupe.operation.Normalize;
 import edu.illinois.library.cantaloupe.operation.OperationList;
 import edu.illinois.library.cantaloupe.operation.ReductionFactor;
-import edu.illinois.library.cantaloupe.processor.codec.BufferedImageSequence;
 import edu.illinois.library.cantaloupe.processor.codec.ImageReader;
 import edu.illinois.library.cantaloupe.processor.codec.ReaderHint;
+import edu.illinois.library.cantaloupe.util.Stopwatch;
 
 import java.awt.image.BufferedImage;
 import java.io.IOException;
@@ -31,6 +33,7 @@ class Java2dProcessor extends AbstractJava2DProcessor
         ImageReader reader = null;
         try {
             reader = getReader();
+            reader.setImageInfo(imageInfo);
             final ReductionFactor rf = new ReductionFactor();
             final Set<ReaderHint> hints =
                     EnumSet.noneOf(ReaderHint.class);
@@ -48,11 +51,14 @@ class Java2dProcessor extends AbstractJava2DProcessor
             // frame, though.)
             if (Format.GIF.equals(imageInfo.getSourceFormat()) &&
                     Format.GIF.equals(ops.getOutputFormat())) {
-                BufferedImageSequence seq = reader.readSequence();
-                postProcess(seq, ops, imageInfo, outputStream);
+                postProcessSequence(reader, ops, imageInfo, outputStream);
+            } else if (canPostProcessInStrips(reader, ops)) {
+                postProcessInStrips(reader, ops, outputStream);
             } else {
+                final Stopwatch watch = new Stopwatch();
                 BufferedImage image =
                         reader.read(ops, imageInfo.getOrientation(), rf, hints);
+                MetricRegistry.getInstance().recordStage(Stage.DECODE, watch);
                 postProcess(image, hints, ops, imageInfo, rf, outputStream);
             }
         } catch (IOException e) {
@@ -391,7 +391,7 @@ class KakaduDemoProcessor extends AbstractJava2DProcessor implements FileProcess
                 LOGGER.debug("Deleting {}", intermediateFile);
                 Files.delete(intermediateFile);
                 return null;
-            });
+            }, TaskQueue.Lane.PURGE);
         }
     }
 
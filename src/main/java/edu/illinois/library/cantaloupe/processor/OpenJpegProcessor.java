@@ -468,7 +468,7 @@ class OpenJpegProcessor extends AbstractJava2DProcessor
                 LOGGER.debug("Deleting {}", intermediateFile);
                 Files.delete(intermediateFile);
                 return null;
-            });
+            }, TaskQueue.Lane.PURGE);
         }
     }
 
@@ -523,7 +523,7 @@ class OpenJpegProcessor extends AbstractJava2DProcessor
                 LOGGER.debug("Deleting {}", stdoutSymlink);
                 Files.delete(stdoutSymlink);
                 return null;
-            });
+            }, TaskQueue.Lane.PURGE);
         }
     }
 
@@ -0,0 +1,196 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+import edu.illinois.library.cantaloupe.operation.overlay.StringOverlay;
+import edu.illinois.library.cantaloupe.util.StringUtil;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.function.Function;
+
+/**
+ * <p>Shared, size-bounded cache of string overlay sprites used by {@link
+ * Java2DUtil#applyOverlay}, so that watermarking a tile is a single {@link
+ * java.awt.Graphics2D#drawImage} rather than a round of font fitting and
+ * glyph stroking. (Image overlays are cached decoded by their {@link
+ * edu.illinois.library.cantaloupe.operation.overlay.ImageOverlay}.)</p>
+ *
+ * <p>Sprites are keyed on their overlay's {@link StringOverlay#toString()
+ * string representation} and the font size they are rendered at, which is
+ * the largest that fits in the target image; so, target images of similar
+ * size share a sprite. The measurements that determine whether a given font
+ * size fits are cached separately, as they are tiny and needed even when the
+ * sprite is not.</p>
+ *
+ * <p>Sprites are weighed by their raster size. Cached images are shared and
+ * must not be modified.</p>
+ */
+final class OverlaySpriteCache {
+
+    /**
+     * Measurements of a string overlay at a particular font size.
+     */
+    static final class StringLayout {
+
+        final float fontSize;
+        final int lineHeight;
+        final int[] lineWidths;
+        final int maxLineWidth;
+
+        StringLayout(float fontSize, int lineHeight, int[] lineWidths) {
+            this.fontSize = fontSize;
+            this.lineHeight = lineHeight;
+            this.lineWidths = lineWidths;
+            int max = 0;
+            for (int width : lineWidths) {
+                max = Math.max(max, width);
+            }
+            this.maxLineWidth = max;
+        }
+
+    }
+
+    /**
+     * Rendered string overlay.
+     */
+    static final class Sprite {
+
+        final BufferedImage image;
+
+        /**
+         * Distance from the top left of {@link #image} to the top left of
+         * the overlay's box, which leaves room for the stroke.
+         */
+        final int margin;
+
+        Sprite(BufferedImage image, int margin) {
+            this.image = image;
+            this.margin = margin;
+        }
+
+    }
+
+    private static final String DEFAULT_MAX_SIZE = "32M";
+
+    private static final int MAX_LAYOUTS = 1000;
+
+    private static final String METRIC_NAME = "overlay_sprite";
+
+    private static OverlaySpriteCache instance;
+
+    private final Cache<String, StringLayout> layouts;
+
+    /**
+     * Weighed in kilobytes.
+     */
+    private final Cache<String, Sprite> sprites;
+
+    /**
+     * @return Shared instance, or {@literal null} if {@link
+     *         Key#OVERLAY_CACHE_MAX_SIZE} is {@literal 0}.
+     */
+    static synchronized OverlaySpriteCache getInstance() {
+        if (instance == null) {
+            final Configuration config = Configuration.getInstance();
+            final long maxSize = StringUtil.toByteSize(config.getString(
+                    Key.OVERLAY_CACHE_MAX_SIZE, DEFAULT_MAX_SIZE));
+            if (maxSize <= 0) {
+                return null;
+            }
+            instance = new OverlaySpriteCache(maxSize);
+        }
+        return instance;
+    }
+
+    /**
+     * For testing only.
+     */
+    static synchronized void clearInstance() {
+        if (instance != null) {
+            instance.purge();
+            instance = null;
+        }
+    }
+
+    /**
+     * @return Approximate size of the given image's raster data in bytes.
+     */
+    private static long sizeOf(BufferedImage image) {
+        final DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() *
+                DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+
+    private static int toKilobytes(long bytes) {
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, bytes / 1024));
+    }
+
+    private static String stringKey(StringOverlay overlay, float fontSize) {
+        return overlay + "@" + fontSize;
+    }
+
+    /**
+     * @param maxSize Maximum combined size of the cached sprites, in bytes.
+     */
+    OverlaySpriteCache(long maxSize) {
+        layouts = Caffeine.newBuilder()
+                .maximumSize(MAX_LAYOUTS)
+                .build();
+        sprites = Caffeine.newBuilder()
+                .maximumWeight(Math.max(1, maxSize / 1024))
+                .<String, Sprite>weigher((key, sprite) ->
+                        toKilobytes(sizeOf(sprite.image)))
+                .build();
+    }
+
+    /**
+     * @param overlay  String overlay.
+     * @param fontSize Font size.
+     * @return         Measurements of the given overlay at the given font
+     *                 size.
+     */
+    StringLayout getStringLayout(StringOverlay overlay, float fontSize) {
+        return layouts.get(stringKey(overlay, fontSize),
+                key -> Java2DUtil.newStringLayout(overlay, fontSize));
+    }
+
+    /**
+     * @param overlay String overlay.
+     * @param layout  Layout returned by {@link #getStringLayout}.
+     * @return        Sprite of the given overlay rendered at the size of the
+     *                given layout.
+     */
+    Sprite getStringSprite(StringOverlay overlay, StringLayout layout) {
+        return get(stringKey(overlay, layout.fontSize),
+                key -> Java2DUtil.newStringOverlaySprite(overlay, layout));
+    }
+
+    private Sprite get(String key, Function<String, Sprite> loader) {
+        Sprite sprite = sprites.getIfPresent(key);
+        MetricRegistry.getInstance().recordCacheAccess(
+                METRIC_NAME, sprite != null);
+        if (sprite == null) {
+            sprite = sprites.get(key, loader);
+        }
+        return sprite;
+    }
+
+    void purge() {
+        layouts.invalidateAll();
+        sprites.invalidateAll();
+        sprites.cleanUp();
+    }
+
+    /**
+     * @return Number of cached sprites.
+     */
+    long size() {
+        sprites.cleanUp();
+        return sprites.estimatedSize();
+    }
+
+}
@@ -3,6 +3,7 @@ package edu.illinois.library.cantaloupe.processor;
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.operation.Crop;
 import edu.illinois.library.cantaloupe.operation.OperationList;
 import edu.illinois.library.cantaloupe.operation.ReductionFactor;
 import edu.illinois.library.cantaloupe.operation.Scale;
@@ -22,7 +23,10 @@ import org.apache.pdfbox.rendering.PDFRenderer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
@@ -34,9 +38,13 @@ import java.util.Map;
 import java.util.Set;
 
 /**
- * Processor using the <a href="https://pdfbox.apache.org">Apache PDFBox</a>
+ * <p>Processor using the <a href="https://pdfbox.apache.org">Apache PDFBox</a>
  * library to render source PDFs, and Java 2D to perform post-rasterization
- * processing steps.
+ * processing steps.</p>
+ *
+ * <p>When {@link Key#PDFBOXPROCESSOR_CACHE_ENABLED} is set and the source is
+ * a file, loaded documents (and, optionally, rasterized pages) are shared
+ * across instances via {@link PdfDocumentCache}.</p>
  */
 class PdfBoxProcessor extends AbstractJava2DProcessor
         implements FileProcessor, StreamProcessor {
@@ -46,6 +54,11 @@ class PdfBoxProcessor extends AbstractJava2DProcessor
 
     private static final int FALLBACK_DPI = 150;
 
+    @FunctionalInterface
+    private interface DocumentFunction<T> {
+        T apply(PDDocument document) throws IOException;
+    }
+
     private PDDocument doc;
     private Path sourceFile;
     private StreamFactory streamFactory;
@@ -98,12 +111,42 @@ class PdfBoxProcessor extends AbstractJava2DProcessor
             reductionFactor = ReductionFactor.forScale(pct);
         }
 
+        final Crop crop = (Crop) opList.getFirst(Crop.class);
+
         // This processor supports a "page" URI query argument.
         int page = getPageNumber(opList.getOptions());
 
         try {
-            BufferedImage image =
-                    readImage(page - 1, scale, imageInfo.getSize());
+            BufferedImage image;
+            final PdfDocumentCache cache = getDocumentCache();
+            final int pageReductionFactor =
+                    getPageReductionFactor(crop, scale, imageInfo.getSize());
+            if (cache != null && cache.isPageCachingEnabled() &&
+                    pageReductionFactor >= 0) {
+                // Rasterize the whole page at the lowest DPI, out of the
+                // ones corresponding to reduction factors, that is at least
+                // the one the requested region needs, so that requests at
+                // different scales can share a small number of cached
+                // rasters, and let the post-processing steps scale it down
+                // the rest of the way.
+                hints.remove(ReaderHint.IGNORE_SCALE);
+                hints.add(ReaderHint.ALREADY_CROPPED);
+                reductionFactor = new ReductionFactor(pageReductionFactor);
+                final int pageIndex = page - 1;
+                final float dpi = new RasterizationHelper().
+                        getDPI(pageReductionFactor);
+                final BufferedImage pageImage = cache.getPage(
+                        PdfDocumentCache.DocumentKey.forFile(sourceFile),
+                        pageIndex, dpi, () -> readImage(pageIndex, dpi));
+                image = Java2DUtil.cropCopy(pageImage, crop, reductionFactor);
+            } else if (crop != null &&
+                    crop.hasEffect(imageInfo.getSize(), opList)) {
+                // Rasterize only the cropped region, at the requested scale.
+                hints.add(ReaderHint.ALREADY_CROPPED);
+                image = readRegion(page - 1, crop, scale);
+            } else {
+                image = readImage(page - 1, scale, imageInfo.getSize());
+            }
 
             postProcess(image, hints, opList, imageInfo, reductionFactor,
                     outputStream);
@@ -114,6 +157,33 @@ class PdfBoxProcessor extends AbstractJava2DProcessor
         }
     }
 
+    /**
+     * @return Shared document cache, or {@literal null} if it is disabled or
+     *         the source is not a file.
+     */
+    private PdfDocumentCache getDocumentCache() {
+        return (sourceFile != null) ? PdfDocumentCache.getInstance() : null;
+    }
+
+    /**
+     * @param crop     Crop operation. May be {@literal null}.
+     * @param scale    Scale operation.
+     * @param fullSize Size of the page at the base DPI.
+     * @return         Reduction factor of the page raster from which the
+     *                 requested region can be cropped without upscaling. It
+     *                 is negative if the region needs a higher DPI than the
+     *                 base DPI, in which case rasterizing the whole page
+     *                 would be wasteful.
+     */
+    private static int getPageReductionFactor(Crop crop,
+                                              Scale scale,
+                                              Dimension fullSize) {
+        final Dimension regionSize = (crop != null) ?
+                crop.getRectangle(fullSize).getSize() : fullSize;
+        final RasterizationHelper helper = new RasterizationHelper();
+        return helper.getReductionFactor(helper.getDPI(scale, regionSize));
+    }
+
     /**
      * @param options Operation list options map.
      * @return Page number from the given options map, or {@literal 1} if not
@@ -133,32 +203,57 @@ class PdfBoxProcessor extends AbstractJava2DProcessor
         return Math.max(page, 1);
     }
 
-    private void readDocument() throws IOException {
-        if (doc == null) {
-            final Stopwatch watch = new Stopwatch();
+    private PDDocument loadDocument() throws IOException {
+        final Stopwatch watch = new Stopwatch();
 
-            if (sourceFile != null) {
-                doc = PDDocument.load(sourceFile.toFile());
-            } else {
-                try (InputStream is = streamFactory.newInputStream()) {
-                    doc = PDDocument.load(is);
-                }
+        PDDocument document;
+        if (sourceFile != null) {
+            document = PDDocument.load(sourceFile.toFile());
+        } else {
+            try (InputStream is = streamFactory.newInputStream()) {
+                document = PDDocument.load(is);
             }
+        }
 
-            // Disable the document's cache of PDImageXObjects
-            // See: https://pdfbox.apache.org/2.0/faq.html#outofmemoryerror
-            // This cache has never proven to be a problem, but it's not needed.
-            doc.setResourceCache(new DefaultResourceCache() {
-                @Override
-                public void put(COSObject indirect, PDXObject xobject) {
-                    // no-op
-                }
-            });
+        // Disable the document's cache of PDImageXObjects
+        // See: https://pdfbox.apache.org/2.0/faq.html#outofmemoryerror
+        // This cache has never proven to be a problem, but it's not needed.
+        document.setResourceCache(new DefaultResourceCache() {
+            @Override
+            public void put(COSObject indirect, PDXObject xobject) {
+                // no-op
+            }
+        });
+
+        LOGGER.debug("Loaded document in {}", watch);
+        return document;
+    }
 
-            LOGGER.debug("Loaded document in {}", watch);
+    private void readDocument() throws IOException {
+        if (doc == null) {
+            doc = loadDocument();
         }
     }
 
+    /**
+     * Applies the given function to the document, which will be a leased
+     * instance from the {@link #getDocumentCache() document cache} if it is
+     * available, or the instance's own otherwise.
+     */
+    private <T> T withDocument(DocumentFunction<T> function)
+            throws IOException {
+        final PdfDocumentCache cache = getDocumentCache();
+        if (cache != null) {
+            try (PdfDocumentCache.Lease lease = cache.acquire(
+                    PdfDocumentCache.DocumentKey.forFile(sourceFile),
+                    this::loadDocument)) {
+                return function.apply(lease.getDocument());
+            }
+        }
+        readDocument();
+        return function.apply(doc);
+    }
+
     /**
      * @return Rasterized page of the PDF.
      */
@@ -178,15 +273,66 @@ class PdfBoxProcessor extends AbstractJava2DProcessor
                                     float dpi) throws IOException {
         LOGGER.debug("DPI: {}", dpi);
 
-        readDocument();
-        PDFRenderer renderer = new PDFRenderer(doc);
-        return renderer.renderImageWithDPI(pageIndex, dpi);
+        return withDocument(document ->
+                new PDFRenderer(document).renderImageWithDPI(pageIndex, dpi));
+    }
+
+    /**
+     * Rasterizes only the region of a page corresponding to the given crop,
+     * by clipping and translating the graphics context that the page is
+     * drawn into, which is much cheaper than rasterizing the whole page when
+     * the region is small.
+     *
+     * @param pageIndex Zero-based page index.
+     * @param crop      Crop operation.
+     * @param scale     Scale operation. If it is not {@link
+     *                  Scale.Mode#NON_ASPECT_FILL}, the region is rasterized
+     *                  at the scale it specifies; otherwise at the base DPI.
+     * @return          Rasterized region.
+     * @throws IllegalArgumentException if the given page index is out of
+     *                                   bounds.
+     */
+    private BufferedImage readRegion(int pageIndex,
+                                     Crop crop,
+                                     Scale scale) throws IOException {
+        final RasterizationHelper helper = new RasterizationHelper();
+        final float baseScale = helper.getBaseDPI() / 72f;
+
+        return withDocument(document -> {
+            final Dimension pageSize =
+                    getSize(document.getPage(pageIndex), baseScale);
+            final Rectangle region = crop.getRectangle(pageSize);
+            final float dpi = helper.getDPI(scale, region.getSize());
+            final float pct = dpi / helper.getBaseDPI();
+            final int width = Math.max(1, Math.round(region.width * pct));
+            final int height = Math.max(1, Math.round(region.height * pct));
+
+            LOGGER.debug("readRegion(): rendering {}x{} region of page {} " +
+                            "at {} DPI", width, height, pageIndex + 1, dpi);
+
+            final BufferedImage image = new BufferedImage(
+                    width, height, BufferedImage.TYPE_INT_RGB);
+            final Graphics2D g2d = image.createGraphics();
+            try {
+                g2d.setBackground(Color.WHITE);
+                g2d.clearRect(0, 0, width, height);
+                g2d.clipRect(0, 0, width, height);
+                g2d.translate(-region.x * pct, -region.y * pct);
+                new PDFRenderer(document).renderPageToGraphics(
+                        pageIndex, g2d, dpi / 72f);
+            } finally {
+                g2d.dispose();
+            }
+            return image;
+        });
     }
 
     @Override
     public Info readImageInfo() throws IOException {
-        readDocument();
+        return withDocument(this::readImageInfo);
+    }
 
+    private Info readImageInfo(PDDocument document) {
         final Configuration config = Configuration.getInstance();
         final int dpi = config.getInt(Key.PROCESSOR_DPI, FALLBACK_DPI);
         final float scale = dpi / 72f;
@@ -196,24 +342,10 @@ class PdfBoxProcessor extends AbstractJava2DProcessor
                 .build();
         info.getImages().clear();
 
-        for (int i = 0; i < doc.getNumberOfPages(); i++) {
+        for (int i = 0; i < document.getNumberOfPages(); i++) {
             // PDF doesn't have native dimensions, so figure out the dimensions
             // at the current DPI setting.
-            final PDPage page = doc.getPage(i);
-            final PDRectangle cropBox = page.getCropBox();
-            final float widthPt = cropBox.getWidth();
-            final float heightPt = cropBox.getHeight();
-            final int rotationAngle = page.getRotation();
-
-            int widthPx = Math.round(widthPt * scale);
-            int heightPx = Math.round(heightPt * scale);
-            if (rotationAngle == 90 || rotationAngle == 270) {
-                int tmp = widthPx;
-                widthPx = heightPx;
-                heightPx = tmp;
-            }
-
-            Dimension size = new Dimension(widthPx, heightPx);
+            final Dimension size = getSize(document.getPage(i), scale);
             Info.Image image = new Info.Image();
             image.setSize(size);
             image.setTileSize(size);
@@ -222,6 +354,28 @@ class PdfBoxProcessor extends AbstractJava2DProcessor
         return info;
     }
 
+    /**
+     * @param page  Page.
+     * @param scale Ratio of pixels to points.
+     * @return      Pixel dimensions of the given page when rasterized at the
+     *              given scale, taking its rotation into account.
+     */
+    private static Dimension getSize(PDPage page, float scale) {
+        final PDRectangle cropBox = page.getCropBox();
+        final float widthPt = cropBox.getWidth();
+        final float heightPt = cropBox.getHeight();
+        final int rotationAngle = page.getRotation();
+
+        int widthPx = Math.round(widthPt * scale);
+        int heightPx = Math.round(heightPt * scale);
+        if (rotationAngle == 90 || rotationAngle == 270) {
+            int tmp = widthPx;
+            widthPx = heightPx;
+            heightPx = tmp;
+        }
+        return new Dimension(widthPx, heightPx);
+    }
+
     @Override
     public void setSourceFile(Path sourceFile) {
         this.streamFactory = null;
@@ -246,8 +400,8 @@ class PdfBoxProcessor extends AbstractJava2DProcessor
         if (pageStr != null) {
             final int page = Integer.parseInt(pageStr);
             try {
-                readDocument();
-                if (page > doc.getNumberOfPages()) {
+                final int numPages = withDocument(PDDocument::getNumberOfPages);
+                if (page > numPages) {
                     close();
                     throw new IllegalArgumentException(
                             "Page number is out-of-bounds.");
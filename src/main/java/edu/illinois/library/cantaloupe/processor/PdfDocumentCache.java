@@ -0,0 +1,394 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.util.StringUtil;
+import org.apache.commons.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>Shared, size-bounded cache of loaded {@link PDDocument}s and rasterized
+ * pages used by {@link PdfBoxProcessor}, so that requests for different
+ * pages, tiles, and sizes of the same PDF don't each have to re-parse the
+ * whole document.</p>
+ *
+ * <p>Documents are keyed on their source file and its last-modified time, so
+ * a changed file will be loaded afresh. They are weighed by source file size
+ * (a rough but serviceable proxy for their parsed size), and rasterized pages
+ * by their raster size.</p>
+ *
+ * <p>{@link PDDocument} is not thread-safe, so each cached document is only
+ * ever used by one thread at a time: {@link #acquire} returns a {@link Lease}
+ * that holds the document's lock until it is {@link Lease#close() closed}.
+ * Evicted documents are closed once all outstanding leases on them have been
+ * released.</p>
+ */
+final class PdfDocumentCache {
+
+    /**
+     * Loads a document on a cache miss.
+     */
+    @FunctionalInterface
+    interface DocumentLoader {
+        PDDocument load() throws IOException;
+    }
+
+    /**
+     * Renders a page on a cache miss.
+     */
+    @FunctionalInterface
+    interface PageRenderer {
+        BufferedImage render() throws IOException;
+    }
+
+    /**
+     * Identifies a version of a source file.
+     */
+    static final class DocumentKey {
+
+        private final Path path;
+        private final long lastModified;
+
+        /**
+         * @param path Source file.
+         * @return     Key for the current version of the given file.
+         */
+        static DocumentKey forFile(Path path) throws IOException {
+            return new DocumentKey(path,
+                    Files.getLastModifiedTime(path).toMillis());
+        }
+
+        DocumentKey(Path path, long lastModified) {
+            this.path = path;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            } else if (obj instanceof DocumentKey) {
+                DocumentKey other = (DocumentKey) obj;
+                return path.equals(other.path) &&
+                        lastModified == other.lastModified;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, lastModified);
+        }
+
+        @Override
+        public String toString() {
+            return path + "@" + lastModified;
+        }
+
+    }
+
+    private static final class PageKey {
+
+        private final DocumentKey documentKey;
+        private final int pageIndex;
+        private final float dpi;
+
+        PageKey(DocumentKey documentKey, int pageIndex, float dpi) {
+            this.documentKey = documentKey;
+            this.pageIndex = pageIndex;
+            this.dpi = dpi;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            } else if (obj instanceof PageKey) {
+                PageKey other = (PageKey) obj;
+                return documentKey.equals(other.documentKey) &&
+                        pageIndex == other.pageIndex &&
+                        Float.compare(dpi, other.dpi) == 0;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(documentKey, pageIndex, dpi);
+        }
+
+    }
+
+    /**
+     * Cached document along with the state needed to share it safely.
+     */
+    private static final class Entry {
+
+        private final PDDocument document;
+        private final long size;
+        private final ReentrantLock lock = new ReentrantLock();
+        private int numLeases;
+        private boolean isEvicted, isClosed;
+
+        Entry(PDDocument document, long size) {
+            this.document = document;
+            this.size = size;
+        }
+
+        private void closeIfUnused() {
+            if (isEvicted && numLeases == 0 && !isClosed) {
+                IOUtils.closeQuietly(document);
+                isClosed = true;
+            }
+        }
+
+        synchronized void evict() {
+            isEvicted = true;
+            closeIfUnused();
+        }
+
+        synchronized void release() {
+            numLeases--;
+            closeIfUnused();
+        }
+
+        /**
+         * @return Whether the entry could be retained, which is not the case
+         *         if it has already been closed.
+         */
+        synchronized boolean retain() {
+            if (isClosed) {
+                return false;
+            }
+            numLeases++;
+            return true;
+        }
+
+    }
+
+    /**
+     * Exclusive access to a cached document. Must be closed when done.
+     */
+    static final class Lease implements AutoCloseable {
+
+        private final Entry entry;
+        private boolean isClosed;
+
+        private Lease(Entry entry) {
+            this.entry = entry;
+        }
+
+        PDDocument getDocument() {
+            return entry.document;
+        }
+
+        @Override
+        public void close() {
+            if (!isClosed) {
+                isClosed = true;
+                entry.lock.unlock();
+                entry.release();
+            }
+        }
+
+    }
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(PdfDocumentCache.class);
+
+    private static final String DEFAULT_MAX_SIZE = "256M";
+
+    private static PdfDocumentCache instance;
+
+    /**
+     * Weighed in kilobytes.
+     */
+    private final Cache<DocumentKey, Entry> documents;
+
+    /**
+     * Weighed in kilobytes. May be {@literal null} if page caching is
+     * disabled.
+     */
+    private final Cache<PageKey, BufferedImage> pages;
+
+    /**
+     * @return Shared instance, or {@literal null} if caching is disabled via
+     *         {@link Key#PDFBOXPROCESSOR_CACHE_ENABLED}.
+     */
+    static synchronized PdfDocumentCache getInstance() {
+        final Configuration config = Configuration.getInstance();
+        if (!config.getBoolean(Key.PDFBOXPROCESSOR_CACHE_ENABLED, false)) {
+            return null;
+        }
+        if (instance == null) {
+            final long documentMaxSize = StringUtil.toByteSize(config.getString(
+                    Key.PDFBOXPROCESSOR_CACHE_DOCUMENT_MAX_SIZE,
+                    DEFAULT_MAX_SIZE));
+            final long pageMaxSize = StringUtil.toByteSize(config.getString(
+                    Key.PDFBOXPROCESSOR_CACHE_PAGE_MAX_SIZE,
+                    DEFAULT_MAX_SIZE));
+            instance = new PdfDocumentCache(documentMaxSize, pageMaxSize);
+        }
+        return instance;
+    }
+
+    /**
+     * For testing only.
+     */
+    static synchronized void clearInstance() {
+        if (instance != null) {
+            instance.purge();
+            instance = null;
+        }
+    }
+
+    /**
+     * @return Approximate size of the given image's raster data in bytes.
+     */
+    private static long sizeOf(BufferedImage image) {
+        final DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() *
+                DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+
+    private static int toKilobytes(long bytes) {
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, bytes / 1024));
+    }
+
+    /**
+     * @param documentMaxSize Maximum combined size of the source files of the
+     *                        cached documents, in bytes.
+     * @param pageMaxSize     Maximum combined size of the cached page rasters,
+     *                        in bytes. If {@literal 0}, pages are not cached.
+     */
+    PdfDocumentCache(long documentMaxSize, long pageMaxSize) {
+        documents = Caffeine.newBuilder()
+                .maximumWeight(documentMaxSize / 1024)
+                .<DocumentKey, Entry>weigher((key, entry) ->
+                        toKilobytes(entry.size))
+                .executor(Runnable::run)
+                .removalListener((DocumentKey key, Entry entry,
+                                  RemovalCause cause) -> {
+                    LOGGER.debug("Evicting {} ({})", key, cause);
+                    entry.evict();
+                })
+                .build();
+        if (pageMaxSize > 0) {
+            pages = Caffeine.newBuilder()
+                    .maximumWeight(pageMaxSize / 1024)
+                    .<PageKey, BufferedImage>weigher((key, image) ->
+                            toKilobytes(sizeOf(image)))
+                    .build();
+        } else {
+            pages = null;
+        }
+    }
+
+    /**
+     * Returns a lease on the document with the given key, loading it with
+     * the given loader if it is not cached. The lease grants exclusive use of
+     * the document and must be closed when done.
+     *
+     * @param key    Document key.
+     * @param loader Loads the document on a cache miss.
+     * @return       Lease on the document.
+     */
+    Lease acquire(DocumentKey key,
+                  DocumentLoader loader) throws IOException {
+        while (true) {
+            final Entry entry;
+            try {
+                entry = documents.get(key, k -> {
+                    try {
+                        LOGGER.debug("Loading {}", k);
+                        return new Entry(loader.load(),
+                                Files.size(k.path));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            // If the entry was evicted and closed since it was retrieved,
+            // try again.
+            if (entry.retain()) {
+                entry.lock.lock();
+                return new Lease(entry);
+            }
+        }
+    }
+
+    /**
+     * Returns the given page rasterized at the given DPI, rendering it with
+     * the given renderer if it is not cached.
+     *
+     * N.B.: the returned image is shared and must not be modified.
+     *
+     * @param key       Document key.
+     * @param pageIndex Zero-based page index.
+     * @param dpi       Rasterization DPI.
+     * @param renderer  Renders the page on a cache miss.
+     * @return          Rasterized page.
+     * @throws IllegalStateException if page caching is disabled.
+     */
+    BufferedImage getPage(DocumentKey key,
+                          int pageIndex,
+                          float dpi,
+                          PageRenderer renderer) throws IOException {
+        if (!isPageCachingEnabled()) {
+            throw new IllegalStateException("Page caching is disabled");
+        }
+        try {
+            return pages.get(new PageKey(key, pageIndex, dpi), k -> {
+                try {
+                    return renderer.render();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    boolean isPageCachingEnabled() {
+        return (pages != null);
+    }
+
+    /**
+     * Invalidates all cached documents and pages. Documents currently leased
+     * are closed when their leases are released.
+     */
+    void purge() {
+        documents.invalidateAll();
+        documents.cleanUp();
+        if (pages != null) {
+            pages.invalidateAll();
+            pages.cleanUp();
+        }
+    }
+
+    /**
+     * @return Number of cached documents.
+     */
+    long size() {
+        documents.cleanUp();
+        return documents.estimatedSize();
+    }
+
+}
@@ -0,0 +1,124 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.metrics.ServerTiming;
+import edu.illinois.library.cantaloupe.util.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * <p>Limits the number of requests that may be {@link Processor#process
+ * processing} an image at once, independently of the number of requests
+ * being handled.</p>
+ *
+ * <p>When requests are handled on a bounded pool of platform threads, the
+ * size of that pool indirectly limits the amount of concurrent decoding and
+ * encoding. When they are handled on virtual threads (see {@link
+ * Key#HTTP_VIRTUAL_THREADS_ENABLED}), it doesn't, and requests that have all
+ * finished waiting on slow sources at once would otherwise compete for the
+ * CPU and for heap. Requests in excess of the limit wait, in arrival order,
+ * for a permit.</p>
+ *
+ * <p>A permit is held for the whole time that a processor is reading the
+ * source image and writing the result, so the result must not be written
+ * directly to the client, or the time taken by slow clients would count
+ * against the limit too. {@link
+ * edu.illinois.library.cantaloupe.resource.ImageRepresentation} buffers
+ * it.</p>
+ *
+ * @since 4.0
+ */
+public final class ProcessingLimiter {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(ProcessingLimiter.class);
+
+    private static ProcessingLimiter instance;
+
+    private final int maxConcurrent;
+
+    /**
+     * {@literal null} when {@link #maxConcurrent} is {@literal 0}.
+     */
+    private final Semaphore permits;
+
+    /**
+     * For testing only!
+     */
+    static synchronized void clearInstance() {
+        instance = null;
+    }
+
+    /**
+     * Returns the shared instance. The limit is read from {@link
+     * Key#PROCESSOR_MAX_CONCURRENT}. If that is {@literal 0}, there is no
+     * limit.
+     *
+     * @return Shared instance.
+     */
+    public static synchronized ProcessingLimiter getInstance() {
+        if (instance == null) {
+            final int max = Configuration.getInstance().
+                    getInt(Key.PROCESSOR_MAX_CONCURRENT, 0);
+            instance = new ProcessingLimiter(max);
+            LOGGER.debug("Concurrent processing limit: {}",
+                    (max > 0) ? max : "none");
+        }
+        return instance;
+    }
+
+    /**
+     * @param maxConcurrent Maximum number of concurrent permits. If
+     *                      {@literal 0} or less, there is no limit.
+     */
+    ProcessingLimiter(int maxConcurrent) {
+        this.maxConcurrent = Math.max(0, maxConcurrent);
+        this.permits = (this.maxConcurrent > 0) ?
+                new Semaphore(this.maxConcurrent, true) : null;
+    }
+
+    /**
+     * Blocks until a permit is available. Every successful invocation must
+     * be followed by an invocation of {@link #release()}. Time spent waiting
+     * is recorded to the current {@link ServerTiming} as {@literal queue}.
+     *
+     * @throws InterruptedException if the calling thread is interrupted while
+     *                              waiting.
+     */
+    public void acquire() throws InterruptedException {
+        if (permits != null && !permits.tryAcquire()) {
+            final Stopwatch watch = new Stopwatch();
+            permits.acquire();
+            ServerTiming.record("queue", watch);
+            LOGGER.trace("acquire(): waited {}", watch);
+        }
+    }
+
+    /**
+     * @return Maximum number of concurrent permits, or {@literal 0} if there
+     *         is no limit.
+     */
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /**
+     * @return Approximate number of threads waiting for a permit.
+     */
+    public int getWaitingCount() {
+        return (permits != null) ? permits.getQueueLength() : 0;
+    }
+
+    /**
+     * Releases a permit acquired with {@link #acquire()}.
+     */
+    public void release() {
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+}
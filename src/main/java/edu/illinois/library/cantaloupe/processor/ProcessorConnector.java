@@ -4,20 +4,25 @@ import edu.illinois.library.cantaloupe.Application;
 import edu.illinois.library.cantaloupe.cache.CacheFactory;
 import edu.illinois.library.cantaloupe.cache.SourceCache;
 import edu.illinois.library.cantaloupe.cache.CacheDisabledException;
+import edu.illinois.library.cantaloupe.cache.GrowingFile;
 import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.metrics.ServerTiming;
 import edu.illinois.library.cantaloupe.source.FileSource;
+import edu.illinois.library.cantaloupe.source.GrowingFileStreamFactory;
 import edu.illinois.library.cantaloupe.source.PathStreamFactory;
 import edu.illinois.library.cantaloupe.source.Source;
 import edu.illinois.library.cantaloupe.source.StreamFactory;
 import edu.illinois.library.cantaloupe.source.StreamSource;
+import edu.illinois.library.cantaloupe.util.Stopwatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
 /**
@@ -75,8 +80,13 @@ public final class ProcessorConnector {
      *             processor will read that.</li>
      *             <li>If it is set to {@link RetrievalStrategy#CACHE}, the
      *             source image will be downloaded to the source cache, and the
-     *             processor will read the file returned by {@link
-     *             SourceCache#getSourceImageFile(Identifier)}. This will
+     *             processor will read it from there. If the source cache
+     *             supports {@link SourceCache#getGrowingSourceImageFile
+     *             reading while writing}, the processor (along with those of
+     *             any other threads requesting the same image) will start
+     *             reading it while it is still downloading; otherwise, it will
+     *             read the file returned by {@link
+     *             SourceCache#getSourceImageFile(Identifier)}, which will
      *             block all threads that are calling with the same argument,
      *             forcing them to wait for it to download.</li>
      *         </ul>
@@ -124,6 +134,20 @@ public final class ProcessorConnector {
                                 Format sourceFormat) throws IOException,
             CacheDisabledException, IncompatibleSourceException,
             InterruptedException {
+        final Stopwatch watch = new Stopwatch();
+        try {
+            return doConnect(source, processor, identifier, sourceFormat);
+        } finally {
+            ServerTiming.record("connect", watch);
+        }
+    }
+
+    private Future<Path> doConnect(Source source,
+                                   Processor processor,
+                                   Identifier identifier,
+                                   Format sourceFormat) throws IOException,
+            CacheDisabledException, IncompatibleSourceException,
+            InterruptedException {
         final String sourceName = source.getClass().getSimpleName();
         final String processorName = processor.getClass().getSimpleName();
 
@@ -219,9 +243,8 @@ public final class ProcessorConnector {
 
                         SourceCache sourceCache = CacheFactory.getSourceCache();
                         if (sourceCache != null) {
-                            Path file = downloadToSourceCache(
-                                    streamFactory, sourceCache, identifier);
-                            connect(sourceCache, file, processor);
+                            connectWhileDownloading(streamFactory, sourceCache,
+                                    identifier, (StreamProcessor) processor);
                         } else {
                             throw new CacheDisabledException("Source cache is disabled.");
                         }
@@ -267,6 +290,55 @@ public final class ProcessorConnector {
         }
     }
 
+    /**
+     * Acquires the source image with the given identifier from the given
+     * source cache, downloading it if necessary, and configures the given
+     * processor to read it&mdash;before the download is complete, if the
+     * source cache supports that.
+     *
+     * @param streamFactory Source of streams from which to read the source
+     *                      image, if necessary.
+     * @param sourceCache   Source cache from which to read the source image,
+     *                      and to which to download it, if necessary.
+     * @param identifier    Identifier of the source image.
+     * @param processor     Processor to configure.
+     */
+    private void connectWhileDownloading(StreamFactory streamFactory,
+                                         SourceCache sourceCache,
+                                         Identifier identifier,
+                                         StreamProcessor processor)
+            throws IOException {
+        final SourceCacheDownload dl = new SourceCacheDownload(
+                streamFactory, sourceCache, identifier);
+        final Future<?> future = dl.downloadAsync();
+        try {
+            final GrowingFile growingFile = dl.awaitGrowingFile();
+            if (growingFile != null) {
+                LOGGER.info("{} -> {} connection between {} (while " +
+                                "downloading) and {}",
+                        SourceCache.class.getSimpleName(),
+                        StreamProcessor.class.getSimpleName(),
+                        sourceCache.getClass().getSimpleName(),
+                        processor.getClass().getSimpleName());
+                processor.setStreamFactory(
+                        new GrowingFileStreamFactory(growingFile));
+                return;
+            }
+            // Either the image was already cached, or the source cache
+            // doesn't support reading while writing. Either way, wait for the
+            // download to complete.
+            future.get();
+            connect(sourceCache, dl.get(), processor);
+        } catch (InterruptedException e) {
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
     /**
      * Acquires the source image with the given identifier from the given
      * source cache, downloading it if necessary, and configures the given
@@ -3,6 +3,7 @@ package edu.illinois.library.cantaloupe.processor;
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
 
 import java.util.Arrays;
 import java.util.HashSet;
@@ -66,6 +67,8 @@ public class ProcessorFactory {
 
             processor.setSourceFormat(sourceFormat);
 
+            MetricRegistry.getInstance().recordProcessorUse(
+                    class_.getSimpleName());
             return processor;
         } catch (ClassNotFoundException e) {
             throw new ClassNotFoundException(processorName + " does not exist", e);
@@ -13,6 +13,8 @@ class RasterizationHelper {
 
     private static final int FALLBACK_DPI = 150;
 
+    private static final int MAX_REDUCTION_FACTOR = 8;
+
     private int baseDPI;
 
     RasterizationHelper() {
@@ -44,6 +46,23 @@ class RasterizationHelper {
         return dpi;
     }
 
+    /**
+     * @param dpi Required DPI.
+     * @return    Largest reduction factor whose {@link #getDPI(int) DPI} is
+     *            at least the given DPI. It is negative if the given DPI is
+     *            greater than the base DPI.
+     */
+    int getReductionFactor(float dpi) {
+        int rf = 0;
+        while (rf < MAX_REDUCTION_FACTOR && getDPI(rf + 1) >= dpi) {
+            rf++;
+        }
+        while (getDPI(rf) < dpi) {
+            rf--;
+        }
+        return rf;
+    }
+
     float getDPI(Scale scale, Dimension fullSize) {
         Float pct = scale.getResultingScale(fullSize);
         if (pct != null) {
@@ -1,6 +1,8 @@
 package edu.illinois.library.cantaloupe.processor;
 
 import edu.illinois.library.cantaloupe.async.ThreadPool;
+import edu.illinois.library.cantaloupe.cache.CompletableOutputStream;
+import edu.illinois.library.cantaloupe.cache.GrowingFile;
 import edu.illinois.library.cantaloupe.cache.SourceCache;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.source.StreamFactory;
@@ -15,9 +17,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Path;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -31,11 +35,12 @@ final class SourceCacheDownload implements Future<Path> {
             LoggerFactory.getLogger(SourceCacheDownload.class);
 
     /**
-     * Set of identifiers of images that are currently being downloaded in any
-     * thread. Used to avoid concurrent downloads.
+     * Downloads currently in progress in any thread, keyed by identifier.
+     * Used to avoid concurrent downloads of the same image: later downloads
+     * attach to the one in progress instead.
      */
-    private static final Set<Identifier> DOWNLOADING_IMAGES =
-            ConcurrentHashMap.newKeySet();
+    private static final ConcurrentMap<Identifier, SourceCacheDownload>
+            DOWNLOADS_IN_PROGRESS = new ConcurrentHashMap<>();
 
     private static final int STREAM_BUFFER_SIZE = 32768;
 
@@ -45,6 +50,8 @@ final class SourceCacheDownload implements Future<Path> {
     private static final short MAX_NUM_SOURCE_CACHE_RETRIEVAL_ATTEMPTS = 2;
 
     private final CountDownLatch downloadLatch      = new CountDownLatch(1);
+    private final CompletableFuture<GrowingFile> growingFile =
+            new CompletableFuture<>();
     private final AtomicBoolean isCancelled         = new AtomicBoolean();
     private final AtomicBoolean isDownloadAttempted = new AtomicBoolean();
     private final AtomicBoolean mayInterrupt        = new AtomicBoolean();
@@ -60,15 +67,39 @@ final class SourceCacheDownload implements Future<Path> {
         this.identifier = identifier;
     }
 
-    void downloadAsync() {
+    /**
+     * Blocks until the image has started being written to the source cache,
+     * or the download is done.
+     *
+     * @return Instance representing the image being written to the source
+     *         cache, which can be read while it is being written; or {@literal
+     *         null} if the download is done or the source cache doesn't
+     *         support {@link SourceCache#getGrowingSourceImageFile reading
+     *         while writing}, in which case clients should wait for {@link
+     *         #get()}.
+     */
+    GrowingFile awaitGrowingFile() throws InterruptedException {
+        try {
+            return growingFile.get();
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return Future that will complete (with {@literal null} or an {@link
+     *         IOException}) when the download is done.
+     */
+    Future<?> downloadAsync() {
         if (isDownloadAttempted.get()) {
-            return;
+            return CompletableFuture.completedFuture(null);
         }
-        ThreadPool.getInstance().submit(() -> {
+        return ThreadPool.getInstance().submit(() -> {
             try {
                 downloadSync();
             } catch (IOException e) {
                 LOGGER.error("downloadAsync(): {}", e.getMessage());
+                throw e;
             }
             return null;
         });
@@ -83,6 +114,7 @@ final class SourceCacheDownload implements Future<Path> {
         boolean succeeded = false;
         short numAttempts = 0;
         try {
+            attachToDownloadInProgress();
             do {
                 numAttempts++;
                 try {
@@ -108,10 +140,41 @@ final class SourceCacheDownload implements Future<Path> {
                 }
             } while (!succeeded && numAttempts < MAX_NUM_SOURCE_CACHE_RETRIEVAL_ATTEMPTS);
         } finally {
+            growingFile.complete(null);
             downloadLatch.countDown();
         }
     }
 
+    /**
+     * If the image is already being written to the source cache, in another
+     * thread, completes {@link #growingFile} with it, so that {@link
+     * #awaitGrowingFile()} returns without waiting for that download to
+     * complete. ({@link SourceCache#getSourceImageFile} would block until it
+     * does.)
+     */
+    private void attachToDownloadInProgress() {
+        GrowingFile inProgressFile =
+                sourceCache.getGrowingSourceImageFile(identifier);
+        if (inProgressFile == null) {
+            // The other download may not have opened its stream yet.
+            final SourceCacheDownload inProgress =
+                    DOWNLOADS_IN_PROGRESS.get(identifier);
+            if (inProgress != null && inProgress != this) {
+                try {
+                    inProgressFile = inProgress.awaitGrowingFile();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        if (inProgressFile != null) {
+            LOGGER.debug("attachToDownloadInProgress(): attaching to {}",
+                    identifier);
+            growingFile.complete(inProgressFile);
+        }
+    }
+
     /**
      * Downloads the source image with the given identifier from the given
      * source to the given source cache.
@@ -124,32 +187,50 @@ final class SourceCacheDownload implements Future<Path> {
     private void downloadToSourceCache(StreamFactory streamFactory,
                                        SourceCache sourceCache,
                                        Identifier identifier) throws IOException {
-        synchronized (DOWNLOADING_IMAGES) {
-            while (DOWNLOADING_IMAGES.contains(identifier)) {
-                try {
-                    LOGGER.debug("downloadToSourceCache(): waiting on {}...",
-                            identifier);
-                    DOWNLOADING_IMAGES.wait();
-                } catch (InterruptedException e) {
-                    break;
-                }
+        final SourceCacheDownload inProgress =
+                DOWNLOADS_IN_PROGRESS.putIfAbsent(identifier, this);
+        if (inProgress != null) {
+            LOGGER.debug("downloadToSourceCache(): attaching to {}...",
+                    identifier);
+            try {
+                growingFile.complete(inProgress.awaitGrowingFile());
+                inProgress.downloadLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // If the other download failed, try again.
+            if (sourceCache.getSourceImageFile(identifier) == null) {
+                downloadToSourceCache(streamFactory, sourceCache, identifier);
             }
+            return;
+        }
 
+        try {
             if (sourceCache.getSourceImageFile(identifier) != null) {
                 return;
             }
-
-            DOWNLOADING_IMAGES.add(identifier);
+            download(streamFactory, sourceCache, identifier);
+        } finally {
+            DOWNLOADS_IN_PROGRESS.remove(identifier, this);
         }
+    }
 
+    private void download(StreamFactory streamFactory,
+                          SourceCache sourceCache,
+                          Identifier identifier) throws IOException {
         final Stopwatch watch = new Stopwatch();
 
         try (InputStream is = new BufferedInputStream(
                 streamFactory.newInputStream(),
                 STREAM_BUFFER_SIZE);
+             CompletableOutputStream cacheOS =
+                     sourceCache.newSourceImageOutputStream(identifier);
              OutputStream os = new BufferedOutputStream(
-                     sourceCache.newSourceImageOutputStream(identifier),
-                     STREAM_BUFFER_SIZE)) {
+                     cacheOS, STREAM_BUFFER_SIZE)) {
+            // The stream has been opened, so clients can start reading.
+            growingFile.complete(
+                    sourceCache.getGrowingSourceImageFile(identifier));
 
             LOGGER.debug("Downloading {} to {}",
                     identifier,
@@ -163,19 +244,19 @@ final class SourceCacheDownload implements Future<Path> {
                     if (mayInterrupt.get()) {
                         Thread.currentThread().interrupt();
                     }
-                    break;
+                    // The cache stream will discard what has been written
+                    // when it is closed.
+                    LOGGER.debug("Download of {} was cancelled", identifier);
+                    return;
                 }
             }
+            os.flush();
+            cacheOS.setCompletelyWritten(true);
 
             LOGGER.debug("Downloaded {} to {} in {}",
                     identifier,
                     SourceCache.class.getSimpleName(),
                     watch);
-        } finally {
-            DOWNLOADING_IMAGES.remove(identifier);
-            synchronized (DOWNLOADING_IMAGES) {
-                DOWNLOADING_IMAGES.notifyAll();
-            }
         }
     }
 
@@ -0,0 +1,252 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import java.awt.Image;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Vector;
+
+/**
+ * <p>{@link RenderedImage} whose tiles are full-width horizontal strips that
+ * are produced on demand by a {@link StripProducer}.</p>
+ *
+ * <p>An instance never holds more than one strip in memory, so writers that
+ * pull their input one row or strip at a time (from top to bottom) can encode
+ * an image of any height within a memory footprint of roughly {@link
+ * #getTileHeight() strip height} &times; {@link #getWidth() width}.</p>
+ *
+ * <p>Because {@link RenderedImage} methods can't throw checked exceptions,
+ * {@link IOException}s thrown by the producer are rethrown wrapped in {@link
+ * UncheckedIOException}s.</p>
+ */
+final class StripedImage implements RenderedImage {
+
+    /**
+     * Supplies the strips of a {@link StripedImage}.
+     */
+    @FunctionalInterface
+    interface StripProducer {
+
+        /**
+         * @param region Region of the strip in the coordinate space of the
+         *               {@link StripedImage}. Its width is always that of the
+         *               image, and its height is the strip height, or less in
+         *               the case of the last strip.
+         * @return       Image with the same dimensions as the region. All
+         *               strips must have the same color and sample models.
+         */
+        BufferedImage produce(Rectangle region) throws IOException;
+
+    }
+
+    private final int width, height, stripHeight;
+    private final StripProducer producer;
+
+    private ColorModel colorModel;
+    private SampleModel sampleModel;
+
+    /**
+     * Index of {@link #currentStrip}, or {@literal -1} if no strip has been
+     * produced yet.
+     */
+    private int currentStripIndex = -1;
+
+    /**
+     * Most recently produced strip, already translated into the coordinate
+     * space of the instance.
+     */
+    private Raster currentStrip;
+
+    /**
+     * @param width       Image width.
+     * @param height      Image height.
+     * @param stripHeight Height of all strips but possibly the last.
+     * @param producer    Producer of the strips.
+     */
+    StripedImage(int width, int height, int stripHeight,
+                 StripProducer producer) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Invalid dimensions");
+        } else if (stripHeight < 1) {
+            throw new IllegalArgumentException("Invalid strip height");
+        }
+        this.width = width;
+        this.height = height;
+        this.stripHeight = Math.min(stripHeight, height);
+        this.producer = producer;
+    }
+
+    /**
+     * @param stripIndex Zero-based strip index.
+     * @return           Strip at the given index, in the coordinate space of
+     *                   the instance.
+     */
+    private synchronized Raster getStrip(int stripIndex) {
+        if (stripIndex != currentStripIndex) {
+            final int y = stripIndex * stripHeight;
+            final Rectangle region = new Rectangle(
+                    0, y, width, Math.min(stripHeight, height - y));
+            try {
+                final BufferedImage strip = producer.produce(region);
+                if (colorModel == null) {
+                    colorModel = strip.getColorModel();
+                    sampleModel = strip.getSampleModel().
+                            createCompatibleSampleModel(width, stripHeight);
+                }
+                currentStrip = strip.getRaster().createTranslatedChild(0, y);
+                currentStripIndex = stripIndex;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return currentStrip;
+    }
+
+    /**
+     * @return Number of strips.
+     */
+    int getNumStrips() {
+        return getNumYTiles();
+    }
+
+    @Override
+    public WritableRaster copyData(WritableRaster raster) {
+        if (raster == null) {
+            raster = Raster.createWritableRaster(
+                    getSampleModel().createCompatibleSampleModel(
+                            width, height), null);
+        }
+        final Rectangle bounds = raster.getBounds().intersection(
+                new Rectangle(0, 0, width, height));
+        if (!bounds.isEmpty()) {
+            final int firstStrip = bounds.y / stripHeight;
+            final int lastStrip = (bounds.y + bounds.height - 1) / stripHeight;
+            for (int i = firstStrip; i <= lastStrip; i++) {
+                raster.setRect(getStrip(i));
+            }
+        }
+        return raster;
+    }
+
+    @Override
+    public ColorModel getColorModel() {
+        if (colorModel == null) {
+            getStrip(0);
+        }
+        return colorModel;
+    }
+
+    @Override
+    public Raster getData() {
+        return copyData(null);
+    }
+
+    @Override
+    public Raster getData(Rectangle rect) {
+        final WritableRaster raster = Raster.createWritableRaster(
+                getSampleModel().createCompatibleSampleModel(
+                        rect.width, rect.height),
+                new Point(rect.x, rect.y));
+        return copyData(raster);
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getMinTileX() {
+        return 0;
+    }
+
+    @Override
+    public int getMinTileY() {
+        return 0;
+    }
+
+    @Override
+    public int getMinX() {
+        return 0;
+    }
+
+    @Override
+    public int getMinY() {
+        return 0;
+    }
+
+    @Override
+    public int getNumXTiles() {
+        return 1;
+    }
+
+    @Override
+    public int getNumYTiles() {
+        return (int) Math.ceil(height / (double) stripHeight);
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        return Image.UndefinedProperty;
+    }
+
+    @Override
+    public String[] getPropertyNames() {
+        return null;
+    }
+
+    @Override
+    public SampleModel getSampleModel() {
+        if (sampleModel == null) {
+            getStrip(0);
+        }
+        return sampleModel;
+    }
+
+    @Override
+    public Vector<RenderedImage> getSources() {
+        return null;
+    }
+
+    @Override
+    public Raster getTile(int tileX, int tileY) {
+        if (tileX != 0 || tileY < 0 || tileY >= getNumYTiles()) {
+            throw new IllegalArgumentException(
+                    "Invalid tile: " + tileX + ", " + tileY);
+        }
+        return getStrip(tileY);
+    }
+
+    @Override
+    public int getTileGridXOffset() {
+        return 0;
+    }
+
+    @Override
+    public int getTileGridYOffset() {
+        return 0;
+    }
+
+    @Override
+    public int getTileHeight() {
+        return stripHeight;
+    }
+
+    @Override
+    public int getTileWidth() {
+        return width;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+}
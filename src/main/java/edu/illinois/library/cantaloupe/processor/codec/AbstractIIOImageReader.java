@@ -4,6 +4,7 @@ import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.operation.Crop;
 import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.image.Info;
 import edu.illinois.library.cantaloupe.image.Orientation;
 import edu.illinois.library.cantaloupe.operation.OperationList;
 import edu.illinois.library.cantaloupe.operation.Scale;
@@ -45,6 +46,12 @@ abstract class AbstractIIOImageReader {
      */
     ImageInputStream inputStream;
 
+    /**
+     * Set by {@link #setImageInfo}. Cleared by {@link #setSource}. May be
+     * {@literal null}.
+     */
+    private Info imageInfo;
+
     /**
      * Set by {@link #setSource}. May be {@literal null}.
      */
@@ -139,6 +146,9 @@ abstract class AbstractIIOImageReader {
      * @return Number of images contained inside the source image.
      */
     public int getNumImages() throws IOException {
+        if (imageInfo != null) {
+            return imageInfo.getImages().size();
+        }
         // The boolean argument tells getNumImages() whether to scan for
         // images, which seems to be necessary for some, but is slower.
         int numImages = iioReader.getNumImages(false);
@@ -182,6 +192,9 @@ abstract class AbstractIIOImageReader {
      * @return Pixel dimensions of the image at the given index.
      */
     public Dimension getSize(int imageIndex) throws IOException {
+        if (imageInfo != null && imageIndex < imageInfo.getImages().size()) {
+            return imageInfo.getImages().get(imageIndex).getSize();
+        }
         final int width = iioReader.getWidth(imageIndex);
         final int height = iioReader.getHeight(imageIndex);
         return new Dimension(width, height);
@@ -243,11 +256,12 @@ abstract class AbstractIIOImageReader {
 
     /**
      * Resets the source, closing any existing source input stream and creating
-     * a new one.
+     * a new one. Any {@link #setImageInfo(Info) supplied info} is retained.
      *
      * @throws UnsupportedOperationException if the instance is not reusable.
      */
     void reset() throws IOException {
+        final Info info = imageInfo;
         if (source == null) {
             throw new UnsupportedOperationException("Instance is not reusable");
         } else if (source instanceof Path) {
@@ -255,10 +269,40 @@ abstract class AbstractIIOImageReader {
         } else {
             setSource((StreamFactory) source);
         }
+        imageInfo = info;
+    }
+
+    /**
+     * <p>Supplies the structure of the source image, typically from the info
+     * cache, so that {@link #getNumImages()} and {@link #getSize(int)} don't
+     * have to parse it out of the image again. This spares e.g. a scan
+     * through all of the IFDs of a pyramidal TIFF on every request.</p>
+     *
+     * <p>The info is ignored if its source format doesn't match that of the
+     * reader, in which case it can't be trusted to describe the same
+     * layout.</p>
+     *
+     * <p>Tile sizes continue to be read from the image, as {@link Info}
+     * normalizes them in a way that doesn't necessarily match the physical
+     * layout, and they are only ever needed for subimages that are about to
+     * be read anyway.</p>
+     *
+     * @param info Info describing the image set via {@link #setSource}. May
+     *             be {@literal null}.
+     */
+    public void setImageInfo(Info info) {
+        if (info != null && !info.getImages().isEmpty() &&
+                getFormat() != null &&
+                getFormat().equals(info.getSourceFormat())) {
+            imageInfo = info;
+        } else {
+            imageInfo = null;
+        }
     }
 
     public void setSource(Path inputFile) throws IOException {
         dispose();
+        imageInfo = null;
         source = inputFile;
         try {
             if (inputStream != null) {
@@ -272,6 +316,7 @@ abstract class AbstractIIOImageReader {
 
     public void setSource(ImageInputStream inputStream) throws IOException {
         dispose();
+        imageInfo = null;
         source = null;
         this.inputStream = inputStream;
         createReader();
@@ -279,6 +324,7 @@ abstract class AbstractIIOImageReader {
 
     public void setSource(StreamFactory streamFactory) throws IOException {
         dispose();
+        imageInfo = null;
         source = streamFactory;
         try {
             if (inputStream != null) {
@@ -302,6 +348,25 @@ abstract class AbstractIIOImageReader {
         return iioReader.read(0);
     }
 
+    public BufferedImage read(int imageIndex) throws IOException {
+        return iioReader.read(imageIndex);
+    }
+
+    /**
+     * Reads the given region of the image at the given index. For tiled and
+     * striped images, only the tiles/strips intersecting the region are
+     * decoded.
+     *
+     * @param imageIndex Index of the (sub)image to read.
+     * @param region     Region to read.
+     */
+    public BufferedImage read(int imageIndex,
+                              Rectangle region) throws IOException {
+        final ImageReadParam param = iioReader.getDefaultReadParam();
+        param.setSourceRegion(region);
+        return iioReader.read(imageIndex, param);
+    }
+
     /**
      * <p>Attempts to read an image as efficiently as possible, exploiting its
      * tile layout, if possible.</p>
@@ -329,8 +394,7 @@ abstract class AbstractIIOImageReader {
 
         Crop crop = (Crop) ops.getFirst(Crop.class);
         if (crop != null && !hints.contains(ReaderHint.IGNORE_CROP)) {
-            final Dimension fullSize = new Dimension(
-                    iioReader.getWidth(0), iioReader.getHeight(0));
+            final Dimension fullSize = getSize(0);
             image = tileAwareRead(0, crop.getRectangle(fullSize), hints);
         } else {
             image = iioReader.read(0);
@@ -359,8 +423,7 @@ abstract class AbstractIIOImageReader {
             final Scale scale,
             final ReductionFactor rf,
             final Set<ReaderHint> hints) throws IOException {
-        final Dimension fullSize = new Dimension(
-                iioReader.getWidth(0), iioReader.getHeight(0));
+        final Dimension fullSize = getSize(0);
         final Rectangle regionRect = crop.getRectangle(fullSize);
         BufferedImage bestImage = null;
         if (!scale.hasEffect()) {
@@ -370,18 +433,12 @@ abstract class AbstractIIOImageReader {
                     bestImage.getWidth(), bestImage.getHeight());
         } else {
             // Pyramidal TIFFs will have > 1 image, each with half the
-            // dimensions of the previous one. The boolean parameter tells
-            // getNumImages() whether to scan for images, which seems to be
-            // necessary for at least some files, but is slower. If it is
-            // false, and getNumImages() can't find anything, it will return -1.
-            int numImages = iioReader.getNumImages(false);
+            // dimensions of the previous one. Unless we have been given the
+            // image structure, getNumImages() may have to scan for them,
+            // which is slower.
+            final int numImages = getNumImages();
             if (numImages > 1) {
                 getLogger().debug("Detected {} subimage(s)", numImages);
-            } else if (numImages == -1) {
-                numImages = iioReader.getNumImages(true);
-                if (numImages > 1) {
-                    getLogger().debug("Scan revealed {} subimage(s)", numImages);
-                }
             }
             // At this point, we know how many images are available.
             if (numImages == 1) {
@@ -393,8 +450,9 @@ abstract class AbstractIIOImageReader {
                 // Loop through the reduced images from smallest to largest to
                 // find the first one that can supply the requested scale.
                 for (int i = numImages - 1; i >= 0; i--) {
-                    final int subimageWidth = iioReader.getWidth(i);
-                    final int subimageHeight = iioReader.getHeight(i);
+                    final Dimension subimageSize = getSize(i);
+                    final int subimageWidth = subimageSize.width;
+                    final int subimageHeight = subimageSize.height;
 
                     final double reducedScale = (double) subimageWidth /
                             (double) fullSize.width;
@@ -546,8 +604,7 @@ abstract class AbstractIIOImageReader {
             final Crop crop,
             final Scale scale,
             final ReductionFactor rf) throws IOException {
-        final Dimension fullSize = new Dimension(
-                iioReader.getWidth(0), iioReader.getHeight(0));
+        final Dimension fullSize = getSize(0);
         final Rectangle regionRect = crop.getRectangle(fullSize);
         final ImageReadParam param = iioReader.getDefaultReadParam();
         RenderedImage bestImage = null;
@@ -557,18 +614,11 @@ abstract class AbstractIIOImageReader {
                     bestImage.getWidth(), bestImage.getHeight());
         } else {
             // Pyramidal TIFFs will have > 1 image, each half the dimensions of
-            // the next larger. The "true" parameter tells getNumImages() to
-            // scan for images, which seems to be necessary for at least some
-            // files, but is slower.
-            int numImages = iioReader.getNumImages(false);
+            // the next larger. Unless we have been given the image structure,
+            // getNumImages() may have to scan for them, which is slower.
+            final int numImages = getNumImages();
             if (numImages > 1) {
                 getLogger().debug("Detected {} subimage(s)", numImages - 1);
-            } else if (numImages == -1) {
-                numImages = iioReader.getNumImages(true);
-                if (numImages > 1) {
-                    getLogger().debug("Scan revealed {} subimage(s)",
-                            numImages - 1);
-                }
             }
             if (numImages == 1) {
                 bestImage = iioReader.read(0, param);
@@ -579,8 +629,9 @@ abstract class AbstractIIOImageReader {
                 // Loop through the reduced images from smallest to largest to
                 // find the first one that can supply the requested scale.
                 for (int i = numImages - 1; i >= 0; i--) {
-                    final int subimageWidth = iioReader.getWidth(i);
-                    final int subimageHeight = iioReader.getHeight(i);
+                    final Dimension subimageSize = getSize(i);
+                    final int subimageWidth = subimageSize.width;
+                    final int subimageHeight = subimageSize.height;
 
                     final double reducedScale = (double) subimageWidth /
                             (double) fullSize.width;
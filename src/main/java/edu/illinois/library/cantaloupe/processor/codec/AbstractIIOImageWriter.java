@@ -10,6 +10,7 @@ import javax.imageio.ImageTypeSpecifier;
 import javax.imageio.ImageWriteParam;
 import javax.imageio.metadata.IIOMetadata;
 import javax.imageio.metadata.IIOMetadataNode;
+import java.awt.image.BufferedImage;
 import java.awt.image.RenderedImage;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -181,4 +182,17 @@ abstract class AbstractIIOImageWriter {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Writes the given image sequence to the given output stream. This
+     * implementation throws an {@link UnsupportedOperationException} and must
+     * be overridden by writers that support image sequences.
+     *
+     * @param sequence      Iterator over the images of the sequence.
+     * @param outputStream  Stream to write the image to
+     */
+    public void write(Iterator<BufferedImage> sequence,
+                      OutputStream outputStream) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
 }
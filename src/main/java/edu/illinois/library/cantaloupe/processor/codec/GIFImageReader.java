@@ -55,7 +55,7 @@ final class GIFImageReader extends AbstractIIOImageReader
     public BufferedImageSequence readSequence() throws IOException {
         BufferedImageSequence seq = new BufferedImageSequence();
         for (int i = 0, count = getNumImages(); i < count; i++) {
-            seq.add(iioReader.read(i));
+            seq.add(read(i));
         }
         return seq;
     }
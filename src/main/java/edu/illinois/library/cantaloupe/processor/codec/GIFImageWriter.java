@@ -18,6 +18,7 @@ import java.awt.image.RenderedImage;
 import java.awt.image.renderable.ParameterBlock;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Iterator;
 
 /**
  * GIF image writer using ImageIO, capable of writing both Java 2D
@@ -176,8 +177,21 @@ final class GIFImageWriter extends AbstractIIOImageWriter
     @Override
     public void write(BufferedImageSequence sequence,
                       OutputStream outputStream) throws IOException {
+        write(sequence.iterator(), outputStream);
+    }
+
+    @Override
+    public void write(Iterator<BufferedImage> sequence,
+                      OutputStream outputStream) throws IOException {
+        if (!sequence.hasNext()) {
+            throw new IllegalArgumentException("Empty sequence");
+        }
+        // The first image is needed to construct the metadata, which is
+        // reused for all subsequent images.
+        BufferedImage image = sequence.next();
+
         final ImageWriteParam writeParam = iioWriter.getDefaultWriteParam();
-        final IIOMetadata metadata = getMetadata(writeParam, sequence.get(0));
+        final IIOMetadata metadata = getMetadata(writeParam, image);
 
         String metaFormatName = metadata.getNativeMetadataFormatName();
 
@@ -192,9 +206,13 @@ final class GIFImageWriter extends AbstractIIOImageWriter
 
             iioWriter.prepareWriteSequence(null);
 
-            for (BufferedImage image : sequence) {
+            while (true) {
                 final IIOImage iioImage = new IIOImage(image, null, metadata);
                 iioWriter.writeToSequence(iioImage, writeParam);
+                if (!sequence.hasNext()) {
+                    break;
+                }
+                image = sequence.next();
             }
             iioWriter.endWriteSequence();
             os.flush();
@@ -1,6 +1,7 @@
 package edu.illinois.library.cantaloupe.processor.codec;
 
 import edu.illinois.library.cantaloupe.image.Compression;
+import edu.illinois.library.cantaloupe.image.Info;
 import edu.illinois.library.cantaloupe.image.Orientation;
 import edu.illinois.library.cantaloupe.operation.OperationList;
 import edu.illinois.library.cantaloupe.operation.ReductionFactor;
@@ -8,6 +9,7 @@ import edu.illinois.library.cantaloupe.source.StreamFactory;
 
 import javax.imageio.stream.ImageInputStream;
 import java.awt.Dimension;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.awt.image.RenderedImage;
 import java.io.IOException;
@@ -81,6 +83,37 @@ public interface ImageReader {
      */
     BufferedImage read() throws IOException;
 
+    /**
+     * Reads the entire (sub)image at the given index into memory. This is
+     * intended for e.g. reading the frames of a sequence one at a time.
+     *
+     * @param imageIndex Index of the (sub)image to read.
+     * @throws IOException if there is an error reading the image.
+     * @throws UnsupportedOperationException if the reader does not support
+     *         reading images other than the first.
+     */
+    default BufferedImage read(int imageIndex) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Reads the given region of the image at the given index, with no
+     * subsampling. This is intended for clients that consume an image in
+     * strips or tiles, such as {@link ImageWriter writers} encoding a
+     * derivative one strip at a time.
+     *
+     * @param imageIndex Index of the (sub)image to read.
+     * @param region     Region to read, in the coordinate space of the
+     *                   (sub)image.
+     * @throws IOException if there is an error reading the image.
+     * @throws UnsupportedOperationException if the reader does not support
+     *         region reads.
+     */
+    default BufferedImage read(int imageIndex,
+                               Rectangle region) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Reads the region of the image corresponding to the given arguments.
      *
@@ -114,6 +147,20 @@ public interface ImageReader {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * <p>Supplies a previously read description of the source image, e.g. one
+     * retrieved from the info cache, which the reader may use in place of
+     * reading the same structural information (number of subimages and their
+     * dimensions) from the image itself.</p>
+     *
+     * <p>This implementation does nothing.</p>
+     *
+     * @param info Info describing the image set via {@link #setSource}. Must
+     *             be invoked after {@link #setSource}, which discards any
+     *             previously supplied instance.
+     */
+    default void setImageInfo(Info info) {}
+
     void setSource(Path imageFile) throws IOException;
 
     void setSource(ImageInputStream inputStream) throws IOException;
@@ -2,9 +2,11 @@ package edu.illinois.library.cantaloupe.processor.codec;
 
 import edu.illinois.library.cantaloupe.operation.OperationList;
 
+import java.awt.image.BufferedImage;
 import java.awt.image.RenderedImage;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Iterator;
 
 public interface ImageWriter {
 
@@ -41,4 +43,16 @@ public interface ImageWriter {
     void write(BufferedImageSequence sequence,
                OutputStream outputStream) throws IOException;
 
+    /**
+     * Writes the images supplied by the given iterator to the given output
+     * stream as a sequence. Images are consumed one at a time, so the whole
+     * sequence need never be in memory at once.
+     *
+     * @param sequence     Iterator over the images of the sequence, in order.
+     * @param outputStream Stream to write the image to.
+     * @throws IllegalArgumentException if the sequence is empty.
+     */
+    void write(Iterator<BufferedImage> sequence,
+               OutputStream outputStream) throws IOException;
+
 }
@@ -25,8 +25,9 @@ import java.io.IOException;
 import java.io.OutputStream;
 
 /**
- * JPEG image writer using ImageIO, capable of writing both Java 2D
- * {@link BufferedImage}s and JAI {@link PlanarImage}s as JPEGs.
+ * JPEG image writer using ImageIO, capable of writing Java 2D
+ * {@link BufferedImage}s, JAI {@link PlanarImage}s, and other opaque
+ * {@link RenderedImage}s as JPEGs.
  */
 final class JPEGImageWriter extends AbstractIIOImageWriter
         implements ImageWriter {
@@ -156,8 +157,7 @@ final class JPEGImageWriter extends AbstractIIOImageWriter
         } else if (image instanceof PlanarImage) {
             write((PlanarImage) image, outputStream);
         } else {
-            throw new IllegalArgumentException(
-                    "image must be either a BufferedImage or PlanarImage.");
+            writeRendered(image, outputStream);
         }
     }
 
@@ -185,6 +185,33 @@ final class JPEGImageWriter extends AbstractIIOImageWriter
         }
     }
 
+    /**
+     * Writes any other kind of {@link RenderedImage}, such as one that is
+     * produced in strips, to the given output stream. Unlike with {@link
+     * BufferedImage}s, alpha is not removed, so the image must not have any.
+     *
+     * @param image        Image to write
+     * @param outputStream Stream to write the image to
+     */
+    private void writeRendered(RenderedImage image,
+                               OutputStream outputStream) throws IOException {
+        if (image.getColorModel().hasAlpha()) {
+            throw new IllegalArgumentException(
+                    "image must not have an alpha channel.");
+        }
+        final ImageWriteParam writeParam = getWriteParam();
+        final IIOMetadata metadata = getMetadata(writeParam, image);
+        final IIOImage iioImage = new IIOImage(image, null, metadata);
+
+        try (ImageOutputStream os =
+                     ImageIO.createImageOutputStream(outputStream)) {
+            iioWriter.setOutput(os);
+            iioWriter.write(null, iioImage, writeParam);
+        } finally {
+            iioWriter.dispose();
+        }
+    }
+
     /**
      * Writes a JAI {@link PlanarImage} to the given output stream.
      *
@@ -10,10 +10,12 @@ import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Info;
 import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.metrics.ServerTiming;
 import edu.illinois.library.cantaloupe.processor.Processor;
 import edu.illinois.library.cantaloupe.script.DelegateProxy;
 import edu.illinois.library.cantaloupe.script.DelegateProxyService;
 import edu.illinois.library.cantaloupe.script.DisabledException;
+import edu.illinois.library.cantaloupe.util.Stopwatch;
 import edu.illinois.library.cantaloupe.util.StringUtil;
 import org.apache.commons.lang3.StringUtils;
 import org.restlet.Request;
@@ -220,6 +222,13 @@ public abstract class AbstractResource extends ServerResource {
         getResponse().getHeaders().add("X-Powered-By",
                 Application.getName() + "/" + Application.getVersion());
 
+        if (ServerTiming.isEnabled()) {
+            ServerTiming timing = new ServerTiming(
+                    getMethod().getName(), getReference().toString());
+            timing.attach();
+            requestContext.setServerTiming(timing);
+        }
+
         if (DelegateProxyService.isEnabled()) {
             requestContext.setRequestURI(getReference().toUri());
             requestContext.setRequestHeaders(getRequest().getHeaders().getValuesMap());
@@ -236,6 +245,25 @@ public abstract class AbstractResource extends ServerResource {
                 getMethod(), getReference(), headersStr);
     }
 
+    /**
+     * Detaches the {@link ServerTiming} of the request, if any, from the
+     * current thread and writes it to the access log, unless the response
+     * entity is an {@link ImageRepresentation}, which will do that itself
+     * after it has been written.
+     */
+    @Override
+    protected void doRelease() throws ResourceException {
+        final ServerTiming timing = requestContext.getServerTiming();
+        if (timing != null) {
+            ServerTiming.detach();
+            timing.setStatus(getStatus().getCode());
+            if (!(getResponseEntity() instanceof ImageRepresentation)) {
+                timing.log();
+            }
+        }
+        super.doRelease();
+    }
+
     /**
      * Enables HTTP OPTIONS requests. Restlet will set the {@literal Allow}
      * header automatically.
@@ -252,8 +280,10 @@ public abstract class AbstractResource extends ServerResource {
      */
     protected final void checkAuthorization()
             throws ScriptException, AccessDeniedException {
+        final Stopwatch watch = new Stopwatch();
         final Authorizer authorizer = new Authorizer(getDelegateProxy());
         final AuthInfo info = authorizer.authorize();
+        ServerTiming.record("authorization", watch);
 
         if (!info.isAuthorized()) {
             throw new AccessDeniedException();
@@ -269,8 +299,10 @@ public abstract class AbstractResource extends ServerResource {
      */
     protected final StringRepresentation checkRedirect()
             throws ScriptException {
+        final Stopwatch watch = new Stopwatch();
         final Authorizer authorizer = new Authorizer(getDelegateProxy());
         final RedirectInfo info = authorizer.redirect();
+        ServerTiming.record("redirect", watch);
 
         if (info != null) {
             final URI location = info.getRedirectURI();
@@ -288,6 +320,11 @@ public abstract class AbstractResource extends ServerResource {
     }
 
     protected void commitCustomResponseHeaders() {
+        final ServerTiming timing = requestContext.getServerTiming();
+        if (timing != null) {
+            getBufferedResponseHeaders().set(ServerTiming.HEADER_NAME,
+                    timing.toHeaderValue(), true);
+        }
         getResponse().getHeaders().addAll(getBufferedResponseHeaders());
         getResponseCacheDirectives().addAll(getCacheDirectives());
     }
@@ -1,6 +1,8 @@
 package edu.illinois.library.cantaloupe.resource;
 
 import edu.illinois.library.cantaloupe.image.MediaType;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+import edu.illinois.library.cantaloupe.metrics.Stage;
 import edu.illinois.library.cantaloupe.util.Stopwatch;
 import org.apache.commons.io.IOUtils;
 import org.restlet.data.Disposition;
@@ -59,6 +61,7 @@ public class CachedImageRepresentation extends OutputRepresentation {
         try {
             final Stopwatch watch = new Stopwatch();
             IOUtils.copy(inputStream, outputStream);
+            MetricRegistry.getInstance().recordStage(Stage.CACHE_READ, watch);
             LOGGER.debug("Streamed from the cache without resolving in {}",
                     watch);
         } finally {
@@ -1,16 +1,22 @@
 package edu.illinois.library.cantaloupe.resource;
 
+import edu.illinois.library.cantaloupe.Application;
 import edu.illinois.library.cantaloupe.cache.CacheFacade;
 import edu.illinois.library.cantaloupe.cache.DerivativeCache;
 import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+import edu.illinois.library.cantaloupe.metrics.ServerTiming;
+import edu.illinois.library.cantaloupe.metrics.Stage;
 import edu.illinois.library.cantaloupe.operation.OperationList;
 import edu.illinois.library.cantaloupe.processor.FileProcessor;
+import edu.illinois.library.cantaloupe.processor.ProcessingLimiter;
 import edu.illinois.library.cantaloupe.processor.Processor;
 import edu.illinois.library.cantaloupe.processor.ProcessorException;
 import edu.illinois.library.cantaloupe.processor.StreamProcessor;
 import edu.illinois.library.cantaloupe.source.StreamFactory;
 import edu.illinois.library.cantaloupe.util.Stopwatch;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.DeferredFileOutputStream;
 import org.apache.commons.io.output.TeeOutputStream;
 import org.restlet.data.Disposition;
 import org.slf4j.Logger;
@@ -18,6 +24,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -31,10 +38,19 @@ public class ImageRepresentation extends CustomOutputRepresentation {
     private static final Logger LOGGER =
             LoggerFactory.getLogger(ImageRepresentation.class);
 
+    /**
+     * When the {@link ProcessingLimiter} is in effect, processed images up
+     * to this size are buffered in memory, and larger ones in a temporary
+     * file, so that the permit can be released before they are written to
+     * the client.
+     */
+    static final int MAX_IN_MEMORY_BUFFER_SIZE = 1024 * 1024 * 4;
+
     private boolean bypassCache;
     private Info imageInfo;
     private OperationList opList;
     private Processor processor;
+    private ServerTiming serverTiming;
 
     /**
      * @param imageInfo   Info corresponding to the source image.
@@ -59,6 +75,7 @@ public class ImageRepresentation extends CustomOutputRepresentation {
         this.bypassCache = bypassCache;
         this.setDisposition(disposition);
         this.onRelease = onRelease;
+        this.serverTiming = ServerTiming.current();
     }
 
     @Override
@@ -76,6 +93,26 @@ public class ImageRepresentation extends CustomOutputRepresentation {
      */
     @Override
     public void write(OutputStream responseOutputStream) throws IOException {
+        // The resource has detached the request's ServerTiming from the
+        // thread by now, and this may be a different thread anyway, so
+        // reattach it to capture the stages that occur while writing. The
+        // headers have already been sent, so those stages can only be
+        // logged.
+        if (serverTiming != null) {
+            serverTiming.attach();
+            try {
+                doWriteWithCache(responseOutputStream);
+            } finally {
+                ServerTiming.detach();
+                serverTiming.log();
+            }
+        } else {
+            doWriteWithCache(responseOutputStream);
+        }
+    }
+
+    private void doWriteWithCache(OutputStream responseOutputStream)
+            throws IOException {
         // N.B.: Restlet will close responseOutputStream.
 
         // If we are bypassing the cache, write directly to the response.
@@ -97,11 +134,14 @@ public class ImageRepresentation extends CustomOutputRepresentation {
         // A derivative cache is available, so try to copy the image from the
         // cache to the response.
         final DerivativeCache cache = cacheFacade.getDerivativeCache();
-        try (InputStream cacheInputStream = cache.newDerivativeImageInputStream(opList)) {
+        try (InputStream cacheInputStream =
+                     cacheFacade.newDerivativeImageInputStream(opList)) {
             if (cacheInputStream != null) {
                 // The image is available, so write it to the response.
                 final Stopwatch watch = new Stopwatch();
                 IOUtils.copy(cacheInputStream, responseOutputStream);
+                MetricRegistry.getInstance().recordStage(
+                        Stage.CACHE_READ, watch);
 
                 LOGGER.debug("Streamed from {} in {}: {}",
                         cache.getClass().getSimpleName(), watch, opList);
@@ -173,16 +213,59 @@ public class ImageRepresentation extends CustomOutputRepresentation {
                     IOUtils.copy(inputStream, outputStream);
                 }
             }
+            ServerTiming.record("stream", watch);
             LOGGER.debug("Streamed with no processing in {}: {}",
                     watch, opList);
+        } else if (ProcessingLimiter.getInstance().getMaxConcurrent() > 0) {
+            doProcessWithLimiter(outputStream);
         } else {
-            try {
-                processor.process(opList, imageInfo, outputStream);
+            doProcess(outputStream);
+        }
+    }
+
+    private void doProcess(OutputStream outputStream) throws IOException {
+        try {
+            final Stopwatch processWatch = new Stopwatch();
+            processor.process(opList, imageInfo, outputStream);
+            ServerTiming.record("process", processWatch);
+
+            LOGGER.debug("{} processed in {}: {}",
+                    processor.getClass().getSimpleName(), processWatch,
+                    opList);
+        } catch (ProcessorException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
 
-                LOGGER.debug("{} processed in {}: {}",
-                        processor.getClass().getSimpleName(), watch, opList);
-            } catch (ProcessorException e) {
-                throw new IOException(e.getMessage(), e);
+    /**
+     * Processes the image into a buffer while holding a {@link
+     * ProcessingLimiter} permit, and then copies the buffer to the given
+     * output stream after releasing it, so that the time it takes the client
+     * to receive the image doesn't count against the limit.
+     */
+    private void doProcessWithLimiter(OutputStream outputStream)
+            throws IOException {
+        final ProcessingLimiter limiter = ProcessingLimiter.getInstance();
+        final DeferredFileOutputStream buffer = new DeferredFileOutputStream(
+                MAX_IN_MEMORY_BUFFER_SIZE, "cantaloupe-", ".tmp",
+                Application.getTempPath().toFile());
+        try {
+            try {
+                limiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(e.getMessage());
+            }
+            try {
+                doProcess(buffer);
+            } finally {
+                buffer.close();
+                limiter.release();
+            }
+            buffer.writeTo(outputStream);
+        } finally {
+            if (!buffer.isInMemory()) {
+                Files.deleteIfExists(buffer.getFile().toPath());
             }
         }
     }
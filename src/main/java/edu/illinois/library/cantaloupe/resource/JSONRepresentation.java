@@ -2,6 +2,7 @@ package edu.illinois.library.cantaloupe.resource;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.restlet.data.CharacterSet;
 import org.restlet.data.MediaType;
@@ -12,25 +13,31 @@ import java.util.concurrent.Callable;
 
 public class JSONRepresentation extends CustomOutputRepresentation {
 
+    /**
+     * Shared by all instances, as building it is relatively expensive.
+     * {@link ObjectWriter}s are immutable and thread-safe.
+     */
+    private static final ObjectWriter WRITER = newObjectMapper().writer();
+
     private Object toWrite;
 
-    public JSONRepresentation(Object toWrite) {
-        super(MediaType.APPLICATION_JSON);
-        setCharacterSet(CharacterSet.UTF_8);
-        this.toWrite = toWrite;
-    }
+    /**
+     * Already-serialized JSON. If set, {@link #toWrite} is ignored.
+     */
+    private byte[] serialized;
 
-    public JSONRepresentation(Object toWrite,
-                              MediaType mediaType,
-                              Callable<?> onRelease) {
-        super(mediaType);
-        setCharacterSet(CharacterSet.UTF_8);
-        this.toWrite = toWrite;
-        this.onRelease = onRelease;
+    /**
+     * Serializes the given object in the same way as {@link
+     * #write(OutputStream)}, e.g. for caching.
+     *
+     * @param toWrite Object to serialize.
+     * @return        UTF-8-encoded JSON.
+     */
+    public static byte[] toByteArray(Object toWrite) throws IOException {
+        return WRITER.writeValueAsBytes(toWrite);
     }
 
-    @Override
-    public void write(OutputStream outputStream) throws IOException {
+    private static ObjectMapper newObjectMapper() {
         ObjectMapper mapper = new ObjectMapper();
         // Make ObjectMapper aware of JDK8 date/time objects
         // See: https://github.com/FasterXML/jackson-modules-java8
@@ -54,7 +61,44 @@ public class JSONRepresentation extends CustomOutputRepresentation {
         // present with an empty list."
         mapper.configOverride(Object.class).setInclude(
                 JsonInclude.Value.construct(JsonInclude.Include.NON_EMPTY, null));
-        mapper.writer().writeValue(outputStream, toWrite);
+        return mapper;
+    }
+
+    public JSONRepresentation(Object toWrite) {
+        super(MediaType.APPLICATION_JSON);
+        setCharacterSet(CharacterSet.UTF_8);
+        this.toWrite = toWrite;
+    }
+
+    public JSONRepresentation(Object toWrite,
+                              MediaType mediaType,
+                              Callable<?> onRelease) {
+        super(mediaType);
+        setCharacterSet(CharacterSet.UTF_8);
+        this.toWrite = toWrite;
+        this.onRelease = onRelease;
+    }
+
+    /**
+     * @param serialized UTF-8-encoded JSON, as returned from {@link
+     *                   #toByteArray(Object)}, to be written as-is.
+     */
+    public JSONRepresentation(byte[] serialized,
+                              MediaType mediaType,
+                              Callable<?> onRelease) {
+        super(mediaType);
+        setCharacterSet(CharacterSet.UTF_8);
+        this.serialized = serialized;
+        this.onRelease = onRelease;
+    }
+
+    @Override
+    public void write(OutputStream outputStream) throws IOException {
+        if (serialized != null) {
+            outputStream.write(serialized);
+        } else {
+            WRITER.writeValue(outputStream, toWrite);
+        }
     }
 
 }
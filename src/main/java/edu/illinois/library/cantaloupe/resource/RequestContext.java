@@ -1,6 +1,7 @@
 package edu.illinois.library.cantaloupe.resource;
 
 import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.metrics.ServerTiming;
 import edu.illinois.library.cantaloupe.operation.OperationList;
 
 import java.awt.Dimension;
@@ -29,6 +30,21 @@ public final class RequestContext {
     private final ConcurrentMap<String,Object> backingMap =
             new ConcurrentHashMap<>();
 
+    /**
+     * Not part of {@link #backingMap} as it is not exposed to the delegate
+     * script.
+     */
+    private volatile ServerTiming serverTiming;
+
+    /**
+     * @return Stage timings of the request, or {@literal null} if {@link
+     *         edu.illinois.library.cantaloupe.config.Key#METRICS_SERVER_TIMING_ENABLED}
+     *         is not set.
+     */
+    public ServerTiming getServerTiming() {
+        return serverTiming;
+    }
+
     /**
      * Sets or clears {@link #CLIENT_IP_KEY}.
      *
@@ -122,6 +138,13 @@ public final class RequestContext {
         }
     }
 
+    /**
+     * @param serverTiming May be {@literal null}.
+     */
+    public void setServerTiming(ServerTiming serverTiming) {
+        this.serverTiming = serverTiming;
+    }
+
     /**
      * <p>Returns a "live view" map representation of the instance. Keys
      * correspond to non-{@literal null} properties. Any of the keys
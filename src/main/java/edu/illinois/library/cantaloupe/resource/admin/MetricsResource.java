@@ -0,0 +1,37 @@
+package edu.illinois.library.cantaloupe.resource.admin;
+
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+import edu.illinois.library.cantaloupe.resource.EndpointDisabledException;
+import org.restlet.data.CharacterSet;
+import org.restlet.data.MediaType;
+import org.restlet.representation.Representation;
+import org.restlet.representation.StringRepresentation;
+import org.restlet.resource.Get;
+import org.restlet.resource.ResourceException;
+
+/**
+ * Provides all metrics in Prometheus text exposition format, for scraping by
+ * monitoring tools.
+ *
+ * @see MetricRegistry
+ */
+public class MetricsResource extends AbstractAdminResource {
+
+    @Override
+    protected void doInit() throws ResourceException {
+        super.doInit();
+        if (!MetricRegistry.getInstance().isEnabled()) {
+            throw new EndpointDisabledException();
+        }
+    }
+
+    @Get
+    public Representation getMetrics() {
+        final Representation rep = new StringRepresentation(
+                MetricRegistry.getInstance().getPrometheusText(),
+                MediaType.TEXT_PLAIN);
+        rep.setCharacterSet(CharacterSet.UTF_8);
+        return rep;
+    }
+
+}
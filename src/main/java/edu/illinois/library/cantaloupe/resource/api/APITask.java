@@ -2,17 +2,26 @@ package edu.illinois.library.cantaloupe.resource.api;
 
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import edu.illinois.library.cantaloupe.async.AuditableFutureTask;
 
 import java.util.concurrent.Callable;
 
 class APITask<T> extends AuditableFutureTask<T> {
 
+    private final Command command;
     private String verb;
 
     APITask(Callable<T> callable) {
         super(callable);
-        setVerb(((Command) callable).getVerb());
+        command = (Command) callable;
+        setVerb(command.getVerb());
+    }
+
+    @JsonGetter
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Object getProgress() {
+        return command.getProgress();
     }
 
     @JsonGetter
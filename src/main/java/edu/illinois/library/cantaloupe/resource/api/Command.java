@@ -33,6 +33,16 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 })
 abstract class Command {
 
+    /**
+     * @return Object describing the progress of the command, to be
+     *         serialized along with its task, or {@literal null} if the
+     *         command does not report progress. This implementation returns
+     *         {@literal null}.
+     */
+    Object getProgress() {
+        return null;
+    }
+
     abstract String getVerb();
 
 }
@@ -1,6 +1,7 @@
 package edu.illinois.library.cantaloupe.resource.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.resource.JSONRepresentation;
 import org.restlet.representation.EmptyRepresentation;
@@ -19,6 +20,9 @@ public class ConfigurationResource extends AbstractAPIResource {
     private static final Logger LOGGER = LoggerFactory.
             getLogger(ConfigurationResource.class);
 
+    private static final ObjectReader CONFIGURATION_READER =
+            new ObjectMapper().readerFor(HashMap.class);
+
     /**
      * @return JSON application configuration. <strong>This may contain
      *         sensitive info and must be protected.</strong>
@@ -37,8 +41,8 @@ public class ConfigurationResource extends AbstractAPIResource {
     public Representation putConfiguration(Representation rep)
             throws IOException {
         final Configuration config = Configuration.getInstance();
-        final Map<?, ?> submittedConfig = new ObjectMapper().readValue(
-                rep.getStream(), HashMap.class);
+        final Map<?, ?> submittedConfig =
+                CONFIGURATION_READER.readValue(rep.getStream());
 
         LOGGER.info("Updating {} configuration keys", submittedConfig.size());
 
@@ -2,6 +2,7 @@ package edu.illinois.library.cantaloupe.resource.api;
 
 import com.fasterxml.jackson.annotation.JsonGetter;
 import edu.illinois.library.cantaloupe.cache.CacheFacade;
+import edu.illinois.library.cantaloupe.cache.PurgeProgress;
 import edu.illinois.library.cantaloupe.image.Identifier;
 
 import java.util.concurrent.Callable;
@@ -10,10 +11,11 @@ final class PurgeItemFromCacheCommand<T> extends Command
         implements Callable<T> {
 
     private Identifier identifier;
+    private final PurgeProgress progress = new PurgeProgress();
 
     @Override
     public T call() throws Exception {
-        new CacheFacade().purge(getIdentifier());
+        new CacheFacade().purge(getIdentifier(), progress);
         return null;
     }
 
@@ -29,6 +31,11 @@ final class PurgeItemFromCacheCommand<T> extends Command
         return getIdentifier().toString();
     }
 
+    @Override
+    PurgeProgress getProgress() {
+        return progress;
+    }
+
     @Override
     String getVerb() {
         return "PurgeItemFromCache";
@@ -20,6 +20,12 @@ import java.util.concurrent.Callable;
  */
 public class TasksResource extends AbstractAPIResource {
 
+    /**
+     * N.B.: this will deserialize into the correct subclass.
+     */
+    private static final ObjectReader COMMAND_READER =
+            new ObjectMapper().readerFor(Command.class);
+
     private static final TaskMonitor taskMonitor = new TaskMonitor();
 
     static TaskMonitor getTaskMonitor() {
@@ -35,12 +41,9 @@ public class TasksResource extends AbstractAPIResource {
      */
     @Post("json")
     public Representation doPost(Representation rep) throws Exception {
-        // N.B.: ObjectMapper will deserialize into the correct subclass.
-        ObjectReader reader = new ObjectMapper().readerFor(Command.class);
-
         try {
             // N.B.: Restlet will close this InputStream.
-            Command command = reader.readValue(rep.getStream());
+            Command command = COMMAND_READER.readValue(rep.getStream());
             Callable<?> callable = (Callable<?>) command;
             APITask<?> task = new APITask<>(callable);
 
@@ -49,7 +52,7 @@ public class TasksResource extends AbstractAPIResource {
             // to a queue rather than a thread pool to avoid having multiple
             // expensive tasks running in parallel, and also to prevent them
             // from interfering with each other.
-            TaskQueue.getInstance().submit(task);
+            TaskQueue.getInstance().submit(task, TaskQueue.Lane.ADMIN);
 
             // TaskQueue will discard it when it's complete, so we also submit
             // it to TaskMnnitor which will hold onto it for status reporting.
@@ -4,10 +4,14 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import edu.illinois.library.cantaloupe.RestletApplication;
 import edu.illinois.library.cantaloupe.cache.CacheFacade;
+import edu.illinois.library.cantaloupe.cache.InfoResponseCache;
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Format;
@@ -17,6 +21,7 @@ import edu.illinois.library.cantaloupe.processor.Processor;
 import edu.illinois.library.cantaloupe.processor.ProcessorFactory;
 import edu.illinois.library.cantaloupe.source.Source;
 import edu.illinois.library.cantaloupe.source.SourceFactory;
+import edu.illinois.library.cantaloupe.source.SourceInfoCache;
 import edu.illinois.library.cantaloupe.resource.JSONRepresentation;
 import edu.illinois.library.cantaloupe.processor.ProcessorConnector;
 import org.restlet.data.MediaType;
@@ -67,6 +72,10 @@ public class InformationResource extends IIIF1Resource {
         // cache contains an info matching the request, skip all the setup and
         // just return the cached info.
         if (!isResolvingFirst()) {
+            final Representation rep = newCachedRepresentation();
+            if (rep != null) {
+                return rep;
+            }
             try {
                 Info info = cacheFacade.getInfo(identifier);
                 if (info != null) {
@@ -82,8 +91,6 @@ public class InformationResource extends IIIF1Resource {
                                 new ImageInfoFactory().newImageInfo(
                                         getImageURI(), processor, infoImage,
                                         info.getNumResolutions());
-                        addLinkHeader(imageInfo);
-                        commitCustomResponseHeaders();
                         return newRepresentation(imageInfo);
                     }
                 }
@@ -102,7 +109,7 @@ public class InformationResource extends IIIF1Resource {
         final Path sourceImage = cacheFacade.getSourceCacheFile(identifier);
         if (sourceImage == null || isResolvingFirst()) {
             try {
-                source.checkAccess();
+                SourceInfoCache.getInstance().checkAccess(identifier, source);
             } catch (NoSuchFileException e) { // this needs to be rethrown!
                 if (config.getBoolean(Key.CACHE_SERVER_PURGE_MISSING, false)) {
                     // If the image was not found, purge it from the cache.
@@ -112,6 +119,15 @@ public class InformationResource extends IIIF1Resource {
             }
         }
 
+        // If we are resolving first, the source image is now known to exist,
+        // so a cached response can be returned.
+        if (isResolvingFirst()) {
+            final Representation rep = newCachedRepresentation();
+            if (rep != null) {
+                return rep;
+            }
+        }
+
         // Get the format of the source image.
         // If we are not resolving first, and there is a hit in the source
         // cache, read the format from the source-cached-file, as we will
@@ -125,7 +141,8 @@ public class InformationResource extends IIIF1Resource {
                 format = mediaTypes.get(0).toFormat();
             }
         } else {
-            format = source.getFormat();
+            format = SourceInfoCache.getInstance().getFormat(
+                    identifier, source);
         }
 
         // Obtain an instance of the processor assigned to that format.
@@ -140,15 +157,16 @@ public class InformationResource extends IIIF1Resource {
                     getImageURI(), processor, infoImage,
                     info.getNumResolutions());
 
-            addLinkHeader(imageInfo);
-            commitCustomResponseHeaders();
             return newRepresentation(imageInfo);
         }
     }
 
-    private void addLinkHeader(ImageInfo info) {
-        getBufferedResponseHeaders().add("Link",
-                String.format("<%s>;rel=\"profile\";", info.profile));
+    /**
+     * @return Everything other than the identifier that the response depends
+     *         on, for use with {@link InfoResponseCache}.
+     */
+    private List<Object> getResponseCacheVariant() {
+        return Arrays.asList(getImageURI(), getPageIndex());
     }
 
     /**
@@ -181,9 +199,53 @@ public class InformationResource extends IIIF1Resource {
                 getBoolean(Key.CACHE_SERVER_RESOLVE_FIRST, true);
     }
 
-    private Representation newRepresentation(ImageInfo imageInfo) {
+    /**
+     * @return Representation of a response from the {@link
+     *         InfoResponseCache}, or {@literal null} if there is none.
+     */
+    private Representation newCachedRepresentation() {
+        if (isBypassingCache()) {
+            return null;
+        }
+        final InfoResponseCache.Response response =
+                InfoResponseCache.getInstance().get(
+                        getIdentifier(), getResponseCacheVariant());
+        if (response != null) {
+            for (Map.Entry<String,String> header :
+                    response.getHeaders().entrySet()) {
+                getBufferedResponseHeaders().add(
+                        header.getKey(), header.getValue());
+            }
+            commitCustomResponseHeaders();
+            return new JSONRepresentation(response.getBody(),
+                    getNegotiatedMediaType(), null);
+        }
+        return null;
+    }
+
+    /**
+     * Adds a {@literal Link} header and commits the response headers before
+     * returning a representation of the given instance, which is also
+     * cached.
+     */
+    private Representation newRepresentation(ImageInfo imageInfo)
+            throws IOException {
+        final String link =
+                String.format("<%s>;rel=\"profile\";", imageInfo.profile);
+        getBufferedResponseHeaders().add("Link", link);
+        commitCustomResponseHeaders();
+
+        // Serialize it now so that the result can be cached.
+        final byte[] json = JSONRepresentation.toByteArray(imageInfo);
+        if (!isBypassingCache()) {
+            InfoResponseCache.getInstance().put(getIdentifier(),
+                    getResponseCacheVariant(),
+                    new InfoResponseCache.Response(json,
+                            Collections.singletonMap("Link", link)));
+        }
+
         final MediaType mediaType = getNegotiatedMediaType();
-        return new JSONRepresentation(imageInfo, mediaType, () -> {
+        return new JSONRepresentation(json, mediaType, () -> {
             if (tempFileFuture != null) {
                 Path tempFile = tempFileFuture.get();
                 if (tempFile != null) {
@@ -4,10 +4,16 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 
+import javax.script.ScriptException;
+
 import edu.illinois.library.cantaloupe.RestletApplication;
 import edu.illinois.library.cantaloupe.cache.CacheFacade;
+import edu.illinois.library.cantaloupe.cache.InfoResponseCache;
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Format;
@@ -15,8 +21,10 @@ import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.image.Info;
 import edu.illinois.library.cantaloupe.processor.Processor;
 import edu.illinois.library.cantaloupe.processor.ProcessorFactory;
+import edu.illinois.library.cantaloupe.script.DelegateProxy;
 import edu.illinois.library.cantaloupe.source.Source;
 import edu.illinois.library.cantaloupe.source.SourceFactory;
+import edu.illinois.library.cantaloupe.source.SourceInfoCache;
 import edu.illinois.library.cantaloupe.resource.JSONRepresentation;
 import edu.illinois.library.cantaloupe.processor.ProcessorConnector;
 import org.restlet.data.MediaType;
@@ -52,6 +60,11 @@ public class InformationResource extends IIIF2Resource {
         }
     }
 
+    /**
+     * Set by {@link #getResponseCacheVariant()}.
+     */
+    private List<Object> responseCacheVariant;
+
     /**
      * Responds to information requests.
      *
@@ -67,6 +80,10 @@ public class InformationResource extends IIIF2Resource {
         // cache contains an info matching the request, skip all the setup and
         // just return the cached info.
         if (!isResolvingFirst()) {
+            final Representation rep = newCachedRepresentation();
+            if (rep != null) {
+                return rep;
+            }
             try {
                 Info info = cacheFacade.getInfo(identifier);
                 if (info != null) {
@@ -95,7 +112,7 @@ public class InformationResource extends IIIF2Resource {
         final Path sourceImage = cacheFacade.getSourceCacheFile(identifier);
         if (sourceImage == null || isResolvingFirst()) {
             try {
-                source.checkAccess();
+                SourceInfoCache.getInstance().checkAccess(identifier, source);
             } catch (NoSuchFileException e) { // this needs to be rethrown!
                 if (config.getBoolean(Key.CACHE_SERVER_PURGE_MISSING, false)) {
                     // If the image was not found, purge it from the cache.
@@ -105,6 +122,15 @@ public class InformationResource extends IIIF2Resource {
             }
         }
 
+        // If we are resolving first, the source image is now known to exist,
+        // so a cached response can be returned.
+        if (isResolvingFirst()) {
+            final Representation rep = newCachedRepresentation();
+            if (rep != null) {
+                return rep;
+            }
+        }
+
         // Get the format of the source image.
         // If we are not resolving first, and there is a hit in the source
         // cache, read the format from the source-cached-file, as we will
@@ -118,7 +144,8 @@ public class InformationResource extends IIIF2Resource {
                 format = mediaTypes.get(0).toFormat();
             }
         } else {
-            format = source.getFormat();
+            format = SourceInfoCache.getInstance().getFormat(
+                    identifier, source);
         }
 
         // Obtain an instance of the processor assigned to that format.
@@ -160,15 +187,79 @@ public class InformationResource extends IIIF2Resource {
         return mediaType;
     }
 
+    /**
+     * @return Everything other than the identifier that the response depends
+     *         on, for use with {@link InfoResponseCache}, or {@literal null}
+     *         if the response can't be cached. When the delegate script is
+     *         enabled, this includes the keys that it adds to the response,
+     *         rather than the whole request context that they may be based
+     *         on, which would differ for nearly every client.
+     */
+    private List<Object> getResponseCacheVariant() {
+        if (responseCacheVariant == null) {
+            final List<Object> variant = new ArrayList<>();
+            variant.add(getImageURI());
+            variant.add(getPageIndex());
+            final DelegateProxy proxy = getDelegateProxy();
+            if (proxy != null) {
+                try {
+                    variant.add(new HashMap<>(
+                            proxy.getExtraIIIFInformationResponseKeys()));
+                } catch (ScriptException e) {
+                    getLogger().severe(e.getMessage());
+                    return null;
+                }
+            }
+            responseCacheVariant = variant;
+        }
+        return responseCacheVariant;
+    }
+
+    /**
+     * @return Representation of a response from the {@link
+     *         InfoResponseCache}, or {@literal null} if there is none.
+     */
+    private Representation newCachedRepresentation() {
+        if (isBypassingCache() ||
+                !InfoResponseCache.getInstance().isEnabled()) {
+            return null;
+        }
+        final List<Object> variant = getResponseCacheVariant();
+        if (variant == null) {
+            return null;
+        }
+        final InfoResponseCache.Response response =
+                InfoResponseCache.getInstance().get(getIdentifier(), variant);
+        if (response != null) {
+            commitCustomResponseHeaders();
+            return new JSONRepresentation(response.getBody(),
+                    getNegotiatedMediaType(), null);
+        }
+        return null;
+    }
+
     private Representation newRepresentation(Info info,
-                                             Processor processor) {
+                                             Processor processor)
+            throws IOException {
         final ImageInfo<String, Object> imageInfo =
                 new ImageInfoFactory().newImageInfo(
                         getImageURI(), processor, info, getPageIndex(),
                         getDelegateProxy());
         final MediaType mediaType = getNegotiatedMediaType();
 
-        return new JSONRepresentation(imageInfo, mediaType, () -> {
+        // Serialize it now so that the result can be cached.
+        final byte[] json = JSONRepresentation.toByteArray(imageInfo);
+        if (!isBypassingCache() &&
+                InfoResponseCache.getInstance().isEnabled()) {
+            final List<Object> variant = getResponseCacheVariant();
+            if (variant != null) {
+                InfoResponseCache.getInstance().put(getIdentifier(), variant,
+                        new InfoResponseCache.Response(json,
+                                Collections.emptyMap()));
+            }
+        }
+
+        return new JSONRepresentation(json, mediaType, () -> {
             if (tempFileFuture != null) {
                 Path tempFile = tempFileFuture.get();
                 if (tempFile != null) {
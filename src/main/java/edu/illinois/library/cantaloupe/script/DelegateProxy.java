@@ -1,5 +1,6 @@
 package edu.illinois.library.cantaloupe.script;
 
+import edu.illinois.library.cantaloupe.cache.InfoResponseCache;
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.resource.RequestContext;
@@ -113,6 +114,8 @@ public final class DelegateProxy {
         } finally {
             lock.unlock(stamp);
         }
+        // Cached responses may contain output of the old code.
+        InfoResponseCache.getInstance().purge();
     }
 
     /**
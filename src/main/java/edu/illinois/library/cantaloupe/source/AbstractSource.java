@@ -11,6 +11,12 @@ abstract class AbstractSource {
     protected Format format;
     protected DelegateProxy delegateProxy;
 
+    /**
+     * Set by implementations' {@link Source#checkAccess()} methods, if they
+     * have any metadata to provide.
+     */
+    protected SourceInfo sourceInfo;
+
     /**
      * @return Delegate proxy. May be {@literal null}.
      */
@@ -18,6 +24,13 @@ abstract class AbstractSource {
         return delegateProxy;
     }
 
+    /**
+     * @see Source#getSourceInfo()
+     */
+    public SourceInfo getSourceInfo() {
+        return (sourceInfo != null) ? sourceInfo : new SourceInfo();
+    }
+
     public void setDelegateProxy(DelegateProxy proxy) {
         this.delegateProxy = proxy;
     }
@@ -31,6 +44,7 @@ abstract class AbstractSource {
     public void setIdentifier(Identifier identifier) {
         this.identifier = identifier;
         this.format = null;
+        this.sourceInfo = null;
     }
 
 }
@@ -3,6 +3,7 @@ package edu.illinois.library.cantaloupe.source;
 import com.microsoft.azure.storage.CloudStorageAccount;
 import com.microsoft.azure.storage.StorageException;
 import com.microsoft.azure.storage.blob.BlobInputStream;
+import com.microsoft.azure.storage.blob.BlobProperties;
 import com.microsoft.azure.storage.blob.CloudBlobClient;
 import com.microsoft.azure.storage.blob.CloudBlobContainer;
 import com.microsoft.azure.storage.blob.CloudBlockBlob;
@@ -127,7 +128,12 @@ class AzureStorageSource extends AbstractSource implements StreamSource {
 
     @Override
     public void checkAccess() throws IOException {
-        getObject();
+        // exists() has already fetched the blob's properties.
+        final BlobProperties props = getObject().getProperties();
+        sourceInfo = new SourceInfo(props.getLength(),
+                (props.getLastModified() != null) ?
+                        props.getLastModified().toInstant() : null,
+                props.getEtag());
     }
 
     private CloudBlockBlob getObject() throws IOException {
@@ -17,6 +17,7 @@ import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.List;
 
 /**
@@ -58,6 +59,10 @@ class FilesystemSource extends AbstractSource
         } else if (!Files.isReadable(path)) {
             throw new AccessDeniedException("File is not readable: " + path);
         }
+        BasicFileAttributes attrs =
+                Files.readAttributes(path, BasicFileAttributes.class);
+        sourceInfo = new SourceInfo(attrs.size(),
+                attrs.lastModifiedTime().toInstant(), null);
     }
 
     /**
@@ -191,6 +196,7 @@ class FilesystemSource extends AbstractSource
     public void setIdentifier(Identifier identifier) {
         path = null;
         format = null;
+        sourceInfo = null;
         this.identifier = identifier;
     }
 
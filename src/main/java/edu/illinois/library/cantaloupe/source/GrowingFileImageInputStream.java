@@ -0,0 +1,93 @@
+package edu.illinois.library.cantaloupe.source;
+
+import edu.illinois.library.cantaloupe.cache.GrowingFile;
+
+import javax.imageio.stream.ImageInputStreamImpl;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>{@link javax.imageio.stream.ImageInputStream} that reads a {@link
+ * GrowingFile} while it is being written.</p>
+ *
+ * <p>Reads (including those following a seek) beyond the number of bytes
+ * written so far block until enough bytes have been written, or writing is
+ * complete, in which case they behave as they would at the end of any other
+ * file.</p>
+ */
+final class GrowingFileImageInputStream extends ImageInputStreamImpl {
+
+    private final GrowingFile growingFile;
+    private final FileChannel channel;
+    private final byte[] singleByte = new byte[1];
+
+    /**
+     * Opens the temporary file if it is still being written, or otherwise the
+     * final file.
+     */
+    private static FileChannel open(GrowingFile growingFile)
+            throws IOException {
+        try {
+            return FileChannel.open(growingFile.getTempFile(),
+                    StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            // It has been moved into place in the meantime, or is about to
+            // be.
+            growingFile.awaitLength(Long.MAX_VALUE);
+            return FileChannel.open(growingFile.getFile(),
+                    StandardOpenOption.READ);
+        }
+    }
+
+    GrowingFileImageInputStream(GrowingFile growingFile) throws IOException {
+        this.growingFile = growingFile;
+        this.channel = open(growingFile);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * @return Length of the file if it has been completely written, or
+     *         otherwise {@literal -1}, meaning unknown.
+     */
+    @Override
+    public long length() {
+        return growingFile.isComplete() ? growingFile.getLength() : -1;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return (read(singleByte, 0, 1) == 1) ? (singleByte[0] & 0xff) : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        checkClosed();
+        if (len == 0) {
+            return 0;
+        }
+        bitOffset = 0;
+
+        final long available = growingFile.awaitLength(streamPos + 1);
+        if (streamPos >= available) {
+            return -1;
+        }
+        len = (int) Math.min(len, available - streamPos);
+        final int n = channel.read(ByteBuffer.wrap(b, off, len), streamPos);
+        if (n > 0) {
+            streamPos += n;
+        }
+        return n;
+    }
+
+}
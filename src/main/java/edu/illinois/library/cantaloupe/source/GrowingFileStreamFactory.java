@@ -0,0 +1,66 @@
+package edu.illinois.library.cantaloupe.source;
+
+import edu.illinois.library.cantaloupe.cache.GrowingFile;
+
+import javax.imageio.stream.ImageInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Provides streams that read a {@link GrowingFile} while it is being written,
+ * blocking as necessary until the data they need has been written.
+ *
+ * @see GrowingFileImageInputStream
+ */
+public class GrowingFileStreamFactory implements StreamFactory {
+
+    /**
+     * Adapts an {@link ImageInputStream} to an {@link InputStream}.
+     */
+    private static class ImageInputStreamInputStream extends InputStream {
+
+        private final ImageInputStream wrappedStream;
+
+        ImageInputStreamInputStream(ImageInputStream wrappedStream) {
+            this.wrappedStream = wrappedStream;
+        }
+
+        @Override
+        public void close() throws IOException {
+            wrappedStream.close();
+        }
+
+        @Override
+        public int read() throws IOException {
+            return wrappedStream.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return wrappedStream.read(b, off, len);
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            return wrappedStream.skipBytes(n);
+        }
+
+    }
+
+    private final GrowingFile growingFile;
+
+    public GrowingFileStreamFactory(GrowingFile growingFile) {
+        this.growingFile = growingFile;
+    }
+
+    @Override
+    public ImageInputStream newImageInputStream() throws IOException {
+        return new GrowingFileImageInputStream(growingFile);
+    }
+
+    @Override
+    public InputStream newInputStream() throws IOException {
+        return new ImageInputStreamInputStream(newImageInputStream());
+    }
+
+}
@@ -12,25 +12,32 @@ import edu.illinois.library.cantaloupe.script.DelegateProxy;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.HttpClientTransport;
 import org.eclipse.jetty.client.api.AuthenticationStore;
+import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.client.api.Response;
 import org.eclipse.jetty.client.http.HttpClientTransportOverHTTP;
 import org.eclipse.jetty.client.util.BasicAuthentication;
 import org.eclipse.jetty.client.util.InputStreamResponseListener;
 import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
+import org.eclipse.jetty.http2.client.HTTP2Client;
+import org.eclipse.jetty.http2.client.http.HttpClientTransportOverHTTP2;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.script.ScriptException;
-import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.NoSuchFileException;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
@@ -42,14 +49,25 @@ import java.util.concurrent.TimeoutException;
  *
  * <h1>Protocol Support</h1>
  *
- * <p>HTTP/1.1 and HTTPS/1.1 are supported.</p>
- *
- * <p>HTTP/2 is not supported.</p>
+ * <p>HTTP/1.1 and HTTPS/1.1 are supported by default. HTTP/2 can be enabled
+ * instead via {@link Key#HTTPSOURCE_HTTP2_ENABLED}, in which case all
+ * requests to a given server are multiplexed over a single connection.
+ * (Secure HTTP/2 requires ALPN support.) Either way, a single client with a
+ * pool of persistent connections is shared by all instances.</p>
  *
  * <h1>Format Inference</h1>
  *
  * <p>See {@link #getFormat()}.</p>
  *
+ * <p>The bytes received in response to the ranged {@literal GET} request
+ * used by {@link #checkAccess()} and format inference are retained, and, if
+ * the response carried a strong {@literal ETag} (which is sent back in an
+ * {@literal If-Range} header to ensure that both parts come from the same
+ * representation), {@link #newStreamFactory()} requests only the remainder
+ * of the resource, so that they don't have to be fetched twice. The range is
+ * large enough to contain the headers of most images, which readers tend to
+ * read first.</p>
+ *
  * <h1>Lookup Strategies</h1>
  *
  * <p>Two distinct lookup strategies are supported, defined by
@@ -80,28 +98,103 @@ class HttpSource extends AbstractSource implements StreamSource {
         private final HttpClient client;
         private final URI uri;
 
+        /**
+         * Already-received bytes from the beginning of the resource. May be
+         * {@literal null}.
+         */
+        private byte[] prefix;
+
+        /**
+         * Full length of the resource, or {@literal -1} if unknown.
+         */
+        private long resourceLength = -1;
+
+        /**
+         * Strong {@literal ETag} of the response from which {@link #prefix}
+         * was obtained, used to ensure that the remainder comes from the same
+         * representation.
+         */
+        private String eTag;
+
         HTTPStreamFactory(HttpClient client, URI uri) {
             this.client = client;
             this.uri = uri;
         }
 
+        /**
+         * @param prefix         Bytes from the beginning of the resource that
+         *                       have already been received.
+         * @param resourceLength Full length of the resource, or {@literal -1}
+         *                       if unknown.
+         * @param eTag           Strong {@literal ETag} of the response
+         *                       containing the prefix.
+         */
+        HTTPStreamFactory(HttpClient client,
+                          URI uri,
+                          byte[] prefix,
+                          long resourceLength,
+                          String eTag) {
+            this(client, uri);
+            this.prefix = prefix;
+            this.resourceLength = resourceLength;
+            this.eTag = eTag;
+        }
+
         @Override
         public InputStream newInputStream() {
+            final boolean hasPrefix = (prefix != null && prefix.length > 0);
+            if (hasPrefix && resourceLength >= 0 &&
+                    prefix.length >= resourceLength) {
+                // We already have the whole resource.
+                return new ByteArrayInputStream(prefix);
+            }
+            return newInputStream(hasPrefix);
+        }
+
+        /**
+         * @param usePrefix Whether to request only the part of the resource
+         *                  following {@link #prefix}.
+         */
+        private InputStream newInputStream(boolean usePrefix) {
             try {
                 InputStreamResponseListener listener =
                         new InputStreamResponseListener();
-                client.newRequest(uri).
+                Request request = client.newRequest(uri).
                         timeout(getRequestTimeout(), TimeUnit.SECONDS).
-                        method(HttpMethod.GET).
-                        send(listener);
+                        method(HttpMethod.GET);
+                if (usePrefix) {
+                    request.header(HttpHeader.RANGE,
+                            "bytes=" + prefix.length + "-");
+                    request.header(HttpHeader.IF_RANGE, eTag);
+                }
+                request.send(listener);
 
                 // Wait for the response headers to arrive.
                 Response response = listener.get(getRequestTimeout(),
                         TimeUnit.SECONDS);
 
                 if (response.getStatus() == HttpStatus.OK_200) {
+                    // Either we didn't ask for a range, or the server
+                    // ignored it, or the representation has changed.
                     return listener.getInputStream();
+                } else if (usePrefix &&
+                        response.getStatus() == HttpStatus.PARTIAL_CONTENT_206) {
+                    return new SequenceInputStream(
+                            new ByteArrayInputStream(prefix),
+                            listener.getInputStream());
+                } else if (usePrefix &&
+                        response.getStatus() == HttpStatus.RANGE_NOT_SATISFIABLE_416) {
+                    // The resource ends where the prefix does (its length
+                    // was unknown), or it has shrunk. Either way, the
+                    // prefix can't be trusted to be the beginning of it.
+                    LOGGER.debug("newInputStream(): GET {} returned HTTP " +
+                            "416; retrying without a range", uri);
+                    response.abort(new IOException("Range not satisfiable"));
+                    return newInputStream(false);
                 }
+                LOGGER.error("newInputStream(): GET {} returned HTTP {}",
+                        uri, response.getStatus());
+                response.abort(new IOException("Unexpected status"));
             } catch (Exception e) {
                 LOGGER.error(e.getMessage(), e);
             }
@@ -148,12 +241,18 @@ class HttpSource extends AbstractSource implements StreamSource {
     private static final Logger LOGGER =
             LoggerFactory.getLogger(HttpSource.class);
 
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_DESTINATION = 64;
+
     private static final int DEFAULT_REQUEST_TIMEOUT = 30;
 
     /**
-     * Byte length of the range used to infer the source image format.
+     * Byte length of the range requested by {@link #checkAccess()}, which is
+     * used to infer the source image format and reused as the beginning of
+     * the stream returned by {@link #newStreamFactory()}. It needs to be
+     * large enough to contain the headers that readers read first, as
+     * otherwise reusing it saves little more than a round trip.
      */
-    private static final int FORMAT_INFERENCE_RANGE_LENGTH = 32;
+    static final int RANGED_GET_LENGTH = 64 * 1024;
 
     private static HttpClient jettyClient;
 
@@ -161,10 +260,16 @@ class HttpSource extends AbstractSource implements StreamSource {
 
     /**
      * Cached HTTP {@literal GET} response with a maximum body length of {@link
-     * #FORMAT_INFERENCE_RANGE_LENGTH}.
+     * #RANGED_GET_LENGTH}.
      */
     private Response rangedGETResponse;
 
+    /**
+     * Body of {@link #rangedGETResponse}, lazy-loaded by {@link
+     * #getRangedGETBody()}.
+     */
+    private byte[] rangedGETBody;
+
     /**
      * Lazy-loaded by {@link #getResourceInfo()}.
      */
@@ -172,9 +277,15 @@ class HttpSource extends AbstractSource implements StreamSource {
 
     private static synchronized HttpClient getHTTPClient(ResourceInfo info) {
         if (jettyClient == null) {
-            HttpClientTransport transport = new HttpClientTransportOverHTTP();
-
             Configuration config = Configuration.getInstance();
+
+            HttpClientTransport transport;
+            if (config.getBoolean(Key.HTTPSOURCE_HTTP2_ENABLED, false)) {
+                transport = new HttpClientTransportOverHTTP2(new HTTP2Client());
+            } else {
+                transport = new HttpClientTransportOverHTTP();
+            }
+
             final boolean trustInvalidCerts = config.getBoolean(
                     Key.HTTPSOURCE_TRUST_ALL_CERTS, false);
             SslContextFactory sslContextFactory =
@@ -183,6 +294,16 @@ class HttpSource extends AbstractSource implements StreamSource {
             jettyClient = new HttpClient(transport, sslContextFactory);
             jettyClient.setFollowRedirects(true);
             jettyClient.setUserAgentField(new HttpField("User-Agent", getUserAgent()));
+            jettyClient.setMaxConnectionsPerDestination(config.getInt(
+                    Key.HTTPSOURCE_MAX_CONNECTIONS_PER_DESTINATION,
+                    DEFAULT_MAX_CONNECTIONS_PER_DESTINATION));
+
+            // Idle connections are kept alive for reuse for this long.
+            final int idleTimeout =
+                    config.getInt(Key.HTTPSOURCE_IDLE_TIMEOUT, 0);
+            if (idleTimeout > 0) {
+                jettyClient.setIdleTimeout(idleTimeout * 1000L);
+            }
 
             try {
                 jettyClient.start();
@@ -240,6 +361,20 @@ class HttpSource extends AbstractSource implements StreamSource {
                 throw new IOException(statusLine);
             }
         }
+
+        long length = -1;
+        if (response.getStatus() == HttpStatus.PARTIAL_CONTENT_206) {
+            length = resourceLengthFromContentRange(
+                    response.getHeaders().get(HttpHeader.CONTENT_RANGE));
+        } else if (response.getStatus() == HttpStatus.OK_200) {
+            length = response.getHeaders().getLongField(
+                    HttpHeader.CONTENT_LENGTH.asString());
+        }
+        final long lastModified = response.getHeaders().getDateField(
+                HttpHeader.LAST_MODIFIED.asString());
+        sourceInfo = new SourceInfo(length,
+                (lastModified > -1) ? Instant.ofEpochMilli(lastModified) : null,
+                response.getHeaders().get(HttpHeader.ETAG));
     }
 
     /**
@@ -322,7 +457,7 @@ class HttpSource extends AbstractSource implements StreamSource {
                     LOGGER.debug("Attempting to infer format from magic bytes for {}",
                             info.getURI());
                     try (InputStream bodyStream =
-                                 new BufferedInputStream(rangedGETResponseListener.getInputStream())) {
+                                 new ByteArrayInputStream(getRangedGETBody())) {
                         List<MediaType> types =
                                 MediaType.detectMediaTypes(bodyStream);
                         if (!types.isEmpty()) {
@@ -359,6 +494,27 @@ class HttpSource extends AbstractSource implements StreamSource {
         throw new IllegalArgumentException("Unrecognized Content-Type");
     }
 
+    /**
+     * @param contentRange {@literal Content-Range} header value.
+     * @return Complete length of the resource, or {@literal -1} if unknown.
+     * @see <a href="https://tools.ietf.org/html/rfc7233#section-4.2">RFC
+     * 7233</a>
+     */
+    static long resourceLengthFromContentRange(String contentRange) {
+        if (contentRange != null) {
+            final int slashIndex = contentRange.lastIndexOf('/');
+            if (slashIndex > -1) {
+                try {
+                    return Long.parseLong(
+                            contentRange.substring(slashIndex + 1).trim());
+                } catch (NumberFormatException ignore) {
+                    // Probably "*", meaning unknown.
+                }
+            }
+        }
+        return -1;
+    }
+
     @Override
     public StreamFactory newStreamFactory() throws IOException {
         ResourceInfo info;
@@ -373,11 +529,57 @@ class HttpSource extends AbstractSource implements StreamSource {
 
         if (info != null) {
             LOGGER.info("Resolved {} to {}", identifier, info.getURI());
-            return new HTTPStreamFactory(getHTTPClient(info), info.getURI());
+            final HttpClient client = getHTTPClient(info);
+
+            // If we have already received the beginning of the resource,
+            // there is no need to receive it again.
+            if (rangedGETResponse != null &&
+                    rangedGETResponse.getStatus() == HttpStatus.PARTIAL_CONTENT_206) {
+                final byte[] prefix = getRangedGETBody();
+                final long length = resourceLengthFromContentRange(
+                        rangedGETResponse.getHeaders().get(HttpHeader.CONTENT_RANGE));
+                final String eTag =
+                        rangedGETResponse.getHeaders().get(HttpHeader.ETAG);
+                // Only a strong ETag can reliably tell whether the remainder
+                // belongs to the same representation as the prefix: weak
+                // ones aren't allowed in If-Range, and a Last-Modified date
+                // has a resolution of only one second. Without one, the
+                // whole resource is requested again.
+                if ((eTag != null && !eTag.startsWith("W/")) ||
+                        (length >= 0 && prefix.length >= length)) {
+                    return new HTTPStreamFactory(client, info.getURI(),
+                            prefix, length, eTag);
+                }
+            }
+            return new HTTPStreamFactory(client, info.getURI());
         }
         return null;
     }
 
+    /**
+     * Reads the body of {@link #rangedGETResponse}, up to {@link
+     * #RANGED_GET_LENGTH} bytes (in case the server ignored the
+     * {@literal Range} header), and caches the result in {@link
+     * #rangedGETBody}.
+     */
+    private byte[] getRangedGETBody() throws IOException {
+        if (rangedGETBody == null) {
+            retrieveRangedGETResponse();
+
+            final byte[] buffer = new byte[RANGED_GET_LENGTH];
+            int length = 0;
+            try (InputStream is = rangedGETResponseListener.getInputStream()) {
+                int n;
+                while (length < buffer.length &&
+                        (n = is.read(buffer, length, buffer.length - length)) != -1) {
+                    length += n;
+                }
+            }
+            rangedGETBody = Arrays.copyOf(buffer, length);
+        }
+        return rangedGETBody;
+    }
+
     /**
      * Issues a {@literal GET} request specifying a small range of data and
      * caches the result in {@link #rangedGETResponse}.
@@ -402,7 +604,7 @@ class HttpSource extends AbstractSource implements StreamSource {
 
                 client.newRequest(info.getURI())
                         .timeout(getRequestTimeout(), TimeUnit.SECONDS)
-                        .header("Range", "bytes=0-" + (FORMAT_INFERENCE_RANGE_LENGTH - 1))
+                        .header(HttpHeader.RANGE, "bytes=0-" + (RANGED_GET_LENGTH - 1))
                         .method(HttpMethod.GET)
                         .send(rangedGETResponseListener);
 
@@ -482,8 +684,10 @@ class HttpSource extends AbstractSource implements StreamSource {
     public void setIdentifier(Identifier identifier) {
         rangedGETResponse = null;
         rangedGETResponseListener = null;
+        rangedGETBody = null;
         resourceInfo = null;
         format = null;
+        sourceInfo = null;
         this.identifier = identifier;
     }
 
@@ -3,6 +3,7 @@ package edu.illinois.library.cantaloupe.source;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.S3Object;
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
@@ -185,7 +186,12 @@ class S3Source extends AbstractSource implements StreamSource {
         final AmazonS3 s3 = getClientInstance();
         final ObjectInfo info = getObjectInfo();
         try {
-            s3.getObjectMetadata(info.getBucketName(), info.getKey());
+            final ObjectMetadata metadata =
+                    s3.getObjectMetadata(info.getBucketName(), info.getKey());
+            sourceInfo = new SourceInfo(metadata.getContentLength(),
+                    (metadata.getLastModified() != null) ?
+                            metadata.getLastModified().toInstant() : null,
+                    metadata.getETag());
         } catch (AmazonS3Exception e) {
             if (e.getStatusCode() == 404) {
                 throw new NoSuchFileException(info.toString());
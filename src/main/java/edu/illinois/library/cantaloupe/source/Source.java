@@ -21,6 +21,10 @@ import java.nio.file.NoSuchFileException;
  *     <li>Any other methods</li>
  *     <li>{@link #shutdown()}</li>
  * </ol>
+ *
+ * <p>N.B.: {@link #checkAccess()} may be skipped when its result has been
+ * cached by {@link SourceInfoCache}, so other methods must not depend on it
+ * having been called.</p>
  */
 public interface Source {
 
@@ -45,6 +49,21 @@ public interface Source {
      */
     Format getFormat() throws IOException;
 
+    /**
+     * <p>Returns whatever metadata about the source image was obtained by
+     * {@link #checkAccess()}, which must have been called first, for use by
+     * {@link SourceInfoCache}. Implementations should not incur any extra
+     * expense in order to provide it.</p>
+     *
+     * <p>The default implementation returns an instance whose properties are
+     * all unknown.</p>
+     *
+     * @return Metadata about the source image.
+     */
+    default SourceInfo getSourceInfo() {
+        return new SourceInfo();
+    }
+
     /**
      * @param identifier Identifier of a source image.
      */
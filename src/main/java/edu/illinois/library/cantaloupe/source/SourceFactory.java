@@ -4,8 +4,11 @@ import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.ConfigurationException;
 import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+import edu.illinois.library.cantaloupe.metrics.ServerTiming;
 import edu.illinois.library.cantaloupe.script.DelegateMethod;
 import edu.illinois.library.cantaloupe.script.DelegateProxy;
+import edu.illinois.library.cantaloupe.util.Stopwatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -80,6 +83,16 @@ public final class SourceFactory {
      */
     public Source newSource(Identifier identifier,
                             DelegateProxy proxy) throws Exception {
+        final Stopwatch watch = new Stopwatch();
+        try {
+            return selectSource(identifier, proxy);
+        } finally {
+            ServerTiming.record("source", watch);
+        }
+    }
+
+    private Source selectSource(Identifier identifier,
+                                DelegateProxy proxy) throws Exception {
         switch (getSelectionStrategy()) {
             case DELEGATE_SCRIPT:
                 if (proxy == null) {
@@ -128,6 +141,9 @@ public final class SourceFactory {
         Source source = (Source) class_.newInstance();
         source.setIdentifier(identifier);
         source.setDelegateProxy(proxy);
+
+        MetricRegistry.getInstance().recordSourceUse(
+                class_.getSimpleName());
         return source;
     }
 
@@ -0,0 +1,136 @@
+package edu.illinois.library.cantaloupe.source;
+
+import edu.illinois.library.cantaloupe.image.Format;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * <p>Immutable metadata about a source image, as obtained by {@link
+ * Source#checkAccess()} and {@link Source#getFormat()}.</p>
+ *
+ * <p>Any property may be unknown, in which case the corresponding accessor
+ * returns {@literal -1} or {@literal null}.</p>
+ *
+ * @see SourceInfoCache
+ */
+public final class SourceInfo {
+
+    private final long length;
+    private final Instant lastModified;
+    private final String eTag;
+    private final Format format;
+
+    /**
+     * Creates an instance whose properties are all unknown.
+     */
+    public SourceInfo() {
+        this(-1, null, null);
+    }
+
+    /**
+     * @param length       Length of the source image in bytes, or {@literal
+     *                     -1} if unknown.
+     * @param lastModified Last-modified time of the source image. May be
+     *                     {@literal null}.
+     * @param eTag         Entity tag or other opaque version identifier of
+     *                     the source image. May be {@literal null}.
+     */
+    public SourceInfo(long length, Instant lastModified, String eTag) {
+        this(length, lastModified, eTag, null);
+    }
+
+    private SourceInfo(long length,
+                       Instant lastModified,
+                       String eTag,
+                       Format format) {
+        this.length = length;
+        this.lastModified = lastModified;
+        this.eTag = eTag;
+        this.format = format;
+    }
+
+    /**
+     * @return Entity tag or other opaque version identifier of the source
+     *         image, or {@literal null} if unknown.
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * @return Format of the source image, or {@literal null} if it has not
+     *         been determined.
+     */
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * @return Last-modified time of the source image, or {@literal null} if
+     *         unknown.
+     */
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return Length of the source image in bytes, or {@literal -1} if
+     *         unknown.
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * @param other Info about the same source image obtained at some earlier
+     *              time.
+     * @return      Whether the two instances are known to describe different
+     *              versions of the source image, i.e. whether their entity
+     *              tags differ, or the instance's last-modified time is
+     *              later. If neither property is known in both instances,
+     *              {@literal false} is returned.
+     */
+    boolean isChangedSince(SourceInfo other) {
+        if (eTag != null && other.eTag != null) {
+            return !eTag.equals(other.eTag);
+        }
+        if (lastModified != null && other.lastModified != null) {
+            return lastModified.isAfter(other.lastModified);
+        }
+        return false;
+    }
+
+    /**
+     * @return Copy of the instance with the given format.
+     */
+    SourceInfo withFormat(Format format) {
+        return new SourceInfo(length, lastModified, eTag, format);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        } else if (obj instanceof SourceInfo) {
+            SourceInfo other = (SourceInfo) obj;
+            return length == other.length &&
+                    Objects.equals(lastModified, other.lastModified) &&
+                    Objects.equals(eTag, other.eTag) &&
+                    Objects.equals(format, other.format);
+        }
+        return super.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(length, lastModified, eTag, format);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[length: %d] [lastModified: %s] [eTag: %s] [format: %s]",
+                length, lastModified, eTag, format);
+    }
+
+}
@@ -0,0 +1,295 @@
+package edu.illinois.library.cantaloupe.source;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.illinois.library.cantaloupe.cache.CacheFacade;
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+import edu.illinois.library.cantaloupe.metrics.Stage;
+import edu.illinois.library.cantaloupe.util.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>Bounded heap cache of {@link SourceInfo}s, enabling sources to be
+ * consulted less often&mdash;in particular, avoiding a network round trip
+ * for every request for the same image in the case of remote sources.</p>
+ *
+ * <p>Entries, which are keyed by identifier, record whether the source image
+ * exists and, if so, its {@link SourceInfo}. They are considered fresh for
+ * {@link Key#SOURCE_INFO_CACHE_TTL} seconds, after which the next {@link
+ * #checkAccess(Identifier, Source)} invocation refreshes them from the
+ * source. If the source image turns out to have changed in the meantime
+ * (according to {@link SourceInfo#isChangedSince(SourceInfo)}), all cached
+ * content relating to it is purged before the invocation returns. Entries
+ * recording that the source image doesn't exist are never considered fresh
+ * for longer than {@link #MAX_MISSING_TTL_MSEC}, so that newly added images
+ * are noticed even when the TTL is long or infinite.</p>
+ *
+ * <p>When the cache is disabled via {@link Key#SOURCE_INFO_CACHE_ENABLED},
+ * all methods pass through to the source.</p>
+ *
+ * @see CacheFacade#purge(Identifier)
+ */
+public final class SourceInfoCache {
+
+    private static final class Entry {
+
+        /**
+         * {@literal null} if the source image doesn't exist.
+         */
+        private final SourceInfo info;
+        private final long created;
+
+        /**
+         * @param created Creation time in epoch milliseconds.
+         */
+        Entry(SourceInfo info, long created) {
+            this.info = info;
+            this.created = created;
+        }
+
+        boolean exists() {
+            return info != null;
+        }
+
+        /**
+         * @param ttlMsec Time-to-live in milliseconds. {@literal 0} means
+         *                forever, except for entries of missing images.
+         * @param now     Current time in epoch milliseconds.
+         */
+        boolean isFresh(long ttlMsec, long now) {
+            if (!exists()) {
+                ttlMsec = (ttlMsec > 0) ?
+                        Math.min(ttlMsec, MAX_MISSING_TTL_MSEC) :
+                        MAX_MISSING_TTL_MSEC;
+            }
+            return ttlMsec <= 0 || now - created < ttlMsec;
+        }
+
+        Entry withFormat(Format format) {
+            return exists() ?
+                    new Entry(info.withFormat(format), created) : this;
+        }
+
+    }
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(SourceInfoCache.class);
+
+    private static final long DEFAULT_MAX_SIZE = 10000;
+
+    private static final long DEFAULT_TTL_SECONDS = 300;
+
+    /**
+     * Maximum time-to-live of entries of missing images.
+     */
+    static final long MAX_MISSING_TTL_MSEC = 1000 * 60 * 5;
+
+    /**
+     * Value of the {@literal cache} label of the metrics of this cache.
+     */
+    private static final String METRIC_NAME = "source_info";
+
+    private static SourceInfoCache instance;
+
+    /**
+     * N.B.: entries are not evicted when they become stale, as they are
+     * needed to tell whether the source image has changed when they are
+     * refreshed.
+     */
+    private final Cache<Identifier, Entry> store;
+
+    private final long ttlMsec;
+
+    /**
+     * Supplies the current time in epoch milliseconds.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * For testing only!
+     */
+    static synchronized void clearInstance() {
+        instance = null;
+    }
+
+    /**
+     * @return Shared instance.
+     */
+    public static synchronized SourceInfoCache getInstance() {
+        if (instance == null) {
+            instance = new SourceInfoCache(System::currentTimeMillis);
+        }
+        return instance;
+    }
+
+    /**
+     * @param clock Supplies the current time in epoch milliseconds. Only
+     *              tests should need to supply anything other than {@link
+     *              System#currentTimeMillis()}.
+     */
+    SourceInfoCache(LongSupplier clock) {
+        final Configuration config = Configuration.getInstance();
+        final long maxSize = config.getLong(Key.SOURCE_INFO_CACHE_MAX_SIZE,
+                DEFAULT_MAX_SIZE);
+        this.ttlMsec = config.getLong(Key.SOURCE_INFO_CACHE_TTL,
+                DEFAULT_TTL_SECONDS) * 1000;
+        this.clock = clock;
+        this.store = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    /**
+     * <p>Equivalent to {@link Source#checkAccess()}, except that the result
+     * is cached.</p>
+     *
+     * <p>N.B.: the source's {@link Source#checkAccess()} method won't be
+     * invoked when there is a fresh entry for the identifier, so the source
+     * may not rely on it having been invoked.</p>
+     *
+     * @param identifier Identifier of the source image.
+     * @param source     Source whose identifier has been set to the given
+     *                   identifier.
+     * @throws NoSuchFileException if the source image does not exist (which
+     *         may be known from the cache).
+     * @throws IOException if the source throws any other exception, which is
+     *         not cached.
+     */
+    public void checkAccess(Identifier identifier,
+                            Source source) throws IOException {
+        if (!isEnabled()) {
+            checkAccess(source);
+            return;
+        }
+
+        final Entry entry = store.getIfPresent(identifier);
+        if (entry != null && entry.isFresh(ttlMsec, clock.getAsLong())) {
+            LOGGER.debug("checkAccess(): hit for {}", identifier);
+            MetricRegistry.getInstance().recordCacheAccess(METRIC_NAME, true);
+            if (!entry.exists()) {
+                throw new NoSuchFileException(identifier.toString());
+            }
+            return;
+        }
+        MetricRegistry.getInstance().recordCacheAccess(METRIC_NAME, false);
+
+        try {
+            checkAccess(source);
+        } catch (NoSuchFileException e) {
+            store.put(identifier, new Entry(null, clock.getAsLong()));
+            throw e;
+        }
+
+        SourceInfo info = source.getSourceInfo();
+        if (info == null) {
+            info = new SourceInfo();
+        }
+
+        if (entry != null && entry.exists()) {
+            if (info.isChangedSince(entry.info)) {
+                // Anything derived from the old version is now invalid.
+                // This is done synchronously so that the current request
+                // can't be served from the caches of the old version.
+                LOGGER.info("checkAccess(): {} has changed; purging it",
+                        identifier);
+                try {
+                    new CacheFacade().purge(identifier);
+                } catch (IOException e) {
+                    // Restore the stale entry so that the next invocation
+                    // detects the change and tries again.
+                    store.put(identifier, entry);
+                    throw e;
+                }
+            } else {
+                // The format can't have changed, so carry it forward.
+                info = info.withFormat(entry.info.getFormat());
+            }
+        }
+        LOGGER.debug("checkAccess(): caching {} for {}", info, identifier);
+        store.put(identifier, new Entry(info, clock.getAsLong()));
+    }
+
+    /**
+     * Invokes {@link Source#checkAccess()}, recording its latency.
+     */
+    private static void checkAccess(Source source) throws IOException {
+        final Stopwatch watch = new Stopwatch();
+        try {
+            source.checkAccess();
+        } finally {
+            MetricRegistry.getInstance().recordStage(
+                    Stage.SOURCE_ACCESS, watch);
+        }
+    }
+
+    /**
+     * @param identifier Identifier of the source image.
+     * @return           Cached info of the source image, or {@literal null}
+     *                   if none is cached, or the source image is known not
+     *                   to exist. The info may be stale.
+     */
+    public SourceInfo get(Identifier identifier) {
+        final Entry entry = store.getIfPresent(identifier);
+        return (entry != null) ? entry.info : null;
+    }
+
+    /**
+     * Equivalent to {@link Source#getFormat()}, except that the result is
+     * cached if the source image is already cached by {@link
+     * #checkAccess(Identifier, Source)}.
+     *
+     * @param identifier Identifier of the source image.
+     * @param source     Source whose identifier has been set to the given
+     *                   identifier.
+     */
+    public Format getFormat(Identifier identifier,
+                            Source source) throws IOException {
+        if (isEnabled()) {
+            final Entry entry = store.getIfPresent(identifier);
+            if (entry != null && entry.exists() &&
+                    entry.isFresh(ttlMsec, clock.getAsLong()) &&
+                    entry.info.getFormat() != null) {
+                LOGGER.debug("getFormat(): hit for {}", identifier);
+                return entry.info.getFormat();
+            }
+        }
+
+        final Format format = source.getFormat();
+
+        if (isEnabled() && !Format.UNKNOWN.equals(format)) {
+            store.asMap().computeIfPresent(identifier,
+                    (id, entry) -> entry.withFormat(format));
+        }
+        return format;
+    }
+
+    private boolean isEnabled() {
+        return Configuration.getInstance().
+                getBoolean(Key.SOURCE_INFO_CACHE_ENABLED, false);
+    }
+
+    public void purge() {
+        LOGGER.debug("purge()");
+        store.invalidateAll();
+    }
+
+    public void purge(Identifier identifier) {
+        LOGGER.debug("purge(Identifier): purging {}", identifier);
+        store.invalidate(identifier);
+    }
+
+    /**
+     * @return Approximate number of entries.
+     */
+    public long size() {
+        return store.estimatedSize();
+    }
+
+}
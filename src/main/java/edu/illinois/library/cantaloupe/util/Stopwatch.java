@@ -7,13 +7,20 @@ package edu.illinois.library.cantaloupe.util;
  */
 public final class Stopwatch {
 
-    private final long startTime = System.currentTimeMillis();
+    private final long startTime = System.nanoTime();
 
     /**
      * @return Number of milliseconds since the stopwatch was started.
      */
     public long timeElapsed() {
-        return System.currentTimeMillis() - startTime;
+        return timeElapsedNanos() / 1000000;
+    }
+
+    /**
+     * @return Number of nanoseconds since the stopwatch was started.
+     */
+    public long timeElapsedNanos() {
+        return System.nanoTime() - startTime;
     }
 
     @Override
@@ -34,6 +34,35 @@ public final class StringUtil {
         return str; // This should never hit.
     }
 
+    /**
+     * Parses a human-readable byte size like {@literal 500}, {@literal
+     * 500M}, {@literal 1.5GB}, etc. Units are powers of 1024.
+     *
+     * @param humanSize Size string.
+     * @return          Size in bytes.
+     * @throws NumberFormatException if the argument cannot be parsed.
+     */
+    public static long toByteSize(String humanSize) {
+        final String numberStr = humanSize.replaceAll("[^\\d.]", "");
+        final double number = Double.parseDouble(numberStr);
+        short exponent;
+
+        if (humanSize.endsWith("K") || humanSize.endsWith("KB")) {
+            exponent = 1;
+        } else if (humanSize.endsWith("M") || humanSize.endsWith("MB")) {
+            exponent = 2;
+        } else if (humanSize.endsWith("G") || humanSize.endsWith("GB")) {
+            exponent = 3;
+        } else if (humanSize.endsWith("T") || humanSize.endsWith("TB")) {
+            exponent = 4;
+        } else if (humanSize.endsWith("P") || humanSize.endsWith("PB")) { // you never know
+            exponent = 5;
+        } else {
+            exponent = 0;
+        }
+        return Math.round(number * Math.pow(1024, exponent));
+    }
+
     /**
      * @param f
      * @return String representation of the given float with trailing zeroes
@@ -175,6 +175,15 @@ public class ApplicationServerTest extends BaseTest {
         isStarted();
     }
 
+    @Test
+    public void isVirtualThreadsEnabled() {
+        // default
+        assertFalse(instance.isVirtualThreadsEnabled());
+        // explicitly set
+        instance.setVirtualThreadsEnabled(true);
+        assertTrue(instance.isVirtualThreadsEnabled());
+    }
+
     @Test
     public void startStartsHTTPServer() throws Exception {
         initializeHTTP();
@@ -183,6 +192,15 @@ public class ApplicationServerTest extends BaseTest {
         assertStatus(200, "http://127.0.0.1:" + HTTP_PORT +"/");
     }
 
+    @Test
+    public void startStartsHTTPServerWithVirtualThreads() throws Exception {
+        initializeHTTP();
+        instance.setVirtualThreadsEnabled(true);
+        instance.start();
+
+        assertStatus(200, "http://127.0.0.1:" + HTTP_PORT +"/");
+    }
+
     @Test
     public void startStartsHTTPSServer() throws Exception {
         initializeHTTPS();
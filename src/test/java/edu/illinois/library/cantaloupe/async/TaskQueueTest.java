@@ -1,10 +1,18 @@
 package edu.illinois.library.cantaloupe.async;
 
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.test.BaseTest;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
 
@@ -18,6 +26,41 @@ public class TaskQueueTest extends BaseTest {
         instance = TaskQueue.getInstance();
     }
 
+    /* getMetrics() */
+
+    @Test
+    public void testGetMetrics() {
+        List<LaneMetrics> metrics = instance.getMetrics();
+        assertEquals(TaskQueue.Lane.values().length, metrics.size());
+    }
+
+    @Test
+    public void testGetMetricsWithLane() throws Exception {
+        instance.submit(new MockCallable<>(), TaskQueue.Lane.PURGE);
+        instance.submit(new MockFailingCallable<>(), TaskQueue.Lane.PURGE);
+        instance.submit(new AuditableFutureTask<>(new MockFailingCallable<>()),
+                TaskQueue.Lane.PURGE);
+        Thread.sleep(400);
+
+        LaneMetrics metrics = instance.getMetrics(TaskQueue.Lane.PURGE);
+        assertEquals(TaskQueue.Lane.PURGE, metrics.getLane());
+        assertEquals(0, metrics.getQueuedCount());
+        assertEquals(0, metrics.getRunningCount());
+        assertEquals(1, metrics.getCompletedCount());
+        assertEquals(2, metrics.getFailedCount());
+    }
+
+    @Test
+    public void testGetMetricsReflectsConfiguredConcurrency() {
+        Configuration.getInstance().setProperty(
+                Key.TASK_QUEUE_WRITE_BEHIND_CONCURRENCY, 5);
+        TaskQueue.clearInstance();
+        instance = TaskQueue.getInstance();
+
+        assertEquals(5,
+                instance.getMetrics(TaskQueue.Lane.WRITE_BEHIND).getConcurrency());
+    }
+
     /* queuedTasks() */
 
     @Test
@@ -38,6 +81,69 @@ public class TaskQueueTest extends BaseTest {
         assertEquals(2, instance.queuedTasks().size());
     }
 
+    /* submit(Callable<?>, Lane) */
+
+    @Test(timeout = 5000)
+    public void testSubmitCallableWithLaneIsNotBlockedByOtherLanes()
+            throws Exception {
+        final CountDownLatch adminLatch = new CountDownLatch(1);
+        final CountDownLatch writeLatch = new CountDownLatch(1);
+        instance.submit(() -> {
+            adminLatch.await();
+            return null;
+        }, TaskQueue.Lane.ADMIN);
+        instance.submit(() -> {
+            writeLatch.countDown();
+            return null;
+        }, TaskQueue.Lane.WRITE_BEHIND);
+
+        // The write-behind task runs even though the admin task is stuck.
+        assertTrue(writeLatch.await(2, TimeUnit.SECONDS));
+        adminLatch.countDown();
+    }
+
+    @Test(timeout = 5000)
+    public void testSubmitCallableWithLaneRunsUpToConcurrency()
+            throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.TASK_QUEUE_PURGE_CONCURRENCY, 3);
+        TaskQueue.clearInstance();
+        instance = TaskQueue.getInstance();
+
+        final CountDownLatch startedLatch = new CountDownLatch(3);
+        final CountDownLatch releaseLatch = new CountDownLatch(1);
+        for (int i = 0; i < 4; i++) {
+            instance.submit(() -> {
+                startedLatch.countDown();
+                releaseLatch.await();
+                return null;
+            }, TaskQueue.Lane.PURGE);
+        }
+
+        assertTrue(startedLatch.await(2, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        LaneMetrics metrics = instance.getMetrics(TaskQueue.Lane.PURGE);
+        assertEquals(3, metrics.getRunningCount());
+        assertEquals(1, metrics.getQueuedCount());
+        releaseLatch.countDown();
+    }
+
+    @Test
+    public void testSubmitCallableWithLaneStartsTasksInFIFOOrder()
+            throws Exception {
+        final List<Integer> order =
+                Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 5; i++) {
+            final int index = i;
+            instance.submit(() -> {
+                order.add(index);
+                return null;
+            }, TaskQueue.Lane.ADMIN);
+        }
+        Thread.sleep(100);
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), order);
+    }
+
     /* submit(Callable<?>) */
 
     @Test
@@ -20,6 +20,8 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -300,6 +302,38 @@ abstract class AbstractCacheTest extends BaseTest {
         assertNotNull(instance.getImageInfo(id2));
     }
 
+    /* purge(Identifier, PurgeProgress) */
+
+    @Test
+    public void testPurgeWithIdentifierAndProgress() throws Exception {
+        DerivativeCache instance = newInstance();
+        Identifier identifier = new Identifier("cats");
+        List<OperationList> opLists = new ArrayList<>();
+        for (Format format : new Format[] {
+                Format.GIF, Format.JPG, Format.PNG, Format.TIF }) {
+            OperationList opList = new OperationList(
+                    identifier, new Encode(format));
+            opLists.add(opList);
+            try (OutputStream os =
+                         instance.newDerivativeImageOutputStream(opList)) {
+                Files.copy(TestUtil.getImage(IMAGE), os);
+            }
+        }
+        instance.put(identifier, new Info());
+
+        Thread.sleep(ASYNC_WAIT);
+
+        instance.purge(identifier, new PurgeProgress());
+
+        assertNull(instance.getImageInfo(identifier));
+        for (OperationList opList : opLists) {
+            try (InputStream is =
+                         instance.newDerivativeImageInputStream(opList)) {
+                assertNull(is);
+            }
+        }
+    }
+
     /* purge(OperationList) */
 
     @Test
@@ -122,8 +122,10 @@ public class CacheFacadeTest extends BaseTest {
         Identifier identifier = new Identifier("cats");
         Path image = TestUtil.getImage("jpg");
 
-        try (OutputStream os = sourceCache.newSourceImageOutputStream(identifier)) {
+        try (CompletableOutputStream os =
+                sourceCache.newSourceImageOutputStream(identifier)) {
             Files.copy(image, os);
+            os.setCompletelyWritten(true);
         }
 
         assertNotNull(instance.getSourceCacheFile(identifier));
@@ -234,8 +236,10 @@ public class CacheFacadeTest extends BaseTest {
         Info info = new Info();
 
         // Add identifier to the source cache.
-        try (OutputStream os = sourceCache.newSourceImageOutputStream(identifier)) {
+        try (CompletableOutputStream os =
+                sourceCache.newSourceImageOutputStream(identifier)) {
             Files.copy(TestUtil.getImage("jpg"), os);
+            os.setCompletelyWritten(true);
         }
 
         // Add opList to the derivative cache.
@@ -277,8 +281,10 @@ public class CacheFacadeTest extends BaseTest {
         Info info = new Info();
 
         // Add identifier to the source cache.
-        try (OutputStream os = sourceCache.newSourceImageOutputStream(identifier)) {
+        try (CompletableOutputStream os =
+                sourceCache.newSourceImageOutputStream(identifier)) {
             Files.copy(TestUtil.getImage("jpg"), os);
+            os.setCompletelyWritten(true);
         }
 
         // Add opList to the derivative cache.
@@ -306,6 +312,38 @@ public class CacheFacadeTest extends BaseTest {
         }
     }
 
+    /* purge(Identifier, PurgeProgress) */
+
+    @Test
+    public void testPurgeWithIdentifierAndProgress() throws Exception {
+        enableDerivativeCache();
+        SourceCache sourceCache = CacheFactory.getSourceCache();
+        DerivativeCache derivCache = CacheFactory.getDerivativeCache();
+
+        Identifier identifier = new Identifier("jpg");
+        OperationList ops = new OperationList(identifier);
+
+        try (CompletableOutputStream os =
+                sourceCache.newSourceImageOutputStream(identifier)) {
+            Files.copy(TestUtil.getImage("jpg"), os);
+            os.setCompletelyWritten(true);
+        }
+        try (OutputStream os = instance.newDerivativeImageOutputStream(ops)) {
+            Files.copy(TestUtil.getImage("jpg"), os);
+        }
+
+        PurgeProgress progress = new PurgeProgress();
+        instance.purge(identifier, progress);
+
+        assertNull(sourceCache.getSourceImageFile(identifier));
+        try (InputStream is = derivCache.newDerivativeImageInputStream(ops)) {
+            assertNull(is);
+        }
+        assertTrue(progress.getPendingCaches().isEmpty());
+        assertFalse(progress.getCompletedCaches().isEmpty());
+        assertTrue(progress.getCompletedCaches().contains("FilesystemCache"));
+    }
+
     /* purgeAsync(Identifier) */
 
     @Test
@@ -319,8 +357,10 @@ public class CacheFacadeTest extends BaseTest {
         Info info = new Info();
 
         // Add identifier to the source cache.
-        try (OutputStream os = sourceCache.newSourceImageOutputStream(identifier)) {
+        try (CompletableOutputStream os =
+                sourceCache.newSourceImageOutputStream(identifier)) {
             Files.copy(TestUtil.getImage("jpg"), os);
+            os.setCompletelyWritten(true);
         }
 
         // Add opList to the derivative cache.
@@ -389,8 +429,10 @@ public class CacheFacadeTest extends BaseTest {
         Info info = new Info();
 
         // Add identifier to the source cache.
-        try (OutputStream os = sourceCache.newSourceImageOutputStream(identifier)) {
+        try (CompletableOutputStream os =
+                sourceCache.newSourceImageOutputStream(identifier)) {
             Files.copy(TestUtil.getImage("jpg"), os);
+            os.setCompletelyWritten(true);
         }
 
         // Add opList to the derivative cache.
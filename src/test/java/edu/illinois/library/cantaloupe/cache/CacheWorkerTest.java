@@ -10,7 +10,6 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
-import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -66,8 +65,10 @@ public class CacheWorkerTest extends BaseTest {
         SourceCache cache = CacheFactory.getSourceCache();
         Identifier identifier = new Identifier("cats");
 
-        try (OutputStream os = cache.newSourceImageOutputStream(identifier)) {
+        try (CompletableOutputStream os =
+                cache.newSourceImageOutputStream(identifier)) {
             Files.copy(TestUtil.getImage("jpg"), os);
+            os.setCompletelyWritten(true);
         }
 
         assertNotNull(cache.getSourceImageFile(identifier));
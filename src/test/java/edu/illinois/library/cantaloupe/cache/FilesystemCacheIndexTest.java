@@ -0,0 +1,234 @@
+package edu.illinois.library.cantaloupe.cache;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import edu.illinois.library.cantaloupe.util.DeletingFileVisitor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FilesystemCacheIndexTest extends BaseTest {
+
+    private Path rootPath;
+    private FilesystemCacheIndex instance;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        rootPath = Files.createTempDirectory("test").resolve("cache");
+        Files.createDirectories(rootPath);
+        instance = new FilesystemCacheIndex(rootPath,
+                rootPath.resolve("index.journal"));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.walkFileTree(rootPath, new DeletingFileVisitor());
+    }
+
+    private Path createFile(String name, int size) throws IOException {
+        Path file = rootPath.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[size]);
+        return file;
+    }
+
+    /* add() */
+
+    @Test
+    public void testAdd() throws Exception {
+        instance.add(createFile("a", 10), 10);
+        instance.add(createFile("b", 20), 20);
+        assertEquals(2, instance.getNumFiles());
+        assertEquals(30, instance.getTotalSize());
+    }
+
+    @Test
+    public void testAddReplacesExistingEntry() throws Exception {
+        Path file = createFile("a", 10);
+        instance.add(file, 10);
+        instance.add(file, 15);
+        assertEquals(1, instance.getNumFiles());
+        assertEquals(15, instance.getTotalSize());
+    }
+
+    /* clear() */
+
+    @Test
+    public void testClear() throws Exception {
+        instance.add(createFile("a", 10), 10);
+        instance.clear();
+        assertEquals(0, instance.getNumFiles());
+        assertEquals(0, instance.getTotalSize());
+    }
+
+    /* evict() */
+
+    @Test
+    public void testEvictDoesNothingBeforeRebuild() throws Exception {
+        instance.setLimits(0, 1);
+        instance.add(createFile("a", 10), 10);
+        instance.add(createFile("b", 10), 10);
+        assertEquals(0, instance.evict());
+        assertEquals(2, instance.getNumFiles());
+    }
+
+    @Test
+    public void testEvictWithMaxFiles() throws Exception {
+        instance.rebuild();
+        instance.setLimits(0, 2);
+        Path a = createFile("a", 10);
+        Path b = createFile("b", 10);
+        Path c = createFile("c", 10);
+        instance.add(a, 10);
+        instance.add(b, 10);
+        instance.add(c, 10);
+
+        assertEquals(1, instance.evict());
+        assertFalse(Files.exists(a));
+        assertTrue(Files.exists(b));
+        assertTrue(Files.exists(c));
+        assertEquals(2, instance.getNumFiles());
+    }
+
+    @Test
+    public void testEvictWithMaxSize() throws Exception {
+        instance.rebuild();
+        instance.setLimits(25, 0);
+        Path a = createFile("a", 10);
+        Path b = createFile("b", 10);
+        Path c = createFile("c", 10);
+        instance.add(a, 10);
+        instance.add(b, 10);
+        instance.add(c, 10);
+
+        assertEquals(1, instance.evict());
+        assertFalse(Files.exists(a));
+        assertEquals(20, instance.getTotalSize());
+    }
+
+    @Test
+    public void testEvictRespectsTouch() throws Exception {
+        instance.rebuild();
+        instance.setLimits(0, 2);
+        Path a = createFile("a", 10);
+        Path b = createFile("b", 10);
+        Path c = createFile("c", 10);
+        instance.add(a, 10);
+        instance.add(b, 10);
+        instance.touch(a);
+        instance.add(c, 10);
+
+        instance.evict();
+        assertTrue(Files.exists(a));
+        assertFalse(Files.exists(b));
+        assertTrue(Files.exists(c));
+    }
+
+    /* rebuild() */
+
+    @Test
+    public void testRebuildScansTree() throws Exception {
+        createFile("a/b/c", 10);
+        createFile("a/d", 20);
+        createFile("a/e.tmp", 30);
+        createFile("a/empty", 0);
+
+        instance.rebuild();
+        assertTrue(instance.isReady());
+        assertEquals(2, instance.getNumFiles());
+        assertEquals(30, instance.getTotalSize());
+    }
+
+    @Test
+    public void testRebuildRetainsEntriesAddedInTheMeantime() throws Exception {
+        createFile("a", 10);
+        instance.add(createFile("b", 20), 20);
+
+        instance.rebuild();
+        assertEquals(2, instance.getNumFiles());
+        assertEquals(30, instance.getTotalSize());
+    }
+
+    @Test
+    public void testRebuildEvicts() throws Exception {
+        createFile("a", 10);
+        createFile("b", 10);
+        createFile("c", 10);
+        instance.setLimits(0, 1);
+
+        instance.rebuild();
+        assertEquals(1, instance.getNumFiles());
+    }
+
+    /* remove() */
+
+    @Test
+    public void testRemove() throws Exception {
+        Path file = createFile("a", 10);
+        instance.add(file, 10);
+        instance.remove(file);
+        assertEquals(0, instance.getNumFiles());
+        assertEquals(0, instance.getTotalSize());
+        assertTrue(Files.exists(file));
+    }
+
+    /* selectExpired() */
+
+    @Test
+    public void testSelectExpired() throws Exception {
+        Path a = createFile("a", 10);
+        Path b = createFile("b", 10);
+        instance.add(a, 10);
+        instance.add(b, 10);
+        Thread.sleep(50);
+
+        List<Path> expired = instance.selectExpired(f -> f.equals(a) ? 10 : 0);
+        assertEquals(1, expired.size());
+        assertEquals(a, expired.get(0));
+        assertEquals(1, instance.getNumFiles());
+    }
+
+    /* writeJournal() */
+
+    @Test
+    public void testWriteJournalDoesNothingBeforeRebuild() throws Exception {
+        instance.add(createFile("a", 10), 10);
+        instance.writeJournal();
+        assertFalse(Files.exists(instance.getJournalFile()));
+    }
+
+    @Test
+    public void testWriteJournalAndRebuildFromIt() throws Exception {
+        instance.rebuild();
+        Path a = createFile("a/b", 10);
+        Path c = createFile("c", 20);
+        instance.add(a, 10);
+        instance.add(c, 20);
+        instance.writeJournal();
+        assertTrue(Files.exists(instance.getJournalFile()));
+
+        // Files created after the journal was written won't be indexed,
+        // proving that the journal was used instead of a scan.
+        createFile("d", 30);
+
+        FilesystemCacheIndex newInstance = new FilesystemCacheIndex(
+                rootPath, instance.getJournalFile());
+        newInstance.rebuild();
+        assertEquals(2, newInstance.getNumFiles());
+        assertEquals(30, newInstance.getTotalSize());
+
+        // Check that access order was preserved.
+        newInstance.setLimits(0, 1);
+        newInstance.evict();
+        assertFalse(Files.exists(a));
+        assertTrue(Files.exists(c));
+    }
+
+}
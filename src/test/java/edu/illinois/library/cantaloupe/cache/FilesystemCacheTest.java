@@ -10,6 +10,7 @@ import edu.illinois.library.cantaloupe.operation.OperationList;
 import edu.illinois.library.cantaloupe.operation.Rotate;
 import edu.illinois.library.cantaloupe.operation.Scale;
 import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.image.Info;
 import edu.illinois.library.cantaloupe.test.ConcurrentReaderWriter;
 import edu.illinois.library.cantaloupe.test.TestUtil;
 import edu.illinois.library.cantaloupe.util.DeletingFileVisitor;
@@ -24,6 +25,7 @@ import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 
 import static edu.illinois.library.cantaloupe.cache.FilesystemCache.*;
 import static edu.illinois.library.cantaloupe.test.Assert.PathAssert.assertRecursiveFileCount;
@@ -40,6 +42,7 @@ public class FilesystemCacheTest extends AbstractCacheTest {
     @Before
     public void setUp() throws Exception {
         super.setUp();
+        resetIndex();
 
         fixturePath = Files.createTempDirectory("test").resolve("cache");
         sourceImagePath = fixturePath.resolve("source");
@@ -51,6 +54,7 @@ public class FilesystemCacheTest extends AbstractCacheTest {
 
     @After
     public void tearDown() throws IOException {
+        resetIndex();
         Files.walkFileTree(fixturePath, new DeletingFileVisitor());
     }
 
@@ -76,6 +80,12 @@ public class FilesystemCacheTest extends AbstractCacheTest {
         Files.write(path, contents.getBytes("UTF-8"));
     }
 
+    private void writeStaleTempFile(Path path) throws IOException {
+        writeStringToFile(path, "not empty");
+        Files.setLastModifiedTime(path, FileTime.fromMillis(
+                System.currentTimeMillis() - 1000 * 60 * 60));
+    }
+
     @Test
     public void testHashedPathFragment() {
         // depth = 2, length = 3
@@ -308,6 +318,59 @@ public class FilesystemCacheTest extends AbstractCacheTest {
         assertRecursiveFileCount(fixturePath, 3);
     }
 
+    @Test
+    public void testCleanUpWithIndexDeletesTempFilesFoundWhenRebuilding()
+            throws Exception {
+        Configuration.getInstance().setProperty(Key.FILESYSTEMCACHE_MAX_FILES, 100);
+        OperationList ops = new OperationList(new Identifier("cats"));
+        Path tempFile = derivativeImageTempFile(ops);
+        writeStaleTempFile(tempFile);
+        getIndex().rebuild();
+
+        instance.cleanUp();
+
+        assertFalse(Files.exists(tempFile));
+        assertTrue(getIndex().getDetritus().isEmpty());
+    }
+
+    @Test
+    public void testCleanUpWithIndexChecksOnlyKnownFiles() throws Exception {
+        Configuration.getInstance().setProperty(Key.FILESYSTEMCACHE_MAX_FILES, 100);
+        getIndex().rebuild();
+
+        // Created behind the cache's back, so it should not be found.
+        Path unknownTempFile = infoTempFile(new Identifier("cats"));
+        writeStaleTempFile(unknownTempFile);
+
+        Path knownTempFile = sourceImageTempFile(new Identifier("dogs"));
+        writeStaleTempFile(knownTempFile);
+        getIndex().addDetritus(knownTempFile);
+
+        instance.cleanUp();
+
+        assertTrue(Files.exists(unknownTempFile));
+        assertFalse(Files.exists(knownTempFile));
+    }
+
+    @Test
+    public void testCleanUpWithIndexWalksTreeOnce() throws Exception {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.FILESYSTEMCACHE_MAX_FILES, 100);
+        config.setProperty(Key.FILESYSTEMCACHE_JOURNAL, true);
+        // Rebuilding from a journal doesn't walk the tree.
+        writeStringToFile(fixturePath.resolve("index.journal"), "");
+        getIndex().rebuild();
+        assertFalse(getIndex().isDetritusComplete());
+
+        Path tempFile = infoTempFile(new Identifier("cats"));
+        writeStaleTempFile(tempFile);
+
+        instance.cleanUp();
+
+        assertFalse(Files.exists(tempFile));
+        assertTrue(getIndex().isDetritusComplete());
+    }
+
     @Test
     public void testGetDerivativeImageFiles() throws Exception {
         Identifier identifier = new Identifier("dogs");
@@ -366,9 +429,10 @@ public class FilesystemCacheTest extends AbstractCacheTest {
         final Identifier identifier = new Identifier("monkeys");
 
         new ConcurrentReaderWriter(() -> {
-            try (OutputStream os =
+            try (CompletableOutputStream os =
                          instance.newSourceImageOutputStream(identifier)) {
                 Files.copy(TestUtil.getImage("jpg"), os);
+                os.setCompletelyWritten(true);
             }
             return null;
         }, () -> {
@@ -379,6 +443,83 @@ public class FilesystemCacheTest extends AbstractCacheTest {
 
     /* newSourceImageOutputStream(Identifier) */
 
+    @Test
+    public void testGetGrowingSourceImageFile() throws Exception {
+        final Identifier identifier = new Identifier("cats");
+        assertNull(instance.getGrowingSourceImageFile(identifier));
+
+        GrowingFile growingFile;
+        try (CompletableOutputStream os =
+                     instance.newSourceImageOutputStream(identifier)) {
+            os.write(new byte[] { 1, 2, 3 });
+            growingFile = instance.getGrowingSourceImageFile(identifier);
+            // Progress is published in batches...
+            assertEquals(0, growingFile.getLength());
+            // ...and when flushed.
+            os.flush();
+            assertEquals(3, growingFile.getLength());
+            assertEquals(sourceImageFile(identifier), growingFile.getFile());
+            assertFalse(growingFile.isComplete());
+            os.setCompletelyWritten(true);
+        }
+        assertTrue(growingFile.isComplete());
+        assertNull(instance.getGrowingSourceImageFile(identifier));
+    }
+
+    @Test
+    public void testGetGrowingSourceImageFileWithAbortedWrite()
+            throws Exception {
+        final Identifier identifier = new Identifier("cats");
+
+        GrowingFile growingFile;
+        try (CompletableOutputStream os =
+                     instance.newSourceImageOutputStream(identifier)) {
+            os.write(new byte[] { 1, 2, 3 });
+            growingFile = instance.getGrowingSourceImageFile(identifier);
+            // not marked as completely written
+        }
+        assertTrue(growingFile.isComplete());
+        assertFalse(Files.exists(growingFile.getTempFile()));
+        assertFalse(Files.exists(sourceImageFile(identifier)));
+        assertNull(instance.getSourceImageFile(identifier));
+        try {
+            growingFile.awaitLength(4);
+            fail("Expected exception");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testGetSourceImageFileDoesNotWaitOnOtherIdentifiers()
+            throws Exception {
+        try (OutputStream os =
+                     instance.newSourceImageOutputStream(new Identifier("slow"))) {
+            os.write(new byte[] { 1, 2, 3 });
+            assertNull(instance.getSourceImageFile(new Identifier("cats")));
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testGetSourceImageFileWaitsOnSameIdentifier() throws Exception {
+        final Identifier identifier = new Identifier("cats");
+        final CompletableOutputStream os =
+                instance.newSourceImageOutputStream(identifier);
+        os.write(new byte[] { 1, 2, 3 });
+
+        new Thread(() -> {
+            try {
+                Thread.sleep(200);
+                os.setCompletelyWritten(true);
+                os.close();
+            } catch (Exception e) {
+                fail(e.getMessage());
+            }
+        }).start();
+
+        assertNotNull(instance.getSourceImageFile(identifier));
+    }
+
     @Test
     public void testNewSourceImageOutputStream() throws Exception {
         try (OutputStream os = instance.newSourceImageOutputStream(new Identifier("cats"))) {
@@ -526,4 +667,96 @@ public class FilesystemCacheTest extends AbstractCacheTest {
         assertRecursiveFileCount(infoPath, 0);
     }
 
+    @Test
+    public void testLocksAreReleased() throws Exception {
+        Identifier identifier = new Identifier("cats");
+        OperationList ops = new OperationList(identifier);
+        instance.put(identifier, new Info());
+        instance.getImageInfo(identifier);
+        instance.newSourceImageOutputStream(identifier).close();
+        instance.newDerivativeImageOutputStream(ops).close();
+        instance.purge(ops);
+        instance.purge(identifier);
+
+        assertEquals(0, getNumLockedKeys());
+    }
+
+    @Test
+    public void testPurgeInvalidWithIndex() throws Exception {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.FILESYSTEMCACHE_MAX_FILES, 100);
+        config.setProperty(Key.DERIVATIVE_CACHE_TTL, 1);
+        getIndex().rebuild();
+
+        Identifier id = new Identifier("cats");
+        try (OutputStream os =
+                     instance.newDerivativeImageOutputStream(new OperationList(id))) {
+            os.write(new byte[] { 1, 2, 3 });
+        }
+
+        // wait for it to expire
+        Thread.sleep(1500);
+
+        instance.purgeInvalid();
+        assertRecursiveFileCount(derivativeImagePath, 0);
+        assertEquals(0, getIndex().getNumFiles());
+    }
+
+    /* size-bounded mode */
+
+    @Test
+    public void testGetIndexWithNoLimits() {
+        assertNull(getIndex());
+    }
+
+    @Test
+    public void testGetIndexWithLimits() {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.FILESYSTEMCACHE_MAX_SIZE, "1M");
+        config.setProperty(Key.FILESYSTEMCACHE_MAX_FILES, 50);
+
+        FilesystemCacheIndex index = getIndex();
+        assertEquals(1024 * 1024, index.getMaxSize());
+        assertEquals(50, index.getMaxFiles());
+        assertNull(index.getJournalFile());
+    }
+
+    @Test
+    public void testGetIndexCachesLimitsUntilReloaded() {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.FILESYSTEMCACHE_MAX_FILES, 50);
+        assertEquals(50, getIndex().getMaxFiles());
+
+        config.setProperty(Key.FILESYSTEMCACHE_MAX_FILES, 60);
+        assertEquals(50, getIndex().getMaxFiles());
+
+        reloadLimits();
+        assertEquals(60, getIndex().getMaxFiles());
+    }
+
+    @Test
+    public void testWritingEvictsLeastRecentlyAccessedFiles() throws Exception {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.FILESYSTEMCACHE_MAX_FILES, 2);
+        getIndex().rebuild();
+
+        final OperationList[] opLists = new OperationList[3];
+        for (int i = 0; i < opLists.length; i++) {
+            opLists[i] = new OperationList(new Identifier("cats" + i));
+            try (OutputStream os =
+                         instance.newDerivativeImageOutputStream(opLists[i])) {
+                os.write(new byte[] { 1, 2, 3 });
+            }
+            if (i == 1) {
+                // access the first one so that the second gets evicted
+                instance.newDerivativeImageInputStream(opLists[0]).close();
+            }
+        }
+
+        assertRecursiveFileCount(derivativeImagePath, 2);
+        assertTrue(Files.exists(derivativeImageFile(opLists[0])));
+        assertFalse(Files.exists(derivativeImageFile(opLists[1])));
+        assertTrue(Files.exists(derivativeImageFile(opLists[2])));
+    }
+
 }
@@ -0,0 +1,77 @@
+package edu.illinois.library.cantaloupe.cache;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.*;
+
+public class GrowingFileTest extends BaseTest {
+
+    private GrowingFile instance;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        instance = new GrowingFile(Paths.get("/tmp/cats.tmp"),
+                Paths.get("/tmp/cats"));
+    }
+
+    @Test
+    public void testAdvance() {
+        instance.advance(5);
+        instance.advance(10);
+        assertEquals(15, instance.getLength());
+    }
+
+    @Test(timeout = 5000)
+    public void testAwaitCompletion() throws Exception {
+        new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException ignore) {
+            }
+            instance.complete();
+        }).start();
+        instance.awaitCompletion();
+        assertTrue(instance.isComplete());
+    }
+
+    @Test
+    public void testAwaitLengthReturnsImmediatelyWhenAvailable()
+            throws Exception {
+        instance.advance(10);
+        assertEquals(10, instance.awaitLength(5));
+    }
+
+    @Test(timeout = 5000)
+    public void testAwaitLengthBlocksUntilAvailable() throws Exception {
+        new Thread(() -> {
+            for (int i = 0; i < 4; i++) {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException ignore) {
+                }
+                instance.advance(5);
+            }
+        }).start();
+        assertTrue(instance.awaitLength(20) >= 20);
+    }
+
+    @Test(timeout = 5000)
+    public void testAwaitLengthReturnsLessWhenComplete() throws Exception {
+        instance.advance(10);
+        instance.complete();
+        assertEquals(10, instance.awaitLength(50));
+    }
+
+    @Test(expected = IOException.class)
+    public void testAwaitLengthThrowsExceptionWhenFailed() throws Exception {
+        instance.fail(new IOException("cats"));
+        instance.awaitLength(1);
+    }
+
+}
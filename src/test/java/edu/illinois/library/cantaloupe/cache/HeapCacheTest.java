@@ -144,6 +144,22 @@ public class HeapCacheTest extends AbstractCacheTest {
     @Override
     public void testGetImageInfoWithExistingInvalidImage() {}
 
+    @Test
+    public void testGetImageInfoWithBinaryInfo() throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.DERIVATIVE_CACHE_BINARY_INFO, true);
+        Identifier identifier = new Identifier("cats");
+        Info info = Info.builder()
+                .withIdentifier(identifier)
+                .withSize(500, 300)
+                .withTileSize(100, 50)
+                .withNumResolutions(3)
+                .build();
+        instance.put(identifier, info);
+
+        assertEquals(info, instance.getImageInfo(identifier));
+    }
+
     /* getTargetByteSize() */
 
     @Test
@@ -239,6 +255,32 @@ public class HeapCacheTest extends AbstractCacheTest {
         }
     }
 
+    @Test
+    public void testLoadFromPersistentStoreWithBinaryInfo() throws Exception {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.HEAPCACHE_PERSIST, true);
+        config.setProperty(Key.DERIVATIVE_CACHE_BINARY_INFO, true);
+
+        Path cacheFile = Files.createTempFile("heapcache", "tmp");
+        try {
+            Files.delete(cacheFile);
+            config.setProperty(Key.HEAPCACHE_PATHNAME, cacheFile.toString());
+
+            // Seed an info
+            Identifier identifier = new Identifier("cats");
+            Info info = Info.builder().withSize(500, 300).build();
+            instance.put(identifier, info);
+
+            instance.dumpToPersistentStore();
+
+            instance = new HeapCache();
+            instance.loadFromPersistentStore();
+            assertEquals(info, instance.getImageInfo(identifier));
+        } finally {
+            Files.deleteIfExists(cacheFile);
+        }
+    }
+
     /* newDerivativeImageInputStream(OperationList) */
 
     /**
@@ -0,0 +1,118 @@
+package edu.illinois.library.cantaloupe.cache;
+
+import com.google.protobuf.CodedOutputStream;
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.image.Orientation;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Dimension;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class InfoCodecTest extends BaseTest {
+
+    private Info info;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+
+        info = Info.builder()
+                .withIdentifier(new Identifier("cats"))
+                .withFormat(Format.TIF)
+                .withSize(1000, 800)
+                .withTileSize(256, 256)
+                .withNumResolutions(2)
+                .withOrientation(Orientation.ROTATE_90)
+                .build();
+        Info.Image image = new Info.Image();
+        image.setSize(new Dimension(500, 400));
+        image.setTileSize(new Dimension(128, 128));
+        info.getImages().add(image);
+    }
+
+    /* decode() */
+
+    @Test
+    public void testDecodeWithBinary() throws Exception {
+        byte[] bytes = InfoCodec.encodeBinary(info);
+        assertEquals(info, InfoCodec.decode(bytes));
+    }
+
+    @Test
+    public void testDecodeWithBinaryOfMinimalInstance() throws Exception {
+        Info minimal = new Info();
+        byte[] bytes = InfoCodec.encodeBinary(minimal);
+        assertEquals(minimal, InfoCodec.decode(bytes));
+    }
+
+    @Test
+    public void testDecodeWithJSON() throws Exception {
+        byte[] bytes = info.toJSON().getBytes(StandardCharsets.UTF_8);
+        assertEquals(info, InfoCodec.decode(bytes));
+    }
+
+    @Test
+    public void testDecodeSkipsUnknownFields() throws Exception {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        os.write(InfoCodec.encodeBinary(info));
+        CodedOutputStream output = CodedOutputStream.newInstance(os);
+        output.writeString(99, "unknown");
+        output.flush();
+
+        assertEquals(info, InfoCodec.decode(os.toByteArray()));
+    }
+
+    @Test(expected = IOException.class)
+    public void testDecodeWithUnsupportedVersion() throws Exception {
+        byte[] bytes = InfoCodec.encodeBinary(info);
+        bytes[InfoCodec.MAGIC.length] = InfoCodec.VERSION + 1;
+        InfoCodec.decode(bytes);
+    }
+
+    /* encode() */
+
+    @Test
+    public void testEncodeWithBinaryDisabled() throws Exception {
+        byte[] bytes = InfoCodec.encode(info);
+        assertFalse(InfoCodec.isBinary(bytes));
+        assertEquals(info.toJSON(), new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testEncodeWithBinaryEnabled() throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.DERIVATIVE_CACHE_BINARY_INFO, true);
+        byte[] bytes = InfoCodec.encode(info);
+        assertTrue(InfoCodec.isBinary(bytes));
+    }
+
+    /* encodeBinary() */
+
+    @Test
+    public void testEncodeBinaryIsSmallerThanJSON() throws Exception {
+        byte[] bytes = InfoCodec.encodeBinary(info);
+        assertTrue(bytes.length < info.toJSON().length());
+    }
+
+    /* isBinary() */
+
+    @Test
+    public void testIsBinary() throws Exception {
+        assertTrue(InfoCodec.isBinary(InfoCodec.encodeBinary(info)));
+        assertFalse(InfoCodec.isBinary(
+                info.toJSON().getBytes(StandardCharsets.UTF_8)));
+        assertFalse(InfoCodec.isBinary(new byte[0]));
+        assertFalse(InfoCodec.isBinary(InfoCodec.MAGIC));
+    }
+
+}
@@ -0,0 +1,158 @@
+package edu.illinois.library.cantaloupe.cache;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class InfoResponseCacheTest extends BaseTest {
+
+    private static final Identifier IDENTIFIER = new Identifier("cats");
+    private static final List<Object> VARIANT =
+            Arrays.asList("http://example.org/cats", 0);
+
+    private InfoResponseCache instance;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.INFO_RESPONSE_CACHE_ENABLED, true);
+
+        InfoResponseCache.clearInstance();
+        instance = InfoResponseCache.getInstance();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        super.tearDown();
+        InfoResponseCache.clearInstance();
+    }
+
+    private static InfoResponseCache.Response newResponse(String body) {
+        return new InfoResponseCache.Response(
+                body.getBytes(StandardCharsets.UTF_8),
+                Collections.singletonMap("Link", "<http://example.org/>"));
+    }
+
+    /* get() */
+
+    @Test
+    public void testGetWithHit() {
+        InfoResponseCache.Response response = newResponse("{}");
+        instance.put(IDENTIFIER, VARIANT, response);
+        assertSame(response, instance.get(IDENTIFIER,
+                Arrays.asList("http://example.org/cats", 0)));
+    }
+
+    @Test
+    public void testGetWithMiss() {
+        assertNull(instance.get(IDENTIFIER, VARIANT));
+    }
+
+    @Test
+    public void testGetWithDifferentVariant() {
+        instance.put(IDENTIFIER, VARIANT, newResponse("{}"));
+        assertNull(instance.get(IDENTIFIER,
+                Arrays.asList("http://example.org/cats", 1)));
+    }
+
+    @Test
+    public void testGetWithDifferentIdentifier() {
+        instance.put(IDENTIFIER, VARIANT, newResponse("{}"));
+        assertNull(instance.get(new Identifier("dogs"), VARIANT));
+    }
+
+    @Test
+    public void testGetWhenDisabled() {
+        instance.put(IDENTIFIER, VARIANT, newResponse("{}"));
+        Configuration.getInstance().setProperty(
+                Key.INFO_RESPONSE_CACHE_ENABLED, false);
+        assertNull(instance.get(IDENTIFIER, VARIANT));
+    }
+
+    /* purge() */
+
+    @Test
+    public void testPurge() {
+        instance.put(IDENTIFIER, VARIANT, newResponse("{}"));
+        instance.put(new Identifier("dogs"), VARIANT, newResponse("{}"));
+        instance.purge();
+        assertNull(instance.get(IDENTIFIER, VARIANT));
+        assertNull(instance.get(new Identifier("dogs"), VARIANT));
+    }
+
+    @Test
+    public void testPurgeWithIdentifier() {
+        final List<Object> otherVariant =
+                Arrays.asList("http://example.org/cats", 1);
+        instance.put(IDENTIFIER, VARIANT, newResponse("{}"));
+        instance.put(IDENTIFIER, otherVariant, newResponse("{}"));
+        instance.put(new Identifier("dogs"), VARIANT, newResponse("{}"));
+
+        instance.purge(IDENTIFIER);
+
+        assertNull(instance.get(IDENTIFIER, VARIANT));
+        assertNull(instance.get(IDENTIFIER, otherVariant));
+        assertNotNull(instance.get(new Identifier("dogs"), VARIANT));
+    }
+
+    @Test
+    public void testPurgedWithInfoCache() {
+        instance.put(IDENTIFIER, VARIANT, newResponse("{}"));
+        InfoService.getInstance().purgeObjectCache();
+        assertNull(instance.get(IDENTIFIER, VARIANT));
+    }
+
+    @Test
+    public void testPurgedWithInfoCacheByIdentifier() {
+        instance.put(IDENTIFIER, VARIANT, newResponse("{}"));
+        InfoService.getInstance().purgeObjectCache(IDENTIFIER);
+        assertNull(instance.get(IDENTIFIER, VARIANT));
+    }
+
+    /* put() */
+
+    @Test
+    public void testPutRespectsMaxSize() {
+        Configuration.getInstance().setProperty(
+                Key.INFO_RESPONSE_CACHE_MAX_SIZE, "4K");
+        InfoResponseCache.clearInstance();
+        instance = InfoResponseCache.getInstance();
+
+        final String body = new String(new char[1024]).replace('\0', ' ');
+        for (int i = 0; i < 8; i++) {
+            instance.put(new Identifier("image" + i), VARIANT,
+                    newResponse(body));
+        }
+        assertTrue(instance.size() < 4);
+    }
+
+    @Test
+    public void testPutWhenDisabled() {
+        Configuration.getInstance().setProperty(
+                Key.INFO_RESPONSE_CACHE_ENABLED, false);
+        instance.put(IDENTIFIER, VARIANT, newResponse("{}"));
+        assertEquals(0, instance.size());
+    }
+
+    @Test
+    public void testPutCopiesHeaders() {
+        InfoResponseCache.Response response = newResponse("{}");
+        instance.put(IDENTIFIER, VARIANT, response);
+        assertEquals("<http://example.org/>",
+                instance.get(IDENTIFIER, VARIANT).getHeaders().get("Link"));
+    }
+
+}
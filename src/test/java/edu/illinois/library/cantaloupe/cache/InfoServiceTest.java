@@ -174,4 +174,35 @@ public class InfoServiceTest extends BaseTest {
         assertEquals(1, instance.getInfoCache().size());
     }
 
+    @Test
+    public void testPurgeObjectCacheWithIdentifierAdvancesPurgeGeneration() {
+        final Identifier identifier = new Identifier("cats");
+        final long generation = instance.getPurgeGeneration(identifier);
+        instance.purgeObjectCache(identifier);
+        assertTrue(instance.getPurgeGeneration(identifier) > generation);
+    }
+
+    /* putInCachesAsync() */
+
+    @Test
+    public void testPutInCachesAsync() throws Exception {
+        final Identifier identifier = new Identifier("cats");
+        instance.putInCachesAsync(identifier, new Info(), null,
+                instance.getPurgeGeneration(identifier));
+        Thread.sleep(200);
+        assertEquals(1, instance.getInfoCache().size());
+    }
+
+    @Test
+    public void testPutInCachesAsyncDropsInfosObtainedBeforePurge()
+            throws Exception {
+        final Identifier identifier = new Identifier("cats");
+        final long generation = instance.getPurgeGeneration(identifier);
+        instance.purgeObjectCache(identifier);
+
+        instance.putInCachesAsync(identifier, new Info(), null, generation);
+        Thread.sleep(200);
+        assertEquals(0, instance.getInfoCache().size());
+    }
+
 }
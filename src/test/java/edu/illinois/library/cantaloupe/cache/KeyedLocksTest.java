@@ -0,0 +1,79 @@
+package edu.illinois.library.cantaloupe.cache;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class KeyedLocksTest extends BaseTest {
+
+    private KeyedLocks<String> instance;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        instance = new KeyedLocks<>();
+    }
+
+    @Test
+    public void testEntriesAreRemovedWhenReleased() {
+        try (KeyedLocks.Handle lock1 = instance.readLock("cats");
+             KeyedLocks.Handle lock2 = instance.readLock("cats");
+             KeyedLocks.Handle lock3 = instance.writeLock("dogs")) {
+            assertEquals(2, instance.size());
+        }
+        assertEquals(0, instance.size());
+    }
+
+    @Test
+    public void testCloseIsIdempotent() {
+        KeyedLocks.Handle lock1 = instance.readLock("cats");
+        KeyedLocks.Handle lock2 = instance.readLock("cats");
+        lock1.close();
+        lock1.close();
+        assertEquals(1, instance.size());
+        lock2.close();
+        assertEquals(0, instance.size());
+    }
+
+    @Test(timeout = 5000)
+    public void testDifferentKeysDoNotBlockEachOther() throws Exception {
+        final CountDownLatch acquired = new CountDownLatch(1);
+        try (KeyedLocks.Handle lock = instance.writeLock("cats")) {
+            new Thread(() -> {
+                try (KeyedLocks.Handle lock2 = instance.writeLock("dogs")) {
+                    acquired.countDown();
+                }
+            }).start();
+            assertTrue(acquired.await(4, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testSameKeyIsExclusive() throws Exception {
+        final AtomicBoolean isAcquired = new AtomicBoolean(false);
+        final CountDownLatch done = new CountDownLatch(1);
+        Thread thread;
+        try (KeyedLocks.Handle lock = instance.writeLock("cats")) {
+            thread = new Thread(() -> {
+                try (KeyedLocks.Handle lock2 = instance.readLock("cats")) {
+                    isAcquired.set(true);
+                }
+                done.countDown();
+            });
+            thread.start();
+            assertFalse(done.await(200, TimeUnit.MILLISECONDS));
+            assertFalse(isAcquired.get());
+        }
+        assertTrue(done.await(4, TimeUnit.SECONDS));
+        assertTrue(isAcquired.get());
+        thread.join();
+        assertEquals(0, instance.size());
+    }
+
+}
@@ -3,7 +3,6 @@ package edu.illinois.library.cantaloupe.cache;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.image.Info;
 import edu.illinois.library.cantaloupe.operation.OperationList;
-import org.apache.commons.io.output.NullOutputStream;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -51,9 +50,12 @@ class MockCache implements DerivativeCache, SourceCache {
     }
 
     @Override
-    public OutputStream newSourceImageOutputStream(Identifier identifier)
-            throws IOException {
-        return new NullOutputStream();
+    public CompletableOutputStream newSourceImageOutputStream(
+            Identifier identifier) throws IOException {
+        return new CompletableOutputStream() {
+            @Override
+            public void write(int b) {}
+        };
     }
 
     @Override
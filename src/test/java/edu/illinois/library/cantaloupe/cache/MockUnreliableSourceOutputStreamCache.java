@@ -2,10 +2,8 @@ package edu.illinois.library.cantaloupe.cache;
 
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.test.TestUtil;
-import org.apache.commons.io.output.NullOutputStream;
 
 import java.io.IOException;
-import java.io.OutputStream;
 import java.nio.file.Path;
 
 public class MockUnreliableSourceOutputStreamCache extends MockCache {
@@ -21,13 +19,13 @@ public class MockUnreliableSourceOutputStreamCache extends MockCache {
      * @throws IOException only the first time it's called.
      */
     @Override
-    public OutputStream newSourceImageOutputStream(Identifier identifier)
-            throws IOException {
+    public CompletableOutputStream newSourceImageOutputStream(
+            Identifier identifier) throws IOException {
         callCount1++;
         if (callCount1 == 1) {
             throw new IOException("I'm broken");
         }
-        return new NullOutputStream();
+        return super.newSourceImageOutputStream(identifier);
     }
 
 }
@@ -0,0 +1,89 @@
+package edu.illinois.library.cantaloupe.cache;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class PurgeExecutorTest extends BaseTest {
+
+    /* getMaxConcurrency() */
+
+    @Test
+    public void testGetMaxConcurrency() {
+        Configuration.getInstance().setProperty(
+                Key.CACHE_SERVER_PURGE_CONCURRENCY, 7);
+        assertEquals(7, PurgeExecutor.getMaxConcurrency());
+    }
+
+    @Test
+    public void testGetMaxConcurrencyWithIllegalValue() {
+        Configuration.getInstance().setProperty(
+                Key.CACHE_SERVER_PURGE_CONCURRENCY, 0);
+        assertTrue(PurgeExecutor.getMaxConcurrency() > 0);
+    }
+
+    /* await() */
+
+    @Test
+    public void testAwaitWaitsForAllTasks() throws Exception {
+        final PurgeExecutor instance = new PurgeExecutor(2);
+        final AtomicInteger count = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            instance.submit(() -> {
+                Thread.sleep(10);
+                return count.incrementAndGet();
+            });
+        }
+        instance.await();
+        assertEquals(10, count.get());
+    }
+
+    @Test
+    public void testAwaitRethrowsTaskExceptions() throws Exception {
+        final PurgeExecutor instance = new PurgeExecutor(2);
+        instance.submit(() -> {
+            throw new IOException("cats");
+        });
+        instance.submit(() -> {
+            throw new IOException("dogs");
+        });
+        try {
+            instance.await();
+            fail("Expected exception");
+        } catch (IOException e) {
+            assertEquals("cats", e.getMessage());
+            assertEquals(1, e.getSuppressed().length);
+        }
+    }
+
+    /* submit() */
+
+    @Test(timeout = 10000)
+    public void testSubmitLimitsConcurrency() throws Exception {
+        final int maxConcurrency = 3;
+        final PurgeExecutor instance = new PurgeExecutor(maxConcurrency);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        for (int i = 0; i < 20; i++) {
+            instance.submit(() -> {
+                int n = running.incrementAndGet();
+                maxRunning.accumulateAndGet(n, Math::max);
+                Thread.sleep(20);
+                running.decrementAndGet();
+                return null;
+            });
+        }
+        instance.await();
+
+        assertTrue(maxRunning.get() <= maxConcurrency);
+        assertTrue(maxRunning.get() > 1);
+    }
+
+}
@@ -0,0 +1,47 @@
+package edu.illinois.library.cantaloupe.cache;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class PurgeProgressTest extends BaseTest {
+
+    private PurgeProgress instance;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        instance = new PurgeProgress();
+    }
+
+    @Test
+    public void testAddDeleted() {
+        instance.addDeleted(3);
+        instance.addDeleted(5);
+        assertEquals(8, instance.getDeletedCount());
+    }
+
+    @Test
+    public void testAddFailed() {
+        instance.addFailed(2);
+        assertEquals(2, instance.getFailedCount());
+    }
+
+    @Test
+    public void testCacheStartedAndCompleted() {
+        instance.cacheStarted("S3Cache");
+        assertEquals(Collections.singletonList("S3Cache"),
+                instance.getPendingCaches());
+        assertTrue(instance.getCompletedCaches().isEmpty());
+
+        instance.cacheCompleted("S3Cache");
+        assertTrue(instance.getPendingCaches().isEmpty());
+        assertEquals(Collections.singletonList("S3Cache"),
+                instance.getCompletedCaches());
+    }
+
+}
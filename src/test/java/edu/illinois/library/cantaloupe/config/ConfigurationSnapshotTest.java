@@ -0,0 +1,133 @@
+package edu.illinois.library.cantaloupe.config;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.apache.commons.configuration.ConversionException;
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ConfigurationSnapshotTest extends BaseTest {
+
+    private PropertiesConfiguration child;
+    private PropertiesConfiguration parent;
+    private ConfigurationSnapshot instance;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+
+        child = new PropertiesConfiguration();
+        child.setDelimiterParsingDisabled(true);
+        child.setProperty("common", "child");
+        child.setProperty("bool", "true");
+        child.setProperty("number", "42");
+        child.setProperty("interpolated", "${number}0");
+
+        parent = new PropertiesConfiguration();
+        parent.setDelimiterParsingDisabled(true);
+        parent.setProperty("common", "parent");
+        parent.setProperty("parent_only", "3.5");
+
+        instance = ConfigurationSnapshot.of(Arrays.asList(child, parent));
+    }
+
+    /* of() */
+
+    @Test
+    public void testOfUsesChildmostValue() {
+        assertEquals("child", instance.getString("common"));
+    }
+
+    @Test
+    public void testOfFallsBackToParentValue() {
+        assertEquals("3.5", instance.getString("parent_only"));
+    }
+
+    @Test
+    public void testOfIsNotAffectedBySubsequentChanges() {
+        child.setProperty("common", "changed");
+        assertEquals("child", instance.getString("common"));
+    }
+
+    @Test
+    public void testOfInterpolatesValues() {
+        assertEquals("420", instance.getString("interpolated"));
+        assertEquals(420, (int) instance.getInteger("interpolated"));
+    }
+
+    /* getBoolean() */
+
+    @Test
+    public void testGetBoolean() {
+        assertTrue(instance.getBoolean("bool"));
+    }
+
+    @Test
+    public void testGetBooleanWithMissingKey() {
+        assertNull(instance.getBoolean("bogus"));
+    }
+
+    @Test(expected = ConversionException.class)
+    public void testGetBooleanWithInvalidValue() {
+        instance.getBoolean("common");
+    }
+
+    /* getDouble() */
+
+    @Test
+    public void testGetDouble() {
+        assertEquals(3.5, instance.getDouble("parent_only"), 0.00001);
+    }
+
+    @Test(expected = ConversionException.class)
+    public void testGetDoubleWithInvalidValue() {
+        instance.getDouble("common");
+    }
+
+    /* getFloat() */
+
+    @Test
+    public void testGetFloat() {
+        assertEquals(3.5f, instance.getFloat("parent_only"), 0.00001f);
+    }
+
+    /* getInteger() */
+
+    @Test
+    public void testGetInteger() {
+        assertEquals(42, (int) instance.getInteger("number"));
+    }
+
+    @Test(expected = ConversionException.class)
+    public void testGetIntegerWithInvalidValue() {
+        instance.getInteger("parent_only");
+    }
+
+    /* getLong() */
+
+    @Test
+    public void testGetLong() {
+        assertEquals(42L, (long) instance.getLong("number"));
+    }
+
+    /* getProperty() */
+
+    @Test
+    public void testGetProperty() {
+        assertEquals("child", instance.getProperty("common"));
+        assertNull(instance.getProperty("bogus"));
+    }
+
+    /* size() */
+
+    @Test
+    public void testSize() {
+        assertEquals(5, instance.size());
+        assertEquals(0, ConfigurationSnapshot.EMPTY.size());
+    }
+
+}
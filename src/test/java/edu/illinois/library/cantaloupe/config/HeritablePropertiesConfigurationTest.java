@@ -73,6 +73,18 @@ public class HeritablePropertiesConfigurationTest extends FileConfigurationTest
         assertEquals("dogs", instance.getProperty("level2_key"));
     }
 
+    /* reload() */
+
+    @Test
+    public void testReloadReplacesValues() throws Exception {
+        instance.reload();
+        instance.setProperty("common_key", "bears");
+        assertEquals("bears", instance.getString("common_key"));
+
+        instance.reload();
+        assertEquals("birds", instance.getString("common_key"));
+    }
+
     /* setProperty() */
 
     @Test
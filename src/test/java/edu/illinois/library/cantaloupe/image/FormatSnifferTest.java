@@ -0,0 +1,85 @@
+package edu.illinois.library.cantaloupe.image;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import edu.illinois.library.cantaloupe.test.TestUtil;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class FormatSnifferTest extends BaseTest {
+
+    private static Format sniff(Path file) throws IOException {
+        byte[] bytes = new byte[FormatSniffer.HEADER_LENGTH];
+        int length;
+        try (InputStream is = Files.newInputStream(file)) {
+            length = is.read(bytes);
+        }
+        return FormatSniffer.sniff(bytes, length);
+    }
+
+    private static Format sniff(String string) {
+        byte[] bytes = string.getBytes(StandardCharsets.ISO_8859_1);
+        return FormatSniffer.sniff(bytes, bytes.length);
+    }
+
+    @Test
+    public void testSniffWithAllFormats() throws Exception {
+        for (Format format : Format.values()) {
+            if (Format.UNKNOWN.equals(format)) {
+                continue;
+            }
+            Path file = TestUtil.getImage(format.name().toLowerCase());
+            assertEquals(format, sniff(file));
+        }
+    }
+
+    @Test
+    public void testSniffWithBigTIFF() throws Exception {
+        assertEquals(Format.TIF, sniff(TestUtil.getImage(
+                "tif-rgb-1res-64x56x8-tiled-uncompressed-bigtiff.tif")));
+    }
+
+    @Test
+    public void testSniffWithJ2KCodestream() {
+        assertEquals(Format.JP2, sniff("\u00ffO\u00ffQ\u0000)"));
+    }
+
+    @Test
+    public void testSniffWithUnsupportedISOBMFFBrand() {
+        assertEquals(Format.UNKNOWN, sniff("\u0000\u0000\u0000\u0018ftypheic"));
+    }
+
+    @Test
+    public void testSniffWithUnsupportedRIFFType() {
+        assertEquals(Format.UNKNOWN, sniff("RIFF\u0000\u0000\u0000\u0000WAVE"));
+    }
+
+    @Test
+    public void testSniffWithBMPSignatureButNoDIBHeader() {
+        assertEquals(Format.UNKNOWN, sniff("BMaybe this is just text."));
+    }
+
+    @Test
+    public void testSniffWithTooFewBytes() {
+        assertEquals(Format.UNKNOWN, sniff("\u00ff\u00d8"));
+        assertEquals(Format.UNKNOWN, FormatSniffer.sniff(new byte[0], 0));
+    }
+
+    @Test
+    public void testSniffWithUnrecognizedBytes() throws Exception {
+        assertEquals(Format.UNKNOWN, sniff(TestUtil.getImage("text.txt")));
+    }
+
+    @Test
+    public void testSniffRespectsLengthArgument() {
+        byte[] bytes = "%PDF-1.4".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(Format.UNKNOWN, FormatSniffer.sniff(bytes, 3));
+    }
+
+}
@@ -12,9 +12,7 @@ import java.io.InputStream;
 import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 
 import static org.junit.Assert.*;
@@ -65,22 +63,17 @@ public class MediaTypeTest {
             Path file = files.get(format);
             MediaType preferredMediaType = format.getPreferredMediaType();
 
-            boolean result = MediaType.detectMediaTypes(file).
-                    contains(preferredMediaType);
-            if (!result) {
-                System.err.println("detection failed:" +
-                        "\tformat: " + format +
-                        "\tfile: " + file.getFileName());
-            }
-
-            // detectMediaTypes() doesn't understand these.
-            if (!new HashSet<>(Arrays.asList("avi", "webm")).
-                    contains(file.getFileName().toString())) {
-                assertTrue(result);
-            }
+            assertTrue("Detection failed: " + file.getFileName(),
+                    MediaType.detectMediaTypes(file).contains(preferredMediaType));
         }
     }
 
+    @Test
+    public void testDetectMediaTypesWithPathFallsBackToTika() throws Exception {
+        Path file = TestUtil.getImage("text.txt");
+        assertTrue(MediaType.detectMediaTypes(file).contains(MediaType.TEXT_PLAIN));
+    }
+
     /* detectMediaTypes(InputStream) */
 
     @Test
@@ -90,23 +83,23 @@ public class MediaTypeTest {
             Path file = files.get(format);
 
             try (InputStream is = new BufferedInputStream(Files.newInputStream(file))) {
-                boolean result = MediaType.detectMediaTypes(is).
-                        contains(preferredMediaType);
-                if (!result) {
-                    System.err.println("detection failed:" +
-                            "\tformat: " + format +
-                            "\tfile: " + file.getFileName());
-                }
-
-                // detectMediaTypes() doesn't understand these.
-                if (!new HashSet<>(Arrays.asList("avi", "webm")).
-                        contains(file.getFileName().toString())) {
-                    assertTrue(result);
-                }
+                assertTrue("Detection failed: " + file.getFileName(),
+                        MediaType.detectMediaTypes(is).contains(preferredMediaType));
             }
         }
     }
 
+    @Test
+    public void testDetectMediaTypesWithInputStreamResetsStream()
+            throws Exception {
+        Path file = files.get(Format.JPG);
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(file))) {
+            MediaType.detectMediaTypes(is);
+            assertEquals(0xff, is.read());
+            assertEquals(0xd8, is.read());
+        }
+    }
+
     /* MediaType(String) */
 
     @Test
@@ -0,0 +1,193 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import edu.illinois.library.cantaloupe.util.Stopwatch;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class MetricRegistryTest extends BaseTest {
+
+    private MetricRegistry instance;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        Configuration.getInstance().setProperty(Key.METRICS_ENABLED, true);
+
+        MetricRegistry.clearInstance();
+        instance = MetricRegistry.getInstance();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        super.tearDown();
+        instance.unregisterMBean();
+        MetricRegistry.clearInstance();
+    }
+
+    /* counter() */
+
+    @Test
+    public void testCounterReturnsSameInstanceForSameNameAndLabels() {
+        Counter counter = instance.counter("test", "a", "b");
+        assertSame(counter, instance.counter("test", "a", "b"));
+        assertNotSame(counter, instance.counter("test", "a", "c"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCounterWithUnpairedLabels() {
+        instance.counter("test", "a");
+    }
+
+    /* getValues() */
+
+    @Test
+    public void testGetValues() {
+        instance.counter("test_total", "a", "b").increment(3);
+        instance.timer("test_seconds").record(500000000);
+        instance.gauge("test_gauge", () -> 5);
+
+        Map<String,Double> values = instance.getValues();
+        assertEquals(3, values.get("test_total{a=\"b\"}"), 0.00001);
+        assertEquals(1, values.get("test_seconds_count"), 0.00001);
+        assertEquals(0.5, values.get("test_seconds_sum"), 0.00001);
+        assertEquals(5, values.get("test_gauge"), 0.00001);
+    }
+
+    @Test
+    public void testGetValuesIncludesDefaultGauges() {
+        Map<String,Double> values = instance.getValues();
+        assertTrue(values.containsKey(
+                "cantaloupe_thread_pool_threads{priority=\"normal\"}"));
+        assertTrue(values.containsKey(
+                "cantaloupe_task_queue_queued_tasks{lane=\"write_behind\"}"));
+        assertTrue(values.containsKey(
+                "cantaloupe_cache_entries{cache=\"info\"}"));
+    }
+
+    /* recordCacheAccess() */
+
+    @Test
+    public void testRecordCacheAccess() {
+        instance.recordCacheAccess("info", true);
+        instance.recordCacheAccess("info", true);
+        instance.recordCacheAccess("info", false);
+        assertEquals(2, instance.counter(MetricRegistry.CACHE_REQUESTS,
+                "cache", "info", "result", "hit").getCount());
+        assertEquals(1, instance.counter(MetricRegistry.CACHE_REQUESTS,
+                "cache", "info", "result", "miss").getCount());
+    }
+
+    @Test
+    public void testRecordCacheAccessWhenDisabled() {
+        Configuration.getInstance().setProperty(Key.METRICS_ENABLED, false);
+        instance.recordCacheAccess("info", true);
+        assertEquals(0, instance.counter(MetricRegistry.CACHE_REQUESTS,
+                "cache", "info", "result", "hit").getCount());
+    }
+
+    /* recordOperation() */
+
+    @Test
+    public void testRecordOperation() {
+        instance.recordOperation("Scale", new Stopwatch());
+        assertEquals(1, instance.timer(MetricRegistry.OPERATION_DURATION,
+                "operation", "Scale").getCount());
+    }
+
+    /* recordProcessorUse() */
+
+    @Test
+    public void testRecordProcessorUse() {
+        instance.recordProcessorUse("Java2dProcessor");
+        assertEquals(1, instance.counter(MetricRegistry.PROCESSOR_USES,
+                "processor", "Java2dProcessor").getCount());
+    }
+
+    /* recordSourceUse() */
+
+    @Test
+    public void testRecordSourceUse() {
+        instance.recordSourceUse("FilesystemSource");
+        assertEquals(1, instance.counter(MetricRegistry.SOURCE_USES,
+                "source", "FilesystemSource").getCount());
+    }
+
+    /* recordStage() */
+
+    @Test
+    public void testRecordStage() {
+        instance.recordStage(Stage.DECODE, new Stopwatch());
+        assertEquals(1, instance.timer(MetricRegistry.STAGE_DURATION,
+                "stage", "decode").getCount());
+    }
+
+    /* registerMBean() */
+
+    @Test
+    public void testRegisterMBean() throws Exception {
+        instance.recordStage(Stage.ENCODE, new Stopwatch());
+        instance.registerMBean();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(MetricRegistry.OBJECT_NAME);
+        assertTrue(server.isRegistered(name));
+        String text = (String) server.getAttribute(name, "PrometheusText");
+        assertTrue(text.contains("stage=\"encode\""));
+    }
+
+    @Test
+    public void testUnregisterMBean() throws Exception {
+        instance.registerMBean();
+        instance.unregisterMBean();
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(
+                new ObjectName(MetricRegistry.OBJECT_NAME)));
+    }
+
+    /* writePrometheusText() */
+
+    @Test
+    public void testWritePrometheusText() throws Exception {
+        instance.counter("test_total", "a", "b\"c").increment();
+        instance.timer("test_seconds").record(2000000);
+
+        StringWriter writer = new StringWriter();
+        instance.writePrometheusText(writer);
+        String text = writer.toString();
+
+        assertTrue(text.contains("# TYPE test_total counter\n" +
+                "test_total{a=\"b\\\"c\"} 1\n"));
+        assertTrue(text.contains("# TYPE test_seconds histogram\n"));
+        assertTrue(text.contains("test_seconds_bucket{le=\"0.001\"} 0\n"));
+        assertTrue(text.contains("test_seconds_bucket{le=\"0.0025\"} 1\n"));
+        assertTrue(text.contains("test_seconds_bucket{le=\"+Inf\"} 1\n"));
+        assertTrue(text.contains("test_seconds_sum 0.002\n"));
+        assertTrue(text.contains("test_seconds_count 1\n"));
+    }
+
+    @Test
+    public void testWritePrometheusTextWritesOneTypeLinePerFamily()
+            throws Exception {
+        instance.counter("test_total", "a", "1").increment();
+        instance.counter("test_total", "a", "2").increment();
+
+        StringWriter writer = new StringWriter();
+        instance.writePrometheusText(writer);
+        String text = writer.toString();
+
+        assertEquals(text.indexOf("# TYPE test_total"),
+                text.lastIndexOf("# TYPE test_total"));
+    }
+
+}
@@ -0,0 +1,122 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import edu.illinois.library.cantaloupe.util.Stopwatch;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ServerTimingTest extends BaseTest {
+
+    private ServerTiming instance;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        instance = new ServerTiming("GET", "http://example.org/iiif/2/cats");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        super.tearDown();
+        ServerTiming.detach();
+    }
+
+    /* add() */
+
+    @Test
+    public void testAddSumsRepeatedStages() {
+        instance.add("source", 1000000);
+        instance.add("decode", 5000000);
+        instance.add("source", 2000000);
+
+        Map<String,Long> stages = instance.getStages();
+        assertEquals(2, stages.size());
+        assertEquals(3000000, (long) stages.get("source"));
+        assertEquals("source", stages.keySet().iterator().next());
+    }
+
+    /* attach() */
+
+    @Test
+    public void testAttach() {
+        instance.attach();
+        assertSame(instance, ServerTiming.current());
+    }
+
+    /* detach() */
+
+    @Test
+    public void testDetach() {
+        instance.attach();
+        ServerTiming.detach();
+        assertNull(ServerTiming.current());
+    }
+
+    /* isEnabled() */
+
+    @Test
+    public void testIsEnabled() {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.METRICS_SERVER_TIMING_ENABLED, false);
+        assertFalse(ServerTiming.isEnabled());
+        config.setProperty(Key.METRICS_SERVER_TIMING_ENABLED, true);
+        assertTrue(ServerTiming.isEnabled());
+    }
+
+    /* record() */
+
+    @Test
+    public void testRecordWithAttachedInstance() {
+        instance.attach();
+        ServerTiming.record("decode", new Stopwatch());
+        assertTrue(instance.getStages().containsKey("decode"));
+    }
+
+    @Test
+    public void testRecordWithNoAttachedInstance() {
+        ServerTiming.record("decode", new Stopwatch());
+        assertTrue(instance.getStages().isEmpty());
+    }
+
+    @Test
+    public void testRecordStageViaMetricRegistry() {
+        instance.attach();
+        MetricRegistry.getInstance().recordStage(Stage.ENCODE, new Stopwatch());
+        assertTrue(instance.getStages().containsKey("encode"));
+    }
+
+    /* toHeaderValue() */
+
+    @Test
+    public void testToHeaderValue() {
+        instance.add("source", 1250000);
+        instance.add("info_read", 20500000);
+        assertTrue(instance.toHeaderValue().matches(
+                "source;dur=1\\.250, info_read;dur=20\\.500, " +
+                        "total;dur=\\d+\\.\\d{3}"));
+    }
+
+    @Test
+    public void testToHeaderValueWithNoStages() {
+        assertTrue(instance.toHeaderValue().matches("total;dur=\\d+\\.\\d{3}"));
+    }
+
+    /* toLogString() */
+
+    @Test
+    public void testToLogString() {
+        instance.setStatus(200);
+        instance.add("process", 42000000);
+        assertTrue(instance.toLogString().matches(
+                "method=GET uri=\"http://example.org/iiif/2/cats\" " +
+                        "status=200 total=\\d+\\.\\d{3} process=42\\.000"));
+    }
+
+}
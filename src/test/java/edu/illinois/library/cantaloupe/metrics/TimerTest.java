@@ -0,0 +1,48 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TimerTest extends BaseTest {
+
+    private Timer instance;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        instance = new Timer();
+    }
+
+    @Test
+    public void testGetCumulativeBucketCounts() {
+        instance.record(500000);        // 0.0005 sec
+        instance.record(1000000);       // 0.001 sec (inclusive bound)
+        instance.record(20000000);      // 0.02 sec
+        instance.record(60000000000L);  // 60 sec
+
+        long[] counts = instance.getCumulativeBucketCounts();
+        assertEquals(Timer.BUCKET_BOUNDS.length + 1, counts.length);
+        assertEquals(2, counts[0]);                   // <= 0.001
+        assertEquals(3, counts[4]);                   // <= 0.025
+        assertEquals(3, counts[counts.length - 2]);   // <= 30
+        assertEquals(4, counts[counts.length - 1]);   // +Inf
+    }
+
+    @Test
+    public void testGetCount() {
+        instance.record(1);
+        instance.record(2);
+        assertEquals(2, instance.getCount());
+    }
+
+    @Test
+    public void testGetSum() {
+        instance.record(250000000);
+        instance.record(750000000);
+        assertEquals(1.0, instance.getSum(), 0.000001);
+    }
+
+}
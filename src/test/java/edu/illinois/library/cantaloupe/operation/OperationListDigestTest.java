@@ -0,0 +1,71 @@
+package edu.illinois.library.cantaloupe.operation;
+
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class OperationListDigestTest extends BaseTest {
+
+    private static final Identifier IDENTIFIER = new Identifier("cats");
+
+    private OperationListDigest instance;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        instance = new OperationListDigest(IDENTIFIER, "rotate:15_scale:50%");
+    }
+
+    @Test
+    public void testEquals() {
+        assertEquals(instance,
+                new OperationListDigest(IDENTIFIER, "rotate:15_scale:50%"));
+        assertNotEquals(instance,
+                new OperationListDigest(IDENTIFIER, "rotate:15"));
+        assertNotEquals(instance,
+                new OperationListDigest(new Identifier("dogs"),
+                        "rotate:15_scale:50%"));
+    }
+
+    @Test
+    public void testHashCode() {
+        assertEquals(instance.hashCode(),
+                new OperationListDigest(IDENTIFIER, "rotate:15_scale:50%").hashCode());
+    }
+
+    @Test
+    public void testHasIdentifierPrefix() {
+        assertTrue(instance.hasIdentifierPrefix(
+                OperationListDigest.identifierPrefix(IDENTIFIER)));
+        assertFalse(instance.hasIdentifierPrefix(
+                OperationListDigest.identifierPrefix(new Identifier("dogs"))));
+        assertFalse(instance.hasIdentifierPrefix(new byte[2]));
+    }
+
+    @Test
+    public void testIdentifierPrefixWithNullIdentifier() {
+        assertEquals(OperationListDigest.IDENTIFIER_PREFIX_LENGTH,
+                OperationListDigest.identifierPrefix(null).length);
+    }
+
+    @Test
+    public void testToByteArrayReturnsCopy() {
+        byte[] bytes = instance.toByteArray();
+        assertEquals(OperationListDigest.LENGTH, bytes.length);
+        bytes[0]++;
+        assertNotEquals(bytes[0], instance.toByteArray()[0]);
+    }
+
+    @Test
+    public void testToString() {
+        String str = instance.toString();
+        assertEquals(OperationListDigest.LENGTH * 2, str.length());
+        assertTrue(str.startsWith(
+                OperationListDigest.identifierPrefixHex(IDENTIFIER)));
+        assertTrue(str.matches("[0-9a-f]+"));
+    }
+
+}
@@ -373,6 +373,29 @@ public class OperationListTest extends BaseTest {
         assertEquals(new Rectangle(0, 10, 50, 70), redaction.getRegion());
     }
 
+    @Test
+    public void applyNonEndpointMutationsWithRedactionsOutsideCrop()
+            throws Exception {
+        RedactionServiceTest.setUpConfiguration();
+
+        final Dimension fullSize = new Dimension(2000, 1000);
+        final Info info = Info.builder().withSize(fullSize).build();
+        final OperationList opList = new OperationList(
+                new Identifier("cats"),
+                new Crop(1000, 500, 200, 200),
+                new Encode(Format.JPG));
+
+        final RequestContext context = new RequestContext();
+        context.setOperationList(opList, fullSize);
+        DelegateProxyService service = DelegateProxyService.getInstance();
+        DelegateProxy proxy = service.newDelegateProxy(context);
+
+        opList.applyNonEndpointMutations(info, proxy);
+
+        assertNull(opList.getFirst(Redaction.class));
+        assertFalse(opList.toString().contains("redaction"));
+    }
+
     @Test
     public void applyNonEndpointMutationsWithLimitTo8Bits() throws Exception {
         final Configuration config = Configuration.getInstance();
@@ -577,12 +600,61 @@ public class OperationListTest extends BaseTest {
         assertFalse(ops1.equals(ops2));
     }
 
+    @Test
+    public void equalsWithFrozenInstances() {
+        OperationList ops1 = new OperationList(new Rotate(1));
+        OperationList ops2 = new OperationList(new Rotate(1));
+        OperationList ops3 = new OperationList(new Rotate(2));
+        ops1.freeze();
+        ops2.freeze();
+        ops3.freeze();
+        assertTrue(ops1.equals(ops2));
+        assertFalse(ops1.equals(ops3));
+    }
+
     @Test(expected = IllegalStateException.class)
     public void freezeFreezesOperations() {
         instance.freeze();
         ((Crop) instance.getFirst(Crop.class)).setHeight(300);
     }
 
+    @Test
+    public void getDigest() {
+        OperationList ops1 = new OperationList(new Identifier("cats"),
+                new Rotate(1), new Encode(Format.JPG));
+        OperationList ops2 = new OperationList(new Identifier("cats"),
+                new Rotate(1), new Encode(Format.JPG));
+        assertEquals(ops1.getDigest(), ops2.getDigest());
+        assertEquals(OperationListDigest.LENGTH,
+                ops1.getDigest().toByteArray().length);
+
+        // Assert that changing an operation changes the digest
+        ops2.add(new Rotate(2));
+        assertNotEquals(ops1.getDigest(), ops2.getDigest());
+    }
+
+    @Test
+    public void getDigestWithSameIdentifierSharesPrefix() {
+        Identifier identifier = new Identifier("cats");
+        OperationList ops1 = new OperationList(identifier, new Rotate(1));
+        OperationList ops2 = new OperationList(identifier, new Rotate(2));
+        OperationList ops3 = new OperationList(new Identifier("dogs"),
+                new Rotate(1));
+        byte[] prefix = OperationListDigest.identifierPrefix(identifier);
+
+        assertTrue(ops1.getDigest().hasIdentifierPrefix(prefix));
+        assertTrue(ops2.getDigest().hasIdentifierPrefix(prefix));
+        assertFalse(ops3.getDigest().hasIdentifierPrefix(prefix));
+        assertTrue(ops1.getDigest().toString().startsWith(
+                OperationListDigest.identifierPrefixHex(identifier)));
+    }
+
+    @Test
+    public void getDigestIsMemoizedWhenFrozen() {
+        instance.freeze();
+        assertSame(instance.getDigest(), instance.getDigest());
+    }
+
     @Test
     public void getFirst() {
         assertNull(instance.getFirst(MetadataCopy.class));
@@ -712,6 +784,15 @@ public class OperationListTest extends BaseTest {
         assertNotEquals(expected, instance.toFilename());
     }
 
+    @Test
+    public void toFilenameWhenFrozen() {
+        instance.setIdentifier(new Identifier("cats"));
+        final String expected = instance.toFilename();
+        instance.freeze();
+        assertEquals(expected, instance.toFilename());
+        assertSame(instance.toFilename(), instance.toFilename());
+    }
+
     @Test
     public void toMap() {
         instance = new OperationList(new Identifier("identifier.jpg"));
@@ -765,6 +846,16 @@ public class OperationListTest extends BaseTest {
         assertEquals(expected, instance.toString());
     }
 
+    @Test
+    public void testToStringWhenFrozen() {
+        instance.setIdentifier(new Identifier("cats"));
+        final String expected = instance.toString();
+        instance.freeze();
+        assertEquals(expected, instance.toString());
+        assertSame(instance.toString(), instance.toString());
+        assertEquals(expected.hashCode(), instance.hashCode());
+    }
+
     @Test
     public void validateWithValidInstance() {
         Dimension fullSize = new Dimension(1000, 1000);
@@ -9,14 +9,20 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.concurrent.Callable;
 
 import static org.junit.Assert.*;
 
 public class ImageOverlayCacheTest extends BaseTest {
 
+    private static final long MAX_SIZE = 1024 * 1024 * 16;
+
     private static WebServer webServer;
     private ImageOverlayCache instance;
 
@@ -32,8 +38,61 @@ public class ImageOverlayCacheTest extends BaseTest {
     }
 
     @Before
-    public void setUp() {
-        instance = new ImageOverlayCache();
+    public void setUp() throws Exception {
+        super.setUp();
+        instance = new ImageOverlayCache(MAX_SIZE, 0);
+    }
+
+    // get(URI)
+
+    @Test
+    public void testGetDecodesImageOnce() throws Exception {
+        URI uri = TestUtil.getImage("png-rgb-1x1x8.png").toUri();
+        BufferedImage image = instance.get(uri).getImage();
+        assertEquals(BufferedImage.TYPE_INT_ARGB, image.getType());
+        assertSame(image, instance.get(uri).getImage());
+    }
+
+    @Test
+    public void testGetWeighsDecodedImage() throws Exception {
+        // 200x200 ARGB = 160 KB decoded, but only a few hundred bytes encoded
+        Path file = Files.createTempFile("overlay", ".png");
+        try {
+            ImageIO.write(new BufferedImage(200, 200,
+                    BufferedImage.TYPE_INT_ARGB), "png", file.toFile());
+            instance = new ImageOverlayCache(1024 * 64, 0);
+
+            ImageOverlayCache.Entry entry = instance.get(file.toUri());
+            assertTrue(entry.size() >= 200 * 200 * 4);
+            assertEquals(0, instance.size());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testGetWithTTLRefreshesInBackground() throws Exception {
+        Path file = Files.createTempFile("overlay", ".png");
+        try {
+            Files.write(file, new byte[] { 1 });
+            instance = new ImageOverlayCache(MAX_SIZE, 1);
+            URI uri = file.toUri();
+            assertEquals(1, instance.putAndGet(uri).length);
+
+            Files.write(file, new byte[] { 1, 2 });
+            Thread.sleep(1100);
+            // The stale entry is served while the refresh is underway.
+            assertEquals(1, instance.putAndGet(uri).length);
+
+            final long deadline = System.currentTimeMillis() + 5000;
+            while (instance.putAndGet(uri).length != 2 &&
+                    System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(2, instance.putAndGet(uri).length);
+        } finally {
+            Files.deleteIfExists(file);
+        }
     }
 
     // putAndGet(URI)
@@ -85,4 +144,14 @@ public class ImageOverlayCacheTest extends BaseTest {
         new ConcurrentReaderWriter(callable, callable, 5000).run();
     }
 
+    // size()
+
+    @Test
+    public void testSize() throws Exception {
+        assertEquals(0, instance.size());
+        instance.putAndGet(TestUtil.getImage("jpg").toUri());
+        instance.putAndGet(TestUtil.getImage("png-rgb-1x1x8.png").toUri());
+        assertEquals(2, instance.size());
+    }
+
 }
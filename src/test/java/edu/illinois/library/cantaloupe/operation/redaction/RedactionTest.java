@@ -4,6 +4,7 @@ import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.operation.Crop;
 import edu.illinois.library.cantaloupe.operation.OperationList;
+import edu.illinois.library.cantaloupe.operation.Scale;
 import edu.illinois.library.cantaloupe.test.BaseTest;
 import org.junit.Before;
 import org.junit.Test;
@@ -80,6 +81,22 @@ public class RedactionTest extends BaseTest {
         assertFalse(instance.hasEffect(fullSize, opList));
     }
 
+    @Test
+    public void isNoOpWithArgumentsAndScaledCrop() {
+        final Dimension fullSize = new Dimension(600, 400);
+        final OperationList opList = new OperationList();
+        opList.add(new Crop(200, 200, 100, 100));
+        opList.add(new Scale(50, 50, Scale.Mode.NON_ASPECT_FILL));
+
+        // inside the crop, but outside of the resulting 50x50 image
+        instance = new Redaction(new Rectangle(250, 250, 10, 10));
+        assertTrue(instance.hasEffect(fullSize, opList));
+
+        // inside the resulting image bounds, but outside of the crop
+        instance = new Redaction(new Rectangle(0, 0, 10, 10));
+        assertFalse(instance.hasEffect(fullSize, opList));
+    }
+
     @Test(expected = IllegalStateException.class)
     public void setRegionWhenInstanceIsFrozen() {
         instance.freeze();
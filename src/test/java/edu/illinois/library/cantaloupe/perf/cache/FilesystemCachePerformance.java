@@ -0,0 +1,117 @@
+package edu.illinois.library.cantaloupe.perf.cache;
+
+import edu.illinois.library.cantaloupe.cache.CacheFactory;
+import edu.illinois.library.cantaloupe.cache.CompletableOutputStream;
+import edu.illinois.library.cantaloupe.cache.DerivativeCache;
+import edu.illinois.library.cantaloupe.cache.SourceCache;
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.operation.OperationList;
+import edu.illinois.library.cantaloupe.util.DeletingFileVisitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static edu.illinois.library.cantaloupe.test.PerformanceTestConstants.*;
+
+/**
+ * Measures the throughput of concurrent operations on different keys of a
+ * FilesystemCache while a source image download is in progress, which should
+ * not slow them down.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = WARMUP_ITERATIONS,
+        time = WARMUP_TIME)
+@Measurement(iterations = MEASUREMENT_ITERATIONS,
+        time = MEASUREMENT_TIME)
+@State(Scope.Benchmark)
+@Threads(8)
+@Fork(value = 1, jvmArgs = { "-server", "-Xms128M", "-Xmx128M", "-Dcantaloupe.config=memory" })
+public class FilesystemCachePerformance {
+
+    private static final int NUM_KEYS = 64;
+
+    private Path cachePath;
+    private SourceCache sourceCache;
+    private DerivativeCache derivativeCache;
+    private OutputStream slowDownload;
+
+    private static Identifier randomIdentifier() {
+        return new Identifier("image" +
+                ThreadLocalRandom.current().nextInt(NUM_KEYS));
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        cachePath = Files.createTempDirectory("cache");
+
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.FILESYSTEMCACHE_PATHNAME, cachePath.toString());
+        config.setProperty(Key.SOURCE_CACHE, "FilesystemCache");
+        config.setProperty(Key.DERIVATIVE_CACHE, "FilesystemCache");
+        config.setProperty(Key.DERIVATIVE_CACHE_ENABLED, true);
+
+        sourceCache = CacheFactory.getSourceCache();
+        derivativeCache = CacheFactory.getDerivativeCache();
+
+        for (int i = 0; i < NUM_KEYS; i++) {
+            Identifier identifier = new Identifier("image" + i);
+            try (CompletableOutputStream os =
+                    sourceCache.newSourceImageOutputStream(identifier)) {
+                os.write(new byte[1024]);
+                os.setCompletelyWritten(true);
+            }
+            derivativeCache.put(identifier, new Info());
+        }
+
+        // Left open for the duration of the benchmark.
+        slowDownload = sourceCache.newSourceImageOutputStream(
+                new Identifier("slow"));
+        slowDownload.write(new byte[1024]);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        slowDownload.close();
+        Files.walkFileTree(cachePath, new DeletingFileVisitor());
+    }
+
+    @Benchmark
+    public Object getSourceImageFile() throws Exception {
+        return sourceCache.getSourceImageFile(randomIdentifier());
+    }
+
+    @Benchmark
+    public Object getImageInfo() throws Exception {
+        return derivativeCache.getImageInfo(randomIdentifier());
+    }
+
+    @Benchmark
+    public void putImageInfo() throws Exception {
+        derivativeCache.put(randomIdentifier(), new Info());
+    }
+
+    @Benchmark
+    public void purgeOperationList() throws Exception {
+        derivativeCache.purge(new OperationList(randomIdentifier()));
+    }
+
+}
@@ -0,0 +1,92 @@
+package edu.illinois.library.cantaloupe.perf.config;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import static edu.illinois.library.cantaloupe.test.PerformanceTestConstants.*;
+
+/**
+ * Measures key lookups in the file-based application configuration, which
+ * are served from an immutable snapshot, against the same lookups in a plain
+ * Commons Configuration instance, which converts the value on every call.
+ * The string key resides in the most distant ancestor file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = WARMUP_ITERATIONS,
+        time = WARMUP_TIME)
+@Measurement(iterations = MEASUREMENT_ITERATIONS,
+        time = MEASUREMENT_TIME)
+@State(Scope.Benchmark)
+@Threads(4)
+@Fork(value = 1, jvmArgs = { "-server", "-Xms128M", "-Xmx128M",
+        "-Dcantaloupe.config=src/test/resources/heritable_level3.properties" })
+public class ConfigurationPerformance {
+
+    private static final String BOOLEAN_KEY = "level1_boolean";
+    private static final String INT_KEY     = "level1_int";
+    private static final String STRING_KEY  = "level1_key";
+
+    private Configuration config;
+    private PropertiesConfiguration commonsConfig;
+
+    @Setup
+    public void setUp() throws Exception {
+        commonsConfig = new PropertiesConfiguration();
+        commonsConfig.setDelimiterParsingDisabled(true);
+        commonsConfig.setFile(
+                new File("src/test/resources/heritable_level1.properties"));
+        commonsConfig.load();
+        commonsConfig.setProperty(BOOLEAN_KEY, "true");
+        commonsConfig.setProperty(INT_KEY, "42");
+
+        config = Configuration.getInstance();
+        config.setProperty(BOOLEAN_KEY, "true");
+        config.setProperty(INT_KEY, "42");
+    }
+
+    @Benchmark
+    public boolean getBoolean() {
+        return config.getBoolean(BOOLEAN_KEY, false);
+    }
+
+    @Benchmark
+    public int getInt() {
+        return config.getInt(INT_KEY, 0);
+    }
+
+    @Benchmark
+    public String getString() {
+        return config.getString(STRING_KEY);
+    }
+
+    @Benchmark
+    public boolean commonsGetBoolean() {
+        return commonsConfig.getBoolean(BOOLEAN_KEY, false);
+    }
+
+    @Benchmark
+    public int commonsGetInt() {
+        return commonsConfig.getInt(INT_KEY, 0);
+    }
+
+    @Benchmark
+    public String commonsGetString() {
+        return commonsConfig.getString(STRING_KEY);
+    }
+
+}
@@ -0,0 +1,87 @@
+package edu.illinois.library.cantaloupe.perf.image;
+
+import edu.illinois.library.cantaloupe.image.MediaType;
+import edu.illinois.library.cantaloupe.test.TestUtil;
+import org.apache.tika.detect.Detector;
+import org.apache.tika.io.TikaInputStream;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.parser.AutoDetectParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static edu.illinois.library.cantaloupe.test.PerformanceTestConstants.*;
+
+/**
+ * Compares {@link MediaType#detectMediaTypes} against Tika's detector, which
+ * it used exclusively before it had its own magic byte sniffer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = WARMUP_ITERATIONS,
+        time = WARMUP_TIME)
+@Measurement(iterations = MEASUREMENT_ITERATIONS,
+        time = MEASUREMENT_TIME)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = { "-server", "-Xms128M", "-Xmx128M", "-Dcantaloupe.config=memory" })
+public class MediaTypePerformance {
+
+    /**
+     * Extensionless fixtures.
+     */
+    @Param({ "jpg", "jp2", "tif", "mp4" })
+    private String fixture;
+
+    private Path file;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() throws Exception {
+        file = TestUtil.getImage(fixture);
+        bytes = Files.readAllBytes(file);
+    }
+
+    @Benchmark
+    public List<MediaType> detectMediaTypesWithPath() throws Exception {
+        return MediaType.detectMediaTypes(file);
+    }
+
+    @Benchmark
+    public List<MediaType> detectMediaTypesWithInputStream() throws Exception {
+        return MediaType.detectMediaTypes(new ByteArrayInputStream(bytes));
+    }
+
+    @Benchmark
+    public org.apache.tika.mime.MediaType tikaDetectWithPath()
+            throws Exception {
+        try (TikaInputStream is = TikaInputStream.get(file)) {
+            Detector detector = new AutoDetectParser().getDetector();
+            Metadata md = new Metadata();
+            md.add(Metadata.RESOURCE_NAME_KEY, file.toString());
+            return detector.detect(is, md);
+        }
+    }
+
+    @Benchmark
+    public org.apache.tika.mime.MediaType tikaDetectWithInputStream()
+            throws Exception {
+        Detector detector = new AutoDetectParser().getDetector();
+        return detector.detect(new ByteArrayInputStream(bytes),
+                new Metadata());
+    }
+
+}
@@ -0,0 +1,70 @@
+package edu.illinois.library.cantaloupe.perf.metrics;
+
+import edu.illinois.library.cantaloupe.metrics.ServerTiming;
+import edu.illinois.library.cantaloupe.util.Stopwatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static edu.illinois.library.cantaloupe.test.PerformanceTestConstants.*;
+
+/**
+ * Measures the cost of recording a stage with {@link ServerTiming} when no
+ * instance is attached to the thread (the disabled case, which every request
+ * pays) and when one is, against a baseline that only reads the stopwatch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = WARMUP_ITERATIONS,
+        time = WARMUP_TIME)
+@Measurement(iterations = MEASUREMENT_ITERATIONS,
+        time = MEASUREMENT_TIME)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgs = { "-server", "-Xms128M", "-Xmx128M",
+        "-Dcantaloupe.config=memory" })
+public class ServerTimingPerformance {
+
+    @State(Scope.Thread)
+    public static class AttachedState {
+
+        @Setup
+        public void setUp() {
+            new ServerTiming("GET", "/iiif/2/cats/full/full/0/default.jpg")
+                    .attach();
+        }
+
+        @TearDown
+        public void tearDown() {
+            ServerTiming.detach();
+        }
+
+    }
+
+    private final Stopwatch watch = new Stopwatch();
+
+    @Benchmark
+    public long baseline() {
+        return watch.timeElapsedNanos();
+    }
+
+    @Benchmark
+    public void recordWhenDisabled() {
+        ServerTiming.record("decode", watch);
+    }
+
+    @Benchmark
+    public void recordWhenEnabled(AttachedState state) {
+        ServerTiming.record("decode", watch);
+    }
+
+}
@@ -0,0 +1,126 @@
+package edu.illinois.library.cantaloupe.perf.operation;
+
+import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.operation.ColorTransform;
+import edu.illinois.library.cantaloupe.operation.Crop;
+import edu.illinois.library.cantaloupe.operation.Encode;
+import edu.illinois.library.cantaloupe.operation.OperationList;
+import edu.illinois.library.cantaloupe.operation.OperationListDigest;
+import edu.illinois.library.cantaloupe.operation.Rotate;
+import edu.illinois.library.cantaloupe.operation.Scale;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static edu.illinois.library.cantaloupe.test.PerformanceTestConstants.*;
+
+/**
+ * Compares cache key derivation, equality, and hashing of unfrozen operation
+ * lists, whose keys are recomputed on every invocation, against frozen ones,
+ * whose keys are memoized.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = WARMUP_ITERATIONS,
+        time = WARMUP_TIME)
+@Measurement(iterations = MEASUREMENT_ITERATIONS,
+        time = MEASUREMENT_TIME)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = { "-server", "-Xms128M", "-Xmx128M", "-Dcantaloupe.config=memory" })
+public class OperationListPerformance {
+
+    private OperationList unfrozen, unfrozenCopy, frozen, frozenCopy;
+
+    private static OperationList newOperationList() {
+        OperationList opList = new OperationList(
+                new Identifier("some-moderately-long-identifier.jp2"));
+        Crop crop = new Crop();
+        crop.setX(1024f);
+        crop.setY(2048f);
+        crop.setWidth(512f);
+        crop.setHeight(512f);
+        opList.add(crop);
+        opList.add(new Scale(0.5f));
+        opList.add(new Rotate(90));
+        opList.add(ColorTransform.GRAY);
+        opList.add(new Encode(Format.JPG));
+        opList.getOptions().put("quality", "default");
+        return opList;
+    }
+
+    @Setup
+    public void setUp() {
+        unfrozen = newOperationList();
+        unfrozenCopy = newOperationList();
+        frozen = newOperationList();
+        frozen.freeze();
+        frozenCopy = newOperationList();
+        frozenCopy.freeze();
+    }
+
+    @Benchmark
+    public String toStringUnfrozen() {
+        return unfrozen.toString();
+    }
+
+    @Benchmark
+    public String toStringFrozen() {
+        return frozen.toString();
+    }
+
+    @Benchmark
+    public String toFilenameUnfrozen() {
+        return unfrozen.toFilename();
+    }
+
+    @Benchmark
+    public String toFilenameFrozen() {
+        return frozen.toFilename();
+    }
+
+    @Benchmark
+    public OperationListDigest getDigestUnfrozen() {
+        return unfrozen.getDigest();
+    }
+
+    @Benchmark
+    public OperationListDigest getDigestFrozen() {
+        return frozen.getDigest();
+    }
+
+    @Benchmark
+    public int hashCodeUnfrozen() {
+        return unfrozen.hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeFrozen() {
+        return frozen.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsUnfrozen() {
+        return unfrozen.equals(unfrozenCopy);
+    }
+
+    @Benchmark
+    public boolean equalsFrozen() {
+        return frozen.equals(frozenCopy);
+    }
+
+    @Benchmark
+    public boolean digestEquals() {
+        return frozen.getDigest().equals(frozenCopy.getDigest());
+    }
+
+}
@@ -0,0 +1,282 @@
+package edu.illinois.library.cantaloupe.perf.resource;
+
+import edu.illinois.library.cantaloupe.ApplicationServer;
+import edu.illinois.library.cantaloupe.RestletApplication;
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.test.TestUtil;
+import edu.illinois.library.cantaloupe.util.DeletingFileVisitor;
+import edu.illinois.library.cantaloupe.util.SocketUtils;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.ContentResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static edu.illinois.library.cantaloupe.test.PerformanceTestConstants.*;
+
+/**
+ * <p>Measures the full HTTP request path by driving IIIF Image API 2 traffic
+ * at an in-process {@link ApplicationServer} serving images from {@literal
+ * FilesystemSource}.</p>
+ *
+ * <p>Each benchmark method is a traffic scenario that cycles through a fixed
+ * list of URIs:</p>
+ *
+ * <dl>
+ *     <dt>{@link #tileSweep}</dt>
+ *     <dd>Every tile of a large image at every scale factor, in the order in
+ *     which OpenSeadragon requests them when zooming in.</dd>
+ *     <dt>{@link #infoBurst}</dt>
+ *     <dd>{@literal info.json} of each of a set of images, as a viewer does
+ *     when opening a manifest.</dd>
+ *     <dt>{@link #thumbnails}</dt>
+ *     <dd>Small bounded-size renderings of the same set of images, as in a
+ *     gallery view.</dd>
+ * </dl>
+ *
+ * <p>Each scenario is run with all server caches disabled ({@literal cold})
+ * and with the derivative, info, and source info caches enabled and
+ * populated in advance ({@literal warm}).</p>
+ *
+ * <p>Throughput and latency percentiles (p0.50, p0.99, etc.) are reported by
+ * the throughput and sample-time modes. The {@literal benchmark} profile
+ * also enables the GC profiler, which reports the allocation rate
+ * ({@literal gc.alloc.rate.norm} is bytes per request). The server runs in
+ * the benchmark JVM, so this includes the server's allocations as well as
+ * the client's. To run only this suite:</p>
+ *
+ * <pre>mvn clean test -Pbenchmark -Dbenchmark=EndToEndPerformance</pre>
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = WARMUP_ITERATIONS,
+        time = WARMUP_TIME)
+@Measurement(iterations = MEASUREMENT_ITERATIONS,
+        time = MEASUREMENT_TIME)
+@State(Scope.Benchmark)
+@Threads(8)
+@Fork(value = 1, jvmArgs = { "-server", "-Xms512M", "-Xmx512M",
+        "-Dcantaloupe.config=memory" })
+public class EndToEndPerformance {
+
+    /**
+     * Copied from the test fixtures, to cover a few different formats.
+     */
+    private static final String[] FIXTURE_IMAGES = {
+            "gif-rgb-64x56x8.gif",
+            "jpg-rgb-594x522x8-baseline.jpg",
+            "png-rgb-64x56x8.png",
+            "tif-rgb-1res-64x56x8-tiled-uncompressed.tif" };
+
+    private static final int NUM_GENERATED_IMAGES = 8;
+
+    private static final int SWEEP_IMAGE_WIDTH = 4000;
+    private static final int SWEEP_IMAGE_HEIGHT = 3000;
+
+    private static final int THUMBNAIL_SIZE = 200;
+
+    /**
+     * OpenSeadragon's default.
+     */
+    private static final int TILE_SIZE = 512;
+
+    @Param({ "cold", "warm" })
+    public String cache;
+
+    private final AtomicInteger infoCursor = new AtomicInteger();
+    private final AtomicInteger thumbnailCursor = new AtomicInteger();
+    private final AtomicInteger tileCursor = new AtomicInteger();
+
+    private final List<String> infoURIs = new ArrayList<>();
+    private final List<String> thumbnailURIs = new ArrayList<>();
+    private final List<String> tileURIs = new ArrayList<>();
+
+    private ApplicationServer appServer;
+    private Path cachePath;
+    private HttpClient client;
+    private Path sourcePath;
+
+    /**
+     * Writes a JPEG with enough detail that it compresses realistically.
+     */
+    private static void writeImage(Path path, int width, int height,
+                                   long seed) throws IOException {
+        final BufferedImage image = new BufferedImage(
+                width, height, BufferedImage.TYPE_INT_RGB);
+        final Graphics2D g2d = image.createGraphics();
+        g2d.setPaint(new GradientPaint(0, 0, Color.ORANGE,
+                width, height, Color.BLUE));
+        g2d.fillRect(0, 0, width, height);
+
+        final Random random = new Random(seed);
+        for (int i = 0; i < 2000; i++) {
+            g2d.setColor(new Color(random.nextInt(0xffffff)));
+            g2d.fillOval(random.nextInt(width), random.nextInt(height),
+                    random.nextInt(width / 10) + 1,
+                    random.nextInt(height / 10) + 1);
+        }
+        g2d.dispose();
+        ImageIO.write(image, "jpg", path.toFile());
+    }
+
+    private static String next(List<String> uris, AtomicInteger cursor) {
+        return uris.get(Math.floorMod(cursor.getAndIncrement(), uris.size()));
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        sourcePath = Files.createTempDirectory("e2e-source");
+        cachePath = Files.createTempDirectory("e2e-cache");
+
+        final List<String> identifiers = new ArrayList<>();
+        for (String fixture : FIXTURE_IMAGES) {
+            Files.copy(TestUtil.getImage(fixture), sourcePath.resolve(fixture));
+            identifiers.add(fixture);
+        }
+        for (int i = 0; i < NUM_GENERATED_IMAGES; i++) {
+            final String identifier = "generated" + i + ".jpg";
+            writeImage(sourcePath.resolve(identifier),
+                    1200 + i * 100, 900 + i * 50, i);
+            identifiers.add(identifier);
+        }
+        writeImage(sourcePath.resolve("sweep.jpg"),
+                SWEEP_IMAGE_WIDTH, SWEEP_IMAGE_HEIGHT, 0);
+
+        configure();
+
+        appServer = new ApplicationServer();
+        appServer.setHTTPEnabled(true);
+        appServer.setHTTPHost("127.0.0.1");
+        appServer.setHTTPPort(SocketUtils.getOpenPort());
+        appServer.start();
+
+        client = new HttpClient();
+        client.setMaxConnectionsPerDestination(64);
+        client.start();
+
+        final String baseURI = "http://127.0.0.1:" + appServer.getHTTPPort() +
+                RestletApplication.IIIF_2_PATH + "/";
+        for (String identifier : identifiers) {
+            infoURIs.add(baseURI + identifier + "/info.json");
+            thumbnailURIs.add(baseURI + identifier + "/full/!" +
+                    THUMBNAIL_SIZE + "," + THUMBNAIL_SIZE + "/0/default.jpg");
+        }
+        addTileURIs(baseURI + "sweep.jpg");
+
+        if ("warm".equals(cache)) {
+            for (String uri : infoURIs) {
+                get(uri);
+            }
+            for (String uri : thumbnailURIs) {
+                get(uri);
+            }
+            for (String uri : tileURIs) {
+                get(uri);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (client != null) {
+            client.stop();
+        }
+        if (appServer != null) {
+            appServer.stop();
+        }
+        Files.walkFileTree(sourcePath, new DeletingFileVisitor());
+        Files.walkFileTree(cachePath, new DeletingFileVisitor());
+    }
+
+    /**
+     * Adds the URIs of all tiles of the given image, from the smallest scale
+     * factor at which the image fits in one tile down to {@literal 1}.
+     */
+    private void addTileURIs(String imageURI) {
+        int maxScaleFactor = 1;
+        while (SWEEP_IMAGE_WIDTH / maxScaleFactor > TILE_SIZE ||
+                SWEEP_IMAGE_HEIGHT / maxScaleFactor > TILE_SIZE) {
+            maxScaleFactor *= 2;
+        }
+        for (int sf = maxScaleFactor; sf >= 1; sf /= 2) {
+            final int regionSize = TILE_SIZE * sf;
+            for (int y = 0; y < SWEEP_IMAGE_HEIGHT; y += regionSize) {
+                for (int x = 0; x < SWEEP_IMAGE_WIDTH; x += regionSize) {
+                    final int w = Math.min(regionSize, SWEEP_IMAGE_WIDTH - x);
+                    final int h = Math.min(regionSize, SWEEP_IMAGE_HEIGHT - y);
+                    final int scaledWidth = (int) Math.ceil(w / (double) sf);
+                    tileURIs.add(String.format("%s/%d,%d,%d,%d/%d,/0/default.jpg",
+                            imageURI, x, y, w, h, scaledWidth));
+                }
+            }
+        }
+    }
+
+    private void configure() {
+        final boolean isWarm = "warm".equals(cache);
+        final Configuration config = Configuration.getInstance();
+        config.setProperty(Key.SOURCE_STATIC, "FilesystemSource");
+        config.setProperty(Key.FILESYSTEMSOURCE_LOOKUP_STRATEGY,
+                "BasicLookupStrategy");
+        config.setProperty(Key.FILESYSTEMSOURCE_PATH_PREFIX,
+                sourcePath.toString() + "/");
+        config.setProperty(Key.PROCESSOR_FALLBACK, "Java2dProcessor");
+
+        config.setProperty(Key.FILESYSTEMCACHE_PATHNAME, cachePath.toString());
+        config.setProperty(Key.DERIVATIVE_CACHE, "FilesystemCache");
+        config.setProperty(Key.DERIVATIVE_CACHE_ENABLED, isWarm);
+        config.setProperty(Key.INFO_CACHE_ENABLED, isWarm);
+        config.setProperty(Key.INFO_RESPONSE_CACHE_ENABLED, isWarm);
+        config.setProperty(Key.SOURCE_INFO_CACHE_ENABLED, isWarm);
+    }
+
+    private int get(String uri) throws Exception {
+        final ContentResponse response = client.GET(uri);
+        if (response.getStatus() != 200) {
+            throw new IllegalStateException(
+                    "HTTP " + response.getStatus() + ": " + uri);
+        }
+        return response.getContent().length;
+    }
+
+    @Benchmark
+    public int infoBurst() throws Exception {
+        return get(next(infoURIs, infoCursor));
+    }
+
+    @Benchmark
+    public int thumbnails() throws Exception {
+        return get(next(thumbnailURIs, thumbnailCursor));
+    }
+
+    @Benchmark
+    public int tileSweep() throws Exception {
+        return get(next(tileURIs, tileCursor));
+    }
+
+}
@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.EnumSet;
 
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
@@ -40,6 +41,7 @@ public class FfmpegProcessorTest extends AbstractProcessorTest {
         Configuration.getInstance().clearProperty(
                 Key.FFMPEGPROCESSOR_PATH_TO_BINARIES);
         FfmpegProcessor.resetInitialization();
+        FfmpegProcessor.clearCaches();
 
         instance = newInstance();
     }
@@ -166,6 +168,42 @@ public class FfmpegProcessorTest extends AbstractProcessorTest {
         assertFalse(Arrays.equals(frame1, frame2));
     }
 
+    @Test
+    public void testProcessWithFrameCache() throws Exception {
+        Configuration.getInstance().
+                setProperty(Key.FFMPEGPROCESSOR_FRAME_CACHE_MAX_SIZE, "16M");
+        final Info imageInfo = instance.readImageInfo();
+
+        OperationList ops = new OperationList(new Encode(Format.JPG));
+        ops.getOptions().put("time", "00:00:05");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        instance.process(ops, imageInfo, outputStream);
+        final byte[] frame1 = outputStream.toByteArray();
+
+        assertEquals(1, FfmpegProcessor.getFrameCache().estimatedSize());
+
+        outputStream = new ByteArrayOutputStream();
+        instance.process(ops, imageInfo, outputStream);
+        final byte[] frame2 = outputStream.toByteArray();
+
+        assertEquals(1, FfmpegProcessor.getFrameCache().estimatedSize());
+        assertArrayEquals(frame1, frame2);
+    }
+
+    @Test
+    public void testProcessWithKeyframeSeek() throws Exception {
+        Configuration.getInstance().
+                setProperty(Key.FFMPEGPROCESSOR_KEYFRAME_SEEK, true);
+        final Info imageInfo = instance.readImageInfo();
+
+        OperationList ops = new OperationList(new Encode(Format.JPG));
+        ops.getOptions().put("time", "00:00:05");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        instance.process(ops, imageInfo, outputStream);
+
+        assertTrue(outputStream.size() > 0);
+    }
+
     @Test(expected = ProcessorException.class)
     public void testProcessWithInvalidFrameOptionThrowsException()
             throws Exception {
@@ -178,6 +216,28 @@ public class FfmpegProcessorTest extends AbstractProcessorTest {
         instance.process(ops, imageInfo, outputStream);
     }
 
+    @Test
+    public void testReadImageInfoWithProbeCache() throws Exception {
+        final AtomicInteger numProbes = new AtomicInteger();
+        final FfmpegProcessor countingInstance = new FfmpegProcessor() {
+            @Override
+            double[] probe() throws IOException {
+                numProbes.incrementAndGet();
+                return super.probe();
+            }
+        };
+        countingInstance.setSourceFile(TestUtil.getFixture(
+                "images/" + Format.MPG.getPreferredExtension()));
+        countingInstance.setSourceFormat(Format.MPG);
+
+        final Info info1 = instance.readImageInfo();
+        // A new instance should get its info from the cache rather than
+        // probing.
+        final Info info2 = countingInstance.readImageInfo();
+        assertEquals(0, numProbes.get());
+        assertEquals(info1, info2);
+    }
+
     @Test
     public void testValidateWithValidTime() throws Exception {
         OperationList ops = new OperationList(
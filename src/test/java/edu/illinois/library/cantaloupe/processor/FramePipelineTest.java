@@ -0,0 +1,111 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class FramePipelineTest extends BaseTest {
+
+    private static final int NUM_FRAMES = 50;
+    private static final int WINDOW_SIZE = 4;
+
+    /**
+     * @return Image whose width encodes the given frame index.
+     */
+    private static BufferedImage newFrame(int index) {
+        return new BufferedImage(index + 1, 1, BufferedImage.TYPE_INT_RGB);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorWithInvalidWindowSize() {
+        new FramePipeline(NUM_FRAMES, 0, i -> null, f -> f);
+    }
+
+    @Test
+    public void testIterationReturnsFramesInOrder() {
+        final FramePipeline instance = new FramePipeline(
+                NUM_FRAMES, WINDOW_SIZE, FramePipelineTest::newFrame,
+                frame -> {
+                    // Finish out of order.
+                    try {
+                        Thread.sleep(ThreadLocalRandom.current().nextInt(5));
+                    } catch (InterruptedException ignore) {
+                    }
+                    return frame;
+                });
+
+        final List<BufferedImage> frames = new ArrayList<>();
+        instance.forEachRemaining(frames::add);
+
+        assertEquals(NUM_FRAMES, frames.size());
+        for (int i = 0; i < NUM_FRAMES; i++) {
+            assertEquals(i + 1, frames.get(i).getWidth());
+        }
+    }
+
+    @Test
+    public void testIterationBoundsFramesInFlight() {
+        final AtomicInteger numRead = new AtomicInteger();
+        final AtomicInteger numReturned = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+
+        final FramePipeline instance = new FramePipeline(
+                NUM_FRAMES, WINDOW_SIZE, i -> {
+                    final int inFlight =
+                            numRead.incrementAndGet() - numReturned.get();
+                    maxInFlight.accumulateAndGet(inFlight, Math::max);
+                    return newFrame(i);
+                }, f -> f);
+
+        while (instance.hasNext()) {
+            instance.next();
+            numReturned.incrementAndGet();
+        }
+        assertEquals(NUM_FRAMES, numRead.get());
+        assertTrue(maxInFlight.get() <= WINDOW_SIZE);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testNextWithNoFramesLeft() {
+        final FramePipeline instance = new FramePipeline(
+                1, WINDOW_SIZE, FramePipelineTest::newFrame, f -> f);
+        instance.next();
+        instance.next();
+    }
+
+    @Test
+    public void testNextRethrowsProcessorIOException() {
+        final FramePipeline instance = new FramePipeline(
+                NUM_FRAMES, WINDOW_SIZE, FramePipelineTest::newFrame,
+                frame -> {
+                    throw new IOException("oops");
+                });
+        try {
+            instance.next();
+            fail("Expected exception");
+        } catch (UncheckedIOException e) {
+            assertEquals("oops", e.getCause().getMessage());
+        }
+        assertFalse(instance.hasNext());
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void testNextRethrowsSourceIOException() {
+        final FramePipeline instance = new FramePipeline(
+                NUM_FRAMES, WINDOW_SIZE, i -> {
+                    throw new IOException("oops");
+                }, f -> f);
+        instance.next();
+    }
+
+}
@@ -174,6 +174,30 @@ public class Java2DUtilTest extends BaseTest {
         assertRGBA(pixel, 0, 0, 0, 255);
     }
 
+    @Test
+    public void testApplyOverlayWithImageOverlayOutsideOfImage()
+            throws Exception {
+        final BufferedImage baseImage = newColorImage(8, false);
+
+        // fill it with white
+        Graphics2D g2d = baseImage.createGraphics();
+        g2d.setColor(Color.WHITE.toColor());
+        g2d.fillRect(0, 0, baseImage.getWidth(), baseImage.getHeight());
+        g2d.dispose();
+
+        // create an Overlay whose inset pushes it off of the image
+        final ImageOverlay overlay = new ImageOverlay(
+                TestUtil.getImage("png-rgb-1x1x8.png").toUri(),
+                Position.TOP_LEFT, baseImage.getWidth() + 10);
+
+        // apply it
+        Java2DUtil.applyOverlay(baseImage, overlay);
+
+        assertRGBA(baseImage.getRGB(0, 0), 255, 255, 255, 255);
+        assertRGBA(baseImage.getRGB(baseImage.getWidth() - 1,
+                baseImage.getHeight() - 1), 255, 255, 255, 255);
+    }
+
     @Test
     @Ignore // TODO: see inline todo
     public void testApplyOverlayWithStringOverlay() throws Exception {
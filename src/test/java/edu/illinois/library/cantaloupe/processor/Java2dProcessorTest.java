@@ -1,8 +1,11 @@
 package edu.illinois.library.cantaloupe.processor;
 
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.operation.Crop;
 import edu.illinois.library.cantaloupe.operation.Encode;
 import edu.illinois.library.cantaloupe.operation.OperationList;
 import edu.illinois.library.cantaloupe.processor.codec.ImageReader;
@@ -12,6 +15,8 @@ import edu.illinois.library.cantaloupe.test.TestUtil;
 import org.junit.Before;
 import org.junit.Test;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -97,4 +102,31 @@ public class Java2dProcessorTest extends ImageIOProcessorTest {
         }
     }
 
+    @Test
+    public void testProcessWithStripedEncoding() throws Exception {
+        Configuration.getInstance().
+                setProperty(Key.PROCESSOR_STRIPED_ENCODING, true);
+
+        Path image = TestUtil.getImage("tif-rgb-1res-64x56x8-tiled-lzw.tif");
+        OperationList ops = new OperationList(
+                new Crop(10, 10, 40, 40),
+                new Encode(Format.PNG));
+        Info info = Info.builder()
+                .withSize(64, 56)
+                .withFormat(Format.TIF)
+                .build();
+
+        instance.setSourceFile(image);
+        instance.setSourceFormat(Format.TIF);
+
+        try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+            instance.process(ops, info, os);
+
+            BufferedImage result = ImageIO.read(
+                    new ByteArrayInputStream(os.toByteArray()));
+            assertEquals(40, result.getWidth());
+            assertEquals(40, result.getHeight());
+        }
+    }
+
 }
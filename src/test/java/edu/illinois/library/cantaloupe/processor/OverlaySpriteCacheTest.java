@@ -0,0 +1,132 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.operation.Color;
+import edu.illinois.library.cantaloupe.operation.overlay.Position;
+import edu.illinois.library.cantaloupe.operation.overlay.StringOverlay;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Font;
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.*;
+
+public class OverlaySpriteCacheTest extends BaseTest {
+
+    private static final long MAX_SIZE = 1024 * 1024 * 16;
+
+    private OverlaySpriteCache instance;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        instance = new OverlaySpriteCache(MAX_SIZE);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        super.tearDown();
+        OverlaySpriteCache.clearInstance();
+    }
+
+    private static StringOverlay newStringOverlay(Position position,
+                                                  float strokeWidth) {
+        return new StringOverlay("Hello\nWorld", position, 0,
+                new Font("SansSerif", Font.PLAIN, 20), 10,
+                Color.WHITE, Color.BLACK, Color.WHITE, strokeWidth);
+    }
+
+    /* getInstance() */
+
+    @Test
+    public void testGetInstanceWithZeroMaxSize() {
+        Configuration.getInstance().setProperty(
+                Key.OVERLAY_CACHE_MAX_SIZE, "0");
+        assertNull(OverlaySpriteCache.getInstance());
+    }
+
+    @Test
+    public void testGetInstance() {
+        Configuration.getInstance().setProperty(
+                Key.OVERLAY_CACHE_MAX_SIZE, "1M");
+        assertNotNull(OverlaySpriteCache.getInstance());
+        assertSame(OverlaySpriteCache.getInstance(),
+                OverlaySpriteCache.getInstance());
+    }
+
+    /* getStringLayout() */
+
+    @Test
+    public void testGetStringLayout() {
+        final StringOverlay overlay = newStringOverlay(Position.TOP_LEFT, 0);
+        OverlaySpriteCache.StringLayout layout1 =
+                instance.getStringLayout(overlay, 20);
+        OverlaySpriteCache.StringLayout layout2 =
+                instance.getStringLayout(overlay, 12);
+
+        assertSame(layout1, instance.getStringLayout(overlay, 20));
+        assertEquals(2, layout1.lineWidths.length);
+        assertTrue(layout1.lineHeight > layout2.lineHeight);
+        assertTrue(layout1.maxLineWidth > layout2.maxLineWidth);
+    }
+
+    /* getStringSprite() */
+
+    @Test
+    public void testGetStringSprite() {
+        final StringOverlay overlay = newStringOverlay(Position.TOP_LEFT, 0);
+        final OverlaySpriteCache.StringLayout layout =
+                instance.getStringLayout(overlay, 20);
+
+        OverlaySpriteCache.Sprite sprite =
+                instance.getStringSprite(overlay, layout);
+        assertSame(sprite, instance.getStringSprite(overlay, layout));
+        assertEquals(0, sprite.margin);
+        // The background box is 5 pixels of padding around the text.
+        assertEquals(layout.maxLineWidth + 10, sprite.image.getWidth());
+        assertEquals(layout.lineHeight * 2 + 10, sprite.image.getHeight());
+        // The background is opaque black.
+        assertEquals(0xff000000, sprite.image.getRGB(1, 1));
+    }
+
+    @Test
+    public void testGetStringSpriteWithStrokeHasMargin() {
+        final StringOverlay overlay = newStringOverlay(Position.TOP_LEFT, 2.5f);
+        final OverlaySpriteCache.StringLayout layout =
+                instance.getStringLayout(overlay, 20);
+
+        OverlaySpriteCache.Sprite sprite =
+                instance.getStringSprite(overlay, layout);
+        assertEquals(3, sprite.margin);
+        assertEquals(layout.maxLineWidth + 16, sprite.image.getWidth());
+        // The margin is transparent.
+        assertEquals(0, sprite.image.getRGB(0, 0) >>> 24);
+    }
+
+    @Test
+    public void testGetStringSpriteAtDifferentSizes() {
+        final StringOverlay overlay = newStringOverlay(Position.TOP_LEFT, 0);
+        OverlaySpriteCache.Sprite sprite1 = instance.getStringSprite(
+                overlay, instance.getStringLayout(overlay, 20));
+        OverlaySpriteCache.Sprite sprite2 = instance.getStringSprite(
+                overlay, instance.getStringLayout(overlay, 12));
+        assertNotSame(sprite1, sprite2);
+        assertEquals(2, instance.size());
+    }
+
+    /* purge() */
+
+    @Test
+    public void testPurge() {
+        final StringOverlay overlay = newStringOverlay(Position.TOP_LEFT, 0);
+        instance.getStringSprite(overlay,
+                instance.getStringLayout(overlay, 20));
+        instance.purge();
+        assertEquals(0, instance.size());
+    }
+
+}
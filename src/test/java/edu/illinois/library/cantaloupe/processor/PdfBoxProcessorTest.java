@@ -5,15 +5,21 @@ import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.operation.Crop;
 import edu.illinois.library.cantaloupe.operation.Encode;
 import edu.illinois.library.cantaloupe.operation.OperationList;
+import edu.illinois.library.cantaloupe.operation.Scale;
 import edu.illinois.library.cantaloupe.resource.iiif.ProcessorFeature;
 import edu.illinois.library.cantaloupe.test.TestUtil;
 import org.apache.commons.io.output.NullOutputStream;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import javax.imageio.ImageIO;
 import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
 import java.nio.file.Path;
@@ -35,6 +41,12 @@ public class PdfBoxProcessorTest extends AbstractProcessorTest {
         instance = newInstance();
     }
 
+    @After
+    public void tearDown() throws Exception {
+        super.tearDown();
+        PdfDocumentCache.clearInstance();
+    }
+
     @Override
     protected Format getSupported16BitSourceFormat() {
         return null;
@@ -97,6 +109,108 @@ public class PdfBoxProcessorTest extends AbstractProcessorTest {
         assertFalse(Arrays.equals(page1, page2));
     }
 
+    @Test
+    public void testProcessWithCrop() throws Exception {
+        instance.setSourceFile(TestUtil.getImage("pdf.pdf"));
+        final Info imageInfo = instance.readImageInfo();
+
+        OperationList ops = new OperationList(
+                new Crop(20, 30, 60, 40), new Encode(Format.PNG));
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        instance.process(ops, imageInfo, os);
+
+        BufferedImage result = ImageIO.read(
+                new ByteArrayInputStream(os.toByteArray()));
+        assertEquals(60, result.getWidth());
+        assertEquals(40, result.getHeight());
+    }
+
+    @Test
+    public void testProcessWithCropAndScale() throws Exception {
+        instance.setSourceFile(TestUtil.getImage("pdf.pdf"));
+        final Info imageInfo = instance.readImageInfo();
+
+        OperationList ops = new OperationList(
+                new Crop(20, 30, 60, 40),
+                new Scale(120, null, Scale.Mode.ASPECT_FIT_WIDTH),
+                new Encode(Format.PNG));
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        instance.process(ops, imageInfo, os);
+
+        BufferedImage result = ImageIO.read(
+                new ByteArrayInputStream(os.toByteArray()));
+        assertEquals(120, result.getWidth());
+        assertEquals(80, result.getHeight());
+    }
+
+    @Test
+    public void testProcessWithDocumentCache() throws Exception {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.PDFBOXPROCESSOR_CACHE_ENABLED, true);
+        config.setProperty(Key.PDFBOXPROCESSOR_CACHE_PAGE_MAX_SIZE, "0");
+
+        instance.setSourceFile(TestUtil.getImage("pdf.pdf"));
+        final Info imageInfo = instance.readImageInfo();
+        assertEquals(new Dimension(100, 88), imageInfo.getSize());
+
+        OperationList ops = new OperationList(
+                new Crop(10, 10, 50, 40), new Encode(Format.PNG));
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        instance.process(ops, imageInfo, os);
+
+        BufferedImage result = ImageIO.read(
+                new ByteArrayInputStream(os.toByteArray()));
+        assertEquals(50, result.getWidth());
+        assertEquals(40, result.getHeight());
+        assertEquals(1, PdfDocumentCache.getInstance().size());
+    }
+
+    @Test
+    public void testProcessWithPageCache() throws Exception {
+        Configuration.getInstance().
+                setProperty(Key.PDFBOXPROCESSOR_CACHE_ENABLED, true);
+
+        instance.setSourceFile(TestUtil.getImage("pdf.pdf"));
+        final Info imageInfo = instance.readImageInfo();
+
+        // Two tiles of the same page at the same scale
+        for (Crop crop : new Crop[] {
+                new Crop(0, 0, 50, 44), new Crop(50, 44, 50, 44) }) {
+            OperationList ops = new OperationList(
+                    crop, new Scale(0.5f), new Encode(Format.PNG));
+            ByteArrayOutputStream os = new ByteArrayOutputStream();
+            instance.process(ops, imageInfo, os);
+
+            BufferedImage result = ImageIO.read(
+                    new ByteArrayInputStream(os.toByteArray()));
+            assertEquals(25, result.getWidth());
+            assertEquals(22, result.getHeight());
+        }
+    }
+
+    @Test
+    public void testProcessWithPageCacheAndZoomedInRegion() throws Exception {
+        Configuration.getInstance().
+                setProperty(Key.PDFBOXPROCESSOR_CACHE_ENABLED, true);
+
+        instance.setSourceFile(TestUtil.getImage("pdf.pdf"));
+        final Info imageInfo = instance.readImageInfo();
+
+        // This needs 4x the base DPI, so it should be rasterized on its own
+        // rather than cropped from a cached page and upscaled.
+        OperationList ops = new OperationList(
+                new Crop(0, 0, 25, 22),
+                new Scale(100, null, Scale.Mode.ASPECT_FIT_WIDTH),
+                new Encode(Format.PNG));
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        instance.process(ops, imageInfo, os);
+
+        BufferedImage result = ImageIO.read(
+                new ByteArrayInputStream(os.toByteArray()));
+        assertEquals(100, result.getWidth());
+        assertEquals(88, result.getHeight());
+    }
+
     @Test(expected = ProcessorException.class)
     public void testProcessWithIllegalPageOptionThrowsException()
             throws Exception {
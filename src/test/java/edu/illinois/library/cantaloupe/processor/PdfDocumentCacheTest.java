@@ -0,0 +1,94 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import edu.illinois.library.cantaloupe.test.TestUtil;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class PdfDocumentCacheTest extends BaseTest {
+
+    private static final long MAX_SIZE = 1024 * 1024 * 16;
+
+    private Path file;
+    private PdfDocumentCache.DocumentKey key;
+    private AtomicInteger numLoads;
+    private PdfDocumentCache.DocumentLoader loader;
+    private PdfDocumentCache instance;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        file = TestUtil.getImage("pdf.pdf");
+        key = PdfDocumentCache.DocumentKey.forFile(file);
+        numLoads = new AtomicInteger();
+        loader = () -> {
+            numLoads.incrementAndGet();
+            return PDDocument.load(file.toFile());
+        };
+        instance = new PdfDocumentCache(MAX_SIZE, MAX_SIZE);
+    }
+
+    @Test
+    public void testAcquireLoadsDocumentOnce() throws Exception {
+        PDDocument doc1, doc2;
+        try (PdfDocumentCache.Lease lease = instance.acquire(key, loader)) {
+            doc1 = lease.getDocument();
+        }
+        try (PdfDocumentCache.Lease lease = instance.acquire(key, loader)) {
+            doc2 = lease.getDocument();
+        }
+        assertSame(doc1, doc2);
+        assertEquals(1, numLoads.get());
+        assertEquals(1, instance.size());
+    }
+
+    @Test
+    public void testAcquireWithDifferentLastModifiedTime() throws Exception {
+        instance.acquire(key, loader).close();
+        instance.acquire(new PdfDocumentCache.DocumentKey(file, 0), loader).
+                close();
+        assertEquals(2, numLoads.get());
+    }
+
+    @Test
+    public void testPurgeClosesDocumentAfterLeaseIsReleased()
+            throws Exception {
+        PDDocument doc;
+        try (PdfDocumentCache.Lease lease = instance.acquire(key, loader)) {
+            doc = lease.getDocument();
+            instance.purge();
+            assertFalse(doc.getDocument().isClosed());
+        }
+        assertTrue(doc.getDocument().isClosed());
+        assertEquals(0, instance.size());
+    }
+
+    @Test
+    public void testGetPageRendersPageOnce() throws Exception {
+        final AtomicInteger numRenders = new AtomicInteger();
+        final PdfDocumentCache.PageRenderer renderer = () -> {
+            numRenders.incrementAndGet();
+            return new BufferedImage(100, 88, BufferedImage.TYPE_INT_RGB);
+        };
+        BufferedImage page1 = instance.getPage(key, 0, 72, renderer);
+        BufferedImage page2 = instance.getPage(key, 0, 72, renderer);
+        assertSame(page1, page2);
+        instance.getPage(key, 0, 144, renderer);
+        assertEquals(2, numRenders.get());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGetPageWithPageCachingDisabled() throws Exception {
+        instance = new PdfDocumentCache(MAX_SIZE, 0);
+        instance.getPage(key, 0, 72,
+                () -> new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB));
+    }
+
+}
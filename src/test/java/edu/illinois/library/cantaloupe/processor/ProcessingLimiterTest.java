@@ -0,0 +1,84 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ProcessingLimiterTest extends BaseTest {
+
+    @After
+    public void tearDown() throws Exception {
+        super.tearDown();
+        ProcessingLimiter.clearInstance();
+    }
+
+    /* getInstance() */
+
+    @Test
+    public void testGetInstance() {
+        Configuration.getInstance().setProperty(
+                Key.PROCESSOR_MAX_CONCURRENT, 3);
+        assertEquals(3, ProcessingLimiter.getInstance().getMaxConcurrent());
+        assertSame(ProcessingLimiter.getInstance(),
+                ProcessingLimiter.getInstance());
+    }
+
+    @Test
+    public void testGetInstanceWithZeroLimit() {
+        Configuration.getInstance().setProperty(
+                Key.PROCESSOR_MAX_CONCURRENT, 0);
+        assertEquals(0, ProcessingLimiter.getInstance().getMaxConcurrent());
+    }
+
+    @Test
+    public void testGetInstanceWithZeroLimitAndVirtualThreads() {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.PROCESSOR_MAX_CONCURRENT, 0);
+        config.setProperty(Key.HTTP_VIRTUAL_THREADS_ENABLED, true);
+        assertEquals(0, ProcessingLimiter.getInstance().getMaxConcurrent());
+    }
+
+    /* acquire() */
+
+    @Test
+    public void testAcquireWithNoLimit() throws Exception {
+        ProcessingLimiter instance = new ProcessingLimiter(0);
+        for (int i = 0; i < 100; i++) {
+            instance.acquire();
+        }
+        assertEquals(0, instance.getWaitingCount());
+    }
+
+    @Test
+    public void testAcquireBlocksWhenLimitIsReached() throws Exception {
+        final ProcessingLimiter instance = new ProcessingLimiter(1);
+        final CountDownLatch acquired = new CountDownLatch(1);
+        instance.acquire();
+
+        Thread thread = new Thread(() -> {
+            try {
+                instance.acquire();
+                acquired.countDown();
+                instance.release();
+            } catch (InterruptedException ignore) {
+            }
+        });
+        thread.start();
+
+        assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, instance.getWaitingCount());
+
+        instance.release();
+        assertTrue(acquired.await(5, TimeUnit.SECONDS));
+        thread.join();
+        assertEquals(0, instance.getWaitingCount());
+    }
+
+}
@@ -11,6 +11,8 @@ import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.source.FileSource;
+import edu.illinois.library.cantaloupe.source.GrowingFileStreamFactory;
+import edu.illinois.library.cantaloupe.source.MockStreamSource;
 import edu.illinois.library.cantaloupe.source.Source;
 import edu.illinois.library.cantaloupe.source.SourceFactory;
 import edu.illinois.library.cantaloupe.source.StreamFactory;
@@ -25,13 +27,18 @@ import org.junit.Test;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
 
@@ -523,6 +530,90 @@ public class ProcessorConnectorTest extends BaseTest {
         }
     }
 
+    /**
+     * Tests that a request that connects while another request's download of
+     * the same image is in progress reads the image being downloaded,
+     * rather than waiting for the download to complete.
+     */
+    @Test
+    public void testConnectWithStreamSourceAndStreamProcessorWithCacheStrategyAttachesToDownloadInProgress()
+            throws Exception {
+        final Path cacheFolder = Files.createTempDirectory("test");
+        final CountDownLatch downloadLatch = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Configuration config = Configuration.getInstance();
+            config.setProperty(Key.SOURCE_CACHE, "FilesystemCache");
+            config.setProperty(Key.PROCESSOR_STREAM_RETRIEVAL_STRATEGY,
+                    RetrievalStrategy.CACHE.getConfigValue());
+            config.setProperty(Key.FILESYSTEMCACHE_PATHNAME,
+                    cacheFolder.toString());
+
+            // Source whose stream delivers half of the image and then blocks
+            // until the latch is released.
+            final byte[] data = Files.readAllBytes(
+                    TestUtil.getImage(IDENTIFIER.toString()));
+            final Source source = new MockStreamSource() {
+                @Override
+                public StreamFactory newStreamFactory() {
+                    return () -> new InputStream() {
+                        private int pos;
+
+                        @Override
+                        public int read() throws IOException {
+                            byte[] b = new byte[1];
+                            return (read(b, 0, 1) < 0) ? -1 : b[0] & 0xff;
+                        }
+
+                        @Override
+                        public int read(byte[] b, int off, int len)
+                                throws IOException {
+                            if (pos >= data.length) {
+                                return -1;
+                            }
+                            if (pos > 0) {
+                                try {
+                                    downloadLatch.await();
+                                } catch (InterruptedException e) {
+                                    throw new InterruptedIOException();
+                                }
+                            }
+                            int n = Math.min(len, (pos == 0) ?
+                                    data.length / 2 : data.length - pos);
+                            System.arraycopy(data, pos, b, off, n);
+                            pos += n;
+                            return n;
+                        }
+                    };
+                }
+            };
+
+            final StreamProcessor processor1 = new MockStreamProcessor();
+            assertNull(instance.connect(source, processor1, IDENTIFIER, Format.JPG));
+            assertTrue(processor1.getStreamFactory() instanceof GrowingFileStreamFactory);
+
+            final StreamProcessor processor2 = new MockStreamProcessor();
+            Future<?> future = executor.submit(() -> {
+                new ProcessorConnector().connect(
+                        source, processor2, IDENTIFIER, Format.JPG);
+                return null;
+            });
+            future.get(5, TimeUnit.SECONDS);
+            assertTrue(processor2.getStreamFactory() instanceof GrowingFileStreamFactory);
+            // The download is still in progress.
+            assertNotNull(CacheFactory.getSourceCache().
+                    getGrowingSourceImageFile(IDENTIFIER));
+
+            downloadLatch.countDown();
+            assertEqualSources(processor1.getStreamFactory(),
+                    processor2.getStreamFactory());
+        } finally {
+            downloadLatch.countDown();
+            executor.shutdownNow();
+            recursiveDeleteOnExit(cacheFolder);
+        }
+    }
+
     @Test(expected = CacheDisabledException.class)
     public void testConnectWithStreamSourceAndStreamProcessorWithCacheStrategyAndSourceCacheDisabled()
             throws Exception {
@@ -39,6 +39,16 @@ public class RasterizationHelperTest extends BaseTest {
         assertEquals(instance.getBaseDPI() / 4f, instance.getDPI(2), FUDGE);
     }
 
+    @Test
+    public void testGetReductionFactor() {
+        assertEquals(0, instance.getReductionFactor(150));
+        assertEquals(0, instance.getReductionFactor(100));
+        assertEquals(1, instance.getReductionFactor(75));
+        assertEquals(2, instance.getReductionFactor(30));
+        assertEquals(-1, instance.getReductionFactor(151));
+        assertEquals(-2, instance.getReductionFactor(600));
+    }
+
     @Test
     public void testGetDPIWithHalfScale() {
         final Dimension fullSize = new Dimension(1000, 1000);
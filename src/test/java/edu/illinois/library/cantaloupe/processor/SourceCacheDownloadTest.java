@@ -1,5 +1,6 @@
 package edu.illinois.library.cantaloupe.processor;
 
+import edu.illinois.library.cantaloupe.cache.CompletableOutputStream;
 import edu.illinois.library.cantaloupe.cache.SourceCache;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.source.PathStreamFactory;
@@ -44,9 +45,29 @@ public class SourceCacheDownloadTest extends BaseTest {
             }
 
             @Override
-            public OutputStream newSourceImageOutputStream(Identifier identifier)
-                    throws IOException {
-                return Files.newOutputStream(tempFile);
+            public CompletableOutputStream newSourceImageOutputStream(
+                    Identifier identifier) throws IOException {
+                final OutputStream os = Files.newOutputStream(tempFile);
+                return new CompletableOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        os.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len)
+                            throws IOException {
+                        os.write(b, off, len);
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        os.close();
+                        if (!isCompletelyWritten()) {
+                            Files.deleteIfExists(tempFile);
+                        }
+                    }
+                };
             }
 
             @Override
@@ -72,6 +93,14 @@ public class SourceCacheDownloadTest extends BaseTest {
         sourceCache.purge();
     }
 
+    @Test
+    public void testAwaitGrowingFileWithSourceCacheNotSupportingIt()
+            throws Exception {
+        instance.downloadAsync();
+        assertNull(instance.awaitGrowingFile());
+        assertNotNull(instance.get());
+    }
+
     @Test
     public void testCancelWithTrueArgument() {
         assertFalse(instance.isCancelled());
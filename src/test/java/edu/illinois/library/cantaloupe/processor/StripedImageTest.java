@@ -0,0 +1,121 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class StripedImageTest extends BaseTest {
+
+    private static final int WIDTH = 40;
+    private static final int HEIGHT = 50;
+    private static final int STRIP_HEIGHT = 16;
+
+    private BufferedImage sourceImage;
+    private List<Rectangle> producedRegions;
+    private StripedImage instance;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+
+        sourceImage = new BufferedImage(WIDTH, HEIGHT,
+                BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                sourceImage.setRGB(x, y, (x << 16) | (y << 8) | (x + y));
+            }
+        }
+
+        producedRegions = new ArrayList<>();
+        instance = new StripedImage(WIDTH, HEIGHT, STRIP_HEIGHT, region -> {
+            producedRegions.add(region);
+            return sourceImage.getSubimage(
+                    region.x, region.y, region.width, region.height);
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorWithInvalidStripHeight() {
+        new StripedImage(WIDTH, HEIGHT, 0, region -> null);
+    }
+
+    @Test
+    public void testGetNumStrips() {
+        assertEquals(4, instance.getNumStrips());
+    }
+
+    @Test
+    public void testGetData() {
+        Raster raster = instance.getData();
+        assertEquals(WIDTH, raster.getWidth());
+        assertEquals(HEIGHT, raster.getHeight());
+
+        int[] expected = sourceImage.getRaster().getPixel(33, 47, (int[]) null);
+        assertArrayEquals(expected, raster.getPixel(33, 47, (int[]) null));
+    }
+
+    @Test
+    public void testGetDataWithRectangleSpanningStrips() {
+        Rectangle rect = new Rectangle(5, 10, 20, 30);
+        Raster raster = instance.getData(rect);
+        assertEquals(rect, raster.getBounds());
+
+        for (int y = rect.y; y < rect.y + rect.height; y++) {
+            for (int x = rect.x; x < rect.x + rect.width; x++) {
+                assertArrayEquals(
+                        sourceImage.getRaster().getPixel(x, y, (int[]) null),
+                        raster.getPixel(x, y, (int[]) null));
+            }
+        }
+    }
+
+    @Test
+    public void testGetDataRowByRowProducesEachStripOnce() {
+        for (int y = 0; y < HEIGHT; y++) {
+            instance.getData(new Rectangle(0, y, WIDTH, 1));
+        }
+        assertEquals(4, producedRegions.size());
+        assertEquals(new Rectangle(0, 48, WIDTH, 2), producedRegions.get(3));
+    }
+
+    @Test
+    public void testGetTile() {
+        Raster tile = instance.getTile(0, 1);
+        assertEquals(new Rectangle(0, 16, WIDTH, STRIP_HEIGHT),
+                tile.getBounds());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetTileWithIllegalIndex() {
+        instance.getTile(0, 4);
+    }
+
+    @Test
+    public void testGetTileHeight() {
+        assertEquals(STRIP_HEIGHT, instance.getTileHeight());
+    }
+
+    @Test
+    public void testGetColorModel() {
+        assertEquals(sourceImage.getColorModel(), instance.getColorModel());
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void testProducerIOExceptionIsRethrown() {
+        instance = new StripedImage(WIDTH, HEIGHT, STRIP_HEIGHT, region -> {
+            throw new IOException("oops");
+        });
+        instance.getData();
+    }
+
+}
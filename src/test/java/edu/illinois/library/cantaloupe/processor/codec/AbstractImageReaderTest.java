@@ -12,6 +12,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.awt.Dimension;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.awt.image.RenderedImage;
 import java.io.IOException;
@@ -109,6 +110,13 @@ abstract class AbstractImageReaderTest extends BaseTest {
         assertTrue(hints.contains(ReaderHint.ALREADY_CROPPED));
     }
 
+    @Test
+    public void testReadWithRegion() throws Exception {
+        BufferedImage image = instance.read(0, new Rectangle(10, 20, 30, 16));
+        assertEquals(30, image.getWidth());
+        assertEquals(16, image.getHeight());
+    }
+
     @Test
     public void testReadSmallestUsableSubimageReturningBufferedImage() {
         // TODO: write this
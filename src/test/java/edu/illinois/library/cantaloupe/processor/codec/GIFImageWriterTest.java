@@ -25,6 +25,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.Iterator;
 
 import static org.junit.Assert.*;
@@ -155,6 +156,12 @@ public class GIFImageWriterTest extends AbstractImageWriterTest {
         checkForMetadata();
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void testWriteWithEmptySequenceIterator() throws Exception {
+        instance.write(Collections.<BufferedImage>emptyIterator(),
+                outputStream);
+    }
+
     @Test
     public void testWriteWithSequence() throws Exception {
         Path image = TestUtil.getImage("gif-animated-looping.gif");
@@ -7,6 +7,7 @@ import edu.illinois.library.cantaloupe.operation.ReductionFactor;
 import edu.illinois.library.cantaloupe.test.TestUtil;
 import org.junit.Test;
 
+import java.awt.Rectangle;
 import java.io.IOException;
 import java.util.EnumSet;
 import java.util.Set;
@@ -55,6 +56,12 @@ public class JPEG2000ImageReaderTest extends AbstractImageReaderTest {
         instance.read(ops, orientation, rf, hints);
     }
 
+    @Override
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadWithRegion() throws Exception {
+        instance.read(0, new Rectangle(10, 20, 30, 16));
+    }
+
     @Override
     @Test(expected = UnsupportedOperationException.class)
     public void testReadRendered() throws Exception {
@@ -2,6 +2,8 @@ package edu.illinois.library.cantaloupe.processor.codec;
 
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.image.Compression;
+import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.image.Info;
 import edu.illinois.library.cantaloupe.test.TestUtil;
 import edu.illinois.library.cantaloupe.util.SystemUtils;
 import org.junit.Test;
@@ -89,6 +91,13 @@ public class TIFFImageReaderTest extends AbstractImageReaderTest {
         assertEquals(3, instance.getNumImages());
     }
 
+    @Test
+    public void testGetNumImagesWithImageInfo() throws Exception {
+        Info info = newImageInfo(Format.TIF);
+        instance.setImageInfo(info);
+        assertEquals(2, instance.getNumImages());
+    }
+
     /* getNumResolutions() */
 
     @Override
@@ -117,6 +126,15 @@ public class TIFFImageReaderTest extends AbstractImageReaderTest {
                 ((AbstractIIOImageReader) instance).getPreferredIIOImplementations());
     }
 
+    /* getSize() */
+
+    @Test
+    public void testGetSizeWithImageInfo() throws Exception {
+        instance.setImageInfo(newImageInfo(Format.TIF));
+        assertEquals(new Dimension(200, 100), instance.getSize(0));
+        assertEquals(new Dimension(100, 50), instance.getSize(1));
+    }
+
     /* getUserPreferredIIOImplementation() */
 
     @Test
@@ -134,6 +152,47 @@ public class TIFFImageReaderTest extends AbstractImageReaderTest {
         assertEquals(new Dimension(16, 16), instance.getTileSize(0));
     }
 
+    /* setImageInfo() */
+
+    @Test
+    public void testSetImageInfoWithMismatchedFormat() throws Exception {
+        instance.setImageInfo(newImageInfo(Format.PNG));
+        assertEquals(3, instance.getNumImages());
+        assertEquals(new Dimension(64, 56), instance.getSize(0));
+    }
+
+    @Test
+    public void testSetImageInfoWithNullArgument() throws Exception {
+        instance.setImageInfo(newImageInfo(Format.TIF));
+        instance.setImageInfo(null);
+        assertEquals(3, instance.getNumImages());
+    }
+
+    /* setSource() */
+
+    @Test
+    public void testSetSourceClearsImageInfo() throws Exception {
+        instance.setImageInfo(newImageInfo(Format.TIF));
+        instance.setSource(TestUtil.getImage("tif-rgb-3res-64x56x16-tiled-uncompressed.tif"));
+        assertEquals(3, instance.getNumImages());
+        assertEquals(new Dimension(64, 56), instance.getSize(0));
+    }
+
+    /**
+     * @return Instance describing a two-level image that is different from
+     *         the actual fixture, so that tests can tell which one was used.
+     */
+    private static Info newImageInfo(Format format) {
+        Info info = Info.builder()
+                .withFormat(format)
+                .withSize(200, 100)
+                .build();
+        Info.Image image = new Info.Image();
+        image.setSize(new Dimension(100, 50));
+        info.getImages().add(image);
+        return info;
+    }
+
     @Test
     public void testReadWithMultiResolutionImage() {
         // TODO: write this
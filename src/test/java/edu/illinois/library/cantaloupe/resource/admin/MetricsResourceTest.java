@@ -0,0 +1,84 @@
+package edu.illinois.library.cantaloupe.resource.admin;
+
+import edu.illinois.library.cantaloupe.RestletApplication;
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.http.ResourceException;
+import edu.illinois.library.cantaloupe.http.Response;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MetricsResourceTest extends AbstractAdminResourceTest {
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        Configuration.getInstance().setProperty(Key.METRICS_ENABLED, true);
+    }
+
+    @Override
+    protected String getEndpointPath() {
+        return RestletApplication.ADMIN_METRICS_PATH;
+    }
+
+    @Test
+    public void testGETWhenEnabled() throws Exception {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.ADMIN_ENABLED, true);
+
+        Response response = client.send();
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    public void testGETWhenAdminDisabled() throws Exception {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.ADMIN_ENABLED, false);
+        try {
+            client.send();
+            fail("Expected exception");
+        } catch (ResourceException e) {
+            assertEquals(403, e.getStatusCode());
+        }
+    }
+
+    @Test
+    public void testGETWhenMetricsDisabled() throws Exception {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.ADMIN_ENABLED, true);
+        config.setProperty(Key.METRICS_ENABLED, false);
+        try {
+            client.send();
+            fail("Expected exception");
+        } catch (ResourceException e) {
+            assertEquals(403, e.getStatusCode());
+        }
+    }
+
+    @Test
+    public void testGETResponseBody() throws Exception {
+        Configuration.getInstance().setProperty(Key.ADMIN_ENABLED, true);
+        MetricRegistry.getInstance().recordCacheAccess("info", true);
+
+        Response response = client.send();
+        String body = response.getBodyAsString();
+        assertTrue(body.contains("# TYPE cantaloupe_cache_requests_total counter"));
+        assertTrue(body.contains(
+                "cantaloupe_cache_requests_total{cache=\"info\",result=\"hit\"}"));
+        assertTrue(body.contains("cantaloupe_thread_pool_threads"));
+    }
+
+    @Test
+    public void testGETResponseContentType() throws Exception {
+        Configuration.getInstance().setProperty(Key.ADMIN_ENABLED, true);
+
+        Response response = client.send();
+        assertEquals("text/plain;charset=UTF-8",
+                response.getHeaders().getFirstValue("Content-Type"));
+    }
+
+}
@@ -14,6 +14,7 @@ import org.junit.Test;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import static org.junit.Assert.*;
 
@@ -47,6 +48,21 @@ public class TaskResourceTest extends AbstractAPIResourceTest {
         assertTrue(responseBody.contains("PurgeInvalidFromCache"));
     }
 
+    @Test
+    public void testGETWithPurgeItemFromCacheTaskIncludesProgress()
+            throws Exception {
+        PurgeItemFromCacheCommand<?> command = new PurgeItemFromCacheCommand<>();
+        command.setIdentifier("cats");
+        Response response = createTask(command);
+
+        assertEquals(200, response.getStatus());
+        String responseBody = response.getBodyAsString();
+
+        assertTrue(responseBody.contains("PurgeItemFromCache"));
+        assertTrue(responseBody.contains("\"progress\""));
+        assertTrue(responseBody.contains("\"deleted\""));
+    }
+
     @Test
     public void testGETResponseHeaders() throws Exception {
         Response response = createTask();
@@ -81,9 +97,12 @@ public class TaskResourceTest extends AbstractAPIResourceTest {
     }
 
     private Response createTask() throws Exception {
+        return createTask(new PurgeInvalidFromCacheCommand<>());
+    }
+
+    private Response createTask(Callable<?> command) throws Exception {
         // Create a task
-        APITask<?> submittedTask =
-                new APITask<>(new PurgeInvalidFromCacheCommand<>());
+        APITask<?> submittedTask = new APITask<>(command);
         // Get its JSON representation
         String entityStr = new ObjectMapper().writer().
                 writeValueAsString(submittedTask);
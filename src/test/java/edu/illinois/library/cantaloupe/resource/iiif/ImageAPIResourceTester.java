@@ -3,6 +3,7 @@ package edu.illinois.library.cantaloupe.resource.iiif;
 import edu.illinois.library.cantaloupe.ApplicationServer;
 import edu.illinois.library.cantaloupe.RestletApplication;
 import edu.illinois.library.cantaloupe.cache.CacheFactory;
+import edu.illinois.library.cantaloupe.cache.CompletableOutputStream;
 import edu.illinois.library.cantaloupe.cache.InfoService;
 import edu.illinois.library.cantaloupe.cache.MockBrokenDerivativeInputStreamCache;
 import edu.illinois.library.cantaloupe.cache.MockBrokenDerivativeOutputStreamCache;
@@ -24,7 +25,6 @@ import edu.illinois.library.cantaloupe.test.TestUtil;
 import edu.illinois.library.cantaloupe.util.SystemUtils;
 
 import java.io.IOException;
-import java.io.OutputStream;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -304,8 +304,10 @@ public class ImageAPIResourceTester {
         Path image = TestUtil.getImage("jpg");
         SourceCache sourceCache = CacheFactory.getSourceCache();
 
-        try (OutputStream os = sourceCache.newSourceImageOutputStream(identifier)) {
+        try (CompletableOutputStream os =
+                sourceCache.newSourceImageOutputStream(identifier)) {
             Files.copy(image, os);
+            os.setCompletelyWritten(true);
         }
 
         Client client = newClient(uri);
@@ -362,8 +364,10 @@ public class ImageAPIResourceTester {
         Path image = TestUtil.getImage("jpg");
         SourceCache sourceCache = CacheFactory.getSourceCache();
 
-        try (OutputStream os = sourceCache.newSourceImageOutputStream(identifier)) {
+        try (CompletableOutputStream os =
+                sourceCache.newSourceImageOutputStream(identifier)) {
             Files.copy(image, os);
+            os.setCompletelyWritten(true);
         }
 
         Client client = newClient(uri);
@@ -479,6 +479,28 @@ public class ImageResourceTest extends ResourceTest {
                 headers.getFirstValue("X-Powered-By"));
     }
 
+    @Test
+    public void testGETServerTimingHeaderWhenEnabled() throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.METRICS_SERVER_TIMING_ENABLED, true);
+        client = newClient("/" + IMAGE + "/full/full/0/color.jpg");
+        Response response = client.send();
+
+        String value = response.getHeaders().getFirstValue("Server-Timing");
+        assertTrue(value.contains("source;dur="));
+        assertTrue(value.matches(".*total;dur=\\d+\\.\\d{3}$"));
+    }
+
+    @Test
+    public void testGETServerTimingHeaderWhenDisabled() throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.METRICS_SERVER_TIMING_ENABLED, false);
+        client = newClient("/" + IMAGE + "/full/full/0/color.jpg");
+        Response response = client.send();
+
+        assertNull(response.getHeaders().getFirstValue("Server-Timing"));
+    }
+
     @Test
     public void testOPTIONSWhenEnabled() throws Exception {
         Configuration config = Configuration.getInstance();
@@ -3,6 +3,7 @@ package edu.illinois.library.cantaloupe.resource.iiif.v2;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.illinois.library.cantaloupe.Application;
 import edu.illinois.library.cantaloupe.RestletApplication;
+import edu.illinois.library.cantaloupe.cache.InfoResponseCache;
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.http.Headers;
@@ -310,6 +311,57 @@ public class InformationResourceTest extends ResourceTest {
         tester.testUnavailableSourceFormat(uri);
     }
 
+    @Test
+    public void testGETWithInfoResponseCacheEnabled() throws Exception {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.INFO_RESPONSE_CACHE_ENABLED, true);
+        InfoResponseCache cache = InfoResponseCache.getInstance();
+        cache.purge();
+
+        client = newClient("/" + IMAGE + "/info.json");
+        String json1 = client.send().getBodyAsString();
+        assertEquals(1, cache.size());
+
+        String json2 = client.send().getBodyAsString();
+        assertEquals(json1, json2);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testGETWithInfoResponseCacheEnabledDoesNotVaryByRequestHeaders()
+            throws Exception {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.INFO_RESPONSE_CACHE_ENABLED, true);
+        InfoResponseCache cache = InfoResponseCache.getInstance();
+        cache.purge();
+
+        client = newClient("/" + IMAGE + "/info.json");
+        client.getHeaders().set("User-Agent", "cats");
+        String json1 = client.send().getBodyAsString();
+
+        client.getHeaders().set("User-Agent", "dogs");
+        String json2 = client.send().getBodyAsString();
+        assertEquals(json1, json2);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testGETWithInfoResponseCacheEnabledVariesByBaseURI()
+            throws Exception {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.INFO_RESPONSE_CACHE_ENABLED, true);
+        InfoResponseCache.getInstance().purge();
+
+        client = newClient("/" + IMAGE + "/info.json");
+        client.send();
+
+        config.setProperty(Key.BASE_URI, "http://example.org/");
+        String json = client.send().getBodyAsString();
+        ImageInfo<?, ?> info = new ObjectMapper().readValue(json, ImageInfo.class);
+        assertEquals("http://example.org" +
+                RestletApplication.IIIF_2_PATH + "/" + IMAGE, info.get("@id"));
+    }
+
     @Test
     public void testGETURIsInJSON() throws Exception {
         client = newClient("/" + IMAGE + "/info.json");
@@ -440,6 +492,28 @@ public class InformationResourceTest extends ResourceTest {
                 headers.getFirstValue("X-Powered-By"));
     }
 
+    @Test
+    public void testGETServerTimingHeaderWhenEnabled() throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.METRICS_SERVER_TIMING_ENABLED, true);
+        client = newClient("/" + IMAGE + "/info.json");
+        Response response = client.send();
+
+        String value = response.getHeaders().getFirstValue("Server-Timing");
+        assertTrue(value.contains("source;dur="));
+        assertTrue(value.matches(".*total;dur=\\d+\\.\\d{3}$"));
+    }
+
+    @Test
+    public void testGETServerTimingHeaderWhenDisabled() throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.METRICS_SERVER_TIMING_ENABLED, false);
+        client = newClient("/" + IMAGE + "/info.json");
+        Response response = client.send();
+
+        assertNull(response.getHeaders().getFirstValue("Server-Timing"));
+    }
+
     @Test
     public void testOPTIONSWhenEnabled() throws Exception {
         Configuration config = Configuration.getInstance();
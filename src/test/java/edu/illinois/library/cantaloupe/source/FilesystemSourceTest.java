@@ -157,6 +157,18 @@ public class FilesystemSourceTest extends AbstractSourceTest {
         instance.checkAccess();
     }
 
+    /* getSourceInfo() */
+
+    @Test
+    public void testGetSourceInfo() throws Exception {
+        instance.checkAccess();
+        SourceInfo info = instance.getSourceInfo();
+        Path path = instance.getPath();
+        assertEquals(Files.size(path), info.getLength());
+        assertEquals(Files.getLastModifiedTime(path).toInstant(),
+                info.getLastModified());
+    }
+
     /* getPath() */
 
     @Test
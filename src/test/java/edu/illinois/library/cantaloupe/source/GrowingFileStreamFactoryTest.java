@@ -0,0 +1,118 @@
+package edu.illinois.library.cantaloupe.source;
+
+import edu.illinois.library.cantaloupe.cache.CacheFactory;
+import edu.illinois.library.cantaloupe.cache.CompletableOutputStream;
+import edu.illinois.library.cantaloupe.cache.GrowingFile;
+import edu.illinois.library.cantaloupe.cache.SourceCache;
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import edu.illinois.library.cantaloupe.test.TestUtil;
+import edu.illinois.library.cantaloupe.util.DeletingFileVisitor;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.imageio.stream.ImageInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class GrowingFileStreamFactoryTest extends BaseTest {
+
+    private static final Identifier IDENTIFIER = new Identifier("cats");
+
+    private Path cachePath;
+    private byte[] expectedBytes;
+    private CompletableOutputStream cacheOutputStream;
+    private GrowingFileStreamFactory instance;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+
+        cachePath = Files.createTempDirectory("test");
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.SOURCE_CACHE, "FilesystemCache");
+        config.setProperty(Key.FILESYSTEMCACHE_PATHNAME, cachePath.toString());
+
+        expectedBytes = Files.readAllBytes(TestUtil.getImage("jpg"));
+
+        // Write the first half of the image.
+        SourceCache sourceCache = CacheFactory.getSourceCache();
+        cacheOutputStream = sourceCache.newSourceImageOutputStream(IDENTIFIER);
+        cacheOutputStream.write(expectedBytes, 0, expectedBytes.length / 2);
+
+        GrowingFile growingFile =
+                sourceCache.getGrowingSourceImageFile(IDENTIFIER);
+        assertNotNull(growingFile);
+        instance = new GrowingFileStreamFactory(growingFile);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        cacheOutputStream.close();
+        Files.walkFileTree(cachePath, new DeletingFileVisitor());
+    }
+
+    /**
+     * Writes the second half of the image after a delay.
+     */
+    private void finishWritingLater() {
+        new Thread(() -> {
+            try {
+                Thread.sleep(200);
+                final int half = expectedBytes.length / 2;
+                cacheOutputStream.write(expectedBytes, half,
+                        expectedBytes.length - half);
+                cacheOutputStream.setCompletelyWritten(true);
+                cacheOutputStream.close();
+            } catch (Exception e) {
+                fail(e.getMessage());
+            }
+        }).start();
+    }
+
+    @Test(timeout = 5000)
+    public void testNewInputStreamReadsWholeFile() throws Exception {
+        finishWritingLater();
+        try (InputStream is = instance.newInputStream()) {
+            assertTrue(Arrays.equals(expectedBytes, IOUtils.toByteArray(is)));
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testNewImageInputStreamSeekingPastWrittenLength()
+            throws Exception {
+        try (ImageInputStream is = instance.newImageInputStream()) {
+            assertEquals(-1, is.length());
+
+            finishWritingLater();
+            final int pos = expectedBytes.length - 10;
+            is.seek(pos);
+            assertEquals(expectedBytes[pos] & 0xff, is.read());
+
+            is.seek(expectedBytes.length);
+            assertEquals(-1, is.read());
+            assertEquals(expectedBytes.length, is.length());
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testNewImageInputStreamAfterWritingIsComplete()
+            throws Exception {
+        finishWritingLater();
+        Thread.sleep(500);
+        try (ImageInputStream is = instance.newImageInputStream()) {
+            byte[] bytes = new byte[expectedBytes.length];
+            is.readFully(bytes);
+            assertTrue(Arrays.equals(expectedBytes, bytes));
+        }
+    }
+
+}
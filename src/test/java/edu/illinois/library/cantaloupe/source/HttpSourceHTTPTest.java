@@ -2,10 +2,19 @@ package edu.illinois.library.cantaloupe.source;
 
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.test.WebServer;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.DefaultHandler;
 import org.junit.Before;
+import org.junit.Test;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.net.URI;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
 
 public class HttpSourceHTTPTest extends HttpSourceTest {
 
@@ -34,4 +43,36 @@ public class HttpSourceHTTPTest extends HttpSourceTest {
         return server.getHTTPURI();
     }
 
+    @Test
+    public void testHTTP2() throws Exception {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.HTTPSOURCE_HTTP2_ENABLED, true);
+
+        final AtomicReference<String> protocol = new AtomicReference<>();
+        server.setHTTP1Enabled(false);
+        server.setHandler(new DefaultHandler() {
+            @Override
+            public void handle(String target,
+                               Request baseRequest,
+                               HttpServletRequest request,
+                               HttpServletResponse response) {
+                protocol.set(request.getProtocol());
+                baseRequest.setHandled(true);
+            }
+        });
+        server.start();
+
+        HttpSource instance = newInstance();
+        // Make sure that the shared client is created with the current
+        // configuration.
+        instance.shutdown();
+        try {
+            instance.setIdentifier(new Identifier("jpg"));
+            instance.checkAccess();
+            assertEquals("HTTP/2.0", protocol.get());
+        } finally {
+            instance.shutdown();
+        }
+    }
+
 }
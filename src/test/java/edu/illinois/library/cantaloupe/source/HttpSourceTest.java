@@ -11,6 +11,7 @@ import edu.illinois.library.cantaloupe.script.DelegateProxy;
 import edu.illinois.library.cantaloupe.script.DelegateProxyService;
 import edu.illinois.library.cantaloupe.test.TestUtil;
 import edu.illinois.library.cantaloupe.test.WebServer;
+import org.apache.commons.io.IOUtils;
 import org.eclipse.jetty.server.Request;
 import org.eclipse.jetty.server.handler.DefaultHandler;
 import org.junit.After;
@@ -26,8 +27,13 @@ import java.net.URI;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
@@ -121,6 +127,77 @@ abstract class HttpSourceTest extends AbstractSourceTest {
                 HttpSource.mediaTypeFromContentType("application/json; charset=utf-8"));
     }
 
+    /**
+     * Sets a handler that serves the given bytes, honoring simple {@literal
+     * Range} headers, and records the {@literal Range} header of each request
+     * (or {@literal null} if absent) in the given list.
+     *
+     * @param eTag          {@literal ETag} to send. May be {@literal null}.
+     * @param isLengthKnown Whether to include the length of the entity in
+     *                      {@literal Content-Range} headers.
+     */
+    private void setRangeHandler(final byte[] entity,
+                                 final String eTag,
+                                 final boolean isLengthKnown,
+                                 final List<String> requestedRanges) {
+        server.setHandler(new DefaultHandler() {
+            @Override
+            public void handle(String target,
+                               Request baseRequest,
+                               HttpServletRequest request,
+                               HttpServletResponse response)
+                    throws IOException {
+                final String range = request.getHeader("Range");
+                requestedRanges.add(range);
+                if (eTag != null) {
+                    response.setHeader("ETag", eTag);
+                }
+
+                int start = 0, end = entity.length - 1;
+                if (range != null) {
+                    String[] parts = range.replace("bytes=", "").split("-");
+                    start = Integer.parseInt(parts[0]);
+                    if (parts.length > 1) {
+                        end = Math.min(end, Integer.parseInt(parts[1]));
+                    }
+                    if (start > end) {
+                        response.setStatus(416);
+                        baseRequest.setHandled(true);
+                        return;
+                    }
+                    response.setStatus(206);
+                    response.setHeader("Content-Range", "bytes " + start +
+                            "-" + end + "/" +
+                            (isLengthKnown ? entity.length : "*"));
+                }
+                response.setContentLength(end - start + 1);
+                try (OutputStream os = response.getOutputStream()) {
+                    os.write(entity, start, end - start + 1);
+                }
+                baseRequest.setHandled(true);
+            }
+        });
+    }
+
+    /* resourceLengthFromContentRange() */
+
+    @Test
+    public void testResourceLengthFromContentRange() {
+        assertEquals(1234,
+                HttpSource.resourceLengthFromContentRange("bytes 0-31/1234"));
+    }
+
+    @Test
+    public void testResourceLengthFromContentRangeWithUnknownLength() {
+        assertEquals(-1,
+                HttpSource.resourceLengthFromContentRange("bytes 0-31/*"));
+    }
+
+    @Test
+    public void testResourceLengthFromContentRangeWithNullArgument() {
+        assertEquals(-1, HttpSource.resourceLengthFromContentRange(null));
+    }
+
     /* checkAccess() */
 
     @Test
@@ -528,6 +605,119 @@ abstract class HttpSourceTest extends AbstractSourceTest {
 
     /* newStreamFactory() */
 
+    @Test
+    public void testNewStreamFactoryReusesRangedGETResponseBody()
+            throws Exception {
+        final byte[] expectedBytes =
+                new byte[HttpSource.RANGED_GET_LENGTH * 2];
+        new Random().nextBytes(expectedBytes);
+        final List<String> requestedRanges =
+                Collections.synchronizedList(new ArrayList<>());
+        setRangeHandler(expectedBytes, "\"abc\"", true, requestedRanges);
+        server.start();
+
+        instance.checkAccess();
+
+        StreamFactory source = instance.newStreamFactory();
+        try (InputStream is = source.newInputStream()) {
+            assertTrue(Arrays.equals(expectedBytes, IOUtils.toByteArray(is)));
+        }
+        final int length = HttpSource.RANGED_GET_LENGTH;
+        assertEquals(Arrays.asList("bytes=0-" + (length - 1),
+                "bytes=" + length + "-"), requestedRanges);
+    }
+
+    @Test
+    public void testNewStreamFactoryWithoutStrongETag() throws Exception {
+        final byte[] expectedBytes =
+                new byte[HttpSource.RANGED_GET_LENGTH * 2];
+        new Random().nextBytes(expectedBytes);
+        final List<String> requestedRanges =
+                Collections.synchronizedList(new ArrayList<>());
+        setRangeHandler(expectedBytes, "W/\"abc\"", true, requestedRanges);
+        server.start();
+
+        instance.checkAccess();
+
+        StreamFactory source = instance.newStreamFactory();
+        try (InputStream is = source.newInputStream()) {
+            assertTrue(Arrays.equals(expectedBytes, IOUtils.toByteArray(is)));
+        }
+        // The whole resource was requested again.
+        assertEquals(2, requestedRanges.size());
+        assertNull(requestedRanges.get(1));
+    }
+
+    @Test
+    public void testNewStreamFactoryWithUnsatisfiableRange() throws Exception {
+        // The resource is exactly as long as the ranged GET response body,
+        // and its length is not disclosed, so requesting the remainder
+        // returns HTTP 416.
+        final byte[] expectedBytes = new byte[HttpSource.RANGED_GET_LENGTH];
+        new Random().nextBytes(expectedBytes);
+        final List<String> requestedRanges =
+                Collections.synchronizedList(new ArrayList<>());
+        setRangeHandler(expectedBytes, "\"abc\"", false, requestedRanges);
+        server.start();
+
+        instance.checkAccess();
+
+        StreamFactory source = instance.newStreamFactory();
+        try (InputStream is = source.newInputStream()) {
+            assertTrue(Arrays.equals(expectedBytes, IOUtils.toByteArray(is)));
+        }
+        assertEquals(3, requestedRanges.size());
+        assertNull(requestedRanges.get(2));
+    }
+
+    @Test
+    public void testNewStreamFactoryWithResourceSmallerThanRangedGETResponseBody()
+            throws Exception {
+        final byte[] expectedBytes = new byte[] { 1, 2, 3, 4, 5 };
+        final List<String> requestedRanges =
+                Collections.synchronizedList(new ArrayList<>());
+        setRangeHandler(expectedBytes, null, true, requestedRanges);
+        server.start();
+
+        instance.checkAccess();
+
+        StreamFactory source = instance.newStreamFactory();
+        try (InputStream is = source.newInputStream()) {
+            assertTrue(Arrays.equals(expectedBytes, IOUtils.toByteArray(is)));
+        }
+        // The whole resource was received the first time.
+        assertEquals(1, requestedRanges.size());
+    }
+
+    @Test
+    public void testNewStreamFactoryWithServerIgnoringRanges()
+            throws Exception {
+        final byte[] expectedBytes = Files.readAllBytes(
+                TestUtil.getImage(PRESENT_READABLE_IDENTIFIER.toString()));
+        server.setHandler(new DefaultHandler() {
+            @Override
+            public void handle(String target,
+                               Request baseRequest,
+                               HttpServletRequest request,
+                               HttpServletResponse response)
+                    throws IOException {
+                response.setContentLength(expectedBytes.length);
+                try (OutputStream os = response.getOutputStream()) {
+                    os.write(expectedBytes);
+                }
+                baseRequest.setHandled(true);
+            }
+        });
+        server.start();
+
+        instance.checkAccess();
+
+        StreamFactory source = instance.newStreamFactory();
+        try (InputStream is = source.newInputStream()) {
+            assertTrue(Arrays.equals(expectedBytes, IOUtils.toByteArray(is)));
+        }
+    }
+
     @Test
     public void testNewStreamFactoryUsingBasicLookupStrategyWithValidAuthentication()
             throws Exception {
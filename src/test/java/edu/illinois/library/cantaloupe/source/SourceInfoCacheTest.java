@@ -0,0 +1,266 @@
+package edu.illinois.library.cantaloupe.source;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.script.DelegateProxy;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.time.Instant;
+
+import static org.junit.Assert.*;
+
+public class SourceInfoCacheTest extends BaseTest {
+
+    private static class MockSource implements Source {
+
+        private boolean exists = true;
+        private Format format = Format.JPG;
+        private SourceInfo info = new SourceInfo(500,
+                Instant.ofEpochSecond(1000), "\"abc\"");
+        private int numCheckAccessCalls, numGetFormatCalls;
+
+        @Override
+        public void checkAccess() throws IOException {
+            numCheckAccessCalls++;
+            if (!exists) {
+                throw new NoSuchFileException("cats");
+            }
+        }
+
+        @Override
+        public Format getFormat() {
+            numGetFormatCalls++;
+            return format;
+        }
+
+        @Override
+        public SourceInfo getSourceInfo() {
+            return info;
+        }
+
+        @Override
+        public void setIdentifier(Identifier identifier) {}
+
+        @Override
+        public void setDelegateProxy(DelegateProxy proxy) {}
+
+    }
+
+    private static final Identifier IDENTIFIER = new Identifier("cats");
+
+    private MockSource source;
+    private SourceInfoCache instance;
+
+    /**
+     * Current time in epoch milliseconds, as seen by {@link #instance}.
+     */
+    private long now = 1000000;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.SOURCE_INFO_CACHE_ENABLED, true);
+        config.setProperty(Key.SOURCE_INFO_CACHE_TTL, 0);
+
+        instance = new SourceInfoCache(() -> now);
+        source = new MockSource();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        super.tearDown();
+        SourceInfoCache.clearInstance();
+    }
+
+    private void useTTL(int seconds) {
+        Configuration.getInstance().setProperty(Key.SOURCE_INFO_CACHE_TTL,
+                seconds);
+        instance = new SourceInfoCache(() -> now);
+    }
+
+    /* getInstance() */
+
+    @Test
+    public void testGetInstance() {
+        assertSame(SourceInfoCache.getInstance(),
+                SourceInfoCache.getInstance());
+    }
+
+    /* checkAccess() */
+
+    @Test
+    public void testCheckAccessWhenDisabled() throws Exception {
+        Configuration.getInstance().setProperty(Key.SOURCE_INFO_CACHE_ENABLED,
+                false);
+        instance.checkAccess(IDENTIFIER, source);
+        instance.checkAccess(IDENTIFIER, source);
+        assertEquals(2, source.numCheckAccessCalls);
+        assertNull(instance.get(IDENTIFIER));
+    }
+
+    @Test
+    public void testCheckAccessCachesPresentImages() throws Exception {
+        instance.checkAccess(IDENTIFIER, source);
+        instance.checkAccess(IDENTIFIER, source);
+        assertEquals(1, source.numCheckAccessCalls);
+        assertEquals(source.info, instance.get(IDENTIFIER));
+    }
+
+    @Test
+    public void testCheckAccessCachesMissingImages() throws Exception {
+        source.exists = false;
+        for (int i = 0; i < 2; i++) {
+            try {
+                instance.checkAccess(IDENTIFIER, source);
+                fail("Expected exception");
+            } catch (NoSuchFileException e) {
+                // pass
+            }
+        }
+        assertEquals(1, source.numCheckAccessCalls);
+        assertNull(instance.get(IDENTIFIER));
+    }
+
+    @Test
+    public void testCheckAccessRefreshesMissingImagesWithInfiniteTTL()
+            throws Exception {
+        source.exists = false;
+        try {
+            instance.checkAccess(IDENTIFIER, source);
+            fail("Expected exception");
+        } catch (NoSuchFileException e) {
+            // pass
+        }
+
+        source.exists = true;
+        now += SourceInfoCache.MAX_MISSING_TTL_MSEC;
+        instance.checkAccess(IDENTIFIER, source);
+        assertEquals(2, source.numCheckAccessCalls);
+    }
+
+    @Test
+    public void testCheckAccessWithDefaultTTL() throws Exception {
+        Configuration.getInstance().clearProperty(Key.SOURCE_INFO_CACHE_TTL);
+        instance = new SourceInfoCache(() -> now);
+
+        instance.checkAccess(IDENTIFIER, source);
+        now += 299 * 1000;
+        instance.checkAccess(IDENTIFIER, source);
+        assertEquals(1, source.numCheckAccessCalls);
+
+        now += 1000;
+        instance.checkAccess(IDENTIFIER, source);
+        assertEquals(2, source.numCheckAccessCalls);
+    }
+
+    @Test
+    public void testCheckAccessDoesNotCacheOtherExceptions() throws Exception {
+        Source source = new MockSource() {
+            @Override
+            public void checkAccess() throws IOException {
+                throw new IOException("cats");
+            }
+        };
+        try {
+            instance.checkAccess(IDENTIFIER, source);
+            fail("Expected exception");
+        } catch (IOException e) {
+            // pass
+        }
+        assertEquals(0, instance.size());
+    }
+
+    @Test
+    public void testCheckAccessRefreshesStaleEntries() throws Exception {
+        useTTL(1);
+        instance.checkAccess(IDENTIFIER, source);
+        now += 1000;
+        instance.checkAccess(IDENTIFIER, source);
+        assertEquals(2, source.numCheckAccessCalls);
+    }
+
+    @Test
+    public void testCheckAccessPurgesChangedImages() throws Exception {
+        useTTL(1);
+        instance.checkAccess(IDENTIFIER, source);
+        now += 1000;
+        source.info = new SourceInfo(500, Instant.ofEpochSecond(2000),
+                "\"def\"");
+        instance.checkAccess(IDENTIFIER, source);
+        // The new version is cached after the old one has been purged.
+        assertEquals("\"def\"", instance.get(IDENTIFIER).getETag());
+        assertEquals(2, source.numCheckAccessCalls);
+        instance.checkAccess(IDENTIFIER, source);
+        assertEquals(2, source.numCheckAccessCalls);
+    }
+
+    @Test
+    public void testCheckAccessRetainsFormatOfUnchangedImages()
+            throws Exception {
+        useTTL(1);
+        instance.checkAccess(IDENTIFIER, source);
+        instance.getFormat(IDENTIFIER, source);
+        now += 1000;
+        instance.checkAccess(IDENTIFIER, source);
+        assertEquals(Format.JPG, instance.get(IDENTIFIER).getFormat());
+    }
+
+    /* getFormat() */
+
+    @Test
+    public void testGetFormatCachesFormatOfCachedImages() throws Exception {
+        instance.checkAccess(IDENTIFIER, source);
+        assertEquals(Format.JPG, instance.getFormat(IDENTIFIER, source));
+        assertEquals(Format.JPG, instance.getFormat(IDENTIFIER, source));
+        assertEquals(1, source.numGetFormatCalls);
+    }
+
+    @Test
+    public void testGetFormatDoesNotCacheFormatOfUncachedImages()
+            throws Exception {
+        instance.getFormat(IDENTIFIER, source);
+        instance.getFormat(IDENTIFIER, source);
+        assertEquals(2, source.numGetFormatCalls);
+        assertNull(instance.get(IDENTIFIER));
+    }
+
+    @Test
+    public void testGetFormatDoesNotCacheUnknownFormat() throws Exception {
+        source.format = Format.UNKNOWN;
+        instance.checkAccess(IDENTIFIER, source);
+        instance.getFormat(IDENTIFIER, source);
+        instance.getFormat(IDENTIFIER, source);
+        assertEquals(2, source.numGetFormatCalls);
+    }
+
+    /* purge() */
+
+    @Test
+    public void testPurge() throws Exception {
+        instance.checkAccess(IDENTIFIER, source);
+        instance.purge();
+        assertNull(instance.get(IDENTIFIER));
+    }
+
+    /* purge(Identifier) */
+
+    @Test
+    public void testPurgeWithIdentifier() throws Exception {
+        Identifier otherIdentifier = new Identifier("dogs");
+        instance.checkAccess(IDENTIFIER, source);
+        instance.checkAccess(otherIdentifier, source);
+        instance.purge(IDENTIFIER);
+        assertNull(instance.get(IDENTIFIER));
+        assertNotNull(instance.get(otherIdentifier));
+    }
+
+}
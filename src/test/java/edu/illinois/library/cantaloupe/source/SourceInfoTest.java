@@ -0,0 +1,59 @@
+package edu.illinois.library.cantaloupe.source;
+
+import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.Test;
+
+import java.time.Instant;
+
+import static org.junit.Assert.*;
+
+public class SourceInfoTest extends BaseTest {
+
+    @Test
+    public void testNoArgumentConstructor() {
+        SourceInfo instance = new SourceInfo();
+        assertEquals(-1, instance.getLength());
+        assertNull(instance.getLastModified());
+        assertNull(instance.getETag());
+        assertNull(instance.getFormat());
+    }
+
+    @Test
+    public void testIsChangedSinceWithDifferentETags() {
+        SourceInfo older = new SourceInfo(5, Instant.ofEpochSecond(5), "a");
+        SourceInfo newer = new SourceInfo(5, Instant.ofEpochSecond(5), "b");
+        assertTrue(newer.isChangedSince(older));
+    }
+
+    @Test
+    public void testIsChangedSinceWithLaterLastModified() {
+        SourceInfo older = new SourceInfo(5, Instant.ofEpochSecond(5), null);
+        SourceInfo newer = new SourceInfo(5, Instant.ofEpochSecond(6), null);
+        assertTrue(newer.isChangedSince(older));
+        assertFalse(older.isChangedSince(newer));
+    }
+
+    @Test
+    public void testIsChangedSinceWithEqualProperties() {
+        SourceInfo older = new SourceInfo(5, Instant.ofEpochSecond(5), "a");
+        SourceInfo newer = new SourceInfo(5, Instant.ofEpochSecond(5), "a");
+        assertFalse(newer.isChangedSince(older));
+    }
+
+    @Test
+    public void testIsChangedSinceWithUnknownProperties() {
+        assertFalse(new SourceInfo().isChangedSince(new SourceInfo()));
+    }
+
+    @Test
+    public void testWithFormat() {
+        SourceInfo instance = new SourceInfo(5, Instant.ofEpochSecond(5), "a");
+        SourceInfo copy = instance.withFormat(Format.PNG);
+        assertEquals(Format.PNG, copy.getFormat());
+        assertEquals(instance.getLength(), copy.getLength());
+        assertEquals(instance.getLastModified(), copy.getLastModified());
+        assertEquals(instance.getETag(), copy.getETag());
+    }
+
+}
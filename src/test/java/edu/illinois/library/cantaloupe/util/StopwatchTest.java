@@ -20,6 +20,12 @@ public class StopwatchTest {
         assertTrue(instance.timeElapsed() > 1);
     }
 
+    @Test
+    public void testTimeElapsedNanos() throws Exception {
+        Thread.sleep(2);
+        assertTrue(instance.timeElapsedNanos() > 1000000);
+    }
+
     @Test
     public void testToString() {
         assertTrue(instance.toString().matches("\\d+ msec"));
@@ -25,6 +25,21 @@ public class StringUtilTest extends BaseTest {
         assertTrue(StringUtil.removeTrailingZeroes(50.5555555555555f).length() <= 13);
     }
 
+    @Test
+    public void testToByteSize() {
+        assertEquals(1000, StringUtil.toByteSize("1000"));
+        assertEquals(1536, StringUtil.toByteSize("1.5K"));
+        assertEquals(2 * 1024 * 1024, StringUtil.toByteSize("2M"));
+        assertEquals(2 * 1024 * 1024, StringUtil.toByteSize("2MB"));
+        assertEquals((long) Math.pow(1024, 3), StringUtil.toByteSize("1G"));
+        assertEquals((long) Math.pow(1024, 4), StringUtil.toByteSize("1TB"));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testToByteSizeWithInvalidArgument() {
+        StringUtil.toByteSize("cats");
+    }
+
     @Test
     public void testSanitizeWithStrings() {
         assertEquals("", StringUtil.sanitize("dirt", "dirt"));